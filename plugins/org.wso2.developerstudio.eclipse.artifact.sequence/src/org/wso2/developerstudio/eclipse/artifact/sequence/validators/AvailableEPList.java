@@ -21,12 +21,12 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.wso2.developerstudio.eclipse.artifact.sequence.Activator;
-import org.wso2.developerstudio.eclipse.esb.project.artifact.ESBArtifact;
-import org.wso2.developerstudio.eclipse.esb.project.artifact.ESBProjectArtifact;
+import org.wso2.developerstudio.eclipse.esb.project.artifact.ESBArtifactIndex;
 import org.wso2.developerstudio.eclipse.general.project.artifact.GeneralProjectArtifact;
 import org.wso2.developerstudio.eclipse.general.project.artifact.RegistryArtifact;
 import org.wso2.developerstudio.eclipse.general.project.artifact.bean.RegistryElement;
@@ -115,27 +115,10 @@ public class AvailableEPList extends AbstractListDataProvider {
 	public List<File> getAvailableStaticEP() throws CoreException, IOException {
 
 		List<File> availableEPList = new ArrayList<File>();
-		IProject[] projects = ResourcesPlugin.getWorkspace().getRoot().getProjects();
-		for (IProject workspaceProject : projects) {
-			if (workspaceProject.isOpen() &&
-			    workspaceProject.hasNature("org.wso2.developerstudio.eclipse.esb.project.nature")) {
-				ESBProjectArtifact esbProjectArtifact = new ESBProjectArtifact();
-				File projectPath = workspaceProject.getLocation().toFile();
-				try {
-					esbProjectArtifact.fromFile(workspaceProject.getFile("artifact.xml").getLocation().toFile());
-					List<ESBArtifact> allESBArtifacts = esbProjectArtifact.getAllESBArtifacts();
-					for (ESBArtifact esbArtifact : allESBArtifacts) {
-						if (esbArtifact.getType().equals(SYNAPSE_ENDPOINT_CAPP_TYPE)) {
-							String relativeFilePath =
-							                          esbArtifact.getFile()
-							                                     .replaceAll("/",
-							                                                 (File.separatorChar == '/') ? "/" : "\\\\");
-							availableEPList.add(new File(projectPath, relativeFilePath));
-						}
-					}
-				} catch (Exception e) {
-					log.error("Error occured while scanning the workspace for Sequence artifacts", e);
-				}
+		for (ESBArtifactIndex.Entry esbArtifact : ESBArtifactIndex.getInstance().getArtifacts(SYNAPSE_ENDPOINT_CAPP_TYPE)) {
+			IFile file = esbArtifact.getFile();
+			if (file != null) {
+				availableEPList.add(file.getLocation().toFile());
 			}
 		}
 		return availableEPList;
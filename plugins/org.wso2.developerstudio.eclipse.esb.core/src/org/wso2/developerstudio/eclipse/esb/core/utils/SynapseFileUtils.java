@@ -4,8 +4,10 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 
 import javax.xml.stream.XMLStreamException;
 
@@ -50,6 +52,9 @@ public class SynapseFileUtils {
 
 		File file = new File(synapseFilePath);
 		List<OMElement> editorList = new ArrayList<OMElement>();
+		// elements do not override equals, so a hash set finds an element
+		// added twice without scanning the list
+		Set<OMElement> addedElements = new HashSet<OMElement>();
 		OMElement documentElement = new StAXOMBuilder(new FileInputStream(file))
 				.getDocumentElement();
 		
@@ -66,7 +71,7 @@ public class SynapseFileUtils {
 //		}
 		String localName = documentElement.getLocalName();
 		if(localName.equals(localTagName)){
-			if (!editorList.contains(documentElement)) {
+			if (addedElements.add(documentElement)) {
 				editorList.add(documentElement);
 			}
 		}
@@ -75,45 +80,45 @@ public class SynapseFileUtils {
 				OMElement childnode = (OMElement) children.next();
 				if (type.name().equals("ALL")) {
 					if (childnode.getLocalName().equals("endpoint")) {
-						if (!editorList.contains(childnode)) {
+						if (addedElements.add(childnode)) {
 							editorList.add(childnode);
 						}
 					} else if (childnode.getLocalName().equals("sequence")) {
-						if (!editorList.contains(childnode)) {
+						if (addedElements.add(childnode)) {
 							editorList.add(childnode);
 						}
 
 					} else if (childnode.getLocalName().equals("proxy")) {
-						if (!editorList.contains(childnode)) {
+						if (addedElements.add(childnode)) {
 							editorList.add(childnode);
 						}
 
 					} else if (childnode.getLocalName().equals("localEntry")) {
-						if (!editorList.contains(childnode)) {
+						if (addedElements.add(childnode)) {
 							editorList.add(childnode);
 						}
 					} else if(childnode.getLocalName().equals("task")){
-						if (!editorList.contains(childnode)) {
+						if (addedElements.add(childnode)) {
 							editorList.add(childnode);
 						}
 					} else if(childnode.getLocalName().equals("api")){
-						if (!editorList.contains(childnode)) {
+						if (addedElements.add(childnode)) {
 							editorList.add(childnode);
 						}
 					} else if(childnode.getLocalName().equals("template")){
-						if (!editorList.contains(childnode)) {
+						if (addedElements.add(childnode)) {
 							editorList.add(childnode);
 						}
 					} else if(childnode.getLocalName().equals("messageStore")){
-						if (!editorList.contains(childnode)) {
+						if (addedElements.add(childnode)) {
 							editorList.add(childnode);
 						}
 					} else if(childnode.getLocalName().equals("messageProcessor")){
-						if (!editorList.contains(childnode)) {
+						if (addedElements.add(childnode)) {
 							editorList.add(childnode);
 						}
 					} else if(childnode.getLocalName().equals("inboundEndpoint")){
-						if (!editorList.contains(childnode)) {
+						if (addedElements.add(childnode)) {
 							editorList.add(childnode);
 						}
 					}else{
@@ -121,7 +126,7 @@ public class SynapseFileUtils {
 					}
 				} else {
 					if (childnode.getLocalName().equals(localTagName)) {
-						if (!editorList.contains(childnode)) {
+						if (addedElements.add(childnode)) {
 							editorList.add(childnode);
 						}
 					}
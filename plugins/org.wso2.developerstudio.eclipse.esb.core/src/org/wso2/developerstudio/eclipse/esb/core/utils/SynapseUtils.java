@@ -19,9 +19,18 @@ package org.wso2.developerstudio.eclipse.esb.core.utils;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+import javax.xml.namespace.QName;
 import javax.xml.stream.XMLStreamException;
 
 import org.apache.axiom.om.OMElement;
@@ -63,11 +72,20 @@ public class SynapseUtils {
 		}
 	}
 
+	/**
+	 * Read the artifacts of an exported synapse-config directory.
+	 * 
+	 * The files are classified by the name of their root element, read with a
+	 * streaming parser, and only the files holding an artifact of their
+	 * folder are built into elements. Files are read in parallel. An artifact
+	 * with the same type and name or key as an earlier one is skipped.
+	 * 
+	 * @return artifacts in the order of the directory listing
+	 */
 	public static List<OMElement> synapseConfigFolderContentProcessing(
 			String synapseConfigFolderPath) throws XMLStreamException,
 			IOException, OMException, Exception {
 
-		List<OMElement> editorList = new ArrayList<OMElement>();
 		File rootDir = new File(synapseConfigFolderPath + "/"
 				+ ADDITIONAL_FOLDERS);
 		
@@ -75,51 +93,136 @@ public class SynapseUtils {
 			//throw new Exception("Please provide a valid synapse-configs directory");
 			rootDir = new File(synapseConfigFolderPath);
 		}
+		List<Callable<ArtifactFile>> readers = new ArrayList<Callable<ArtifactFile>>();
 		File[] dirs = rootDir.listFiles();
 		int dirCount = dirs.length;
 		for (int i = 0; i < dirCount; ++i) {
 			String name=dirs[i].getName();
 			if(name.equals("api")){
-				processFiles(editorList, rootDir + "/api", SynapseEntryType.API);
+				processFiles(readers, rootDir + "/api", SynapseEntryType.API);
 			}else if(name.equals("endpoints")){
-				processFiles(editorList, rootDir + "/endpoints",SynapseEntryType.END_POINT);
+				processFiles(readers, rootDir + "/endpoints",SynapseEntryType.END_POINT);
 			}else if(name.equals("local-entries")){
-				processFiles(editorList, rootDir + "/local-entries",SynapseEntryType.LOCAL_ENTRY);
+				processFiles(readers, rootDir + "/local-entries",SynapseEntryType.LOCAL_ENTRY);
 			}else if(name.equals("proxy-services")){
-				processFiles(editorList, rootDir + "/proxy-services",SynapseEntryType.PROXY_SERVICE);
+				processFiles(readers, rootDir + "/proxy-services",SynapseEntryType.PROXY_SERVICE);
 			}else if(name.equals("sequences")){
-				processFiles(editorList, rootDir + "/sequences",SynapseEntryType.SEQUENCE);
+				processFiles(readers, rootDir + "/sequences",SynapseEntryType.SEQUENCE);
 			}else if(name.equals("tasks")){
-				processFiles(editorList, rootDir + "/tasks", SynapseEntryType.TASK);
+				processFiles(readers, rootDir + "/tasks", SynapseEntryType.TASK);
 			}else if(name.equals("templates")){
-				processFiles(editorList, rootDir + "/templates",SynapseEntryType.TEMPLATE);
+				processFiles(readers, rootDir + "/templates",SynapseEntryType.TEMPLATE);
 			} else if(name.equals("message-stores")){
-				processFiles(editorList,rootDir + "/message-stores",SynapseEntryType.MESSAGE_STORE);
+				processFiles(readers,rootDir + "/message-stores",SynapseEntryType.MESSAGE_STORE);
 			} else if(name.equals("message-processors")){
-				processFiles(editorList, rootDir + "/message-processors",SynapseEntryType.MESSAGE_PROCESSOR);
+				processFiles(readers, rootDir + "/message-processors",SynapseEntryType.MESSAGE_PROCESSOR);
+			}
+		}
+
+		List<OMElement> editorList = new ArrayList<OMElement>();
+		Set<String> artifactKeys = new HashSet<String>();
+		for (ArtifactFile artifactFile : readAll(readers)) {
+			if (artifactFile != null
+					&& (artifactFile.key == null || artifactKeys.add(artifactFile.localName + "/" + artifactFile.key))) {
+				editorList.add(artifactFile.element);
 			}
 		}
 		return editorList;
 	}
 
-	private static void processFiles(List<OMElement> editorList,
-			String dirPath, SynapseEntryType type) throws XMLStreamException,
-			IOException, OMException, Exception {
+	private static void processFiles(List<Callable<ArtifactFile>> readers,
+			String dirPath, SynapseEntryType type) {
 		File dir = new File(dirPath);
 		File[] files = dir.listFiles();
 		int fileCount = files.length;
+		final String localTagName = getLocalTagName(type);
 		for (int j = 0; j < fileCount; ++j) {
-			OMElement documentElement = new StAXOMBuilder(new FileInputStream(
-					files[j])).getDocumentElement();
+			final File file = files[j];
+			if (file.isFile()) {
+				readers.add(new Callable<ArtifactFile>() {
 
-			String localTagName = getLocalTagName(type);
+					@Override
+					public ArtifactFile call() throws Exception {
+						return readArtifactFile(file, localTagName);
+					}
+				});
+			}
+		}
+	}
 
-			String localName = documentElement.getLocalName();
-			if (localName.equals(localTagName)) {
-				if (!editorList.contains(documentElement)) {
-					editorList.add(documentElement);
+	private static List<ArtifactFile> readAll(List<Callable<ArtifactFile>> readers) throws Exception {
+		List<ArtifactFile> artifactFiles = new ArrayList<ArtifactFile>(readers.size());
+		if (readers.isEmpty()) {
+			return artifactFiles;
+		}
+		int threads = Math.min(readers.size(), Runtime.getRuntime().availableProcessors());
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			for (Future<ArtifactFile> future : executor.invokeAll(readers)) {
+				artifactFiles.add(future.get());
+			}
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof Exception) {
+				throw (Exception) e.getCause();
+			}
+			throw e;
+		} finally {
+			executor.shutdownNow();
+		}
+		return artifactFiles;
+	}
+
+	/**
+	 * Read an artifact file in one pass. The parser stops after the root
+	 * element of the file, which is only built into a whole element if it is
+	 * the given one.
+	 * 
+	 * @return artifact of the file, or null if it holds another element
+	 */
+	private static ArtifactFile readArtifactFile(File file, String localTagName) throws XMLStreamException,
+			IOException {
+		InputStream inputStream = new FileInputStream(file);
+		try {
+			StAXOMBuilder builder = new StAXOMBuilder(inputStream);
+			try {
+				OMElement documentElement = builder.getDocumentElement();
+				if (!documentElement.getLocalName().equals(localTagName)) {
+					return null;
+				}
+				// build the whole element before its file is closed
+				documentElement.build();
+
+				ArtifactFile artifactFile = new ArtifactFile();
+				artifactFile.localName = localTagName;
+				artifactFile.key = documentElement.getAttributeValue(new QName("name"));
+				if (artifactFile.key == null || artifactFile.key.isEmpty()) {
+					artifactFile.key = documentElement.getAttributeValue(new QName("key"));
+				}
+				if (artifactFile.key != null && artifactFile.key.isEmpty()) {
+					artifactFile.key = null;
 				}
+				artifactFile.element = documentElement;
+				return artifactFile;
+			} finally {
+				builder.close();
 			}
+		} finally {
+			inputStream.close();
 		}
 	}
+
+	/**
+	 * Artifact read from a file of a synapse-config directory
+	 */
+	private static class ArtifactFile {
+
+		private String localName;
+
+		/**
+		 * Name or key of the artifact, if it has one
+		 */
+		private String key;
+
+		private OMElement element;
+	}
 }
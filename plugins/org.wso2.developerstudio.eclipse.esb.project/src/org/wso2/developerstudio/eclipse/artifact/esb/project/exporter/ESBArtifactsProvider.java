@@ -33,7 +33,7 @@ public class ESBArtifactsProvider extends CappArtifactsListProvider {
 
     /**
      * Validate the iFile using the error markers added at
-     * org.wso2.developerstudio.eclipse.gmf.esb.diagram.validator.FileDecorator
+     * org.wso2.developerstudio.eclipse.gmf.esb.diagram.validator.ArtifactValidationCache
      * while validating the synapse configuration.
      * 
      * @param project	ESB config project
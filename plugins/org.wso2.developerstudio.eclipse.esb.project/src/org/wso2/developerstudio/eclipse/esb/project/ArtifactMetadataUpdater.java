@@ -0,0 +1,283 @@
+/*
+ * Copyright 2018 WSO2, Inc. (http://wso2.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.developerstudio.eclipse.esb.project;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.xml.stream.FactoryConfigurationError;
+
+import org.apache.maven.project.MavenProject;
+import org.eclipse.core.commands.ExecutionException;
+import org.eclipse.core.commands.operations.IUndoContext;
+import org.eclipse.core.commands.operations.OperationHistoryFactory;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jface.dialogs.MessageDialog;
+import org.eclipse.swt.widgets.Display;
+import org.wso2.developerstudio.eclipse.esb.project.artifact.ESBArtifact;
+import org.wso2.developerstudio.eclipse.esb.project.artifact.ESBProjectArtifact;
+import org.wso2.developerstudio.eclipse.esb.project.utils.ESBProjectUtils;
+import org.wso2.developerstudio.eclipse.gmf.esb.ArtifactType;
+import org.wso2.developerstudio.eclipse.logging.core.IDeveloperStudioLog;
+import org.wso2.developerstudio.eclipse.logging.core.Logger;
+import org.wso2.developerstudio.eclipse.maven.util.MavenUtils;
+import org.wso2.developerstudio.eclipse.platform.ui.editor.Openable;
+import org.wso2.developerstudio.eclipse.platform.ui.startup.ESBGraphicalEditor;
+import org.wso2.developerstudio.eclipse.utils.file.FileUtils;
+
+/**
+ * Keeps the artifact.xml of ESB projects in step with the artifact files added
+ * to and removed from their synapse configuration.
+ *
+ * Changes are queued per project and applied by one job per project a short
+ * while after the first of them, so copying many files into a project reads
+ * the artifact.xml once, applies all the changes to an index of its artifacts
+ * and writes it once. Changes queued while the job runs are applied by its
+ * next run. A job never runs concurrently with itself, so it is the only
+ * writer of the artifact.xml of its project and updates cannot be lost.
+ */
+class ArtifactMetadataUpdater {
+
+	private static IDeveloperStudioLog log = Logger.getLog(Activator.PLUGIN_ID);
+
+	private static final String FILE_PATH = "src/main/synapse-config/";
+	private static final String ESB_SEVER_ROLE = "EnterpriseServiceBus";
+	private static final String POM = "pom.xml";
+	private static final String COMMAN_NAME = "synapse/";
+	private static final String ARTIFACT_MEATADATA_FILE = "artifact.xml";
+
+	/**
+	 * Time in milliseconds changes are collected before they are applied
+	 */
+	private static final long UPDATE_DELAY = 300;
+
+	private final Map<IProject, UpdateJob> updateJobs = new HashMap<IProject, UpdateJob>();
+
+	/**
+	 * Queue an artifact file added to a project
+	 *
+	 * @param file
+	 *            added file
+	 * @param moved
+	 *            whether the file was moved from elsewhere, a moved file of a
+	 *            type not matching its folder is moved back
+	 */
+	void fileAdded(IFile file, boolean moved) {
+		queue(file, moved ? Change.MOVED : Change.ADDED);
+	}
+
+	/**
+	 * Queue an artifact file removed from a project
+	 *
+	 * @param file
+	 *            removed file
+	 */
+	void fileRemoved(IFile file) {
+		queue(file, Change.REMOVED);
+	}
+
+	private void queue(IFile file, Change change) {
+		UpdateJob job;
+		synchronized (updateJobs) {
+			job = updateJobs.get(file.getProject());
+			if (job == null) {
+				job = new UpdateJob(file.getProject());
+				updateJobs.put(file.getProject(), job);
+			}
+		}
+		job.queue(file, change);
+	}
+
+	private enum Change {
+		ADDED, MOVED, REMOVED
+	}
+
+	/**
+	 * Single writer of the artifact.xml of a project
+	 */
+	private class UpdateJob extends Job {
+
+		private final IProject project;
+
+		/**
+		 * Latest change of each file since the last run, guarded by the job
+		 */
+		private Map<IFile, Change> pendingChanges = new LinkedHashMap<IFile, Change>();
+
+		UpdateJob(IProject project) {
+			super("update ArifactXML of " + project.getName());
+			this.project = project;
+			setSystem(true);
+		}
+
+		void queue(IFile file, Change change) {
+			synchronized (this) {
+				pendingChanges.put(file, change);
+			}
+			// no effect while the job is waiting, so the first change decides
+			// when a batch is applied
+			schedule(UPDATE_DELAY);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			Map<IFile, Change> changes;
+			synchronized (this) {
+				changes = pendingChanges;
+				pendingChanges = new LinkedHashMap<IFile, Change>();
+			}
+			if (project.isOpen()) {
+				try {
+					apply(changes);
+				} catch (FactoryConfigurationError | Exception e) {
+					log.error("Error while updating the arifactxml", e);
+				}
+			} else {
+				synchronized (updateJobs) {
+					if (updateJobs.get(project) == this) {
+						updateJobs.remove(project);
+					}
+				}
+			}
+			return Status.OK_STATUS;
+		}
+
+		private void apply(Map<IFile, Change> changes) throws FactoryConfigurationError, Exception {
+			File arifact = project.getFile(ARTIFACT_MEATADATA_FILE).getLocation().toFile();
+			ESBProjectArtifact artifact = new ESBProjectArtifact();
+			artifact.fromFile(arifact);
+
+			// artifacts by the project relative path of their file, artifacts
+			// of different types may share a name. The file path of an
+			// artifact is not always recorded, those are only ever matched by
+			// name and type when a file is added, never removed
+			Map<String, ESBArtifact> artifactIndex = new HashMap<String, ESBArtifact>();
+			Set<String> artifactsWithoutFile = new HashSet<String>();
+			ESBArtifact lastArtifact = null;
+			for (ESBArtifact esbartifact : artifact.getAllESBArtifacts()) {
+				if (esbartifact.getFile() != null) {
+					artifactIndex.put(esbartifact.getFile().replace('\\', '/'), esbartifact);
+				} else {
+					artifactsWithoutFile.add(esbartifact.getType() + "/" + esbartifact.getName());
+				}
+				lastArtifact = esbartifact;
+			}
+
+			List<ESBArtifact> removedArtifacts = new ArrayList<ESBArtifact>();
+			boolean modified = false;
+			boolean invalidMove = false;
+			for (Map.Entry<IFile, Change> change : changes.entrySet()) {
+				IFile file = change.getKey();
+				String filePath = file.getProjectRelativePath().toString();
+				String type = COMMAN_NAME + ESBProjectUtils.getType(file.getParent().getName());
+				String name = file.getName().split("\\.")[0];
+				if (change.getValue() == Change.REMOVED) {
+					// the file may have been added back since
+					if (!file.exists()) {
+						ESBArtifact removedArtifact = artifactIndex.remove(filePath);
+						if (removedArtifact != null) {
+							removedArtifacts.add(removedArtifact);
+						}
+					}
+				} else if (file.exists() && !artifactIndex.containsKey(filePath)
+						&& !artifactsWithoutFile.contains(type + "/" + name)) {
+					if (!isArtifactOfFolder(file)) {
+						invalidMove |= change.getValue() == Change.MOVED;
+						continue;
+					}
+					if (lastArtifact == null) {
+						File pomLocation = project.getFile(POM).getLocation().toFile();
+						MavenProject mavenProject = MavenUtils.getMavenProject(pomLocation);
+						lastArtifact = new ESBArtifact();
+						lastArtifact.setVersion(mavenProject.getVersion());
+						lastArtifact.setGroupId(mavenProject.getGroupId());
+					}
+
+					ESBArtifact esbArtifact = new ESBArtifact();
+					esbArtifact.setName(name);
+					esbArtifact.setVersion(lastArtifact.getVersion());
+					esbArtifact.setType(type);
+					esbArtifact.setServerRole(ESB_SEVER_ROLE);
+					esbArtifact.setGroupId(lastArtifact.getGroupId());
+					// Should not use file separator here
+					esbArtifact.setFile(FILE_PATH + file.getParent().getName() + "/" + file.getName());
+					artifact.addESBArtifact(esbArtifact);
+					artifactIndex.put(esbArtifact.getFile(), esbArtifact);
+					modified = true;
+				}
+			}
+
+			if (!removedArtifacts.isEmpty()) {
+				artifact.removeESBArtifacts(removedArtifacts);
+				modified = true;
+			}
+			if (modified) {
+				artifact.toFile();
+			}
+			if (invalidMove) {
+				undoInvalidMove();
+			}
+		}
+
+		/**
+		 * Whether the type of an artifact file matches the folder it is in
+		 */
+		private boolean isArtifactOfFolder(IFile file) throws Exception {
+			String source = FileUtils.getContentAsString(file.getLocationURI().toURL());
+			Openable openable = ESBGraphicalEditor.getOpenable();
+			ArtifactType artifactType = (ArtifactType) openable.artifactTypeResolver(source);
+			return file.getParent().getName().startsWith(artifactType.getName().toLowerCase());
+		}
+
+		private void undoInvalidMove() {
+			Display.getDefault().syncExec(new Runnable() {
+
+				@Override
+				public void run() {
+
+					MessageDialog.openError(Display.getCurrent().getActiveShell(), "Error Move",
+							"Cannot move due to invalid location");
+
+					try {
+						IUndoContext workspaceContext = (IUndoContext) ResourcesPlugin.getWorkspace().getAdapter(
+								IUndoContext.class);
+						OperationHistoryFactory.getOperationHistory().undo(workspaceContext,
+								new NullProgressMonitor(), null);
+
+					} catch (ExecutionException e) {
+						log.error("Cannot undo last operation", e);
+					}
+
+				}
+			});
+		}
+	}
+
+}
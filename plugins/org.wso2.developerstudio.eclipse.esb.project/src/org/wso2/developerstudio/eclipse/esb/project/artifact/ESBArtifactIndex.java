@@ -0,0 +1,461 @@
+/*
+ * Copyright 2018 WSO2, Inc. (http://wso2.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.developerstudio.eclipse.esb.project.artifact;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IResourceDeltaVisitor;
+import org.eclipse.core.resources.IWorkspaceRoot;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.wso2.developerstudio.eclipse.esb.project.Activator;
+import org.wso2.developerstudio.eclipse.logging.core.IDeveloperStudioLog;
+import org.wso2.developerstudio.eclipse.logging.core.Logger;
+
+/**
+ * Index of the artifacts of all ESB projects in the workspace, as listed by
+ * their artifact.xml.
+ *
+ * The artifact.xml of a project is read when the project is first queried
+ * and again only after a resource change touches it, or the project is
+ * opened, closed or changes its natures. Projects changed in the background
+ * are indexed again by a job, which also saves the index in the state
+ * location of the plugin, so after a restart only projects whose
+ * artifact.xml changed in between are read.
+ *
+ * The artifacts of each type are kept sorted by name, so artifacts can be
+ * looked up by type and name prefix without going through the projects.
+ */
+public class ESBArtifactIndex implements IResourceChangeListener {
+
+	private static IDeveloperStudioLog log = Logger.getLog(Activator.PLUGIN_ID);
+
+	private static final String ESB_PROJECT_NATURE = "org.wso2.developerstudio.eclipse.esb.project.nature";
+	private static final String ARTIFACT_MEATADATA_FILE = "artifact.xml";
+	private static final String INDEX_FILE = "esb-artifact-index.properties";
+	private static final String TIME_STAMP = "timeStamp";
+	private static final String SEPARATOR = "\t";
+
+	/**
+	 * Time in milliseconds changes are collected before changed projects are
+	 * indexed again
+	 */
+	private static final long UPDATE_DELAY = 500;
+
+	private static final Comparator<Entry> ENTRY_ORDER = new Comparator<Entry>() {
+
+		@Override
+		public int compare(Entry entry, Entry otherEntry) {
+			int result = entry.name.compareTo(otherEntry.name);
+			if (result == 0 && entry.project != otherEntry.project) {
+				// bounds of prefix queries have no project and come first
+				if (entry.project == null || otherEntry.project == null) {
+					return entry.project == null ? -1 : 1;
+				}
+				result = entry.project.getName().compareTo(otherEntry.project.getName());
+			}
+			if (result == 0) {
+				result = entry.path.compareTo(otherEntry.path);
+			}
+			return result;
+		}
+	};
+
+	private static ESBArtifactIndex instance;
+
+	/**
+	 * Indexed projects, with the time stamp of the artifact.xml they were
+	 * indexed from
+	 */
+	private final Map<IProject, ProjectArtifacts> projects = new HashMap<IProject, ProjectArtifacts>();
+	private final Map<String, NavigableSet<Entry>> artifactsByType = new HashMap<String, NavigableSet<Entry>>();
+	private final Set<IProject> staleProjects = new HashSet<IProject>();
+	private final Job updateJob;
+
+	/**
+	 * Whether all projects of the workspace were looked at, after which only
+	 * resource changes bring in new projects
+	 */
+	private boolean scanned;
+
+	/**
+	 * Whether the index changed since it was saved
+	 */
+	private boolean modified;
+
+	/**
+	 * Artifact listed in the artifact.xml of an ESB project
+	 */
+	public static final class Entry {
+
+		private final String name;
+		private final String type;
+		private final IProject project;
+		private final String path;
+
+		private Entry(String name, String type, IProject project, String path) {
+			this.name = name;
+			this.type = type;
+			this.project = project;
+			this.path = path;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * @return type of the artifact, such as synapse/endpoint
+		 */
+		public String getType() {
+			return type;
+		}
+
+		public IProject getProject() {
+			return project;
+		}
+
+		/**
+		 * @return file of the artifact, or null if the artifact.xml does not
+		 *         give one
+		 */
+		public IFile getFile() {
+			return path.isEmpty() ? null : project.getFile(path);
+		}
+	}
+
+	private ESBArtifactIndex() {
+		updateJob = new Job("Indexing ESB artifacts") {
+
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				update();
+				return Status.OK_STATUS;
+			}
+		};
+		updateJob.setSystem(true);
+	}
+
+	public static synchronized ESBArtifactIndex getInstance() {
+		if (instance == null) {
+			instance = new ESBArtifactIndex();
+			instance.load();
+			ResourcesPlugin.getWorkspace().addResourceChangeListener(instance, IResourceChangeEvent.POST_CHANGE);
+		}
+		return instance;
+	}
+
+	/**
+	 * Artifacts of a type in all ESB projects of the workspace
+	 *
+	 * @param type
+	 *            artifact type, such as synapse/endpoint
+	 * @return artifacts sorted by name
+	 */
+	public List<Entry> getArtifacts(String type) {
+		return getArtifacts(type, "");
+	}
+
+	/**
+	 * Artifacts of a type in all ESB projects of the workspace, whose name
+	 * starts with a prefix
+	 *
+	 * @param type
+	 *            artifact type, such as synapse/endpoint
+	 * @param namePrefix
+	 *            start of the artifact names
+	 * @return artifacts sorted by name
+	 */
+	public synchronized List<Entry> getArtifacts(String type, String namePrefix) {
+		indexStaleProjects();
+		NavigableSet<Entry> artifacts = artifactsByType.get(type);
+		if (artifacts == null) {
+			return new ArrayList<Entry>();
+		}
+		if (namePrefix.isEmpty()) {
+			return new ArrayList<Entry>(artifacts);
+		}
+		// entries between the lowest and highest entry with the prefix
+		Entry from = new Entry(namePrefix, type, null, "");
+		Entry to = new Entry(namePrefix + Character.MAX_VALUE, type, null, "");
+		return new ArrayList<Entry>(artifacts.subSet(from, true, to, false));
+	}
+
+	/**
+	 * Artifacts of a type in one ESB project
+	 *
+	 * @param project
+	 *            ESB project
+	 * @param type
+	 *            artifact type, such as synapse/endpoint
+	 * @return artifacts sorted by name
+	 */
+	public synchronized List<Entry> getArtifacts(IProject project, String type) {
+		indexStaleProjects();
+		List<Entry> artifacts = new ArrayList<Entry>();
+		ProjectArtifacts projectArtifacts = projects.get(project);
+		if (projectArtifacts != null) {
+			for (Entry entry : projectArtifacts.entries) {
+				if (entry.type.equals(type)) {
+					artifacts.add(entry);
+				}
+			}
+			artifacts.sort(ENTRY_ORDER);
+		}
+		return artifacts;
+	}
+
+	@Override
+	public void resourceChanged(IResourceChangeEvent event) {
+		if (event.getDelta() == null) {
+			return;
+		}
+		final Set<IProject> changedProjects = new HashSet<IProject>();
+		try {
+			event.getDelta().accept(new IResourceDeltaVisitor() {
+
+				@Override
+				public boolean visit(IResourceDelta delta) {
+					IResource resource = delta.getResource();
+					if (resource.getType() == IResource.ROOT) {
+						return true;
+					} else if (resource.getType() == IResource.PROJECT) {
+						if (delta.getKind() != IResourceDelta.CHANGED
+								|| (delta.getFlags() & (IResourceDelta.OPEN | IResourceDelta.DESCRIPTION)) != 0) {
+							changedProjects.add((IProject) resource);
+						}
+						return true;
+					} else if (resource.getType() == IResource.FILE
+							&& ARTIFACT_MEATADATA_FILE.equals(resource.getName())) {
+						changedProjects.add(resource.getProject());
+					}
+					return false;
+				}
+			});
+		} catch (CoreException e) {
+			log.error("Error while processing resource changes", e);
+		}
+		if (!changedProjects.isEmpty()) {
+			synchronized (this) {
+				staleProjects.addAll(changedProjects);
+			}
+			updateJob.schedule(UPDATE_DELAY);
+		}
+	}
+
+	private synchronized void update() {
+		indexStaleProjects();
+		if (modified) {
+			save();
+			modified = false;
+		}
+	}
+
+	private void indexStaleProjects() {
+		if (!scanned) {
+			// projects saved by an earlier session may have changed or gone
+			// since
+			Set<IProject> workspaceProjects = new HashSet<IProject>(projects.keySet());
+			workspaceProjects.addAll(Arrays.asList(ResourcesPlugin.getWorkspace().getRoot().getProjects()));
+			for (IProject project : workspaceProjects) {
+				ProjectArtifacts projectArtifacts = projects.get(project);
+				if (projectArtifacts == null || projectArtifacts.timeStamp != getTimeStamp(project)) {
+					staleProjects.add(project);
+				}
+			}
+			scanned = true;
+		}
+		if (staleProjects.isEmpty()) {
+			return;
+		}
+		for (IProject project : staleProjects) {
+			removeProject(project);
+			if (isESBProject(project)) {
+				indexProject(project);
+			}
+		}
+		staleProjects.clear();
+		modified = true;
+		if (updateJob.getState() == Job.NONE) {
+			// save the index in the background
+			updateJob.schedule(UPDATE_DELAY);
+		}
+	}
+
+	private void indexProject(IProject project) {
+		long timeStamp = getTimeStamp(project);
+		List<Entry> entries = new ArrayList<Entry>();
+		ESBProjectArtifact esbProjectArtifact = new ESBProjectArtifact();
+		try {
+			esbProjectArtifact.fromFile(project.getFile(ARTIFACT_MEATADATA_FILE).getLocation().toFile());
+			for (ESBArtifact esbArtifact : esbProjectArtifact.getAllESBArtifacts()) {
+				if (esbArtifact.getName() != null && esbArtifact.getType() != null) {
+					String path = esbArtifact.getFile() != null ? esbArtifact.getFile().replace('\\', '/') : "";
+					entries.add(new Entry(esbArtifact.getName(), esbArtifact.getType(), project, path));
+				}
+			}
+		} catch (Exception e) {
+			log.error("Error occured while scanning " + project.getName() + " for ESB artifacts", e);
+		}
+		addProject(project, new ProjectArtifacts(timeStamp, entries));
+	}
+
+	private void addProject(IProject project, ProjectArtifacts projectArtifacts) {
+		projects.put(project, projectArtifacts);
+		for (Entry entry : projectArtifacts.entries) {
+			NavigableSet<Entry> artifacts = artifactsByType.get(entry.type);
+			if (artifacts == null) {
+				artifacts = new TreeSet<Entry>(ENTRY_ORDER);
+				artifactsByType.put(entry.type, artifacts);
+			}
+			artifacts.add(entry);
+		}
+	}
+
+	private void removeProject(IProject project) {
+		ProjectArtifacts projectArtifacts = projects.remove(project);
+		if (projectArtifacts == null) {
+			return;
+		}
+		for (Entry entry : projectArtifacts.entries) {
+			NavigableSet<Entry> artifacts = artifactsByType.get(entry.type);
+			if (artifacts != null) {
+				artifacts.remove(entry);
+				if (artifacts.isEmpty()) {
+					artifactsByType.remove(entry.type);
+				}
+			}
+		}
+	}
+
+	private static boolean isESBProject(IProject project) {
+		try {
+			return project.isOpen() && project.hasNature(ESB_PROJECT_NATURE);
+		} catch (CoreException e) {
+			log.error("Error while checking the project nature", e);
+			return false;
+		}
+	}
+
+	private static long getTimeStamp(IProject project) {
+		return project.getFile(ARTIFACT_MEATADATA_FILE).getLocalTimeStamp();
+	}
+
+	private File getIndexFile() {
+		return Activator.getDefault().getStateLocation().append(INDEX_FILE).toFile();
+	}
+
+	/**
+	 * Read the index saved by an earlier session. Projects are checked against
+	 * the workspace on the first query.
+	 */
+	private synchronized void load() {
+		File indexFile = getIndexFile();
+		if (!indexFile.exists()) {
+			return;
+		}
+		Properties properties = new Properties();
+		try (InputStream inputStream = new FileInputStream(indexFile)) {
+			properties.load(inputStream);
+		} catch (IOException e) {
+			log.error("Error while reading the ESB artifact index", e);
+			return;
+		}
+		IWorkspaceRoot root = ResourcesPlugin.getWorkspace().getRoot();
+		for (String key : properties.stringPropertyNames()) {
+			if (!key.endsWith("/" + TIME_STAMP)) {
+				continue;
+			}
+			String projectName = key.substring(0, key.length() - TIME_STAMP.length() - 1);
+			IProject project = root.getProject(projectName);
+			try {
+				long timeStamp = Long.parseLong(properties.getProperty(key));
+				List<Entry> entries = new ArrayList<Entry>();
+				String value;
+				for (int i = 0; (value = properties.getProperty(projectName + "/" + i)) != null; i++) {
+					String[] values = value.split(SEPARATOR, -1);
+					if (values.length == 3) {
+						entries.add(new Entry(values[1], values[0], project, values[2]));
+					}
+				}
+				addProject(project, new ProjectArtifacts(timeStamp, entries));
+			} catch (NumberFormatException e) {
+				// skip a damaged project, which is indexed again
+			}
+		}
+	}
+
+	private void save() {
+		Properties properties = new Properties();
+		for (Map.Entry<IProject, ProjectArtifacts> project : projects.entrySet()) {
+			String projectName = project.getKey().getName();
+			properties.setProperty(projectName + "/" + TIME_STAMP, String.valueOf(project.getValue().timeStamp));
+			int i = 0;
+			for (Entry entry : project.getValue().entries) {
+				properties.setProperty(projectName + "/" + i++,
+						entry.type + SEPARATOR + entry.name + SEPARATOR + entry.path);
+			}
+		}
+		try (OutputStream outputStream = new FileOutputStream(getIndexFile())) {
+			properties.store(outputStream, null);
+		} catch (IOException e) {
+			log.error("Error while saving the ESB artifact index", e);
+		}
+	}
+
+	/**
+	 * Artifacts of a project, with the time stamp of the artifact.xml they
+	 * were read from
+	 */
+	private static class ProjectArtifacts {
+
+		private final long timeStamp;
+		private final List<Entry> entries;
+
+		ProjectArtifacts(long timeStamp, List<Entry> entries) {
+			this.timeStamp = timeStamp;
+			this.entries = entries;
+		}
+	}
+
+}
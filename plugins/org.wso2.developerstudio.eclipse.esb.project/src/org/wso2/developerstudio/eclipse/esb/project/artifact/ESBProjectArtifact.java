@@ -22,7 +22,9 @@ import org.wso2.developerstudio.eclipse.platform.core.manifest.AbstractXMLDoc;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Observable;
 import java.util.Observer;
@@ -101,6 +103,10 @@ public class ESBProjectArtifact extends AbstractXMLDoc implements Observer{
 		return esbArtifacts.remove(artifact);
 	}
 	
+	public boolean removeESBArtifacts(Collection<ESBArtifact> artifacts){
+		return esbArtifacts.removeAll(new HashSet<ESBArtifact>(artifacts));
+	}
+	
 	public List<ESBArtifact> getAllESBArtifacts(){
 		return Collections.unmodifiableList(esbArtifacts);
 	}
@@ -16,17 +16,40 @@
 
 package org.wso2.developerstudio.eclipse.esb.project.connector.store;
 
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.io.Reader;
 import java.lang.reflect.Type;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+import org.apache.commons.httpclient.Header;
 import org.apache.commons.httpclient.HttpClient;
 import org.apache.commons.httpclient.HttpException;
 import org.apache.commons.httpclient.methods.GetMethod;
+import org.apache.commons.io.FileUtils;
+import org.wso2.developerstudio.eclipse.esb.project.Activator;
+import org.wso2.developerstudio.eclipse.logging.core.IDeveloperStudioLog;
+import org.wso2.developerstudio.eclipse.logging.core.Logger;
 
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
@@ -37,6 +60,39 @@ public class ConnectorStore {
     //context path to get assets with ES 2.1.0
     private static final String ASSETS_ES210 = "/store/apis/assets?type=esbconnector";
 
+	/**
+	 * Number of pages and icons fetched from the store at the same time
+	 */
+	public static final int MAX_CONCURRENT_REQUESTS = 4;
+
+	private static final int SC_OK = 200;
+	private static final int SC_NOT_MODIFIED = 304;
+	private static final int SC_NOT_FOUND = 404;
+	private static final String ETAG = "ETag";
+	private static final String LAST_MODIFIED = "Last-Modified";
+	private static final String IF_NONE_MATCH = "If-None-Match";
+	private static final String IF_MODIFIED_SINCE = "If-Modified-Since";
+	private static final String CACHED_BODY_EXTENSION = ".cache";
+	private static final String CACHED_HEADERS_EXTENSION = ".properties";
+
+	private static IDeveloperStudioLog log = Logger.getLog(Activator.PLUGIN_ID);
+
+	/**
+	 * Receives the connectors of a store page by page
+	 */
+	public interface PageListener {
+
+		/**
+		 * Called with the connectors of each page, in the order of the pages,
+		 * once the page and the icons of its connectors are fetched
+		 *
+		 * @param connectors
+		 *            connectors of the page
+		 * @return whether to go on with the next page
+		 */
+		boolean connectorsFetched(List<Connector> connectors);
+	}
+
 	/**
 	 * This will connect to connector store using provided URL and retrieve information for available connectors in the
 	 * requested page and return a Object object which can be used to fetch relevant information for a particular
@@ -51,17 +107,19 @@ public class ConnectorStore {
 	 */
 	public static Object getConnectorInfo(HttpClient httpclient, String url, int page)
 			throws HttpException, IOException {
-		GetMethod get = new GetMethod(url + ASSETS + "?page=" + page);
-		int statusCode = 0;
-		statusCode = httpclient.executeMethod(get);
-		if (statusCode == 200) {
-			Reader reader = new InputStreamReader(get.getResponseBodyAsStream());
+		return getConnectorInfo(httpclient, url, page, null);
+	}
+
+	private static Object getConnectorInfo(HttpClient httpclient, String url, int page, File cacheDirectory)
+			throws HttpException, IOException {
+		Response response = get(httpclient, url + ASSETS + "?page=" + page, cacheDirectory);
+		if (response.statusCode == SC_OK) {
 			Type collectionType = new TypeToken<List<Connector>>() {
 			}.getType();
-			List<Connector> lcs = (List<Connector>) new Gson().fromJson(reader, collectionType);
+			List<Connector> lcs = (List<Connector>) new Gson().fromJson(response.getReader(), collectionType);
 			return lcs;
-		} else if (statusCode == 404) {
-			return getConnectorInfo_es210(httpclient, url, page);
+		} else if (response.statusCode == SC_NOT_FOUND) {
+			return getConnectorInfo_es210(httpclient, url, page, cacheDirectory);
 		} else {
 			return null;
 		}
@@ -82,17 +140,234 @@ public class ConnectorStore {
 	 */
 	public static ConnectorData getConnectorInfo_es210(HttpClient httpclient, String url, int page)
 			throws HttpException, IOException {
-		GetMethod get = new GetMethod(url + ASSETS_ES210);
-		int statusCode = 0;
-		statusCode = httpclient.executeMethod(get);
-		if (statusCode == 200) {
-			Reader reader = new InputStreamReader(get.getResponseBodyAsStream());
+		return getConnectorInfo_es210(httpclient, url, page, null);
+	}
+
+	private static ConnectorData getConnectorInfo_es210(HttpClient httpclient, String url, int page,
+			File cacheDirectory) throws HttpException, IOException {
+		Response response = get(httpclient, url + ASSETS_ES210, cacheDirectory);
+		if (response.statusCode == SC_OK) {
 			Type collectionType = new TypeToken<ConnectorData>() {
 			}.getType();
-			ConnectorData lcs = (ConnectorData) new Gson().fromJson(reader, collectionType);
+			ConnectorData lcs = (ConnectorData) new Gson().fromJson(response.getReader(), collectionType);
 			return lcs;
 		} else {
 			return null;
 		}
 	}
+
+	/**
+	 * Fetch all the connectors of a store, with the icons of the connectors.
+	 * 
+	 * After the first page, which tells the version of the store, the next
+	 * pages are fetched ahead on a few threads, while the listener receives
+	 * the pages in order as soon as they arrive. Pages and icons are kept in
+	 * the cache directory with their ETag and Last-Modified headers, and are
+	 * only downloaded again when the store reports them changed.
+	 * 
+	 * @param httpclient
+	 *            client which can be used from several threads
+	 * @param url
+	 *            URL of the store
+	 * @param cacheDirectory
+	 *            directory of the cached pages and icons
+	 * @param listener
+	 *            receives the connectors
+	 * @throws IOException
+	 *             if a page cannot be fetched and is not cached
+	 * @throws InterruptedException
+	 */
+	public static void fetchConnectors(final HttpClient httpclient, final String url, final File cacheDirectory,
+			PageListener listener) throws IOException, InterruptedException {
+		Object connectorInfo = getConnectorInfo(httpclient, url, 1, cacheDirectory);
+		if (connectorInfo instanceof ConnectorData) {
+			List<Connector> connectors = ((ConnectorData) connectorInfo).getConnector();
+			fetchIcons(httpclient, url, connectors, cacheDirectory);
+			listener.connectorsFetched(connectors);
+			return;
+		}
+		List<Connector> connectors = (List<Connector>) connectorInfo;
+		if (connectors == null || connectors.isEmpty()) {
+			return;
+		}
+		fetchIcons(httpclient, url, connectors, cacheDirectory);
+		if (!listener.connectorsFetched(connectors)) {
+			return;
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(MAX_CONCURRENT_REQUESTS);
+		try {
+			// the last page is not known, so a few pages are always in flight
+			// and the ones past the last page are dropped
+			Map<Integer, Future<List<Connector>>> pages = new HashMap<Integer, Future<List<Connector>>>();
+			int nextPage = 2;
+			for (; nextPage < 2 + MAX_CONCURRENT_REQUESTS; nextPage++) {
+				pages.put(nextPage, executor.submit(new PageTask(httpclient, url, nextPage, cacheDirectory)));
+			}
+			for (int page = 2;; page++) {
+				connectors = pages.remove(page).get();
+				if (connectors == null || connectors.isEmpty() || !listener.connectorsFetched(connectors)) {
+					return;
+				}
+				pages.put(nextPage, executor.submit(new PageTask(httpclient, url, nextPage, cacheDirectory)));
+				nextPage++;
+			}
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof IOException) {
+				throw (IOException) e.getCause();
+			}
+			throw new IOException(e.getCause());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Cached icon of a connector, fetched by
+	 * {@link #fetchConnectors(HttpClient, String, File, PageListener)}
+	 * 
+	 * @return icon file, which does not exist if the icon could not be fetched
+	 */
+	public static File getIconFile(String url, Connector connector, File cacheDirectory) {
+		return getCacheFile(cacheDirectory, url + connector.getAttributes().getImages_thumbnail(),
+				CACHED_BODY_EXTENSION);
+	}
+
+	private static void fetchIcons(HttpClient httpclient, String url, List<Connector> connectors,
+			File cacheDirectory) {
+		if (connectors == null) {
+			return;
+		}
+		for (Connector connector : connectors) {
+			String location = url + connector.getAttributes().getImages_thumbnail();
+			try {
+				get(httpclient, location, cacheDirectory);
+			} catch (IOException e) {
+				log.error("Error while downloading " + location, e);
+			}
+		}
+	}
+
+	/**
+	 * Fetch a resource, revalidating the cached copy if there is one
+	 * 
+	 * @param cacheDirectory
+	 *            cache directory, or null to not cache the resource
+	 */
+	private static Response get(HttpClient httpclient, String location, File cacheDirectory)
+			throws HttpException, IOException {
+		File bodyFile = cacheDirectory != null ? getCacheFile(cacheDirectory, location, CACHED_BODY_EXTENSION) : null;
+		File headersFile = cacheDirectory != null ? getCacheFile(cacheDirectory, location, CACHED_HEADERS_EXTENSION)
+				: null;
+		Properties headers = new Properties();
+		boolean cached = bodyFile != null && bodyFile.exists() && headersFile.exists();
+		if (cached) {
+			try (InputStream inputStream = new FileInputStream(headersFile)) {
+				headers.load(inputStream);
+			}
+		}
+
+		GetMethod get = new GetMethod(location);
+		try {
+			if (headers.getProperty(ETAG) != null) {
+				get.setRequestHeader(IF_NONE_MATCH, headers.getProperty(ETAG));
+			}
+			if (headers.getProperty(LAST_MODIFIED) != null) {
+				get.setRequestHeader(IF_MODIFIED_SINCE, headers.getProperty(LAST_MODIFIED));
+			}
+			int statusCode;
+			try {
+				statusCode = httpclient.executeMethod(get);
+			} catch (IOException e) {
+				if (!cached) {
+					throw e;
+				}
+				log.warn("Using the cached copy of " + location + " as the store cannot be reached", e);
+				return new Response(SC_OK, FileUtils.readFileToByteArray(bodyFile));
+			}
+			if (statusCode == SC_NOT_MODIFIED && cached) {
+				return new Response(SC_OK, FileUtils.readFileToByteArray(bodyFile));
+			}
+			if (statusCode != SC_OK) {
+				return new Response(statusCode, null);
+			}
+			byte[] body = get.getResponseBody();
+			if (bodyFile != null) {
+				headers.clear();
+				for (String header : new String[] { ETAG, LAST_MODIFIED }) {
+					Header value = get.getResponseHeader(header);
+					if (value != null) {
+						headers.setProperty(header, value.getValue());
+					}
+				}
+				// pages fetched at the same time may share an icon, so a cached
+				// copy is replaced at once rather than written over
+				File tempFile = File.createTempFile(bodyFile.getName(), null, cacheDirectory);
+				FileUtils.writeByteArrayToFile(tempFile, body);
+				Files.move(tempFile.toPath(), bodyFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+				tempFile = File.createTempFile(headersFile.getName(), null, cacheDirectory);
+				try (OutputStream outputStream = new FileOutputStream(tempFile)) {
+					headers.store(outputStream, location);
+				}
+				Files.move(tempFile.toPath(), headersFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+			return new Response(statusCode, body);
+		} finally {
+			get.releaseConnection();
+		}
+	}
+
+	private static File getCacheFile(File cacheDirectory, String location, String extension) {
+		try {
+			return new File(cacheDirectory, URLEncoder.encode(location, "UTF-8") + extension);
+		} catch (IOException e) {
+			// every Java platform has UTF-8
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Fetches a page and the icons of its connectors
+	 */
+	private static class PageTask implements Callable<List<Connector>> {
+
+		private final HttpClient httpclient;
+		private final String url;
+		private final int page;
+		private final File cacheDirectory;
+
+		PageTask(HttpClient httpclient, String url, int page, File cacheDirectory) {
+			this.httpclient = httpclient;
+			this.url = url;
+			this.page = page;
+			this.cacheDirectory = cacheDirectory;
+		}
+
+		@Override
+		public List<Connector> call() throws IOException {
+			Object connectorInfo = getConnectorInfo(httpclient, url, page, cacheDirectory);
+			List<Connector> connectors = connectorInfo instanceof List<?> ? (List<Connector>) connectorInfo : null;
+			fetchIcons(httpclient, url, connectors, cacheDirectory);
+			return connectors;
+		}
+	}
+
+	/**
+	 * Status and body of a response, the body of a cached copy if it was not
+	 * modified
+	 */
+	private static class Response {
+
+		private final int statusCode;
+		private final byte[] body;
+
+		Response(int statusCode, byte[] body) {
+			this.statusCode = statusCode;
+			this.body = body;
+		}
+
+		Reader getReader() {
+			return new InputStreamReader(new ByteArrayInputStream(body), StandardCharsets.UTF_8);
+		}
+	}
 }
@@ -17,16 +17,21 @@
 package org.wso2.developerstudio.eclipse.esb.project.nature;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.apache.maven.model.Plugin;
 import org.apache.maven.model.PluginExecution;
 import org.apache.maven.project.MavenProject;
 import org.codehaus.plexus.util.xml.Xpp3Dom;
+import org.eclipse.core.resources.ICommand;
 import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProjectDescription;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.wso2.developerstudio.eclipse.esb.core.ESBMavenConstants;
+import org.wso2.developerstudio.eclipse.esb.project.utils.ESBProjectUtils;
 import org.wso2.developerstudio.eclipse.maven.util.MavenUtils;
 import org.wso2.developerstudio.eclipse.platform.core.nature.AbstractWSO2ProjectNature;
 import org.wso2.developerstudio.eclipse.utils.project.ProjectUtils;
@@ -45,6 +50,7 @@ public class ESBProjectNature extends AbstractWSO2ProjectNature {
 			createChildren(parentFolder, child);
 		}
 		updatePom();
+		ESBProjectUtils.addArtifactBuilder(getProject());
 	}
 
 	private void updatePom() {
@@ -156,7 +162,14 @@ public class ESBProjectNature extends AbstractWSO2ProjectNature {
 
 	
 	public void deconfigure() throws CoreException {
-		// TODO Auto-generated method stub
-
+		IProjectDescription description = getProject().getDescription();
+		List<ICommand> commands = new ArrayList<ICommand>();
+		for (ICommand command : description.getBuildSpec()) {
+			if (!ESBProjectUtils.ARTIFACT_BUILDER_ID.equals(command.getBuilderName())) {
+				commands.add(command);
+			}
+		}
+		description.setBuildSpec(commands.toArray(new ICommand[commands.size()]));
+		getProject().setDescription(description, null);
 	}
 }
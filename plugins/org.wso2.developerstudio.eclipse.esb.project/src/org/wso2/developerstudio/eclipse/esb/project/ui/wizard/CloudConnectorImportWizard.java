@@ -25,6 +25,7 @@ import java.util.regex.Pattern;
 
 import net.lingala.zip4j.core.ZipFile;
 import net.lingala.zip4j.exception.ZipException;
+import net.lingala.zip4j.model.FileHeader;
 
 import org.apache.commons.io.FileUtils;
 import org.eclipse.core.resources.IResource;
@@ -54,6 +55,8 @@ public class CloudConnectorImportWizard extends AbstractWSO2ProjectCreationWizar
 	private ImportRemoveSelectionWizardPage selectionPage;
 	private static final String DIR_DOT_METADATA = ".metadata";
 	private static final String DIR_CONNECTORS = ".Connectors";
+	private static final String JAR_EXTENSION = ".jar";
+	private static final String CLASS_EXTENSION = ".class";
 
 	private static IDeveloperStudioLog log = Logger.getLog(Activator.PLUGIN_ID);
 
@@ -197,8 +200,7 @@ public class CloudConnectorImportWizard extends AbstractWSO2ProjectCreationWizar
 			parentDirectory.mkdir();
 		}
 		String zipDestination = parentDirectoryPath + File.separator + zipFileName;
-		zipFile.getFile();
-		zipFile.extractAll(zipDestination);
+		extractConnectorFiles(zipFile, zipDestination);
 		IUpdateGMFPlugin updateGMFPlugin = GMFPluginDetails.getiUpdateGMFPlugin();
 		if (updateGMFPlugin != null) {
 			updateGMFPlugin.updateOpenedEditors();
@@ -209,6 +211,20 @@ public class CloudConnectorImportWizard extends AbstractWSO2ProjectCreationWizar
 		storeWizardPage.getSelectedProject().refreshLocal(IResource.DEPTH_INFINITE, null);
 	}
 
+	/**
+	 * Extracts the files the editors read from a connector, which are its descriptors, templates, schemas and icons.
+	 * The libraries and classes of the connector are left in the connector zip, which is what gets exported.
+	 */
+	private void extractConnectorFiles(ZipFile zipFile, String zipDestination) throws ZipException {
+		for (Object header : zipFile.getFileHeaders()) {
+			FileHeader fileHeader = (FileHeader) header;
+			String fileName = fileHeader.getFileName();
+			if (!fileHeader.isDirectory() && !fileName.endsWith(JAR_EXTENSION) && !fileName.endsWith(CLASS_EXTENSION)) {
+				zipFile.extractFile(fileHeader, zipDestination);
+			}
+		}
+	}
+
 	private boolean downloadConnectorAndUpdateProjects(String downloadLink) {
 		String zipDestination = null;
 		try {
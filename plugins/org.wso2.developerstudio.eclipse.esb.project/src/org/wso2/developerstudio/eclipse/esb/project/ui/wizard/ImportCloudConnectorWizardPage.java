@@ -16,15 +16,8 @@
 
 package org.wso2.developerstudio.eclipse.esb.project.ui.wizard;
 
-import java.io.BufferedInputStream;
-import java.io.BufferedOutputStream;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
-import java.lang.reflect.InvocationTargetException;
-import java.net.URL;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
@@ -38,17 +31,19 @@ import javax.net.ssl.SSLContext;
 import javax.net.ssl.TrustManager;
 import javax.net.ssl.X509TrustManager;
 import org.apache.commons.httpclient.HttpClient;
+import org.apache.commons.httpclient.MultiThreadedHttpConnectionManager;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jface.dialogs.ErrorDialog;
-import org.eclipse.jface.operation.IRunnableWithProgress;
 import org.eclipse.jface.viewers.IStructuredSelection;
 import org.eclipse.jface.wizard.IWizardPage;
 import org.eclipse.jface.wizard.WizardPage;
 import org.eclipse.swt.SWT;
+import org.eclipse.swt.SWTException;
 import org.eclipse.swt.events.ModifyEvent;
 import org.eclipse.swt.events.ModifyListener;
 import org.eclipse.swt.events.SelectionAdapter;
@@ -67,11 +62,8 @@ import org.eclipse.swt.widgets.Table;
 import org.eclipse.swt.widgets.TableColumn;
 import org.eclipse.swt.widgets.TableItem;
 import org.eclipse.swt.widgets.Text;
-import org.eclipse.ui.PlatformUI;
-import org.eclipse.ui.progress.IProgressService;
 import org.wso2.developerstudio.eclipse.esb.project.Activator;
 import org.wso2.developerstudio.eclipse.esb.project.connector.store.Connector;
-import org.wso2.developerstudio.eclipse.esb.project.connector.store.ConnectorData;
 import org.wso2.developerstudio.eclipse.esb.project.connector.store.ConnectorStore;
 import org.wso2.developerstudio.eclipse.logging.core.IDeveloperStudioLog;
 import org.wso2.developerstudio.eclipse.logging.core.Logger;
@@ -85,6 +77,7 @@ public class ImportCloudConnectorWizardPage extends WizardPage {
 	private Table table;
 	private Button connectorStore;
 	private Button fileSystem;	
+	private Job listJob;
 	private static final String DIR_DOT_METADATA = ".metadata";
 	private static final String DIR_CACHE = ".cache";
 	private static final String CONNECTOR_STORE_URL = "https://store.wso2.com";
@@ -258,110 +251,118 @@ public class ImportCloudConnectorWizardPage extends WizardPage {
 	}
 		
 	/*
-	 * List available connectors
+	 * List available connectors, adding the connectors of each page of the store to the table as it arrives
 	 */
 	private void listConnectors() {
-		IProgressService progressService = PlatformUI.getWorkbench().getProgressService();
-		try {
-			progressService.runInUI(PlatformUI.getWorkbench().getProgressService(), new IRunnableWithProgress() {
-				public void run(IProgressMonitor monitor) {					
-					try {
-						String iconCacheDirPath = getSelectedProject().getWorkspace().getRoot().getLocation()
-								.toOSString() + File.separator + DIR_DOT_METADATA + File.separator + DIR_CACHE;
-						File iconCacheDir = new File(iconCacheDirPath);
-						if (!iconCacheDir.exists()) {
-							iconCacheDir.mkdir();
-						}
-						int page = 1;
-						monitor.beginTask("Fetching list of connectors", 1000);
-						monitor.subTask("Searching connectors in store : page " + page);
-						Object connectorInfo = ConnectorStore.getConnectorInfo(getHttpClient(),
-								txtConnectorStoreURL.getText(), page);
-						if (connectorInfo instanceof List<?>) {
-							List<Connector> tmpList = (List<Connector>) connectorInfo;
-							while (tmpList != null && !tmpList.isEmpty()) {
-								connectorList.addAll(tmpList);
-								monitor.worked(25);
-								++page;
-								monitor.subTask("Searching connectors in store : page " + page);
-								tmpList = (List<Connector>) ConnectorStore.getConnectorInfo(getHttpClient(),
-										txtConnectorStoreURL.getText(), page);
-							}
-							addConnectorsToTable(page, iconCacheDir, monitor);
-						} else if (connectorInfo instanceof ConnectorData) {
-							List<Connector> tmpList = ((ConnectorData) connectorInfo).getConnector();
-							connectorList.addAll(tmpList);
-							addConnectorsToTable(page, iconCacheDir, monitor);
-						}
+		String iconCacheDirPath = getSelectedProject().getWorkspace().getRoot().getLocation().toOSString()
+				+ File.separator + DIR_DOT_METADATA + File.separator + DIR_CACHE;
+		final File iconCacheDir = new File(iconCacheDirPath);
+		if (!iconCacheDir.exists()) {
+			iconCacheDir.mkdir();
+		}
+		final String storeURL = txtConnectorStoreURL.getText();
+		connectorList.clear();
+		table.removeAll();
+		if (listJob != null) {
+			listJob.cancel();
+		}
 
-					} catch (KeyManagementException | NoSuchAlgorithmException | IOException e1) {
-						log.error("Error while listing connectors", e1);
-						IStatus editorStatus = new Status(IStatus.ERROR, Activator.PLUGIN_ID, e1.getMessage());
-						ErrorDialog.openError(Display.getCurrent().getActiveShell(), "Error while listing connectors",
-								e1.getMessage(), editorStatus);
-						monitor.done();
+		listJob = new Job("Fetching list of connectors") {
+			@Override
+			protected IStatus run(final IProgressMonitor monitor) {
+				final Job job = this;
+				monitor.beginTask("Searching connectors in store", IProgressMonitor.UNKNOWN);
+				final long startTime = System.currentTimeMillis();
+				HttpClient httpclient = null;
+				try {
+					httpclient = getHttpClient();
+					ConnectorStore.fetchConnectors(httpclient, storeURL, iconCacheDir,
+							new ConnectorStore.PageListener() {
+
+								@Override
+								public boolean connectorsFetched(final List<Connector> connectors) {
+									monitor.worked(1);
+									Display.getDefault().asyncExec(new Runnable() {
+										public void run() {
+											// pages of an earlier listing may still arrive
+											if (listJob == job) {
+												addConnectorsToTable(connectors, storeURL, iconCacheDir);
+											}
+										}
+									});
+									return !monitor.isCanceled();
+								}
+							});
+					log.debug("Connectors listed from " + storeURL + " in "
+							+ (System.currentTimeMillis() - startTime) + " ms");
+				} catch (KeyManagementException | NoSuchAlgorithmException | IOException e1) {
+					log.error("Error while listing connectors", e1);
+					final IStatus editorStatus = new Status(IStatus.ERROR, Activator.PLUGIN_ID, e1.getMessage());
+					Display.getDefault().asyncExec(new Runnable() {
+						public void run() {
+							ErrorDialog.openError(Display.getCurrent().getActiveShell(),
+									"Error while listing connectors", editorStatus.getMessage(), editorStatus);
+						}
+					});
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return Status.CANCEL_STATUS;
+				} finally {
+					if (httpclient != null) {
+						// each listing has its own connection manager, release its connections and threads
+						((MultiThreadedHttpConnectionManager) httpclient.getHttpConnectionManager()).shutdown();
 					}
+					monitor.done();
 				}
-			}, getSelectedProject().getWorkspace().getRoot());
-		} catch (InvocationTargetException | InterruptedException e) {
-			log.error("Error while listing connectors", e);
+				return monitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
+			}
+		};
+		listJob.setUser(true);
+		listJob.schedule();
+	}
+
+	@Override
+	public void dispose() {
+		// stop a listing still running when the wizard is closed
+		if (listJob != null) {
+			listJob.cancel();
 		}
+		super.dispose();
 	}
-	
-	protected void addConnectorsToTable(int page, File iconCacheDir, IProgressMonitor monitor) {
-		int workUnit = (1000 - (25 * page)) / connectorList.size();
-		for (Connector connector : connectorList) {
-			monitor.subTask("Fetching details of " + connector.getAttributes().getOverview_name() + " connector.");
-			String imageLocation = null;
+
+	protected void addConnectorsToTable(List<Connector> connectors, String storeURL, File iconCacheDir) {
+		if (table.isDisposed()) {
+			return;
+		}
+		for (Connector connector : connectors) {
+			connectorList.add(connector);
 			TableItem item = new TableItem(table, SWT.NONE);
-			imageLocation = txtConnectorStoreURL.getText() + connector.getAttributes().getImages_thumbnail();
-			String[] segments = imageLocation.split("/");
-			String imageFileName = segments[segments.length - 1];
-			try {
-				String imageFilePath = iconCacheDir + File.separator + imageFileName;
-				File imageFile = new File(imageFilePath);
-				if (!imageFile.exists()) {
-					// Download the thumbnail image if it is not there in the
-					// filesystem.
-					downloadThumbnailImage(imageLocation, imageFilePath);
+			File imageFile = ConnectorStore.getIconFile(storeURL, connector, iconCacheDir);
+			if (imageFile.exists()) {
+				try {
+					Image image = new Image(Display.getDefault(), imageFile.getPath());
+					Image scaled = new Image(Display.getDefault(), 55, 50);
+					GC gc = new GC(scaled);
+					gc.setAntialias(SWT.ON);
+					gc.setInterpolation(SWT.HIGH);
+					gc.drawImage(image, 0, 0, image.getBounds().width, image.getBounds().height, 0, 0, 55, 50);
+					gc.dispose();
+					image.dispose();
+					item.setImage(scaled);
+				} catch (SWTException e) {
+					log.error("Error while loading the icon of " + connector.getAttributes().getOverview_name(), e);
 				}
-				Image image = new Image(Display.getDefault(), imageFilePath);
-				Image scaled = new Image(Display.getDefault(), 55, 50);
-				GC gc = new GC(scaled);
-				gc.setAntialias(SWT.ON);
-				gc.setInterpolation(SWT.HIGH);
-				gc.drawImage(image, 0, 0, image.getBounds().width, image.getBounds().height, 0, 0, 55, 50);
-				gc.dispose();
-				image.dispose();
-				item.setImage(scaled);
-			} catch (IOException e) {
-				log.error("Error while downloading " + imageFileName, e);
 			}
 			item.setText(new String[] { connector.getAttributes().getOverview_name(),
 					connector.getAttributes().getOverview_version() });
 			item.setData(connector);
-			monitor.worked(workUnit);
-		}
-		monitor.done();
-	}
-
-	/*
-	 * Download the thumbnail image from the provided URL.
-	 */
-	private void downloadThumbnailImage(String location, String file) throws IOException {
-		URL url = new URL(location);
-		InputStream in = new BufferedInputStream(url.openStream());
-		OutputStream out = new BufferedOutputStream(new FileOutputStream(file));
-
-		for (int i; (i = in.read()) != -1;) {
-			out.write(i);
 		}
-		in.close();
-		out.close();
 	}
 
 	private HttpClient getHttpClient() throws NoSuchAlgorithmException, KeyManagementException {
-		HttpClient httpclient = new HttpClient();
+		MultiThreadedHttpConnectionManager connectionManager = new MultiThreadedHttpConnectionManager();
+		connectionManager.getParams().setDefaultMaxConnectionsPerHost(ConnectorStore.MAX_CONCURRENT_REQUESTS);
+		HttpClient httpclient = new HttpClient(connectionManager);
 		httpclient.getParams().setIntParameter(HTTP_SOCKET_TIMEOUT, TIMEOUT);
 		SSLContext ctx;
 		ctx = SSLContext.getInstance("TLS");
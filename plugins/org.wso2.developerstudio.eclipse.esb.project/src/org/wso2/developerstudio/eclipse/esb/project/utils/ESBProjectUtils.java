@@ -17,6 +17,7 @@
 package org.wso2.developerstudio.eclipse.esb.project.utils;
 
 import java.io.File;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.regex.Pattern;
@@ -29,9 +30,18 @@ import org.apache.maven.model.Plugin;
 import org.apache.maven.model.PluginExecution;
 import org.apache.maven.project.MavenProject;
 import org.codehaus.plexus.util.xml.Xpp3Dom;
+import org.eclipse.core.resources.ICommand;
 import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IProjectDescription;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.IWorkspaceRunnable;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Status;
 import org.eclipse.jface.dialogs.Dialog;
 import org.eclipse.jface.viewers.IStructuredSelection;
 import org.eclipse.jface.wizard.WizardDialog;
@@ -51,6 +61,9 @@ import org.wso2.developerstudio.eclipse.utils.file.FileUtils;
 public class ESBProjectUtils {
 	
 	private static IDeveloperStudioLog log=Logger.getLog(Activator.PLUGIN_ID);
+
+	/* builder validating the artifacts, contributed by the ESB diagram plugin */
+	public static final String ARTIFACT_BUILDER_ID = "org.wso2.developerstudio.eclipse.gmf.esb.diagram.esbArtifactBuilder";
 	
 	public static IProject createESBProject(Shell shell,File location){
 		IWizardDescriptor wizardDesc = PlatformUI.getWorkbench().getNewWizardRegistry().findWizard("org.wso2.developerstudio.eclipse.artifact.newesbproject");
@@ -90,9 +103,22 @@ public class ESBProjectUtils {
 		return false;
 	}
 	
-	public static void createESBArtifacts(List<OMElement> selectedElementsList,IProject project,File pomfile,Map<File,String> fileList,
+	/**
+	 * Create the artifacts of a synapse configuration in an ESB project.
+	 * 
+	 * The artifact files, their maven plugins and metadata entries are
+	 * collected first, then each file is written once in a single workspace
+	 * operation, so an import of many artifacts saves the pom.xml and the
+	 * artifact.xml once and fires one resource change event.
+	 */
+	public static void createESBArtifacts(List<OMElement> selectedElementsList,final IProject project,final File pomfile,Map<File,String> fileList,
 			String groupId) throws FactoryConfigurationError, Exception {
 		if (selectedElementsList != null) {
+			long startTime = System.currentTimeMillis();
+			final MavenProject mavenProject = MavenUtils.getMavenProject(pomfile);
+			final ESBProjectArtifact esbProjectArtifact = new ESBProjectArtifact();
+			esbProjectArtifact.fromFile(project.getFile("artifact.xml").getLocation().toFile());
+			final Map<File, String> artifactFiles = new LinkedHashMap<File, String>();
 
 			for (OMElement element : selectedElementsList) {
 
@@ -112,14 +138,11 @@ public class ESBProjectUtils {
 							.getFolder(commonESBPath + "sequences")
 							.getLocation().toFile();
 					File destFile = new File(baseDir, qName + ".xml");
-					FileUtils.createFile(destFile, element.toString());
-					MavenProject mavenProject = MavenUtils
-							.getMavenProject(pomfile);
+					artifactFiles.put(destFile, element.toString());
 					addPluginEntry(mavenProject, "org.wso2.maven",
 							"wso2-esb-sequence-plugin",
 							ESBMavenConstants.WSO2_ESB_SEQUENCE_VERSION,
 							"sequence");
-					MavenUtils.saveMavenProject(mavenProject, pomfile);
 					
 					// Fixing TOOLS-1981.
 					if (qName != null && qName.equalsIgnoreCase("main")) {
@@ -127,111 +150,90 @@ public class ESBProjectUtils {
 					} else {
 						fileList.put(destFile, "sequence");
 					}
-					createArtifactMetaDataEntry(qName, "synapse/sequence",
-							baseDir, groupId + ".sequence",project);
+					esbProjectArtifact.addESBArtifact(createArtifact(qName, "synapse/sequence",
+							baseDir, groupId + ".sequence",project));
 				} else if (localName.equalsIgnoreCase("endpoint")) {
 					File baseDir = project
 							.getFolder(commonESBPath + "endpoints")
 							.getLocation().toFile();
 					File destFile = new File(baseDir, qName + ".xml");
-					FileUtils.createFile(destFile, element.toString());
-					MavenProject mavenProject = MavenUtils
-							.getMavenProject(pomfile);
+					artifactFiles.put(destFile, element.toString());
 					addPluginEntry(mavenProject, "org.wso2.maven",
 							"wso2-esb-endpoint-plugin",
 							ESBMavenConstants.WSO2_ESB_ENDPOINT_VERSION,
 							"endpoint");
-					MavenUtils.saveMavenProject(mavenProject, pomfile);
 					fileList.put(destFile, "endpoint");
-					createArtifactMetaDataEntry(qName, "synapse/endpoint",
-							baseDir, groupId + ".endpoint",project);
+					esbProjectArtifact.addESBArtifact(createArtifact(qName, "synapse/endpoint",
+							baseDir, groupId + ".endpoint",project));
 				} else if (localName.equalsIgnoreCase("proxy")) {
 					File baseDir = project
 							.getFolder(commonESBPath + "proxy-services")
 							.getLocation().toFile();
 					File destFile = new File(baseDir, qName + ".xml");
-					FileUtils.createFile(destFile, element.toString());
-					MavenProject mavenProject = MavenUtils
-							.getMavenProject(pomfile);
+					artifactFiles.put(destFile, element.toString());
 					addPluginEntry(mavenProject, "org.wso2.maven",
 							"wso2-esb-proxy-plugin",
 							ESBMavenConstants.WSO2_ESB_PROXY_VERSION, "proxy");
-					MavenUtils.saveMavenProject(mavenProject, pomfile);
 					fileList.put(destFile, "proxy");
-					createArtifactMetaDataEntry(qName, "synapse/proxy-service",
-							baseDir, groupId + ".proxy-service",project);
+					esbProjectArtifact.addESBArtifact(createArtifact(qName, "synapse/proxy-service",
+							baseDir, groupId + ".proxy-service",project));
 				} else if (localName.equalsIgnoreCase("localEntry")) {
 					File baseDir = project
 							.getFolder(commonESBPath + "local-entries")
 							.getLocation().toFile();
 					File destFile = new File(baseDir, qName + ".xml");
-					FileUtils.createFile(destFile, element.toString());
-					MavenProject mavenProject = MavenUtils
-							.getMavenProject(pomfile);
+					artifactFiles.put(destFile, element.toString());
 					addPluginEntry(mavenProject, "org.wso2.maven",
 							"wso2-esb-localentry-plugin",
 							ESBMavenConstants.WSO2_ESB_LOCAL_ENTRY_VERSION,
 							"localentry");
-					MavenUtils.saveMavenProject(mavenProject, pomfile);
 					fileList.put(destFile, "localEntry");
-					createArtifactMetaDataEntry(qName, "synapse/local-entry",
-							baseDir, groupId + ".local-entry",project);
+					esbProjectArtifact.addESBArtifact(createArtifact(qName, "synapse/local-entry",
+							baseDir, groupId + ".local-entry",project));
 				} else if (localName.equalsIgnoreCase("task")) {
 					File baseDir = project.getFolder(commonESBPath + "task")
 							.getLocation().toFile();
 					File destFile = new File(baseDir, qName + ".xml");
-					FileUtils.createFile(destFile, element.toString());
-					MavenProject mavenProject = MavenUtils
-							.getMavenProject(pomfile);
+					artifactFiles.put(destFile, element.toString());
 					addPluginEntry(mavenProject, "org.wso2.maven",
 							"wso2-esb-task-plugin",
 							ESBMavenConstants.WSO2_ESB_TASK_VERSION, "task");
-					MavenUtils.saveMavenProject(mavenProject, pomfile);
 					fileList.put(destFile, "task");
-					createArtifactMetaDataEntry(qName, "synapse/task", baseDir,
-							groupId + ".task",project);
+					esbProjectArtifact.addESBArtifact(createArtifact(qName, "synapse/task", baseDir,
+							groupId + ".task",project));
 				} else if (localName.equalsIgnoreCase("api")) {
 					File baseDir = project.getFolder(commonESBPath + "api")
 							.getLocation().toFile();
 					File destFile = new File(baseDir, qName + ".xml");
-					FileUtils.createFile(destFile, element.toString());
-					MavenProject mavenProject = MavenUtils
-							.getMavenProject(pomfile);
+					artifactFiles.put(destFile, element.toString());
 					addPluginEntry(mavenProject, "org.wso2.maven",
 							"wso2-esb-api-plugin",
 							ESBMavenConstants.WSO2_ESB_API_VERSION, "api");
-					MavenUtils.saveMavenProject(mavenProject, pomfile);
 					fileList.put(destFile, "api");
-					createArtifactMetaDataEntry(qName, "synapse/api", baseDir,
-							groupId + ".api",project);
+					esbProjectArtifact.addESBArtifact(createArtifact(qName, "synapse/api", baseDir,
+							groupId + ".api",project));
 				} else if (localName.equalsIgnoreCase("messageStore")) {
 					File baseDir = project.getFolder(commonESBPath + "message-stores")
 							.getLocation().toFile();
 					File destFile = new File(baseDir, qName + ".xml");
-					FileUtils.createFile(destFile, element.toString());
-					MavenProject mavenProject = MavenUtils
-							.getMavenProject(pomfile);
+					artifactFiles.put(destFile, element.toString());
 					addPluginEntry(mavenProject, "org.wso2.maven",
 							"wso2-esb-messagestore-plugin",
 							ESBMavenConstants.WSO2_ESB_MESSAGE_STORE_PLUGIN_VERSION, "message-store");
-					MavenUtils.saveMavenProject(mavenProject, pomfile);
 					fileList.put(destFile, localName);
-					createArtifactMetaDataEntry(qName, "synapse/message-store", baseDir,
-							groupId + ".message-store",project);
+					esbProjectArtifact.addESBArtifact(createArtifact(qName, "synapse/message-store", baseDir,
+							groupId + ".message-store",project));
 				} else if (localName.equalsIgnoreCase("messageProcessor")) {
 					File baseDir = project.getFolder(commonESBPath + "message-processors")
 							.getLocation().toFile();
 					File destFile = new File(baseDir, qName + ".xml");
-					FileUtils.createFile(destFile, element.toString());
-					MavenProject mavenProject = MavenUtils
-							.getMavenProject(pomfile);
+					artifactFiles.put(destFile, element.toString());
 					addPluginEntry(mavenProject, "org.wso2.maven",
 							"wso2-esb-messageprocessor-plugin",
 							ESBMavenConstants.WSO2_ESB_MESSAGE_PROCESSOR_PLUGIN_VERSION, "message-processor");
-					MavenUtils.saveMavenProject(mavenProject, pomfile);
 					fileList.put(destFile, localName);
-					createArtifactMetaDataEntry(qName, "synapse/message-processors", baseDir,
-							groupId + ".message-processor",project);
+					esbProjectArtifact.addESBArtifact(createArtifact(qName, "synapse/message-processors", baseDir,
+							groupId + ".message-processor",project));
 				} else if (localName.equalsIgnoreCase("template")) {
 					File baseDir = project.getFolder(commonESBPath + "templates")
 							.getLocation().toFile();
@@ -240,14 +242,12 @@ public class ESBProjectUtils {
 					if (element.getChildrenWithName(new QName("sequence")) != null
 							&& element.getChildrenWithName(new QName("sequence")).hasNext()) {
 						// Sequence template.
-						FileUtils.createFile(destFile, element.toString());
-						MavenProject mavenProject = MavenUtils.getMavenProject(pomfile);
+						artifactFiles.put(destFile, element.toString());
 						addPluginEntry(mavenProject, "org.wso2.maven", "wso2-esb-template-plugin",
 								ESBMavenConstants.WSO2_ESB_TEMPLATE_VERSION, "template");
-						MavenUtils.saveMavenProject(mavenProject, pomfile);
 						fileList.put(destFile, "template.sequence");
-						createArtifactMetaDataEntry(qName, "synapse/sequenceTemplate", baseDir,
-								groupId + ".template", project);
+						esbProjectArtifact.addESBArtifact(createArtifact(qName, "synapse/sequenceTemplate", baseDir,
+								groupId + ".template", project));
 					} else if (element.getChildrenWithName(new QName("endpoint")) != null
 							&& element.getChildrenWithName(new QName("endpoint")).hasNext()) {
 						// Endpoint template.
@@ -267,18 +267,36 @@ public class ESBProjectUtils {
 							templateType = templateType + "-0";
 						}
 						
-						FileUtils.createFile(destFile, element.toString());
-						MavenProject mavenProject = MavenUtils.getMavenProject(pomfile);
+						artifactFiles.put(destFile, element.toString());
 						addPluginEntry(mavenProject, "org.wso2.maven", "wso2-esb-template-plugin",
 								ESBMavenConstants.WSO2_ESB_TEMPLATE_VERSION, "template");
-						MavenUtils.saveMavenProject(mavenProject, pomfile);
 						fileList.put(destFile, templateType);
-						createArtifactMetaDataEntry(qName, "synapse/endpointTemplate", baseDir,
-								groupId + ".template", project);
+						esbProjectArtifact.addESBArtifact(createArtifact(qName, "synapse/endpointTemplate", baseDir,
+								groupId + ".template", project));
 					}
 					
 				}
 			}
+
+			ResourcesPlugin.getWorkspace().run(new IWorkspaceRunnable() {
+
+				@Override
+				public void run(IProgressMonitor monitor) throws CoreException {
+					try {
+						for (Map.Entry<File, String> artifactFile : artifactFiles.entrySet()) {
+							FileUtils.createFile(artifactFile.getKey(), artifactFile.getValue());
+						}
+						MavenUtils.saveMavenProject(mavenProject, pomfile);
+						esbProjectArtifact.toFile();
+					} catch (Exception e) {
+						throw new CoreException(new Status(IStatus.ERROR, Activator.PLUGIN_ID,
+								"Error while creating the ESB artifacts", e));
+					}
+					project.refreshLocal(IResource.DEPTH_INFINITE, monitor);
+				}
+			}, project, IWorkspace.AVOID_UPDATE, new NullProgressMonitor());
+			log.debug("Created " + artifactFiles.size() + " ESB artifact(s) in "
+					+ (System.currentTimeMillis() - startTime) + " ms");
 		}
 	}
 	
@@ -311,6 +329,12 @@ public class ESBProjectUtils {
 		ESBProjectArtifact esbProjectArtifact = new ESBProjectArtifact();
 		esbProjectArtifact.fromFile(project.getFile("artifact.xml")
 				.getLocation().toFile());
+		esbProjectArtifact.addESBArtifact(createArtifact(name, type, baseDir, groupId, project));
+		esbProjectArtifact.toFile();
+	}
+	
+	private static ESBArtifact createArtifact(String name, String type, File baseDir, String groupId,
+			IProject project) {
 		ESBArtifact artifact = new ESBArtifact();
 		artifact.setName(name);
 		artifact.setVersion("1.0.0");
@@ -321,8 +345,7 @@ public class ESBProjectUtils {
 				project.getLocation().toFile(),
 				new File(baseDir, name + ".xml")).replaceAll(
 				Pattern.quote(File.separator), "/"));
-		esbProjectArtifact.addESBArtifact(artifact);
-		esbProjectArtifact.toFile();
+		return artifact;
 	}
 	
 	public static void updatePom(IProject project) throws Exception {
@@ -336,6 +359,32 @@ public class ESBProjectUtils {
 	
 	}	
 	
+	/**
+	 * Adds the ESB artifact builder to the build spec of the project unless it
+	 * is already there, so the project description is only written when it
+	 * changes.
+	 * 
+	 * @return true if the builder was added
+	 */
+	public static boolean addArtifactBuilder(IProject project) throws CoreException {
+		IProjectDescription description = project.getDescription();
+		ICommand[] commands = description.getBuildSpec();
+		for (ICommand command : commands) {
+			if (ARTIFACT_BUILDER_ID.equals(command.getBuilderName())) {
+				return false;
+			}
+		}
+		ICommand[] newCommands = new ICommand[commands.length + 1];
+		System.arraycopy(commands, 0, newCommands, 0, commands.length);
+		ICommand command = description.newCommand();
+		command.setBuilderName(ARTIFACT_BUILDER_ID);
+		newCommands[commands.length] = command;
+		description.setBuildSpec(newCommands);
+		project.setDescription(description, null);
+		log.info("Added the ESB artifact builder to " + project.getName());
+		return true;
+	}
+
 	public static String getType(String dirName) {
 		switch (dirName) {
 		case "endpoints":
@@ -16,7 +16,6 @@
 
 package org.wso2.developerstudio.eclipse.gmf.esb.diagram.custom;
 
-import java.io.File;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
@@ -33,16 +32,12 @@ import org.eclipse.core.runtime.IPath;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.gef.EditPart;
 import org.eclipse.gef.RootEditPart;
-import org.eclipse.gef.ui.palette.PaletteViewer;
 import org.eclipse.gmf.runtime.diagram.ui.editparts.GraphicalEditPart;
 import org.eclipse.gmf.runtime.diagram.ui.editparts.IGraphicalEditPart;
 import org.eclipse.gmf.runtime.diagram.ui.editparts.ShapeCompartmentEditPart;
 import org.eclipse.gmf.runtime.diagram.ui.editparts.ShapeNodeEditPart;
-import org.eclipse.gmf.runtime.diagram.ui.parts.DiagramEditDomain;
 import org.eclipse.gmf.runtime.notation.Diagram;
 import org.eclipse.gmf.runtime.notation.View;
-import org.eclipse.jface.dialogs.MessageDialog;
-import org.eclipse.swt.widgets.Display;
 import org.eclipse.ui.IEditorPart;
 import org.eclipse.ui.IEditorReference;
 import org.eclipse.ui.PlatformUI;
@@ -100,7 +95,6 @@ import org.wso2.developerstudio.eclipse.gmf.esb.URLRewriteMediator;
 import org.wso2.developerstudio.eclipse.gmf.esb.ValidateMediator;
 import org.wso2.developerstudio.eclipse.gmf.esb.XQueryMediator;
 import org.wso2.developerstudio.eclipse.gmf.esb.XSLTMediator;
-import org.wso2.developerstudio.eclipse.gmf.esb.diagram.custom.cloudconnector.CloudConnectorDirectoryTraverser;
 import org.wso2.developerstudio.eclipse.gmf.esb.diagram.edit.parts.APIResourceEditPart;
 import org.wso2.developerstudio.eclipse.gmf.esb.diagram.edit.parts.APIResourceFaultInputConnectorEditPart;
 import org.wso2.developerstudio.eclipse.gmf.esb.diagram.edit.parts.APIResourceInputConnectorEditPart;
@@ -138,11 +132,8 @@ import org.wso2.developerstudio.eclipse.gmf.esb.diagram.edit.parts.SwitchMediato
 import org.wso2.developerstudio.eclipse.gmf.esb.diagram.edit.parts.SwitchMediatorEditPart;
 import org.wso2.developerstudio.eclipse.gmf.esb.diagram.edit.parts.ThrottleContainerEditPart;
 import org.wso2.developerstudio.eclipse.gmf.esb.diagram.edit.parts.ThrottleMediatorEditPart;
-import org.wso2.developerstudio.eclipse.gmf.esb.diagram.part.CustomPaletteViewerKeyHandler;
 import org.wso2.developerstudio.eclipse.gmf.esb.diagram.part.EsbDiagramEditor;
 import org.wso2.developerstudio.eclipse.gmf.esb.diagram.part.EsbEditorInput;
-import org.wso2.developerstudio.eclipse.gmf.esb.diagram.part.EsbMultiPageEditor;
-import org.wso2.developerstudio.eclipse.gmf.esb.diagram.part.EsbPaletteFactory;
 import org.wso2.developerstudio.eclipse.gmf.esb.impl.CloudConnectorOperationImpl;
 import org.wso2.developerstudio.eclipse.platform.core.utils.Constants;
 
@@ -823,72 +814,12 @@ public class EditorUtils {
 		return null;
 	}
 
+	/**
+	 * Update the tool palettes of the open editors with the defined artifacts
+	 * and connector operations, shortly and off the UI thread
+	 */
 	public static void updateToolpalette() {
-		Display.getDefault().asyncExec(new Runnable() {			
-			public void run() {
-				IEditorReference editorReferences[] = PlatformUI.getWorkbench().getActiveWorkbenchWindow()
-						.getActivePage().getEditorReferences();
-				IEditorPart activeEditor=PlatformUI.getWorkbench().getActiveWorkbenchWindow()
-				.getActivePage().getActiveEditor();
-				for (int i = 0; i < editorReferences.length; i++) {
-					IEditorPart editor = editorReferences[i].getEditor(false);
-					if ((editor instanceof EsbMultiPageEditor) && ((EsbMultiPageEditor) editor).getGraphicalEditor() != null) {
-				        /*
-				         * This must be altered. 'addDefinedSequences' and 'addDefinedEndpoints' methods should not exist inside EsbPaletteFactory class. 
-				         * Creating new instance of 'EsbPaletteFactory' must be avoided.
-				         */
-						EsbPaletteFactory esbPaletteFactory=new EsbPaletteFactory();
-						if(!editor.equals(activeEditor)){					        
-					        esbPaletteFactory.addDefinedSequences(((EsbMultiPageEditor) editor).getGraphicalEditor());
-					        esbPaletteFactory.addDefinedEndpoints(((EsbMultiPageEditor) editor).getGraphicalEditor());					        
-						}else{
-							//esbPaletteFactory.addCloudConnectorOperations(((EsbMultiPageEditor) editor).getGraphicalEditor());
-						}
-						try {
-							EsbEditorInput input = (EsbEditorInput) ((EsbMultiPageEditor) editor).getGraphicalEditor().getEditorInput();
-							IFile file = input.getXmlResource();
-							IProject activeProject = file.getProject();
-							if(CloudConnectorDirectoryTraverser.getInstance().validate(activeProject)){
-								addCloudConnectorOperations(((EsbMultiPageEditor) editor).getGraphicalEditor(), esbPaletteFactory);
-							}	
-						} catch (Exception e) {
-						 MessageDialog.openError(PlatformUI.getWorkbench().getDisplay().getActiveShell(),
-									 "Developer Studio Error Dialog", "Error while loading the connector due to "+e.getMessage());							 
-						}
-						
-						// Initialize palette viewer key handler. 
-						PaletteViewer paletteViewer = ((DiagramEditDomain) ((EsbMultiPageEditor) editor).getGraphicalEditor().getDiagramEditDomain())
-								.getPaletteViewer();
-						if(paletteViewer.getKeyHandler() instanceof CustomPaletteViewerKeyHandler) {
-							((CustomPaletteViewerKeyHandler)paletteViewer.getKeyHandler()).initializeKeyHandler();	
-						}
-						esbPaletteFactory.updateToolPaletteItems(((EsbMultiPageEditor) editor).getGraphicalEditor());
-					}
-				}
-			}
-		});
-	}
-	
-	
-	private static void addCloudConnectorOperations(EsbDiagramEditor editorPart,EsbPaletteFactory esbPaletteFactory) throws Exception{
-		EsbEditorInput input = (EsbEditorInput) editorPart.getEditorInput();
-		IFile file = input.getXmlResource();
-		IProject activeProject = file.getProject();
-		
-		//String connectorDirectory=activeProject.getWorkspace().getRoot().getLocation().toOSString()+File.separator+"cloudConnectors";
-		String connectorDirectory = activeProject.getWorkspace().getRoot().getLocation()
-				.toOSString()
-				+ File.separator + CloudConnectorDirectoryTraverser.connectorPathFromWorkspace;
-		File directory=new File(connectorDirectory);
-		if(directory.isDirectory()){
-			File[] children=directory.listFiles();
-	        for(int i=0;i<children.length;++i){
-	        	if(children[i].isDirectory()){
-	        		esbPaletteFactory.addCloudConnectorOperations(editorPart, children[i].getName());
-	        	}
-	        }
-		}
-
+		ToolPaletteModel.getInstance().update();
 	}
 	
 	/**
@@ -0,0 +1,339 @@
+/*
+ * Copyright 2018 WSO2, Inc. (http://wso2.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.developerstudio.eclipse.gmf.esb.diagram.custom;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IResourceDeltaVisitor;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.gef.ui.palette.PaletteViewer;
+import org.eclipse.gmf.runtime.diagram.ui.parts.DiagramEditDomain;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.ui.IEditorPart;
+import org.eclipse.ui.IEditorReference;
+import org.eclipse.ui.IWorkbenchPage;
+import org.eclipse.ui.IWorkbenchWindow;
+import org.eclipse.ui.PlatformUI;
+import org.wso2.developerstudio.eclipse.esb.project.artifact.ESBArtifactIndex;
+import org.wso2.developerstudio.eclipse.gmf.esb.diagram.Activator;
+import org.wso2.developerstudio.eclipse.gmf.esb.diagram.custom.cloudconnector.CloudConnectorDirectoryTraverser;
+import org.wso2.developerstudio.eclipse.gmf.esb.diagram.part.CustomPaletteViewerKeyHandler;
+import org.wso2.developerstudio.eclipse.gmf.esb.diagram.part.EsbDiagramEditor;
+import org.wso2.developerstudio.eclipse.gmf.esb.diagram.part.EsbEditorInput;
+import org.wso2.developerstudio.eclipse.gmf.esb.diagram.part.EsbMultiPageEditor;
+import org.wso2.developerstudio.eclipse.gmf.esb.diagram.part.EsbPaletteFactory;
+import org.wso2.developerstudio.eclipse.logging.core.IDeveloperStudioLog;
+import org.wso2.developerstudio.eclipse.logging.core.Logger;
+
+/**
+ * Content of the tool palettes of the ESB editors, shared by all editors of
+ * the workspace.
+ *
+ * The defined sequences and endpoints of the projects and the operations of
+ * the connectors are looked up by a background job, a short while after the
+ * last change of an artifact.xml or request for an update, so a burst of
+ * changes updates the palettes once. The palettes of the open editors are
+ * then filled from the content on the UI thread. The operations of a
+ * connector are only read again when its connector.xml changes, and the
+ * connectors are only validated again when they are added, removed or
+ * replaced.
+ */
+public class ToolPaletteModel implements IResourceChangeListener {
+
+	private static final String SEQUENCE_TYPE = "synapse/sequence";
+	private static final String ENDPOINT_TYPE = "synapse/endpoint";
+	private static final String ARTIFACT_METADATA_FILE = "artifact.xml";
+	private static final String CONNECTOR_FILE = "connector.xml";
+
+	/**
+	 * Time in milliseconds to wait for more changes before the content is
+	 * read
+	 */
+	private static final long UPDATE_DELAY = 200;
+
+	private static IDeveloperStudioLog log = Logger.getLog(Activator.PLUGIN_ID);
+
+	private static ToolPaletteModel instance;
+
+	private final Job updateJob;
+
+	/**
+	 * Content the palettes are filled from, replaced as a whole by the job
+	 */
+	private volatile Content content = new Content();
+
+	/**
+	 * Operations of each connector directory with the time stamp of its
+	 * connector.xml, only used by the job
+	 */
+	private final Map<String, ConnectorOperations> connectorOperations = new HashMap<String, ConnectorOperations>();
+
+	/**
+	 * Names and time stamps of the connector directories when they were last
+	 * validated successfully, only used by the job
+	 */
+	private String validatedConnectors;
+	private boolean connectorsValid;
+
+	private ToolPaletteModel() {
+		updateJob = new Job("Updating the tool palettes") {
+
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				long startTime = System.currentTimeMillis();
+				content = readContent();
+				log.debug("Tool palette content read in " + (System.currentTimeMillis() - startTime) + " ms");
+				Display.getDefault().asyncExec(new Runnable() {
+
+					@Override
+					public void run() {
+						fillPalettes();
+					}
+				});
+				return Status.OK_STATUS;
+			}
+		};
+		updateJob.setSystem(true);
+	}
+
+	public static synchronized ToolPaletteModel getInstance() {
+		if (instance == null) {
+			instance = new ToolPaletteModel();
+			ResourcesPlugin.getWorkspace().addResourceChangeListener(instance, IResourceChangeEvent.POST_CHANGE);
+		}
+		return instance;
+	}
+
+	/**
+	 * Read the content again and fill the palettes of the open editors with it
+	 */
+	public void update() {
+		updateJob.schedule(UPDATE_DELAY);
+	}
+
+	@Override
+	public void resourceChanged(IResourceChangeEvent event) {
+		if (event.getDelta() == null) {
+			return;
+		}
+		final boolean[] changed = new boolean[1];
+		try {
+			event.getDelta().accept(new IResourceDeltaVisitor() {
+
+				@Override
+				public boolean visit(IResourceDelta delta) {
+					IResource resource = delta.getResource();
+					if (resource.getType() == IResource.FILE && ARTIFACT_METADATA_FILE.equals(resource.getName())) {
+						changed[0] = true;
+					}
+					return !changed[0] && resource.getType() != IResource.FOLDER;
+				}
+			});
+		} catch (CoreException e) {
+			log.error("Error while processing resource changes", e);
+		}
+		if (changed[0]) {
+			update();
+		}
+	}
+
+	private Content readContent() {
+		Content newContent = new Content();
+		for (ESBArtifactIndex.Entry sequence : ESBArtifactIndex.getInstance().getArtifacts(SEQUENCE_TYPE)) {
+			addArtifact(newContent.definedSequences, sequence);
+		}
+		for (ESBArtifactIndex.Entry endpoint : ESBArtifactIndex.getInstance().getArtifacts(ENDPOINT_TYPE)) {
+			addArtifact(newContent.definedEndpoints, endpoint);
+		}
+		readConnectors(newContent);
+		return newContent;
+	}
+
+	private static void addArtifact(Map<IProject, List<String>> artifacts, ESBArtifactIndex.Entry artifact) {
+		IFile file = artifact.getFile();
+		if (file == null) {
+			return;
+		}
+		List<String> projectArtifacts = artifacts.get(artifact.getProject());
+		if (projectArtifacts == null) {
+			projectArtifacts = new ArrayList<String>();
+			artifacts.put(artifact.getProject(), projectArtifacts);
+		}
+		projectArtifacts.add(file.getName().replaceAll("[.]xml$", ""));
+	}
+
+	private void readConnectors(Content newContent) {
+		File connectorDirectory = new File(ResourcesPlugin.getWorkspace().getRoot().getLocation().toOSString()
+				+ File.separator + CloudConnectorDirectoryTraverser.connectorPathFromWorkspace);
+		String connectors = listConnectors(connectorDirectory);
+		if (!connectors.equals(validatedConnectors)) {
+			// validation removes broken connectors and warns about them
+			final boolean[] valid = new boolean[1];
+			Display.getDefault().syncExec(new Runnable() {
+
+				@Override
+				public void run() {
+					valid[0] = CloudConnectorDirectoryTraverser.getInstance().validate(
+							ResourcesPlugin.getWorkspace());
+				}
+			});
+			connectorsValid = valid[0];
+			// a failed validation is not remembered, so the next update validates again and can recover
+			validatedConnectors = valid[0] ? listConnectors(connectorDirectory) : null;
+		}
+		if (!connectorsValid) {
+			connectorOperations.clear();
+			return;
+		}
+
+		File[] children = connectorDirectory.listFiles();
+		Map<String, ConnectorOperations> readOperations = new HashMap<String, ConnectorOperations>();
+		for (int i = 0; children != null && i < children.length; ++i) {
+			if (!children[i].isDirectory()) {
+				continue;
+			}
+			String name = children[i].getName();
+			long timeStamp = new File(children[i], CONNECTOR_FILE).lastModified();
+			ConnectorOperations operations = connectorOperations.get(name);
+			if (operations == null || operations.timeStamp != timeStamp) {
+				try {
+					List<String> operationNames = new ArrayList<String>(CloudConnectorDirectoryTraverser
+							.getInstance(children[i].getPath()).getOperationsMap().keySet());
+					Collections.sort(operationNames);
+					operations = new ConnectorOperations(timeStamp, operationNames);
+				} catch (Exception e) {
+					log.error("Error while loading the connector " + name, e);
+					continue;
+				}
+			}
+			readOperations.put(name, operations);
+			newContent.connectorOperations.put(name, operations.operations);
+		}
+		connectorOperations.clear();
+		connectorOperations.putAll(readOperations);
+	}
+
+	/**
+	 * Names and time stamps of the connector directories, which change when a
+	 * connector is added, removed or replaced
+	 */
+	private static String listConnectors(File connectorDirectory) {
+		StringBuilder connectors = new StringBuilder();
+		File[] children = connectorDirectory.listFiles();
+		for (int i = 0; children != null && i < children.length; ++i) {
+			connectors.append(children[i].getName()).append('@').append(children[i].lastModified()).append('/');
+		}
+		return connectors.toString();
+	}
+
+	/**
+	 * Fill the palettes of the open editors with the content, which must be
+	 * called on the UI thread
+	 */
+	private void fillPalettes() {
+		IWorkbenchWindow window = PlatformUI.getWorkbench().getActiveWorkbenchWindow();
+		IWorkbenchPage page = window != null ? window.getActivePage() : null;
+		if (page == null) {
+			return;
+		}
+		long startTime = System.currentTimeMillis();
+		Content content = this.content;
+		IEditorPart activeEditor = page.getActiveEditor();
+		int editorCount = 0;
+		for (IEditorReference editorReference : page.getEditorReferences()) {
+			IEditorPart editor = editorReference.getEditor(false);
+			if ((editor instanceof EsbMultiPageEditor) && ((EsbMultiPageEditor) editor).getGraphicalEditor() != null) {
+				fillPalette(((EsbMultiPageEditor) editor).getGraphicalEditor(), editor.equals(activeEditor), content);
+				editorCount++;
+			}
+		}
+		log.debug("Tool palettes of " + editorCount + " editor(s) filled in "
+				+ (System.currentTimeMillis() - startTime) + " ms");
+	}
+
+	private static void fillPalette(EsbDiagramEditor editor, boolean active, Content content) {
+		EsbPaletteFactory esbPaletteFactory = new EsbPaletteFactory();
+		if (!active) {
+			IProject project = ((EsbEditorInput) editor.getEditorInput()).getXmlResource().getProject();
+			esbPaletteFactory.addDefinedSequences(editor, content.getDefinedSequences(project));
+			esbPaletteFactory.addDefinedEndpoints(editor, content.getDefinedEndpoints(project));
+		}
+		for (Map.Entry<String, List<String>> connector : content.connectorOperations.entrySet()) {
+			esbPaletteFactory.addCloudConnectorOperations(editor, connector.getKey(), connector.getValue());
+		}
+
+		// Initialize palette viewer key handler.
+		PaletteViewer paletteViewer = ((DiagramEditDomain) editor.getDiagramEditDomain()).getPaletteViewer();
+		if (paletteViewer.getKeyHandler() instanceof CustomPaletteViewerKeyHandler) {
+			((CustomPaletteViewerKeyHandler) paletteViewer.getKeyHandler()).initializeKeyHandler();
+		}
+		esbPaletteFactory.updateToolPaletteItems(editor);
+	}
+
+	/**
+	 * Defined artifacts of the projects and operations of the connectors
+	 */
+	private static class Content {
+
+		private final Map<IProject, List<String>> definedSequences = new HashMap<IProject, List<String>>();
+		private final Map<IProject, List<String>> definedEndpoints = new HashMap<IProject, List<String>>();
+		private final Map<String, List<String>> connectorOperations = new LinkedHashMap<String, List<String>>();
+
+		List<String> getDefinedSequences(IProject project) {
+			List<String> sequences = definedSequences.get(project);
+			return sequences != null ? sequences : Collections.<String> emptyList();
+		}
+
+		List<String> getDefinedEndpoints(IProject project) {
+			List<String> endpoints = definedEndpoints.get(project);
+			return endpoints != null ? endpoints : Collections.<String> emptyList();
+		}
+	}
+
+	/**
+	 * Sorted operations of a connector with the time stamp of the
+	 * connector.xml they were read from
+	 */
+	private static class ConnectorOperations {
+
+		private final long timeStamp;
+		private final List<String> operations;
+
+		ConnectorOperations(long timeStamp, List<String> operations) {
+			this.timeStamp = timeStamp;
+			this.operations = operations;
+		}
+	}
+
+}
@@ -29,91 +29,59 @@ import java.util.Map.Entry;
 import java.util.Properties;
 import java.util.Set;
 
-import javax.xml.stream.XMLStreamException;
-
-import org.apache.axiom.om.OMElement;
-import org.apache.axiom.om.util.AXIOMUtil;
-import org.apache.synapse.config.xml.TemplateMediatorFactory;
-import org.apache.synapse.mediators.template.TemplateMediator;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IWorkspace;
-import org.eclipse.emf.ecore.xml.type.internal.QName;
 import org.eclipse.jface.dialogs.MessageDialog;
 import org.eclipse.ui.PlatformUI;
 import org.wso2.developerstudio.eclipse.gmf.esb.diagram.Activator;
 import org.wso2.developerstudio.eclipse.gmf.esb.diagram.custom.EditorUtils;
-import org.wso2.developerstudio.eclipse.gmf.esb.diagram.custom.deserializer.MediatorFactoryUtils;
+import org.wso2.developerstudio.eclipse.gmf.esb.diagram.custom.cloudconnector.ConnectorMetadataIndex.ConnectorMetadata;
 import org.wso2.developerstudio.eclipse.logging.core.IDeveloperStudioLog;
 import org.wso2.developerstudio.eclipse.logging.core.Logger;
 import org.wso2.developerstudio.eclipse.utils.file.FileUtils;
 
 public class CloudConnectorDirectoryTraverser {
 
-	private static final String synapseNS = "http://ws.apache.org/ns/synapse";
-	private static final String connectorFileName = "connector.xml";
-	private static final String componentFileName = "component.xml";
 	private static final String inputSchemaFolderName = "input_schema";
 	private static final String outputSchemaFolderName = "output_schema";
 	private static final String initFileName = "init.xml";
 	private static final String DIR_DOT_METADATA = ".metadata";
 	public static final String connectorPathFromWorkspace = DIR_DOT_METADATA + File.separator +
 			".Connectors";
-	private Properties properties = new Properties();
-	private static String rootDirectory = null;
-	private static CloudConnectorDirectoryTraverser instance = null;
-	private Connector connector = null;
+	private static final CloudConnectorDirectoryTraverser instance = new CloudConnectorDirectoryTraverser(null);
+	private final String rootDirectory;
 	private static IDeveloperStudioLog log = Logger.getLog(Activator.PLUGIN_ID);
 
 	/*
 	 * Private Constructor
 	 */
-	private CloudConnectorDirectoryTraverser() {
+	private CloudConnectorDirectoryTraverser(String rootDirectory) {
+		this.rootDirectory = rootDirectory;
 	}
 
 	/*
-	 * static method for creating an instance of this class
+	 * static method for creating an instance of this class, reading the
+	 * connector in the given directory
 	 */
 	public static CloudConnectorDirectoryTraverser getInstance(String file) {
-		rootDirectory = file;
-		if (instance == null) {
-			instance = new CloudConnectorDirectoryTraverser();
-		}
-		return instance;
+		return new CloudConnectorDirectoryTraverser(file);
 	}
 
+	/*
+	 * static method for getting an instance of this class which is not bound
+	 * to a connector
+	 */
 	public static CloudConnectorDirectoryTraverser getInstance() {
-		if (instance == null) {
-			instance = new CloudConnectorDirectoryTraverser();
-		}
 		return instance;
 	}
 
-	private void deserializeConnectorXML() throws Exception {
-		File artifactsFile = new File(rootDirectory + File.separator + connectorFileName);
-		String artifactsContent = FileUtils.getContentAsString(artifactsFile);
-		connector = new Connector();
-		connector.deserialize(artifactsContent);
-	}
-
-	private TemplateMediator readTemplateConfiguration(String fileLocation) throws IOException,
-			XMLStreamException {
-		String path = fileLocation;
-		String source = FileUtils.getContentAsString(new File(path));
-		OMElement element = AXIOMUtil.stringToOM(source);
-		TemplateMediator templateMediator = null;
-
-		if (element.getFirstChildWithName(new QName(synapseNS, "sequence", null)) != null) {
-			MediatorFactoryUtils.registerFactories();
-			TemplateMediatorFactory templateMediatorFactory = new TemplateMediatorFactory();
-			templateMediator =
-					(TemplateMediator) templateMediatorFactory.createMediator(element,
-							properties);
-		}
-		return templateMediator;
+	private ConnectorMetadata getMetadata() throws Exception {
+		return ConnectorMetadataIndex.getInstance().getMetadata(rootDirectory);
 	}
 
 	public Collection<String> getCloudConnectorConfigurationParameters() throws Exception {
-		return readTemplateConfiguration(getConfigurationFileLocation(getOperationFileNamesMap())).getParameters();
+		List<String> parameters = getMetadata().getTemplateParameters("init");
+		return parameters != null ? new ArrayList<String>(parameters) : new ArrayList<String>();
 	}
 
 	public String getCloudConnectorOperationInputSchemaFilePath(String connectorOperation) throws Exception {
@@ -146,38 +114,29 @@ public class CloudConnectorDirectoryTraverser {
 						String connectorPath = connectorDirectory + File.separator +
 								children[i].getName();
 						try {
-							File artifactsFile = new File(connectorPath + File.separator +
-									connectorFileName);
-							String artifactsContent = FileUtils.getContentAsString(artifactsFile);
-							connector = new Connector();
-							connector.deserialize(artifactsContent);
+							ConnectorMetadata connector = ConnectorMetadataIndex.getInstance()
+									.getMetadata(connectorPath);
 
-							if (!connector.getConnectorName()
+							if (!connector.getName()
 									.equals(children[i].getName().split("-")[0])) {
 								log.error("Connector directory name " + children[i].getName() + "" +
 										"doesn't match with the connector name " +
-										connector.getConnectorName());
+										connector.getName());
 								errorList.add("Connector directory name " + children[i].getName() +
 										"" + " doesn't match with the connector name " +
-										connector.getConnectorName() +
+										connector.getName() +
 										"valid connector should have 'name-connector-1.0.0' format");
-								FileUtils.deleteDirectories(connectorPath);
+								deleteConnector(connectorPath);
 								continue;
 							}
 
-							if (new File(connectorPath + File.separator + "icon" + File.separator +
-									"icon-small.gif").exists() &&
-									new File(connectorPath + File.separator + "icon" + File.separator +
-											"icon-large.gif").exists()) {
-								CloudConnectorDirectoryTraverser.getInstance(connectorPath)
-										.getOperationsMap();
-							} else {
+							if (connector.getSmallIcon() == null || connector.getLargeIcon() == null) {
 								log.error("Missing icons files of " + children[i].getName());
 								errorList.add("Missing icons files of " + children[i].getName());
-								FileUtils.deleteDirectories(connectorPath);
+								deleteConnector(connectorPath);
 							}
 						} catch (Exception e) {
-							FileUtils.deleteDirectories(connectorPath);
+							deleteConnector(connectorPath);
 							log.error("Error while loading the connector due to  " + e.getMessage(),
 									e);
 							errorList.add("Error while loading the connector due to  " +
@@ -216,6 +175,11 @@ public class CloudConnectorDirectoryTraverser {
 		return validate(activeProject.getWorkspace());
 	}
 
+	private static void deleteConnector(String connectorPath) throws IOException {
+		ConnectorMetadataIndex.getInstance().remove(connectorPath);
+		FileUtils.deleteDirectories(connectorPath);
+	}
+
 	/**
 	 * Returning Operations map in the Cloud Connector zip. This map contains
 	 * the name of the component name and the file name of the operation.
@@ -225,19 +189,7 @@ public class CloudConnectorDirectoryTraverser {
 	 */
 
 	public Map<String, String> getOperationFileNamesMap() throws Exception {
-		Map<String, String> operationFileNamesMap = new HashMap<String, String>();
-		deserializeConnectorXML();
-		for (Dependency dependency : connector.getComponentDependencies()) {
-			String pathname = rootDirectory + File.separator + dependency.getComponent();
-			File artifactFile = new File(pathname + File.separator + componentFileName);
-			String artifactContent = FileUtils.getContentAsString(artifactFile);
-			Component subComponent = new Component();
-			subComponent.deserialize(artifactContent);
-			for (SubComponents subComponents : subComponent.getSubComponents()) {
-				operationFileNamesMap.put(subComponents.getFileName(), dependency.getComponent());
-			}
-		}
-		return operationFileNamesMap;
+		return new HashMap<String, String>(getMetadata().getComponents());
 	}
 
 	/**
@@ -249,21 +201,7 @@ public class CloudConnectorDirectoryTraverser {
 	 */
 
 	public Map<String, String> getOperationsMap() throws Exception {
-		Map<String, String> operationNamesAndFileNamesMap = new HashMap<String, String>();
-		deserializeConnectorXML();
-		for (Dependency dependency : connector.getComponentDependencies()) {
-			String pathname = rootDirectory + File.separator + dependency.getComponent();
-			File artifactFile = new File(pathname + File.separator + componentFileName);
-			String artifactContent = FileUtils.getContentAsString(artifactFile);
-			Component subComponent = new Component();
-			subComponent.deserialize(artifactContent);
-			for (SubComponents subComponents : subComponent.getSubComponents()) {
-				operationNamesAndFileNamesMap.put(subComponents.getName(),
-						subComponents.getFileName());
-			}
-
-		}
-		return operationNamesAndFileNamesMap;
+		return new HashMap<String, String>(getMetadata().getOperations());
 	}
 
 	/**
@@ -275,20 +213,11 @@ public class CloudConnectorDirectoryTraverser {
 	 */
 
 	public Map<String, String> getOperationsConnectorComponentNameMap() throws Exception {
+		ConnectorMetadata connector = getMetadata();
 		Map<String, String> operationNamesAndConnectorComponentNameMap =
 				new HashMap<String, String>();
-		deserializeConnectorXML();
-		for (Dependency dependency : connector.getComponentDependencies()) {
-			String pathname = rootDirectory + File.separator + dependency.getComponent();
-			File artifactFile = new File(pathname + File.separator + componentFileName);
-			String artifactContent = FileUtils.getContentAsString(artifactFile);
-			Component subComponent = new Component();
-			subComponent.deserialize(artifactContent);
-			for (SubComponents subComponents : subComponent.getSubComponents()) {
-				operationNamesAndConnectorComponentNameMap.put(subComponents.getName(),
-						connector.getConnectorName());
-			}
-
+		for (String operationName : connector.getOperations().keySet()) {
+			operationNamesAndConnectorComponentNameMap.put(operationName, connector.getName());
 		}
 		return operationNamesAndConnectorComponentNameMap;
 	}
@@ -303,21 +232,7 @@ public class CloudConnectorDirectoryTraverser {
 	 */
 
 	public Map<String, String> getOperationsInputLoadClassesMap() throws Exception {
-		Map<String, String> operationNamesAndInputLoadClassesMap = new HashMap<String, String>();
-		deserializeConnectorXML();
-		for (Dependency dependency : connector.getComponentDependencies()) {
-			String pathname = rootDirectory + File.separator + dependency.getComponent();
-			File artifactFile = new File(pathname + File.separator + componentFileName);
-			String artifactContent = FileUtils.getContentAsString(artifactFile);
-			ComponentLoadClassInput subComponent = new ComponentLoadClassInput();
-			subComponent.deserialize(artifactContent);
-			for (SubComponents subComponents : subComponent.getSubComponents()) {
-				operationNamesAndInputLoadClassesMap.put(subComponents.getName(),
-						subComponents.getFileName());
-			}
-
-		}
-		return operationNamesAndInputLoadClassesMap;
+		return new HashMap<String, String>(getMetadata().getInputLoadClasses());
 	}
 
 	/**
@@ -330,21 +245,7 @@ public class CloudConnectorDirectoryTraverser {
 	 */
 
 	public Map<String, String> getOperationsOutputLoadClassesMap() throws Exception {
-		Map<String, String> operationNamesAndOutputLoadClassesMap = new HashMap<String, String>();
-		deserializeConnectorXML();
-		for (Dependency dependency : connector.getComponentDependencies()) {
-			String pathname = rootDirectory + File.separator + dependency.getComponent();
-			File artifactFile = new File(pathname + File.separator + componentFileName);
-			String artifactContent = FileUtils.getContentAsString(artifactFile);
-			ComponentLoadClassOutput subComponent = new ComponentLoadClassOutput();
-			subComponent.deserialize(artifactContent);
-			for (SubComponents subComponents : subComponent.getSubComponents()) {
-				operationNamesAndOutputLoadClassesMap.put(subComponents.getName(),
-						subComponents.getFileName());
-			}
-
-		}
-		return operationNamesAndOutputLoadClassesMap;
+		return new HashMap<String, String>(getMetadata().getOutputLoadClasses());
 	}
 
 	/**
@@ -356,21 +257,7 @@ public class CloudConnectorDirectoryTraverser {
 	 */
 
 	public Map<String, String> getOperationsIsDynamicMap() throws Exception {
-		Map<String, String> operationNamesAndLoadClassesMap = new HashMap<String, String>();
-		deserializeConnectorXML();
-		for (Dependency dependency : connector.getComponentDependencies()) {
-			String pathname = rootDirectory + File.separator + dependency.getComponent();
-			File artifactFile = new File(pathname + File.separator + componentFileName);
-			String artifactContent = FileUtils.getContentAsString(artifactFile);
-			ComponentIsDynamic subComponent = new ComponentIsDynamic();
-			subComponent.deserialize(artifactContent);
-			for (SubComponents subComponents : subComponent.getSubComponents()) {
-				operationNamesAndLoadClassesMap.put(subComponents.getName(),
-						subComponents.getFileName());
-			}
-
-		}
-		return operationNamesAndLoadClassesMap;
+		return new HashMap<String, String>(getMetadata().getIsDynamic());
 	}
 
 	/**
@@ -428,20 +315,20 @@ public class CloudConnectorDirectoryTraverser {
 
 	public String getCloudConnectorName() {
 		try {
-			deserializeConnectorXML();
+			return getMetadata().getName();
 		} catch (Exception e) {
 			log.error("Error while deserializing the connector", e);
+			return null;
 		}
-		return connector.getConnectorName();
 	}
 
 	public String getCloudConnectorAuthenticationInfo() {
 		try {
-			deserializeConnectorXML();
+			return getMetadata().getAuthenticationInfo();
 		} catch (Exception e) {
 			log.error("Error while deserializing the connector", e);
+			return null;
 		}
-		return connector.getAuthenticationInfo();
 	}
 
 	public String getConfigurationFileLocation(Map<String, String> artifactsMap) throws Exception {
@@ -482,8 +369,6 @@ public class CloudConnectorDirectoryTraverser {
 	 */
 	public Collection<String> getAllParametersOfConnectorOperation(String addedConnector,
 																   String addedOperation) {
-		String directory = null;
-		String operationFileName = null;
 		List<String> parameters = new ArrayList<String>();
 
 		IProject activeProject = EditorUtils.getActiveProject();
@@ -493,35 +378,15 @@ public class CloudConnectorDirectoryTraverser {
 						.getLocation()
 						.toOSString(),
 				addedConnector);
-		CloudConnectorDirectoryTraverser cloudConnectorDirectoryTraverser =
-				CloudConnectorDirectoryTraverser.getInstance(connectorPath);
-
-		try {
-			operationFileName = cloudConnectorDirectoryTraverser.getOperationsMap()
-					.get(addedOperation);
-			directory = cloudConnectorDirectoryTraverser.getOperationFileNamesMap()
-					.get(operationFileName);
-		} catch (Exception e1) {
-			log.error("Error while retrieving data for connector", e1);
-		}
-		String path = connectorPath + File.separator + directory + File.separator +
-				operationFileName + ".xml";
-
 		try {
-			String source = FileUtils.getContentAsString(new File(path));
-			OMElement element = AXIOMUtil.stringToOM(source);
-
-			if (element.getFirstChildWithName(new QName(synapseNS, "sequence", null)) != null) {
-				TemplateMediatorFactory templateMediatorFactory = new TemplateMediatorFactory();
-				TemplateMediator templateMediator =
-						(TemplateMediator) templateMediatorFactory.createMediator(element,
-								properties);
-				return templateMediator.getParameters();
+			ConnectorMetadata connector = ConnectorMetadataIndex.getInstance().getMetadata(connectorPath);
+			String operationFileName = connector.getOperations().get(addedOperation);
+			List<String> templateParameters = connector.getTemplateParameters(operationFileName);
+			if (templateParameters != null) {
+				parameters.addAll(templateParameters);
 			}
-		} catch (XMLStreamException e) {
-			log.error("Error occurred while parsing selected template file", e);
-		} catch (IOException e) {
-			log.error("Error occurred while reading selected template file", e);
+		} catch (Exception e) {
+			log.error("Error while retrieving data for connector", e);
 		}
 
 		return parameters;
@@ -0,0 +1,423 @@
+/*
+ * Copyright 2018 WSO2, Inc. (http://wso2.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.developerstudio.eclipse.gmf.esb.diagram.custom.cloudconnector;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.xml.namespace.QName;
+
+import org.apache.axiom.om.OMElement;
+import org.apache.axiom.om.util.AXIOMUtil;
+import org.apache.commons.io.IOUtils;
+import org.wso2.developerstudio.eclipse.gmf.esb.diagram.Activator;
+import org.wso2.developerstudio.eclipse.logging.core.IDeveloperStudioLog;
+import org.wso2.developerstudio.eclipse.logging.core.Logger;
+
+/**
+ * Metadata of the connectors of the workspace: their operations, the
+ * components and templates of the operations, the parameters of the templates
+ * and the icons.
+ *
+ * A connector is read from the directory it is extracted to on import. The
+ * metadata of a connector is read once and kept with a stamp made of the
+ * modification times of the directory and its connector.xml, so it holds
+ * until the connector is replaced. It is saved in the state location of the
+ * plugin and survives restarts. The metadata is immutable and may be read from
+ * any thread; two threads asking for a connector which is not known yet may
+ * both read it, with the same result. The saved index of a connector is
+ * replaced atomically, so it is never read while only partly written.
+ */
+class ConnectorMetadataIndex {
+
+	private static final String SYNAPSE_NS = "http://ws.apache.org/ns/synapse";
+	private static final String CONNECTOR_FILE = "connector.xml";
+	private static final String COMPONENT_FILE = "component.xml";
+	private static final String SMALL_ICON_FILE = "icon/icon-small.gif";
+	private static final String LARGE_ICON_FILE = "icon/icon-large.gif";
+	private static final String INDEX_FOLDER = "connector-metadata";
+
+	private static final String PATH_KEY = "path";
+	private static final String STAMP_KEY = "stamp";
+	private static final String NAME_KEY = "name";
+	private static final String AUTHENTICATION_INFO_KEY = "authenticationInfo";
+	private static final String SMALL_ICON_KEY = "icon.small";
+	private static final String LARGE_ICON_KEY = "icon.large";
+	private static final String OPERATION_PREFIX = "operation.";
+	private static final String COMPONENT_PREFIX = "component.";
+	private static final String INPUT_LOAD_CLASS_PREFIX = "inputLoadClass.";
+	private static final String OUTPUT_LOAD_CLASS_PREFIX = "outputLoadClass.";
+	private static final String IS_DYNAMIC_PREFIX = "isDynamic.";
+	private static final String PARAMETERS_PREFIX = "parameters.";
+
+	private static IDeveloperStudioLog log = Logger.getLog(Activator.PLUGIN_ID);
+
+	private static final ConnectorMetadataIndex instance = new ConnectorMetadataIndex();
+
+	private final Map<String, ConnectorMetadata> metadata = new ConcurrentHashMap<String, ConnectorMetadata>();
+
+	private ConnectorMetadataIndex() {
+	}
+
+	static ConnectorMetadataIndex getInstance() {
+		return instance;
+	}
+
+	/**
+	 * Metadata of a connector, read from the connector if it changed since it
+	 * was last read
+	 *
+	 * @param connectorPath
+	 *            connector directory
+	 * @return metadata of the connector
+	 * @throws Exception
+	 *             if the connector cannot be read
+	 */
+	ConnectorMetadata getMetadata(String connectorPath) throws Exception {
+		String stamp = getStamp(connectorPath);
+		ConnectorMetadata connectorMetadata = metadata.get(connectorPath);
+		if (connectorMetadata != null && connectorMetadata.stamp.equals(stamp)) {
+			return connectorMetadata;
+		}
+		connectorMetadata = load(connectorPath, stamp);
+		if (connectorMetadata == null) {
+			long startTime = System.currentTimeMillis();
+			connectorMetadata = read(connectorPath, stamp);
+			save(connectorMetadata);
+			log.debug("Metadata of the connector " + connectorPath + " read in "
+					+ (System.currentTimeMillis() - startTime) + " ms");
+		}
+		metadata.put(connectorPath, connectorMetadata);
+		return connectorMetadata;
+	}
+
+	/**
+	 * Forget the metadata of a connector which was removed
+	 *
+	 * @param connectorPath
+	 *            connector directory
+	 */
+	void remove(String connectorPath) {
+		metadata.remove(connectorPath);
+		File indexFile = getIndexFile(connectorPath);
+		if (indexFile.exists() && !indexFile.delete()) {
+			log.warn("Could not delete " + indexFile);
+		}
+	}
+
+	private static String getStamp(String connectorPath) {
+		File directory = new File(connectorPath);
+		return directory.lastModified() + "," + new File(directory, CONNECTOR_FILE).lastModified();
+	}
+
+	private static ConnectorMetadata read(String connectorPath, String stamp) throws Exception {
+		File directory = new File(connectorPath);
+		ConnectorMetadata connectorMetadata = new ConnectorMetadata(connectorPath, stamp);
+		Connector connector = new Connector();
+		connector.deserialize(readContent(directory, CONNECTOR_FILE));
+		connectorMetadata.name = connector.getConnectorName();
+		connectorMetadata.authenticationInfo = connector.getAuthenticationInfo();
+
+		for (Dependency dependency : connector.getComponentDependencies()) {
+			String componentFolder = dependency.getComponent() + "/";
+			String componentContent = readContent(directory, componentFolder + COMPONENT_FILE);
+			Component component = new Component();
+			component.deserialize(componentContent);
+			for (SubComponents subComponents : component.getSubComponents()) {
+				connectorMetadata.operations.put(subComponents.getName(), subComponents.getFileName());
+				connectorMetadata.components.put(subComponents.getFileName(), dependency.getComponent());
+				String template = componentFolder + subComponents.getFileName() + ".xml";
+				if (new File(directory, template).isFile()) {
+					List<String> parameters = readTemplateParameters(readContent(directory, template));
+					if (parameters != null) {
+						connectorMetadata.templateParameters.put(subComponents.getFileName(), parameters);
+					}
+				}
+			}
+			ComponentLoadClassInput inputLoadClasses = new ComponentLoadClassInput();
+			inputLoadClasses.deserialize(componentContent);
+			for (SubComponents subComponents : inputLoadClasses.getSubComponents()) {
+				connectorMetadata.inputLoadClasses.put(subComponents.getName(), subComponents.getFileName());
+			}
+			ComponentLoadClassOutput outputLoadClasses = new ComponentLoadClassOutput();
+			outputLoadClasses.deserialize(componentContent);
+			for (SubComponents subComponents : outputLoadClasses.getSubComponents()) {
+				connectorMetadata.outputLoadClasses.put(subComponents.getName(), subComponents.getFileName());
+			}
+			ComponentIsDynamic isDynamic = new ComponentIsDynamic();
+			isDynamic.deserialize(componentContent);
+			for (SubComponents subComponents : isDynamic.getSubComponents()) {
+				connectorMetadata.isDynamic.put(subComponents.getName(), subComponents.getFileName());
+			}
+		}
+
+		connectorMetadata.smallIcon = getIcon(directory, SMALL_ICON_FILE);
+		connectorMetadata.largeIcon = getIcon(directory, LARGE_ICON_FILE);
+		return connectorMetadata;
+	}
+
+	/**
+	 * @return path of the icon, or null if the connector has none
+	 */
+	private static String getIcon(File directory, String name) {
+		File iconFile = new File(directory, name);
+		return iconFile.isFile() ? iconFile.getPath() : null;
+	}
+
+	private static String readContent(File directory, String name) throws IOException {
+		try (InputStream inputStream = new FileInputStream(new File(directory, name))) {
+			return IOUtils.toString(inputStream, StandardCharsets.UTF_8);
+		}
+	}
+
+	/**
+	 * Parameters of a template, as the TemplateMediatorFactory reads them
+	 *
+	 * @return names of the parameters, or null if the file is not a sequence
+	 *         template
+	 */
+	private static List<String> readTemplateParameters(String template) throws Exception {
+		OMElement element = AXIOMUtil.stringToOM(template);
+		if (element.getFirstChildWithName(new QName(SYNAPSE_NS, "sequence")) == null) {
+			return null;
+		}
+		List<String> parameters = new ArrayList<String>();
+		Iterator<?> children = element.getChildrenWithName(new QName(SYNAPSE_NS, "parameter"));
+		while (children.hasNext()) {
+			String name = ((OMElement) children.next()).getAttributeValue(new QName("name"));
+			if (name != null) {
+				parameters.add(name);
+			}
+		}
+		return parameters;
+	}
+
+	private static File getIndexFile(String connectorPath) {
+		return Activator.getDefault().getStateLocation().append(INDEX_FOLDER)
+				.append(new File(connectorPath).getName() + ".properties").toFile();
+	}
+
+	/**
+	 * Read the metadata saved by an earlier session
+	 *
+	 * @return saved metadata, or null if there is none for this version of
+	 *         the connector
+	 */
+	private static ConnectorMetadata load(String connectorPath, String stamp) {
+		File indexFile = getIndexFile(connectorPath);
+		if (!indexFile.exists()) {
+			return null;
+		}
+		Properties properties = new Properties();
+		try (InputStream inputStream = new FileInputStream(indexFile)) {
+			properties.load(inputStream);
+		} catch (IOException e) {
+			log.error("Error while reading the connector metadata index", e);
+			return null;
+		}
+		if (!connectorPath.equals(properties.getProperty(PATH_KEY))
+				|| !stamp.equals(properties.getProperty(STAMP_KEY))) {
+			return null;
+		}
+		ConnectorMetadata connectorMetadata = new ConnectorMetadata(connectorPath, stamp);
+		connectorMetadata.name = properties.getProperty(NAME_KEY);
+		connectorMetadata.authenticationInfo = properties.getProperty(AUTHENTICATION_INFO_KEY);
+		connectorMetadata.smallIcon = properties.getProperty(SMALL_ICON_KEY);
+		connectorMetadata.largeIcon = properties.getProperty(LARGE_ICON_KEY);
+		for (String key : properties.stringPropertyNames()) {
+			String value = properties.getProperty(key);
+			if (key.startsWith(OPERATION_PREFIX)) {
+				connectorMetadata.operations.put(key.substring(OPERATION_PREFIX.length()), value);
+			} else if (key.startsWith(COMPONENT_PREFIX)) {
+				connectorMetadata.components.put(key.substring(COMPONENT_PREFIX.length()), value);
+			} else if (key.startsWith(INPUT_LOAD_CLASS_PREFIX)) {
+				connectorMetadata.inputLoadClasses.put(key.substring(INPUT_LOAD_CLASS_PREFIX.length()), value);
+			} else if (key.startsWith(OUTPUT_LOAD_CLASS_PREFIX)) {
+				connectorMetadata.outputLoadClasses.put(key.substring(OUTPUT_LOAD_CLASS_PREFIX.length()), value);
+			} else if (key.startsWith(IS_DYNAMIC_PREFIX)) {
+				connectorMetadata.isDynamic.put(key.substring(IS_DYNAMIC_PREFIX.length()), value);
+			} else if (key.startsWith(PARAMETERS_PREFIX)) {
+				List<String> parameters = new ArrayList<String>();
+				for (String parameter : value.split(",")) {
+					if (!parameter.isEmpty()) {
+						parameters.add(parameter);
+					}
+				}
+				connectorMetadata.templateParameters.put(key.substring(PARAMETERS_PREFIX.length()), parameters);
+			}
+		}
+		return connectorMetadata;
+	}
+
+	private static void save(ConnectorMetadata connectorMetadata) {
+		Properties properties = new Properties();
+		properties.setProperty(PATH_KEY, connectorMetadata.path);
+		properties.setProperty(STAMP_KEY, connectorMetadata.stamp);
+		setProperty(properties, NAME_KEY, connectorMetadata.name);
+		setProperty(properties, AUTHENTICATION_INFO_KEY, connectorMetadata.authenticationInfo);
+		setProperty(properties, SMALL_ICON_KEY, connectorMetadata.smallIcon);
+		setProperty(properties, LARGE_ICON_KEY, connectorMetadata.largeIcon);
+		setProperties(properties, OPERATION_PREFIX, connectorMetadata.operations);
+		setProperties(properties, COMPONENT_PREFIX, connectorMetadata.components);
+		setProperties(properties, INPUT_LOAD_CLASS_PREFIX, connectorMetadata.inputLoadClasses);
+		setProperties(properties, OUTPUT_LOAD_CLASS_PREFIX, connectorMetadata.outputLoadClasses);
+		setProperties(properties, IS_DYNAMIC_PREFIX, connectorMetadata.isDynamic);
+		for (Map.Entry<String, List<String>> parameters : connectorMetadata.templateParameters.entrySet()) {
+			StringBuilder value = new StringBuilder();
+			for (String parameter : parameters.getValue()) {
+				value.append(parameter).append(',');
+			}
+			properties.setProperty(PARAMETERS_PREFIX + parameters.getKey(), value.toString());
+		}
+
+		// written aside and moved in place, so a concurrent load never reads a partial index
+		Path indexFile = getIndexFile(connectorMetadata.path).toPath();
+		try {
+			Path directory = indexFile.toAbsolutePath().getParent();
+			Files.createDirectories(directory);
+			Path temporaryFile = Files.createTempFile(directory, "." + indexFile.getFileName(), ".tmp");
+			try {
+				try (OutputStream outputStream = Files.newOutputStream(temporaryFile)) {
+					properties.store(outputStream, null);
+				}
+				try {
+					Files.move(temporaryFile, indexFile, StandardCopyOption.REPLACE_EXISTING,
+							StandardCopyOption.ATOMIC_MOVE);
+				} catch (AtomicMoveNotSupportedException e) {
+					Files.move(temporaryFile, indexFile, StandardCopyOption.REPLACE_EXISTING);
+				}
+			} finally {
+				Files.deleteIfExists(temporaryFile);
+			}
+		} catch (IOException e) {
+			log.error("Error while saving the connector metadata index", e);
+		}
+	}
+
+	private static void setProperty(Properties properties, String key, String value) {
+		if (value != null) {
+			properties.setProperty(key, value);
+		}
+	}
+
+	private static void setProperties(Properties properties, String prefix, Map<String, String> values) {
+		for (Map.Entry<String, String> value : values.entrySet()) {
+			setProperty(properties, prefix + value.getKey(), value.getValue());
+		}
+	}
+
+	/**
+	 * Metadata of one version of a connector, not changed once it is read
+	 */
+	static class ConnectorMetadata {
+
+		private final String path;
+		private final String stamp;
+		private String name;
+		private String authenticationInfo;
+		private String smallIcon;
+		private String largeIcon;
+		private final Map<String, String> operations = new HashMap<String, String>();
+		private final Map<String, String> components = new HashMap<String, String>();
+		private final Map<String, String> inputLoadClasses = new HashMap<String, String>();
+		private final Map<String, String> outputLoadClasses = new HashMap<String, String>();
+		private final Map<String, String> isDynamic = new HashMap<String, String>();
+		private final Map<String, List<String>> templateParameters = new HashMap<String, List<String>>();
+
+		private ConnectorMetadata(String path, String stamp) {
+			this.path = path;
+			this.stamp = stamp;
+		}
+
+		String getName() {
+			return name;
+		}
+
+		String getAuthenticationInfo() {
+			return authenticationInfo;
+		}
+
+		/**
+		 * @return path of the small icon in the connector directory, or null if the connector has none
+		 */
+		String getSmallIcon() {
+			return smallIcon;
+		}
+
+		/**
+		 * @return path of the large icon in the connector directory, or null if the connector has none
+		 */
+		String getLargeIcon() {
+			return largeIcon;
+		}
+
+		/**
+		 * @return template file names of the operations, by operation name
+		 */
+		Map<String, String> getOperations() {
+			return Collections.unmodifiableMap(operations);
+		}
+
+		/**
+		 * @return component directories of the templates, by template file
+		 *         name
+		 */
+		Map<String, String> getComponents() {
+			return Collections.unmodifiableMap(components);
+		}
+
+		Map<String, String> getInputLoadClasses() {
+			return Collections.unmodifiableMap(inputLoadClasses);
+		}
+
+		Map<String, String> getOutputLoadClasses() {
+			return Collections.unmodifiableMap(outputLoadClasses);
+		}
+
+		Map<String, String> getIsDynamic() {
+			return Collections.unmodifiableMap(isDynamic);
+		}
+
+		/**
+		 * @param templateFileName
+		 *            template file name, without the extension
+		 * @return parameters of the template, or null if it is not a sequence
+		 *         template
+		 */
+		List<String> getTemplateParameters(String templateFileName) {
+			List<String> parameters = templateParameters.get(templateFileName);
+			return parameters != null ? Collections.unmodifiableList(parameters) : null;
+		}
+	}
+
+}
@@ -19,9 +19,7 @@ package org.wso2.developerstudio.eclipse.gmf.esb.diagram.custom.deserializer;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -36,6 +34,7 @@ import org.eclipse.emf.common.command.CompoundCommand;
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.util.EcoreUtil;
 import org.eclipse.emf.transaction.RecordingCommand;
 import org.eclipse.emf.transaction.TransactionalEditingDomain;
 import org.eclipse.gef.EditPart;
@@ -92,6 +91,7 @@ import org.wso2.developerstudio.eclipse.gmf.esb.diagram.edit.parts.ProxyServiceF
 import org.wso2.developerstudio.eclipse.gmf.esb.diagram.edit.parts.SequencesInputConnectorEditPart;
 import org.wso2.developerstudio.eclipse.gmf.esb.diagram.edit.parts.SequencesOutputConnectorEditPart;
 import org.wso2.developerstudio.eclipse.gmf.esb.diagram.part.EsbDiagramEditor;
+import org.wso2.developerstudio.eclipse.gmf.esb.diagram.part.EsbDiagramGraphicalViewer;
 import org.wso2.developerstudio.eclipse.logging.core.IDeveloperStudioLog;
 import org.wso2.developerstudio.eclipse.logging.core.Logger;
 import org.eclipse.draw2d.geometry.Point;
@@ -113,43 +113,31 @@ import static org.wso2.developerstudio.eclipse.gmf.esb.EsbPackage.Literals.*;
  *            Return type of createNode()
  */
 public abstract class AbstractEsbNodeDeserializer<T,R extends EsbNode> implements IEsbNodeDeserializer<T,R> {
-	private static EsbDiagramEditor diagramEditor;
-	private static Map<EsbConnector, LinkedList<EsbNode>> connectionFlowMap = new LinkedHashMap<EsbConnector, LinkedList<EsbNode>>();
-	private static Map<EObject,ShapeNodeEditPart> editPartMap = new HashMap<EObject, ShapeNodeEditPart>();
-	private static Map<EsbConnector, EsbConnector> pairMediatorFlowMap = new HashMap<EsbConnector, EsbConnector>();
-	private static List<EObject> reversedNodes = new ArrayList<EObject>();
-	private static Map<EsbConnector, LinkedList<EsbNode>> complexFiguredReversedFlows = new HashMap<EsbConnector, LinkedList<EsbNode>>();
-	private static Map<EsbNode, Rectangle> nodeBounds = new HashMap<EsbNode, Rectangle>();
 	private static IDeveloperStudioLog log=Logger.getLog(Activator.PLUGIN_ID);
-	private static GraphicalEditPart rootCompartment;
-	private static List<EsbConnector> rootInputConnectors = new ArrayList<EsbConnector>();
-	private static List<EditPart> startNodes = new ArrayList<EditPart>();
 	private EObject elementToEdit;
 	private boolean reversed;
-	private static boolean hasInlineEndPoint;
-	private static boolean addedAddressingEndPoint;
 	
 	public void setElementToEdit(EObject elementToEdit) {
 		this.elementToEdit = elementToEdit;
 	}
-
-	private static Map<EsbConnector, Rectangle> currentLocation ;
 	
 	public static EsbDiagramEditor getDiagramEditor() {
-		/* Always refers EsbDiagramEditor from EsbDeserializerRegistry unless it is NULL
-		 * This ensures that the operations are executed by deserializer performs against the EsbDiagramEditor
-		 * initialized in EsbDeserializerRegistry 
+		/* Always refers EsbDiagramEditor initialized in EsbDeserializerRegistry for the current thread
+		 * This ensures that the operations are executed by deserializer performs against that EsbDiagramEditor
 		 * */
-		EsbDiagramEditor diagramEditorRef = EsbDeserializerRegistry.getInstance().getDiagramEditor();
-		if(diagramEditorRef!=null){
-			diagramEditor = diagramEditorRef;
-			return diagramEditorRef;
-		}
-		return diagramEditor;
+		return getContext().getDiagramEditor();
 	}
 
 	public void setDiagramEditor(EsbDiagramEditor diagramEditor) {
-		AbstractEsbNodeDeserializer.diagramEditor = diagramEditor;
+		DeserializationContext.bind(diagramEditor);
+	}
+
+	/**
+	 * Get the deserialization state of the editor being loaded by the current thread
+	 * @return
+	 */
+	protected static DeserializationContext getContext() {
+		return DeserializationContext.getCurrent();
 	}
 
 	/**
@@ -186,17 +174,17 @@ public abstract class AbstractEsbNodeDeserializer<T,R extends EsbNode> implement
                 if(mediatorsCount==(i+1)){
                     lastMediator=true;
                 }
-                if (reversedNodes.contains(connector.eContainer())) {
+                if (getContext().getReversedNodes().contains(connector.eContainer())) {
                     executeMediatorDeserializer(part, nodeList, domain, mediator, true, commentMediatorList,lastMediator);
-                    reversedNodes.addAll(nodeList);
+                    getContext().getReversedNodes().addAll(nodeList);
                 } else {
                     executeMediatorDeserializer(part, nodeList, domain, mediator, reversed, commentMediatorList,lastMediator);
                     if (reversed) {
-                        reversedNodes.addAll(nodeList);
+                        getContext().getReversedNodes().addAll(nodeList);
                     }
                 }
             }
-			connectionFlowMap.put(connector, nodeList);
+			getContext().getConnectionFlowMap().put(connector, nodeList);
 		} else if(connector instanceof InputConnector){
             int mediatorsCount = sequence.getList().size();
             boolean lastMediator=false;
@@ -207,8 +195,8 @@ public abstract class AbstractEsbNodeDeserializer<T,R extends EsbNode> implement
                 AbstractMediator mediator = (AbstractMediator) sequence.getList().get(i);
                 executeMediatorDeserializer(part, nodeList, domain, mediator, true, commentMediatorList,lastMediator);
 			}
-			connectionFlowMap.put(connector, nodeList);
-			reversedNodes.addAll(nodeList);
+			getContext().getConnectionFlowMap().put(connector, nodeList);
+			getContext().getReversedNodes().addAll(nodeList);
 		}
 		
 	}
@@ -351,11 +339,11 @@ public abstract class AbstractEsbNodeDeserializer<T,R extends EsbNode> implement
     }
 	
 	protected void addPairMediatorFlow(EsbConnector startEnd,EsbConnector stopEnd) {
-		pairMediatorFlowMap.put(startEnd, stopEnd);
+		getContext().getPairMediatorFlowMap().put(startEnd, stopEnd);
 	}
 	
 	private static void pairMediatorFlows() {
-		for (Map.Entry<EsbConnector, EsbConnector> pair : pairMediatorFlowMap.entrySet()) {
+		for (Map.Entry<EsbConnector, EsbConnector> pair : getContext().getPairMediatorFlowMap().entrySet()) {
 		
 			EditPart firstPart = (EditPart) getEditpart(pair.getKey());
 			EditPart secondPart = (EditPart) getEditpart(pair.getValue());
@@ -378,7 +366,7 @@ public abstract class AbstractEsbNodeDeserializer<T,R extends EsbNode> implement
 				}
 			} else if ((firstPart instanceof InboundEndpointSequenceOutputConnectorEditPart && secondPart instanceof InboundEndpointSequenceInputConnectorEditPart)
 					|| (firstPart instanceof InboundEndpointOnErrorSequenceOutputConnectorEditPart && secondPart instanceof InboundEndpointOnErrorSequenceInputConnectorEditPart)) {
-				LinkedList<EsbNode> seq = connectionFlowMap.get(pair.getKey());
+				LinkedList<EsbNode> seq = getContext().getConnectionFlowMap().get(pair.getKey());
 				if (seq != null && seq.size() > 0 && seq.getLast() instanceof Sequence) {
 					sourceConnector = (AbstractConnectorEditPart) getEditpart(((Sequence) seq.getLast())
 							.getOutputConnector().get(0));
@@ -387,7 +375,7 @@ public abstract class AbstractEsbNodeDeserializer<T,R extends EsbNode> implement
 			} else {
 				if (firstPart instanceof ProxyOutputConnectorEditPart
 						&& secondPart instanceof ProxyInputConnectorEditPart) {
-					LinkedList<EsbNode> seq = connectionFlowMap.get(pair.getKey());
+					LinkedList<EsbNode> seq = getContext().getConnectionFlowMap().get(pair.getKey());
 					if (seq != null && seq.size() > 0 && seq.getLast() instanceof SendMediator) {
 						sourceConnector = (AbstractConnectorEditPart) getEditpart(((SendMediator) seq.getLast())
 								.getOutputConnector());
@@ -400,7 +388,7 @@ public abstract class AbstractEsbNodeDeserializer<T,R extends EsbNode> implement
 							}
 						}
 					}
-					LinkedList<EsbNode> outSeq = connectionFlowMap.get(pair.getValue());
+					LinkedList<EsbNode> outSeq = getContext().getConnectionFlowMap().get(pair.getValue());
 					if (outSeq == null || outSeq.size() == 0) {
 						continue;
 					}
@@ -420,7 +408,7 @@ public abstract class AbstractEsbNodeDeserializer<T,R extends EsbNode> implement
 					
 				} else if (firstPart instanceof APIResourceOutputConnectorEditPart
 						&& secondPart instanceof APIResourceInputConnectorEditPart) {
-					LinkedList<EsbNode> seq = connectionFlowMap.get(pair.getKey());
+					LinkedList<EsbNode> seq = getContext().getConnectionFlowMap().get(pair.getKey());
 					if (seq != null && seq.size() > 0 && seq.getLast() instanceof SendMediator) {
 						sourceConnector = (AbstractConnectorEditPart) getEditpart(((SendMediator) seq.getLast())
 								.getOutputConnector());
@@ -433,7 +421,7 @@ public abstract class AbstractEsbNodeDeserializer<T,R extends EsbNode> implement
 							}
 						}
 					}
-					LinkedList<EsbNode> outSeq = connectionFlowMap.get(pair.getValue());
+					LinkedList<EsbNode> outSeq = getContext().getConnectionFlowMap().get(pair.getValue());
 					if (outSeq == null || outSeq.size() == 0) {
 						continue;
 					}
@@ -451,7 +439,7 @@ public abstract class AbstractEsbNodeDeserializer<T,R extends EsbNode> implement
 
 					}
 				}else {
-					LinkedList<EsbNode> outSeq = connectionFlowMap.get(pair.getValue());
+					LinkedList<EsbNode> outSeq = getContext().getConnectionFlowMap().get(pair.getValue());
 					if (outSeq == null || outSeq.size() == 0) {
 						continue;
 					}
@@ -509,11 +497,11 @@ public abstract class AbstractEsbNodeDeserializer<T,R extends EsbNode> implement
 		Iterator<EsbConnector> iterator = getRootInputConnectors().iterator();
 		while (iterator.hasNext()) {
 			EsbConnector rootConnector = iterator.next();
-				for (LinkedList<EsbNode> nodes : connectionFlowMap.values()) {
-					if (!pairMediatorFlowMap.values().contains(nodes)) {
+				for (LinkedList<EsbNode> nodes : getContext().getConnectionFlowMap().values()) {
+					if (!getContext().getPairMediatorFlowMap().values().contains(nodes)) {
 						if (nodes.size() > 0 && (nodes.getLast() instanceof EndPoint || 
 								rootConnector.eContainer() instanceof Sequences)) {
-							LinkedList<EsbNode> outSeq = connectionFlowMap.get(rootConnector);
+							LinkedList<EsbNode> outSeq = getContext().getConnectionFlowMap().get(rootConnector);
 							AbstractConnectorEditPart targetConnector = null;
 							EsbNode last = nodes.getLast();
 							AbstractConnectorEditPart sourceConnector = EditorUtils
@@ -544,7 +532,7 @@ public abstract class AbstractEsbNodeDeserializer<T,R extends EsbNode> implement
 		//Connecting send mediators to an inline endpoint or a dummy endpoint
 		EsbNode targetNode = null;
 		List<EsbNode> sourceNodes = new LinkedList<EsbNode>();
-		for (LinkedList<EsbNode> nodes : connectionFlowMap.values()) {
+		for (LinkedList<EsbNode> nodes : getContext().getConnectionFlowMap().values()) {
 			if (targetNode==null) {
 				if (nodes.size() > 0 && nodes.getLast() instanceof AbstractEndPoint) {
 					AbstractEndPoint endPoint = (AbstractEndPoint) nodes.getLast();
@@ -576,31 +564,36 @@ public abstract class AbstractEsbNodeDeserializer<T,R extends EsbNode> implement
 	/**
 	 * Connect all mediator-flows according to sequence 
 	 */
-	public static synchronized void connectMediatorFlows(){
-		refreshEditPartMap();
-		for(EObject node : reversedNodes){
+	public static void connectMediatorFlows(){
+		synchronized (getContext()) {
+			doConnectMediatorFlows();
+		}
+	}
+
+	private static void doConnectMediatorFlows(){
+		flushBatch();
+		for(EObject node : getContext().getReversedNodes()){
 			EditPart editpart = getEditpart(node);
 			if(editpart instanceof org.wso2.developerstudio.eclipse.gmf.esb.diagram.custom.AbstractMediator){
 				((org.wso2.developerstudio.eclipse.gmf.esb.diagram.custom.AbstractMediator)editpart).reverseConnectors();
 			}
 		}
-		currentLocation = new HashMap<EsbConnector, Rectangle>();
-		for (Map.Entry<EsbConnector, LinkedList<EsbNode>> flow : connectionFlowMap.entrySet()) {
+		getContext().getCurrentLocation().clear();
+		for (Map.Entry<EsbConnector, LinkedList<EsbNode>> flow : getContext().getConnectionFlowMap().entrySet()) {
 			relocateFlow(flow.getKey(), flow.getValue());
 			EObject container = flow.getKey().eContainer();
-			if(reversedNodes.contains(container)){
+			if(getContext().getReversedNodes().contains(container)){
 				EditPart editpart = getEditpart(container);
 				if (editpart instanceof complexFiguredAbstractMediator){
-					complexFiguredReversedFlows.put(flow.getKey(), flow.getValue());
+					getContext().getComplexFiguredReversedFlows().put(flow.getKey(), flow.getValue());
 				}
 			}
 		}
 		clearLinks();
-		for (Map.Entry<EsbConnector, LinkedList<EsbNode>> flow : complexFiguredReversedFlows.entrySet()) {
+		for (Map.Entry<EsbConnector, LinkedList<EsbNode>> flow : getContext().getComplexFiguredReversedFlows().entrySet()) {
 			reverseComplexFlow(flow.getKey(), flow.getValue());
 		}
-		refreshEditPartMap();
-		for (Map.Entry<EsbConnector, LinkedList<EsbNode>> flow : connectionFlowMap.entrySet()) {
+		for (Map.Entry<EsbConnector, LinkedList<EsbNode>> flow : getContext().getConnectionFlowMap().entrySet()) {
 			connectMediatorFlow(flow.getKey(), flow.getValue());
 		}
 		pairMediatorFlows();
@@ -615,13 +608,13 @@ public abstract class AbstractEsbNodeDeserializer<T,R extends EsbNode> implement
 	public static void reverseComplexFlow(EsbConnector connector,
 			LinkedList<EsbNode> nodes) {
 		
-		Rectangle containerBounds = currentLocation.get(connector);
+		Rectangle containerBounds = getContext().getCurrentLocation().get(connector);
 		
 		if (containerBounds!=null) {
 			for (Iterator<EsbNode> i = nodes.iterator(); i.hasNext();) {
 				EsbNode node = i.next();
 				GraphicalEditPart editpart = (GraphicalEditPart) getEditpart(node);
-				Rectangle rect = nodeBounds.get(node);
+				Rectangle rect = getContext().getNodeBounds().get(node);
 				if (rect!=null) {
 					rect.x = containerBounds.x - (rect.x + rect.width);
 					SetBoundsCommand sbc = new SetBoundsCommand(editpart.getEditingDomain(),
@@ -638,33 +631,7 @@ public abstract class AbstractEsbNodeDeserializer<T,R extends EsbNode> implement
 	 * Cleanup everything used by deserializers
 	 */
 	public static void cleanupData() {
-		if(connectionFlowMap!=null){
-			connectionFlowMap.clear();
-		}
-			
-		if(reversedNodes!=null){
-			reversedNodes.clear();
-		}
-		
-		if(pairMediatorFlowMap!=null){
-			pairMediatorFlowMap.clear();
-		}
-		
-		if(rootInputConnectors!=null){
-			rootInputConnectors.clear();
-		}
-		
-		if(complexFiguredReversedFlows!=null){
-			complexFiguredReversedFlows.clear();
-		}
-		
-		if(nodeBounds!=null){
-			nodeBounds.clear();
-		}
-		
-		rootCompartment =null;
-		hasInlineEndPoint=false;
-		addedAddressingEndPoint=false;
+		getContext().cleanup();
 	}
 	
 	
@@ -744,7 +711,7 @@ public abstract class AbstractEsbNodeDeserializer<T,R extends EsbNode> implement
 					if (child instanceof AbstractOutputConnectorEditPart) {
 						EsbConnector connector = (EsbConnector) ((Node) ((EditPart) child)
 								.getModel()).getElement();
-						Rectangle point = currentLocation.get(connector);
+						Rectangle point = getContext().getCurrentLocation().get(connector);
 						if (point != null) {
 							rectCopy.width = Math.max(rectCopy.width, point.x + 50);
 							pointY += (point.y + point.height) + 20; 
@@ -760,7 +727,7 @@ public abstract class AbstractEsbNodeDeserializer<T,R extends EsbNode> implement
 			rect.y = location.y;
 			SetBoundsCommand sbc = new SetBoundsCommand(gEditpart.getEditingDomain(),
 					"change location", new EObjectAdapter((View) editpart.getModel()), rect);
-			nodeBounds.put((EsbNode)((View)editpart.getModel()).getElement(), rect.getCopy());
+			getContext().getNodeBounds().put((EsbNode)((View)editpart.getModel()).getElement(), rect.getCopy());
 
 			gEditpart.getDiagramEditDomain().getDiagramCommandStack()
 					.execute(new ICommandProxy(sbc));
@@ -793,25 +760,25 @@ public abstract class AbstractEsbNodeDeserializer<T,R extends EsbNode> implement
 	}
 	
 	private static void relocateFlow(EsbConnector connector, LinkedList<EsbNode> nodeList) {
-		if(!currentLocation.containsKey(connector)){
-			currentLocation.put(connector, new Rectangle(25, getInitialY(connector, nodeList), 0, 0));
+		if(!getContext().getCurrentLocation().containsKey(connector)){
+			getContext().getCurrentLocation().put(connector, new Rectangle(25, getInitialY(connector, nodeList), 0, 0));
 		}
 		
-		Rectangle point = currentLocation.get(connector);
+		Rectangle point = getContext().getCurrentLocation().get(connector);
 		Iterator<EsbNode> iterator = getNodeIterator(nodeList);
 		int count=0;
 		while (iterator.hasNext()) {
 			EsbNode mediatornode = iterator.next();
 			EditPart editpart = getEditpart(mediatornode);
 			if(++count==1){
-				startNodes.add(editpart);
+				getContext().getStartNodes().add(editpart);
 			}
 			relocateNode(point, editpart);
 		}
 		
-		EsbConnector pairConnector = pairMediatorFlowMap.get(connector);
+		EsbConnector pairConnector = getContext().getPairMediatorFlowMap().get(connector);
 		if(pairConnector!=null){
-			currentLocation.put(pairConnector, new Rectangle(25, Math.max(200, point.height+30),0,0));
+			getContext().getCurrentLocation().put(pairConnector, new Rectangle(25, Math.max(200, point.height+30),0,0));
 		}
 	
 	}
@@ -822,7 +789,7 @@ public abstract class AbstractEsbNodeDeserializer<T,R extends EsbNode> implement
 	 * better approach
 	 */
 	public static void relocateStartNodes(){
-		for (Iterator<EditPart> it = startNodes.iterator(); it.hasNext();) {
+		for (Iterator<EditPart> it = getContext().getStartNodes().iterator(); it.hasNext();) {
 			
 			try {
 				EditPart next = it.next();
@@ -842,7 +809,7 @@ public abstract class AbstractEsbNodeDeserializer<T,R extends EsbNode> implement
 			}
 
 		}
-		startNodes = new ArrayList<EditPart>();
+		getContext().getStartNodes().clear();
 	}
 	
 	private static int getInitialY(EsbConnector connector, LinkedList<EsbNode> nodeList) {
@@ -879,6 +846,7 @@ public abstract class AbstractEsbNodeDeserializer<T,R extends EsbNode> implement
 	@SuppressWarnings({ "rawtypes", "unchecked" })
 	private static void clearLinks() {
 		Collection values = getDiagramEditor().getDiagramGraphicalViewer().getEditPartRegistry().values();
+		Collection<EsbNode> relinkScope = getContext().getRelinkScope();
 		Iterator iterator = values.iterator();
 		CompoundCommand ccModel = new CompoundCommand();
 		org.eclipse.gef.commands.CompoundCommand ccView = new org.eclipse.gef.commands.CompoundCommand();
@@ -894,6 +862,11 @@ public abstract class AbstractEsbNodeDeserializer<T,R extends EsbNode> implement
 				if(linkEditPart.getTarget() instanceof AbstractEndpointInputConnectorEditPart){
 					continue;
 				}
+				// links of artifacts which were not rebuilt are kept as they are
+				if (relinkScope != null
+						&& !EcoreUtil.isAncestor(relinkScope, ((ConnectorImpl) linkEditPart.getModel()).getElement())) {
+					continue;
+				}
 				Collection linkCollection = new ArrayList();
 				linkCollection.add(((ConnectorImpl) linkEditPart.getModel()).getElement());
 				org.eclipse.emf.edit.command.DeleteCommand modelDeleteCommand = new org.eclipse.emf.edit.command.DeleteCommand(
@@ -917,13 +890,58 @@ public abstract class AbstractEsbNodeDeserializer<T,R extends EsbNode> implement
 		}
 	}
 	
+	/**
+	 * Start collecting model writes, and the commands executed until
+	 * {@link #endBatch()}, into a single "Load design" operation
+	 * @param domain
+	 */
+	public static void beginBatch(TransactionalEditingDomain domain) {
+		DeserializationBatch batch = new DeserializationBatch(domain);
+		batch.begin();
+		getContext().setBatch(batch);
+	}
+
+	/**
+	 * Apply pending model writes, if any
+	 */
+	public static void flushBatch() {
+		DeserializationBatch batch = getContext().getBatch();
+		if (batch != null) {
+			batch.flush();
+		}
+	}
+
+	/**
+	 * Apply pending model writes, close the "Load design" operation and leave
+	 * batched mode
+	 */
+	public static void endBatch() {
+		DeserializationBatch batch = getContext().getBatch();
+		try {
+			if (batch != null) {
+				batch.end();
+			}
+		} finally {
+			getContext().setBatch(null);
+		}
+	}
+
+	public static boolean isBatching() {
+		return getContext().getBatch() != null;
+	}
+	
 	/**
 	 * Refresh EditPartMap
+	 * 
+	 * Edit parts of the ESB diagram viewer are indexed as they get registered,
+	 * so this only applies pending model writes. The registry is rescanned
+	 * only for viewers which do not maintain the index.
 	 */
 	public static void refreshEditPartMap(){
-		editPartMap.clear();
+		flushBatch();
+		getContext().getEditPartMap().clear();
 		
-		if(getDiagramEditor()==null)
+		if(getDiagramEditor()==null || getEditPartIndex()!=null)
 			return;
 		
 		@SuppressWarnings("rawtypes")
@@ -933,7 +951,7 @@ public abstract class AbstractEsbNodeDeserializer<T,R extends EsbNode> implement
 				Node nodeImpl = (Node) object;
 					Object ep = editPartRegistry.get(nodeImpl);
 					if(ep instanceof ShapeNodeEditPart){
-						editPartMap.put(nodeImpl.getElement(), (ShapeNodeEditPart)ep);
+						getContext().getEditPartMap().put(nodeImpl.getElement(), (ShapeNodeEditPart)ep);
 					}
 			}
 		}
@@ -945,8 +963,24 @@ public abstract class AbstractEsbNodeDeserializer<T,R extends EsbNode> implement
 	 * @return
 	 */
 	public static EditPart getEditpart(EObject node) {
-		if(editPartMap.containsKey(node)){
-			return editPartMap.get(node);
+		EsbDiagramGraphicalViewer index = getEditPartIndex();
+		if (index != null) {
+			return index.getShapeNodeEditPart(node);
+		}
+		if(getContext().getEditPartMap().containsKey(node)){
+			return getContext().getEditPartMap().get(node);
+		}
+		return null;
+	}
+	
+	/**
+	 * Get the edit part index of the active diagram editor
+	 * @return
+	 */
+	private static EsbDiagramGraphicalViewer getEditPartIndex() {
+		EsbDiagramEditor editor = getDiagramEditor();
+		if (editor != null && editor.getDiagramGraphicalViewer() instanceof EsbDiagramGraphicalViewer) {
+			return (EsbDiagramGraphicalViewer) editor.getDiagramGraphicalViewer();
 		}
 		return null;
 	}
@@ -956,19 +990,19 @@ public abstract class AbstractEsbNodeDeserializer<T,R extends EsbNode> implement
 	}
 
 	public static void setRootCompartment(GraphicalEditPart compartment) {
-		AbstractEsbNodeDeserializer.rootCompartment = compartment;
+		getContext().setRootCompartment(compartment);
 	}
 
 	public static GraphicalEditPart getRootCompartment() {
-		return rootCompartment;
+		return getContext().getRootCompartment();
 	}
 
 	public static void addRootInputConnector(EsbConnector rootInputConnector) {
-		rootInputConnectors.add(rootInputConnector);
+		getContext().getRootInputConnectors().add(rootInputConnector);
 	}
 
 	public static List<EsbConnector> getRootInputConnectors() {
-		return rootInputConnectors;
+		return getContext().getRootInputConnectors();
 	}
 	
 	/*
@@ -980,6 +1014,10 @@ public abstract class AbstractEsbNodeDeserializer<T,R extends EsbNode> implement
 		
 	protected boolean executeSetValueCommand(EObject elementToEdit,
 			EStructuralFeature feature, Object value) {
+		DeserializationBatch batch = getContext().getBatch();
+		if (batch != null) {
+			return batch.set(elementToEdit, feature, value);
+		}
 		SetRequest reqSet = new SetRequest(getDiagramEditor().getEditingDomain(),
 				elementToEdit, feature, value);
 		SetValueCommand operation = new SetValueCommand(reqSet);
@@ -993,6 +1031,11 @@ public abstract class AbstractEsbNodeDeserializer<T,R extends EsbNode> implement
 		
     protected <E extends EObject> boolean executeAddValueCommand(final EList<E> list, final E value,
             boolean addToFront) {
+        DeserializationBatch batch = getContext().getBatch();
+        if (batch != null) {
+            batch.add(list, value, addToFront);
+            return true;
+        }
         TransactionalEditingDomain editingDomain = getDiagramEditor().getEditingDomain();
         RecordingCommand command;
         if (!addToFront) {
@@ -1016,6 +1059,11 @@ public abstract class AbstractEsbNodeDeserializer<T,R extends EsbNode> implement
     }
 	
 	protected <E extends Object> boolean executeAddAllCommand(final EList<E> list, final List<E> valueList) {
+		DeserializationBatch batch = getContext().getBatch();
+		if (batch != null) {
+			batch.addAll(list, valueList);
+			return true;
+		}
 		TransactionalEditingDomain editingDomain = getDiagramEditor().getEditingDomain();
 		RecordingCommand command = new RecordingCommand(editingDomain) {
 			protected void doExecute() {
@@ -1075,28 +1123,28 @@ public abstract class AbstractEsbNodeDeserializer<T,R extends EsbNode> implement
 
 	protected static LinkedList<EsbNode> getConnectionFlow(EsbConnector connector) {
 		LinkedList<EsbNode> nodes = new LinkedList<EsbNode>();
-		if(connectionFlowMap.containsKey(connector)){
-			nodes = connectionFlowMap.get(connector);
+		if(getContext().getConnectionFlowMap().containsKey(connector)){
+			nodes = getContext().getConnectionFlowMap().get(connector);
 		} else{
-			connectionFlowMap.put(connector, nodes);
+			getContext().getConnectionFlowMap().put(connector, nodes);
 		}
 		return nodes;
 	}
 
 	protected static void setHasInlineEndPoint(boolean hasInlineEndPoint) {
-		AbstractEsbNodeDeserializer.hasInlineEndPoint = hasInlineEndPoint;
+		getContext().setHasInlineEndPoint(hasInlineEndPoint);
 	}
 
 	protected static boolean hasInlineEndPoint() {
-		return hasInlineEndPoint;
+		return getContext().hasInlineEndPoint();
 	}
 
 	protected static void setAddedAddressingEndPoint(boolean addedAddressingEndPoint) {
-		AbstractEsbNodeDeserializer.addedAddressingEndPoint = addedAddressingEndPoint;
+		getContext().setAddedAddressingEndPoint(addedAddressingEndPoint);
 	}
 
 	protected static boolean isAddedAddressingEndPoint() {
-		return addedAddressingEndPoint;
+		return getContext().isAddedAddressingEndPoint();
 	}
 	
 	protected void setCommonProperties(Mediator mediator,org.wso2.developerstudio.eclipse.gmf.esb.Mediator visualElement){
@@ -38,13 +38,10 @@ import org.wso2.developerstudio.eclipse.gmf.esb.internal.persistence.custom.Clou
 
 public class CloudConnectorOperationDeserializer extends AbstractEsbNodeDeserializer<AbstractMediator, CloudConnectorOperation>{
 
-	public static String cloudConnectorName;
-		
 	@Override
 	public CloudConnectorOperation createNode(IGraphicalEditPart part, AbstractMediator object) {
 		Assert.isTrue(object instanceof CloudConnectorOperationExt,"Unsupported mediator passed in for deserialization");
 		CloudConnectorOperationExt operation = (CloudConnectorOperationExt) object;
-		cloudConnectorName=operation.getCloudConnectorName();
 		
 	//	EditorUtils.getActiveEditor().getEditorSite().getPage().closeEditor(getDiagramEditor(), false);
 		
@@ -0,0 +1,237 @@
+/*
+ * Copyright 2018 WSO2, Inc. (http://wso2.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.developerstudio.eclipse.gmf.esb.diagram.custom.deserializer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import javax.xml.namespace.QName;
+
+import org.apache.axiom.om.OMElement;
+import org.apache.synapse.SynapseException;
+import org.apache.synapse.config.xml.MediatorFactory;
+import org.apache.synapse.config.xml.MediatorFactoryFinder;
+import org.apache.synapse.config.xml.endpoints.WSDLEndpointFactory;
+
+/**
+ * Locates the elements of an ESB configuration which can not be deserialized.
+ *
+ * The configuration is walked once from the top. Only the children of
+ * mediator lists, such as sequences and the branches of a filter, are checked
+ * as mediators. A mediator is checked by running its factory on a copy of the
+ * element alone; when it passes, its whole subtree is known to be valid and is
+ * not visited. When it fails, the mediator lists it holds are checked, and the
+ * mediator itself is reported only if none of their mediators fail. Other
+ * children of a mediator are part of its own configuration and are never
+ * blamed. Mediator factories are instantiated once per locator.
+ */
+public class ConfigurationErrorLocator {
+
+	private static final String SYNAPSE_NAMESPACE = "xmlns=\"http://ws.apache.org/ns/synapse\"";
+	private static final String TARGET = "target";
+
+	/*
+	 * Elements whose children are mediators, and the elements allowed among
+	 * those mediators
+	 */
+	private static final Set<String> MEDIATOR_LISTS = new HashSet<String>(Arrays.asList("sequence",
+			"inSequence", "outSequence", "faultSequence", "then", "else", "case", "default", "in", "out",
+			"onAccept", "onReject", "onCacheHit", "onComplete", "on-fail"));
+	private static final Set<String> NON_MEDIATOR_ELEMENTS = new HashSet<String>(Arrays.asList("description",
+			"parameter"));
+
+	/*
+	 * Mediators which hold their mediators in a target, next to an endpoint
+	 */
+	private static final Set<String> TARGET_MEDIATORS = new HashSet<String>(Arrays.asList("clone", "iterate"));
+
+	private final boolean withSynapse;
+	private final Properties properties = new Properties();
+	@SuppressWarnings("rawtypes")
+	private final Map<QName, Class> factoryClasses;
+	private final Map<QName, MediatorFactory> factories = new HashMap<QName, MediatorFactory>();
+
+	public ConfigurationErrorLocator(boolean withSynapse) {
+		this.withSynapse = withSynapse;
+		MediatorFactoryUtils.registerFactories();
+		factoryClasses = withSynapse ? MediatorFactoryFinder.getInstance().getFactoryMap()
+				: DummyMediatorFactoryFinder.getInstance().getFactoryMap();
+		properties.put(WSDLEndpointFactory.SKIP_WSDL_PARSING, "true");
+	}
+
+	/**
+	 * @param configuration
+	 * @return first element which can not be deserialized, or null if the
+	 *         configuration is valid
+	 */
+	public ConfigurationError findFirstError(OMElement configuration) {
+		List<ConfigurationError> errors = findErrors(configuration, configuration, true);
+		return errors.isEmpty() ? null : errors.get(0);
+	}
+
+	/**
+	 * @param configuration
+	 * @param scope
+	 *            part of the configuration to search in
+	 * @return first element in scope which can not be deserialized, or null
+	 */
+	public ConfigurationError findFirstError(OMElement configuration, OMElement scope) {
+		List<ConfigurationError> errors = findErrors(configuration, scope, true);
+		return errors.isEmpty() ? null : errors.get(0);
+	}
+
+	/**
+	 * @param configuration
+	 * @return all elements which can not be deserialized, in document order
+	 */
+	public List<ConfigurationError> findErrors(OMElement configuration) {
+		return findErrors(configuration, configuration, false);
+	}
+
+	private List<ConfigurationError> findErrors(OMElement configuration, OMElement scope, boolean firstOnly) {
+		List<ConfigurationError> errors = new ArrayList<ConfigurationError>();
+		Exception error = checkConfiguration(configuration);
+		if (error != null) {
+			locate(scope, null, errors, firstOnly);
+			if (errors.isEmpty()) {
+				errors.add(new ConfigurationError(scope, error));
+			}
+		}
+		return errors;
+	}
+
+	/**
+	 * Find the errors below an element
+	 * 
+	 * @param element
+	 *            mediator known to fail, or an element which is not a mediator
+	 * @param elementError
+	 *            error of the mediator, or null if the element is not one
+	 */
+	private void locate(OMElement element, Exception elementError, List<ConfigurationError> errors,
+			boolean firstOnly) {
+		int errorCount = errors.size();
+		boolean mediatorList = MEDIATOR_LISTS.contains(element.getLocalName());
+		for (Iterator<?> it = element.getChildElements(); it.hasNext();) {
+			OMElement child = (OMElement) it.next();
+			if (NON_MEDIATOR_ELEMENTS.contains(child.getLocalName())) {
+				continue;
+			}
+			if (mediatorList) {
+				if (isMediator(child)) {
+					Exception childError = checkMediator(child);
+					if (childError != null) {
+						locate(child, childError, errors, firstOnly);
+					}
+				} else {
+					errors.add(new ConfigurationError(child, new SynapseException(
+							"Unknown mediator referenced by configuration element : " + child.getQName())));
+				}
+			} else if (elementError == null || isBranch(element, child)) {
+				// structural element such as proxy, target or resource, or a branch of a failing mediator
+				locate(child, null, errors, firstOnly);
+			}
+			if (firstOnly && !errors.isEmpty()) {
+				return;
+			}
+		}
+		if (elementError != null && errors.size() == errorCount) {
+			errors.add(new ConfigurationError(element, elementError));
+		}
+	}
+
+	private Exception checkConfiguration(OMElement configuration) {
+		try {
+			Deserializer.getInstance().getArtifacts(configuration, withSynapse);
+			return null;
+		} catch (Exception e) {
+			return e;
+		}
+	}
+
+	/**
+	 * Whether a child of a mediator holds mediators, rather than being part of
+	 * the configuration of the mediator itself
+	 */
+	private static boolean isBranch(OMElement mediator, OMElement child) {
+		return MEDIATOR_LISTS.contains(child.getLocalName())
+				|| (TARGET.equals(child.getLocalName()) && TARGET_MEDIATORS.contains(mediator.getLocalName()));
+	}
+
+	private boolean isMediator(OMElement element) {
+		return factoryClasses.containsKey(element.getQName());
+	}
+
+	private Exception checkMediator(OMElement element) {
+		try {
+			getFactory(element.getQName()).createMediator(element.cloneOMElement(), properties);
+			return null;
+		} catch (Exception e) {
+			return e;
+		}
+	}
+
+	private MediatorFactory getFactory(QName qName) throws InstantiationException, IllegalAccessException {
+		MediatorFactory factory = factories.get(qName);
+		if (factory == null) {
+			factory = (MediatorFactory) factoryClasses.get(qName).newInstance();
+			factories.put(qName, factory);
+		}
+		return factory;
+	}
+
+	/**
+	 * An element of a configuration which can not be deserialized
+	 */
+	public static class ConfigurationError {
+
+		private final OMElement element;
+		private final Exception cause;
+
+		public ConfigurationError(OMElement element, Exception cause) {
+			this.element = element;
+			this.cause = cause;
+		}
+
+		public OMElement getElement() {
+			return element;
+		}
+
+		public int getLineNumber() {
+			return element.getLineNumber();
+		}
+
+		public Exception getCause() {
+			return cause;
+		}
+
+		@Override
+		public String toString() {
+			String errorLine = element.toString().replaceAll(SYNAPSE_NAMESPACE, "");
+			return "Unknown synapse configuration tag: \n\n" + "At Line " + getLineNumber() + ", " + errorLine
+					+ "\n" + "Reason: " + cause.getMessage() + "\n";
+		}
+	}
+
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2018 WSO2, Inc. (http://wso2.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.developerstudio.eclipse.gmf.esb.diagram.custom.deserializer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.eclipse.core.commands.operations.IOperationHistory;
+import org.eclipse.core.commands.operations.OperationHistoryFactory;
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.util.FeatureMapUtil;
+import org.eclipse.emf.transaction.RecordingCommand;
+import org.eclipse.emf.transaction.TransactionalEditingDomain;
+import org.eclipse.gmf.runtime.common.core.command.CompositeCommand;
+
+/**
+ * Collects the model writes issued by deserializers while a design is being
+ * loaded, and makes the whole load a single "Load design" operation.
+ *
+ * Node creation still goes through the diagram command stack because the
+ * deserializers need the edit parts of the created nodes, so pending writes
+ * are flushed in a recording command before creating a node or looking up
+ * edit parts, and a load runs several commands. Between {@link #begin()} and
+ * {@link #end()} the operation history collects all of them, the flushes as
+ * well as the node creations, into one composite command, which is undone
+ * and redone as a whole.
+ */
+public class DeserializationBatch {
+
+	public static final String LABEL = "Load design";
+
+	private final TransactionalEditingDomain domain;
+
+	/* history the diagram and workspace command stacks of the editors execute on */
+	private final IOperationHistory history = OperationHistoryFactory.getOperationHistory();
+
+	private CompositeCommand load;
+
+	private List<Runnable> pendingWrites = new ArrayList<Runnable>();
+
+	public DeserializationBatch(TransactionalEditingDomain domain) {
+		this.domain = domain;
+	}
+
+	/**
+	 * Start collecting the commands executed during the load into one
+	 * operation
+	 */
+	public void begin() {
+		CompositeCommand composite = new CompositeCommand(LABEL);
+		try {
+			history.openOperation(composite, IOperationHistory.EXECUTE);
+			load = composite;
+		} catch (IllegalStateException e) {
+			// an operation is already open, and it collects the commands instead
+		}
+	}
+
+	/**
+	 * Apply pending writes and add the collected commands to the history as
+	 * one operation
+	 */
+	public void end() {
+		try {
+			flush();
+		} finally {
+			if (load != null) {
+				history.closeOperation(true, !load.isEmpty(), IOperationHistory.EXECUTE);
+				load = null;
+			}
+		}
+	}
+
+	/**
+	 * Queue a feature value, following the semantics of SetValueCommand. A
+	 * queued write is not executed through a SetValueCommand, whose
+	 * canExecute would refuse an invalid one, so it is checked when it is
+	 * queued instead: the feature must belong to the element and be
+	 * changeable, and the value must be of its type.
+	 *
+	 * @param elementToEdit
+	 * @param feature
+	 * @param value
+	 * @return false if the value can not be set
+	 */
+	public boolean set(final EObject elementToEdit, final EStructuralFeature feature, final Object value) {
+		if (!canSet(elementToEdit, feature, value)) {
+			return false;
+		}
+		pendingWrites.add(new Runnable() {
+			@SuppressWarnings({ "rawtypes", "unchecked" })
+			public void run() {
+				if (FeatureMapUtil.isMany(elementToEdit, feature)) {
+					Collection collection = (Collection) elementToEdit.eGet(feature);
+					if (value instanceof List) {
+						collection.clear();
+						collection.addAll((List) value);
+					} else {
+						collection.add(value);
+					}
+				} else {
+					elementToEdit.eSet(feature, value);
+				}
+			}
+		});
+		return true;
+	}
+
+	private static boolean canSet(EObject elementToEdit, EStructuralFeature feature, Object value) {
+		if (elementToEdit == null || feature == null || !feature.isChangeable()
+				|| !elementToEdit.eClass().getEAllStructuralFeatures().contains(feature)) {
+			return false;
+		}
+		if (FeatureMapUtil.isMany(elementToEdit, feature) && value instanceof List) {
+			for (Object item : (List<?>) value) {
+				if (!isInstance(feature, item)) {
+					return false;
+				}
+			}
+			return true;
+		}
+		return isInstance(feature, value);
+	}
+
+	private static boolean isInstance(EStructuralFeature feature, Object value) {
+		return value == null || feature.getEType().getInstanceClass() == null || feature.getEType().isInstance(value);
+	}
+
+	public <E> void add(final EList<E> list, final E value, final boolean addToFront) {
+		pendingWrites.add(new Runnable() {
+			public void run() {
+				if (addToFront) {
+					list.add(0, value);
+				} else {
+					list.add(value);
+				}
+			}
+		});
+	}
+
+	public <E> void addAll(final EList<E> list, final List<E> values) {
+		pendingWrites.add(new Runnable() {
+			public void run() {
+				list.addAll(values);
+			}
+		});
+	}
+
+	public boolean isEmpty() {
+		return pendingWrites.isEmpty();
+	}
+
+	/**
+	 * Apply all pending writes in one recording command, which is part of the
+	 * load operation once {@link #begin()} was called.
+	 */
+	public void flush() {
+		if (pendingWrites.isEmpty()) {
+			return;
+		}
+		final List<Runnable> writes = pendingWrites;
+		pendingWrites = new ArrayList<Runnable>();
+		RecordingCommand command = new RecordingCommand(domain, LABEL) {
+			protected void doExecute() {
+				for (Runnable write : writes) {
+					write.run();
+				}
+			}
+		};
+		domain.getCommandStack().execute(command);
+	}
+
+}
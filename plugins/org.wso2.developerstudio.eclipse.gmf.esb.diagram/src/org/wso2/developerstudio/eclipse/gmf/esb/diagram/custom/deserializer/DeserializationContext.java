@@ -0,0 +1,336 @@
+/*
+ * Copyright 2018 WSO2, Inc. (http://wso2.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.developerstudio.eclipse.gmf.esb.diagram.custom.deserializer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.axiom.om.OMElement;
+import org.eclipse.draw2d.geometry.Rectangle;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.gef.EditPart;
+import org.eclipse.gmf.runtime.diagram.ui.editparts.GraphicalEditPart;
+import org.eclipse.gmf.runtime.diagram.ui.editparts.IGraphicalEditPart;
+import org.eclipse.gmf.runtime.diagram.ui.editparts.ShapeNodeEditPart;
+import org.wso2.developerstudio.eclipse.gmf.esb.EsbConnector;
+import org.wso2.developerstudio.eclipse.gmf.esb.EsbNode;
+import org.wso2.developerstudio.eclipse.gmf.esb.EsbServer;
+import org.wso2.developerstudio.eclipse.gmf.esb.diagram.part.EsbDiagramEditor;
+
+/**
+ * Holds the state of deserializing a configuration into one diagram editor.
+ *
+ * Each EsbDiagramEditor owns a context. The context of the editor being loaded
+ * is bound to the calling thread by {@link EsbDeserializerRegistry#init}, and
+ * the state shared by the deserializers of one load is kept here rather than
+ * in statics. What is guaranteed is this per-thread binding: every
+ * deserializer called on a thread works against the editor whose context is
+ * bound to that thread, and editors loaded on different threads do not see
+ * each other's state. Deserializers themselves are created per lookup and may
+ * hold state of the call they are used for. A context is unbound once its
+ * design is updated and when its editor is disposed.
+ */
+public class DeserializationContext {
+
+	/**
+	 * Context of the editor being loaded by the current thread
+	 */
+	private static final ThreadLocal<DeserializationContext> currentContext = new ThreadLocal<DeserializationContext>() {
+		protected DeserializationContext initialValue() {
+			return new DeserializationContext(null);
+		}
+	};
+
+	private final EsbDiagramEditor diagramEditor;
+	private final Map<EsbConnector, LinkedList<EsbNode>> connectionFlowMap = new LinkedHashMap<EsbConnector, LinkedList<EsbNode>>();
+	private final Map<EObject, ShapeNodeEditPart> editPartMap = new HashMap<EObject, ShapeNodeEditPart>();
+	private final Map<EsbConnector, EsbConnector> pairMediatorFlowMap = new HashMap<EsbConnector, EsbConnector>();
+	private final List<EObject> reversedNodes = new ArrayList<EObject>();
+	private final Map<EsbConnector, LinkedList<EsbNode>> complexFiguredReversedFlows = new HashMap<EsbConnector, LinkedList<EsbNode>>();
+	private final Map<EsbNode, Rectangle> nodeBounds = new HashMap<EsbNode, Rectangle>();
+	private final Map<EsbConnector, Rectangle> currentLocation = new HashMap<EsbConnector, Rectangle>();
+	private final List<EsbConnector> rootInputConnectors = new ArrayList<EsbConnector>();
+	private final List<EditPart> startNodes = new ArrayList<EditPart>();
+	private final List<IGraphicalEditPart> mediatorFlowContainerList = new ArrayList<IGraphicalEditPart>();
+	private GraphicalEditPart rootCompartment;
+	private boolean hasInlineEndPoint;
+	private boolean addedAddressingEndPoint;
+	private DeserializationBatch batch;
+	private Collection<EsbNode> relinkScope;
+
+	/*
+	 * What the diagram currently shows, kept across loads so that a source
+	 * edit only rebuilds the artifacts it changed
+	 */
+	private final Map<String, OMElement> appliedSources = new HashMap<String, OMElement>();
+	private final Map<String, EsbNode> appliedNodes = new HashMap<String, EsbNode>();
+	private boolean appliedDesignKnown;
+
+	public DeserializationContext(EsbDiagramEditor diagramEditor) {
+		this.diagramEditor = diagramEditor;
+	}
+
+	/**
+	 * Bind the context of the given editor to the current thread
+	 * @param diagramEditor
+	 * @return bound context
+	 */
+	public static DeserializationContext bind(EsbDiagramEditor diagramEditor) {
+		DeserializationContext context = currentContext.get();
+		if (context.getDiagramEditor() != diagramEditor) {
+			context = (diagramEditor != null) ? diagramEditor.getDeserializationContext()
+					: new DeserializationContext(null);
+			currentContext.set(context);
+		}
+		return context;
+	}
+
+	/**
+	 * Unbind the context bound to the current thread, so that the thread does
+	 * not keep its editor alive once it is done with it
+	 */
+	public static void unbind() {
+		currentContext.remove();
+	}
+
+	/**
+	 * Unbind the context of the given editor if it is the one bound to the
+	 * current thread
+	 * @param diagramEditor
+	 */
+	public static void unbind(EsbDiagramEditor diagramEditor) {
+		if (currentContext.get().getDiagramEditor() == diagramEditor) {
+			currentContext.remove();
+		}
+	}
+
+	/**
+	 * @return context bound to the current thread
+	 */
+	public static DeserializationContext getCurrent() {
+		return currentContext.get();
+	}
+
+	/**
+	 * Clear everything collected while deserializing
+	 */
+	public void cleanup() {
+		connectionFlowMap.clear();
+		reversedNodes.clear();
+		pairMediatorFlowMap.clear();
+		rootInputConnectors.clear();
+		complexFiguredReversedFlows.clear();
+		nodeBounds.clear();
+		mediatorFlowContainerList.clear();
+		rootCompartment = null;
+		hasInlineEndPoint = false;
+		addedAddressingEndPoint = false;
+		relinkScope = null;
+	}
+
+	/**
+	 * Find the artifacts which have to be rebuilt to make the diagram show the
+	 * given sources. An artifact with any change is rebuilt as a whole, see
+	 * {@link DesignSourceDiff}.
+	 *
+	 * @param artifactNames
+	 *            names of the artifacts built from the new source
+	 * @param artifactSources
+	 *            elements of those artifacts by name
+	 * @param esbServer
+	 *            server element of the diagram
+	 * @return names of changed artifacts, or null if the whole diagram has to
+	 *         be rebuilt
+	 */
+	public Set<String> getChangedArtifacts(Collection<String> artifactNames, Map<String, OMElement> artifactSources,
+			EsbServer esbServer) {
+		if (!appliedDesignKnown || artifactSources == null) {
+			return null;
+		}
+		// the diagram was changed in some other way, e.g. an artifact was added or deleted in the design
+		if (esbServer.getChildren().size() != appliedNodes.size()) {
+			return null;
+		}
+		for (EsbNode node : appliedNodes.values()) {
+			if (node.eContainer() != esbServer) {
+				return null;
+			}
+		}
+		Set<String> changedArtifacts = new HashSet<String>();
+		for (String name : artifactNames) {
+			if (!appliedNodes.containsKey(name)) {
+				changedArtifacts.add(name);
+			} else if (!appliedSources.containsKey(name) || !artifactSources.containsKey(name)) {
+				// no source to compare with, which is not the same as an unchanged one
+				return null;
+			} else if (!DesignSourceDiff.isEquivalent(appliedSources.get(name), artifactSources.get(name))) {
+				changedArtifacts.add(name);
+			}
+		}
+		return changedArtifacts;
+	}
+
+	/**
+	 * Record the source and node of an artifact shown in the diagram
+	 */
+	public void setAppliedArtifact(String name, OMElement source, EsbNode node) {
+		if (source != null) {
+			appliedSources.put(name, source);
+		} else {
+			appliedSources.remove(name);
+		}
+		appliedNodes.put(name, node);
+	}
+
+	/**
+	 * Forget an artifact which is no longer shown in the diagram
+	 */
+	public void removeAppliedArtifact(String name) {
+		appliedSources.remove(name);
+		appliedNodes.remove(name);
+	}
+
+	/**
+	 * Record the sources the design was serialized to, which become the base
+	 * of the next reconciliation as long as the same nodes are shown
+	 */
+	public void setAppliedSources(Map<String, OMElement> artifactSources) {
+		if (artifactSources == null || !artifactSources.keySet().equals(appliedNodes.keySet())) {
+			resetAppliedDesign();
+			return;
+		}
+		appliedSources.clear();
+		appliedSources.putAll(artifactSources);
+		appliedDesignKnown = true;
+	}
+
+	/**
+	 * Mark the recorded artifacts as a complete description of the diagram
+	 */
+	public void setAppliedDesignKnown(boolean appliedDesignKnown) {
+		this.appliedDesignKnown = appliedDesignKnown;
+	}
+
+	/**
+	 * Forget what the diagram shows, so that the next load rebuilds all of it
+	 */
+	public void resetAppliedDesign() {
+		appliedSources.clear();
+		appliedNodes.clear();
+		appliedDesignKnown = false;
+	}
+
+	public Map<String, EsbNode> getAppliedNodes() {
+		return appliedNodes;
+	}
+
+	public EsbDiagramEditor getDiagramEditor() {
+		return diagramEditor;
+	}
+
+	public Map<EsbConnector, LinkedList<EsbNode>> getConnectionFlowMap() {
+		return connectionFlowMap;
+	}
+
+	public Map<EObject, ShapeNodeEditPart> getEditPartMap() {
+		return editPartMap;
+	}
+
+	public Map<EsbConnector, EsbConnector> getPairMediatorFlowMap() {
+		return pairMediatorFlowMap;
+	}
+
+	public List<EObject> getReversedNodes() {
+		return reversedNodes;
+	}
+
+	public Map<EsbConnector, LinkedList<EsbNode>> getComplexFiguredReversedFlows() {
+		return complexFiguredReversedFlows;
+	}
+
+	public Map<EsbNode, Rectangle> getNodeBounds() {
+		return nodeBounds;
+	}
+
+	public Map<EsbConnector, Rectangle> getCurrentLocation() {
+		return currentLocation;
+	}
+
+	public List<EsbConnector> getRootInputConnectors() {
+		return rootInputConnectors;
+	}
+
+	public List<EditPart> getStartNodes() {
+		return startNodes;
+	}
+
+	public List<IGraphicalEditPart> getMediatorFlowContainerList() {
+		return mediatorFlowContainerList;
+	}
+
+	public GraphicalEditPart getRootCompartment() {
+		return rootCompartment;
+	}
+
+	public void setRootCompartment(GraphicalEditPart rootCompartment) {
+		this.rootCompartment = rootCompartment;
+	}
+
+	public boolean hasInlineEndPoint() {
+		return hasInlineEndPoint;
+	}
+
+	public void setHasInlineEndPoint(boolean hasInlineEndPoint) {
+		this.hasInlineEndPoint = hasInlineEndPoint;
+	}
+
+	public boolean isAddedAddressingEndPoint() {
+		return addedAddressingEndPoint;
+	}
+
+	public void setAddedAddressingEndPoint(boolean addedAddressingEndPoint) {
+		this.addedAddressingEndPoint = addedAddressingEndPoint;
+	}
+
+	/**
+	 * @return nodes whose links are rebuilt when connecting mediator flows, or
+	 *         null if the links of the whole diagram are rebuilt
+	 */
+	public Collection<EsbNode> getRelinkScope() {
+		return relinkScope;
+	}
+
+	public void setRelinkScope(Collection<EsbNode> relinkScope) {
+		this.relinkScope = relinkScope;
+	}
+
+	public DeserializationBatch getBatch() {
+		return batch;
+	}
+
+	public void setBatch(DeserializationBatch batch) {
+		this.batch = batch;
+	}
+
+}
@@ -16,25 +16,29 @@
 
 package org.wso2.developerstudio.eclipse.gmf.esb.diagram.custom.deserializer;
 
-import java.io.BufferedWriter;
-import java.io.File;
-import java.io.FileWriter;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
+
+import javax.xml.stream.XMLStreamException;
 
 import org.apache.axiom.om.OMAbstractFactory;
 import org.apache.axiom.om.OMAttribute;
 import org.apache.axiom.om.OMElement;
 import org.apache.axiom.om.util.AXIOMUtil;
-import org.apache.commons.collections.IteratorUtils;
 import org.apache.synapse.config.Entry;
+import org.apache.synapse.config.SynapseConfigUtils;
 import org.apache.synapse.config.SynapseConfiguration;
-import org.apache.synapse.config.SynapseConfigurationBuilder;
+import org.apache.synapse.config.xml.ConfigurationFactoryAndSerializerFinder;
 import org.apache.synapse.config.xml.ProxyServiceFactory;
 import org.apache.synapse.config.xml.SequenceMediatorFactory;
 import org.apache.synapse.config.xml.TemplateMediatorFactory;
@@ -95,19 +99,32 @@ public class Deserializer {
 	
 	private static final String synapseNS = "http://ws.apache.org/ns/synapse";
 	
-	private Deserializer(){
-		
-	}
+	/**
+	 * Number of parsed sources kept in {@link #parsedSources}
+	 */
+	private static final int PARSED_SOURCE_CACHE_SIZE = 4;
 	
 	/**
-	 * 
+	 * Recently parsed sources by content hash, so that artifact type detection,
+	 * validation and design update of the same source revision share one OM
+	 * tree without keeping the sources themselves
 	 */
-	private List<IGraphicalEditPart> mediatorFlowContainerList;
+	@SuppressWarnings("serial")
+	private final Map<String, OMElement> parsedSources = new LinkedHashMap<String, OMElement>(
+			PARSED_SOURCE_CACHE_SIZE, 0.75f, true) {
+		protected boolean removeEldestEntry(Map.Entry<String, OMElement> eldest) {
+			return size() > PARSED_SOURCE_CACHE_SIZE;
+		}
+	};
+	
+	private Deserializer(){
+		
+	}
 	
 	/**
 	 * @return singleton instance.
 	 */
-	public static Deserializer getInstance() {
+	public static synchronized Deserializer getInstance() {
 		if (null == singleton) {
 			singleton = new Deserializer();
 		}
@@ -120,67 +137,164 @@ public class Deserializer {
 	 * @param graphicalEditor
 	 * @throws Exception
 	 */
-	@SuppressWarnings("unchecked")
 	public void updateDesign(String source, EsbDiagramEditor graphicalEditor, boolean withSyanpse) throws Exception {
-		
+		updateDesign(source, getArtifacts(source, withSyanpse), graphicalEditor);
+	}
+	
+	/**
+	 * Update graphical model from artifacts built by {@link #buildArtifacts(String, boolean)}.
+	 * This creates the diagram nodes, so it must be called on the UI thread.
+	 * 
+	 * The source is compared with the one the diagram was last built from or
+	 * serialized to. Nothing is rebuilt when it is unchanged, and otherwise
+	 * only the artifacts which changed are rebuilt, each as a whole. Nodes of
+	 * other artifacts keep their edit parts, bounds and breakpoints.
+	 * @param source source the artifacts were built from
+	 * @param artifacts
+	 * @param graphicalEditor
+	 * @throws Exception
+	 */
+	public void updateDesign(String source, Map<String, Object> artifacts, EsbDiagramEditor graphicalEditor)
+			throws Exception {
 		EsbDeserializerRegistry.getInstance().init(graphicalEditor);
-		Map<String, Object> artifacts = getArtifacts(source, withSyanpse);		
+		DeserializationContext context = DeserializationContext.getCurrent();
+		try {
+			updateDesign(source, artifacts, graphicalEditor, context);
+		} finally {
+			context.cleanup();
+			DeserializationContext.unbind();
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private void updateDesign(String source, Map<String, Object> artifacts, EsbDiagramEditor graphicalEditor,
+			DeserializationContext context) throws Exception {
 		
 		Diagram diagram = graphicalEditor.getDiagram();
 		EsbDiagram esbDiagram = (EsbDiagram) diagram.getElement();
 		EsbServer esbServer = esbDiagram.getServer();
 		esbServer.setLockmode(true);
+		
+		Map<String, OMElement> artifactSources = getArtifactSources(source);
+		Set<String> changedArtifacts = context.getChangedArtifacts(artifacts.keySet(), artifactSources, esbServer);
+		List<String> removedArtifacts = new ArrayList<String>();
+		if (changedArtifacts != null) {
+			for (String name : context.getAppliedNodes().keySet()) {
+				if (!artifacts.containsKey(name)) {
+					removedArtifacts.add(name);
+				}
+			}
+			if (changedArtifacts.isEmpty() && removedArtifacts.isEmpty()) {
+				log.debug("Design is up to date with the source");
+				return;
+			}
+		}
+		
 		CompoundCommand resultCommand = new CompoundCommand();
 
 		TransactionalEditingDomain domain = TransactionUtil.getEditingDomain(esbServer);
-		// cleaning old diagram
-		// TODO: should be replaced by better approach
-		for (EsbElement child : esbServer.getChildren()) {
-			RemoveCommand removeCmd = new RemoveCommand(domain, esbServer,
-					EsbPackage.Literals.ESB_SERVER__CHILDREN, child);
-			resultCommand.append(removeCmd);
+		// location of replaced artifacts, so that they are rebuilt where they were
+		Map<String, Integer> previousLocations = new HashMap<String, Integer>();
+		int locationY = 0;
+		if (changedArtifacts == null) {
+			// cleaning old diagram
+			for (EsbElement child : esbServer.getChildren()) {
+				RemoveCommand removeCmd = new RemoveCommand(domain, esbServer,
+						EsbPackage.Literals.ESB_SERVER__CHILDREN, child);
+				resultCommand.append(removeCmd);
+			}
+			context.resetAppliedDesign();
+		} else {
+			AbstractEsbNodeDeserializer.refreshEditPartMap();
+			for (Map.Entry<String, EsbNode> applied : context.getAppliedNodes().entrySet()) {
+				EditPart editpart = AbstractEsbNodeDeserializer.getEditpart(applied.getValue());
+				Rectangle bounds = (editpart instanceof IGraphicalEditPart)
+						? ((IGraphicalEditPart) editpart).getFigure().getBounds() : null;
+				boolean replaced = changedArtifacts.contains(applied.getKey())
+						|| removedArtifacts.contains(applied.getKey());
+				if (replaced) {
+					if (bounds != null) {
+						previousLocations.put(applied.getKey(), bounds.y);
+					}
+					RemoveCommand removeCmd = new RemoveCommand(domain, esbServer,
+							EsbPackage.Literals.ESB_SERVER__CHILDREN, applied.getValue());
+					resultCommand.append(removeCmd);
+				} else if (bounds != null) {
+					locationY = Math.max(locationY, bounds.bottom() + 25);
+				}
+			}
+			for (String name : changedArtifacts) {
+				context.removeAppliedArtifact(name);
+			}
+			for (String name : removedArtifacts) {
+				context.removeAppliedArtifact(name);
+			}
 		}
 
-		if (resultCommand.canExecute()) {
-			domain.getCommandStack().execute(resultCommand);
-		}
-		
-		int locationY = 0;
+		long startTime = System.currentTimeMillis();
+		List<EsbNode> createdNodes = new ArrayList<EsbNode>();
 		
-		for (Map.Entry<String, Object> artifact : artifacts.entrySet()) {
-			@SuppressWarnings("rawtypes")
-			IEsbNodeDeserializer deserializer = EsbDeserializerRegistry.getInstance()
-					.getDeserializer(artifact.getValue());
-			AbstractEsbNodeDeserializer.refreshEditPartMap();
-			EditPart editpart = AbstractEsbNodeDeserializer.getEditpart(esbServer);
-			IGraphicalEditPart gEditpart = (IGraphicalEditPart) ((EsbServerEditPart)editpart).getChildren().get(0);
-			if (deserializer != null) {
-				EsbNode node = deserializer.createNode(gEditpart,artifact.getValue());
-				if (node!=null) {
-					AbstractEsbNodeDeserializer.refreshEditPartMap();
-					IGraphicalEditPart graphicalNode = (IGraphicalEditPart) AbstractEsbNodeDeserializer.getEditpart(node);
-					if(graphicalNode!=null){
-						Rectangle rect = new Rectangle(new Point(), graphicalNode.getFigure().getPreferredSize()).getCopy();
-						rect.x = 0;
-						rect.y = locationY;
-						SetBoundsCommand sbc = new SetBoundsCommand(graphicalNode.getEditingDomain(),
-								"change location", new EObjectAdapter((View) graphicalNode.getModel()), rect);
-						graphicalNode.getDiagramEditDomain().getDiagramCommandStack()
-								.execute(new ICommandProxy(sbc));
-						locationY += rect.height; 
-						locationY += 25;
-						getMediatorFlowContainerList().add(graphicalNode);
+		// the removal of replaced artifacts, the created nodes and the
+		// property writes of all deserializers are undone as a single
+		// "Load design" operation
+		AbstractEsbNodeDeserializer.beginBatch(domain);
+		try {
+			if (resultCommand.canExecute()) {
+				domain.getCommandStack().execute(resultCommand);
+			}
+			
+			for (Map.Entry<String, Object> artifact : artifacts.entrySet()) {
+				if (changedArtifacts != null && !changedArtifacts.contains(artifact.getKey())) {
+					continue;
+				}
+				@SuppressWarnings("rawtypes")
+				IEsbNodeDeserializer deserializer = EsbDeserializerRegistry.getInstance()
+						.getDeserializer(artifact.getValue());
+				AbstractEsbNodeDeserializer.refreshEditPartMap();
+				EditPart editpart = AbstractEsbNodeDeserializer.getEditpart(esbServer);
+				IGraphicalEditPart gEditpart = (IGraphicalEditPart) ((EsbServerEditPart)editpart).getChildren().get(0);
+				if (deserializer != null) {
+					EsbNode node = deserializer.createNode(gEditpart,artifact.getValue());
+					if (node!=null) {
+						createdNodes.add(node);
+						context.setAppliedArtifact(artifact.getKey(),
+								artifactSources != null ? artifactSources.get(artifact.getKey()) : null, node);
+						AbstractEsbNodeDeserializer.refreshEditPartMap();
+						IGraphicalEditPart graphicalNode = (IGraphicalEditPart) AbstractEsbNodeDeserializer.getEditpart(node);
+						if(graphicalNode!=null){
+							Rectangle rect = new Rectangle(new Point(), graphicalNode.getFigure().getPreferredSize()).getCopy();
+							rect.x = 0;
+							Integer previousLocation = previousLocations.get(artifact.getKey());
+							rect.y = (previousLocation != null) ? previousLocation : locationY;
+							SetBoundsCommand sbc = new SetBoundsCommand(graphicalNode.getEditingDomain(),
+									"change location", new EObjectAdapter((View) graphicalNode.getModel()), rect);
+							graphicalNode.getDiagramEditDomain().getDiagramCommandStack()
+									.execute(new ICommandProxy(sbc));
+							if (previousLocation == null) {
+								locationY += rect.height; 
+								locationY += 25;
+							}
+							getMediatorFlowContainerList().add(graphicalNode);
+						}
+					} else{
+						log.warn("Ignoring null output from deserializer for " + artifact.getValue().getClass());
 					}
 				} else{
-					log.warn("Ignoring null output from deserializer for " + artifact.getValue().getClass());
-				}
-			} else{
 				
+				}
 			}
+			if (!createdNodes.isEmpty()) {
+				if (changedArtifacts != null) {
+					context.setRelinkScope(createdNodes);
+				}
+				AbstractEsbNodeDeserializer.connectMediatorFlows();
+			}
+		} finally {
+			AbstractEsbNodeDeserializer.endBatch();
 		}
-		if(artifacts.size()>0){
-			AbstractEsbNodeDeserializer.connectMediatorFlows();
-		}
+		context.setAppliedDesignKnown(artifactSources != null);
+		log.debug("Design updated with " + createdNodes.size() + " of " + artifacts.size() + " artifact(s) in "
+				+ (System.currentTimeMillis() - startTime) + " ms");
 		/*
 		 * Following code snippet is use to release the lock of automatic
 		 * connecting logic. we are commenting following code since we have
@@ -191,6 +305,33 @@ public class Deserializer {
 
 	}
 	
+	/**
+	 * Record the source the design was serialized to. The next design update
+	 * is compared with this source, since it is what the diagram now shows.
+	 * @param source
+	 * @param graphicalEditor
+	 */
+	public void designSerialized(String source, EsbDiagramEditor graphicalEditor) {
+		graphicalEditor.getDeserializationContext().setAppliedSources(getArtifactSources(source));
+	}
+	
+	/**
+	 * Elements of the artifacts in a source, or null if it can not be parsed
+	 * @param source
+	 * @return
+	 */
+	private Map<String, OMElement> getArtifactSources(String source) {
+		if (source == null) {
+			return null;
+		}
+		try {
+			return DesignSourceDiff.getArtifactElements(getParsedSource(source));
+		} catch (Exception e) {
+			log.warn("Could not parse the source to compare it with the design", e);
+			return null;
+		}
+	}
+	
 	@SuppressWarnings("unchecked")
 	public void updateDesign(String source, ESBFormEditor formEditor, ArtifactType artifactType, boolean withSynapse) throws Exception {
 		Map<String, Object> artifacts = getArtifacts(source, withSynapse);	
@@ -212,8 +353,16 @@ public class Deserializer {
 	 * @throws Exception
 	 */
 	public ArtifactType getArtifactType(String source) throws Exception{
+		return getArtifactType(getParsedSource(source));
+	}
+	
+	/**
+	 * Return the relevant ArtifactType for an already parsed ESB configuration
+	 * @param element
+	 * @throws Exception
+	 */
+	public ArtifactType getArtifactType(OMElement element) throws Exception{
 		ArtifactType artifactType = null;
-		OMElement element = AXIOMUtil.stringToOM(source);
 		String localName = element.getLocalName();
 		if("definitions".equals(localName)){
 			artifactType=ArtifactType.SYNAPSE_CONFIG;
@@ -295,23 +444,66 @@ public class Deserializer {
 		return artifactType;
 	}
 	
+	/**
+	 * Parse the given source into a fully built OM tree. The tree is cached
+	 * against the hash of the source content and shared by every caller, so it
+	 * is read-only: anything that needs to modify it works on a clone, as
+	 * {@link #getArtifacts(OMElement, boolean)} does.
+	 * @param source
+	 * @return
+	 * @throws XMLStreamException
+	 */
+	private OMElement getParsedSource(String source) throws XMLStreamException {
+		String hash = getContentHash(source);
+		synchronized (parsedSources) {
+			OMElement element = parsedSources.get(hash);
+			if (element == null) {
+				element = AXIOMUtil.stringToOM(source);
+				element.build();
+				parsedSources.put(hash, element);
+			}
+			return element;
+		}
+	}
+	
+	private static String getContentHash(String source) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-1").digest(source.getBytes(StandardCharsets.UTF_8));
+			StringBuilder hash = new StringBuilder(digest.length * 2);
+			for (byte b : digest) {
+				hash.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+			}
+			return hash.toString();
+		} catch (NoSuchAlgorithmException e) {
+			// every Java platform has SHA-1
+			throw new IllegalStateException(e);
+		}
+	}
+	
 	private Map<String,Object> getArtifacts(String source, boolean withSynapse) throws Exception{
+		return getArtifacts(getParsedSource(source), withSynapse);
+	}
+	
+	/**
+	 * Build the artifacts of a parsed configuration. The element is not modified.
+	 * @param parsedSource
+	 * @param withSynapse
+	 * @return artifacts by name
+	 * @throws Exception
+	 */
+	Map<String,Object> getArtifacts(OMElement parsedSource, boolean withSynapse) throws Exception{
 		Map<String,Object> artifacts = new LinkedHashMap<String, Object>();
 		
-		ArtifactType artifactType = getArtifactType(source);
-		OMElement element = AXIOMUtil.stringToOM(source);
+		ArtifactType artifactType = getArtifactType(parsedSource);
+		// some synapse factories detach child elements, so they work on a copy
+		OMElement element = parsedSource.cloneOMElement();
 		
 		Properties properties = new Properties();
 		properties.put(WSDLEndpointFactory.SKIP_WSDL_PARSING, "true");
 		
 		switch (artifactType) {
 		case SYNAPSE_CONFIG:
-			File tempfile = File.createTempFile("file", ".tmp");
-			BufferedWriter outfile = new BufferedWriter(new FileWriter(tempfile));
-			outfile.write(source);
-			outfile.close();
-			SynapseConfiguration synapseCofig = SynapseConfigurationBuilder.getConfiguration(
-					tempfile.getAbsolutePath(), null);
+			SynapseConfiguration synapseCofig = createSynapseConfiguration(element);
 			Collection<ProxyService> proxyServices = synapseCofig.getProxyServices();
 			for (ProxyService proxy : proxyServices) {
 				artifacts.put(proxy.getName(), proxy);
@@ -460,6 +652,24 @@ public class Deserializer {
 		return artifacts;
 	}
 	
+	/**
+	 * Build a synapse configuration from the parsed definitions element, the
+	 * same way SynapseConfigurationBuilder does for a configuration file
+	 * @param definitions
+	 * @return
+	 */
+	private SynapseConfiguration createSynapseConfiguration(OMElement definitions) {
+		SynapseConfiguration synapseConfig = ConfigurationFactoryAndSerializerFinder.getInstance().getConfiguration(
+				definitions, null);
+		if (synapseConfig.getMainSequence() == null) {
+			SynapseConfigUtils.setDefaultMainSequence(synapseConfig);
+		}
+		if (synapseConfig.getFaultSequence() == null) {
+			SynapseConfigUtils.setDefaultFaultSequence(synapseConfig);
+		}
+		return synapseConfig;
+	}
+	
 	private void createEndpointTemplate(OMElement element, Properties properties, Map<String,Object> artifacts, boolean  withSynapse){
 	    Template template;
 	    if (withSynapse) {
@@ -477,67 +687,74 @@ public class Deserializer {
 	}
 
 
+	/**
+	 * Get mediator flow containers created for the editor being loaded by the current thread
+	 * @return
+	 */
 	public List<IGraphicalEditPart> getMediatorFlowContainerList() {
-		if (mediatorFlowContainerList == null) {
-			mediatorFlowContainerList = new ArrayList<IGraphicalEditPart>();
-		}
-		return mediatorFlowContainerList;
+		return DeserializationContext.getCurrent().getMediatorFlowContainerList();
+	}
+	
+	/**
+	 * Build the synapse artifacts of an ESB configuration without touching the diagram,
+	 * so that it can be done off the UI thread before calling
+	 * {@link #updateDesign(String, Map, EsbDiagramEditor)}
+	 * @param source
+	 * @param withSynapse
+	 * @return artifacts by name
+	 * @throws Exception
+	 */
+	public Map<String, Object> buildArtifacts(String source, boolean withSynapse) throws Exception {
+		return getArtifacts(source, withSynapse);
 	}
 	
 	public DeserializeStatus isValidSynapseConfig(String source, boolean withSyanpse) {
 		try {
-			getArtifacts(source, withSyanpse);
-			return new DeserializeStatus(true, null,source);
+			DeserializeStatus deserializeStatus = new DeserializeStatus(true, null,source);
+			deserializeStatus.artifacts = getArtifacts(source, withSyanpse);
+			return deserializeStatus;
 		} catch (Exception e) {
 			return new DeserializeStatus(false, e,source);
 		}
 	}
 	
+	/**
+	 * Find the first element of a configuration which can not be deserialized
+	 * @param element configuration
+	 * @param elementSub part of the configuration to search in
+	 * @param withSynapse
+	 * @return error description, or "ErrorNotFound"
+	 */
 	public String validate(OMElement element, OMElement elementSub, boolean withSynapse) {
 		try {
-			Iterator<OMElement> childElements = elementSub.getChildElements();
-			List<OMElement> childElementsList = IteratorUtils.toList(childElements);
-
-			for (OMElement omElement : childElementsList) {
-				omElement.detach();
+			ConfigurationErrorLocator locator = new ConfigurationErrorLocator(withSynapse);
+			ConfigurationErrorLocator.ConfigurationError error = (element == elementSub) ? locator
+					.findFirstError(element) : locator.findFirstError(element, elementSub);
+			if (error != null) {
+				return error.toString();
 			}
-			
-			try {
-				getArtifacts(element.toStringWithConsume(), withSynapse);
-			} catch (Exception e) {
-				if (!(elementSub.getLocalName().equals("proxy") || elementSub.getLocalName().equals("target")
-						|| elementSub.getLocalName().equals("template") || elementSub.getLocalName().equals("api"))) {
-					String nameSpace = "xmlns=\"http://ws.apache.org/ns/synapse\"";
-					String errorLine = elementSub.toStringWithConsume();
-					String errorLineWithoutNS = errorLine.replaceAll(nameSpace, "");
-					return "Unknown synapse configuration tag: \n\n" + "At Line " + elementSub.getLineNumber() + ", "
-							+ errorLineWithoutNS + "\n";
-				}
-			}
-			
-			for (OMElement omElement : childElementsList) {
-				if (omElement.getLocalName().equals("parameter")) {
-					continue;
-				}
-				
-				elementSub.addChild(omElement);
-				try {
-					getArtifacts(element.toStringWithConsume(), withSynapse);
-				} catch (Exception e) {
-					List<OMElement> subChildElements = IteratorUtils.toList(omElement.getChildElements());
-					if (subChildElements.size() > 0) {
-						String returnMessage = validate(element, omElement, withSynapse);
-						if (!returnMessage.equals("ErrorNotFound")) {
-							return returnMessage;
-						}
-					} else {
-						String nameSpace = "xmlns=\"http://ws.apache.org/ns/synapse\"";
-						String errorLine = omElement.toStringWithConsume();
-						String errorLineWithoutNS = errorLine.replaceAll(nameSpace, "");
-						return "Unknown synapse configuration tag: \n\n" + "At Line " + omElement.getLineNumber()
-								+ ", " + errorLineWithoutNS + "\n";
-					}
+		} catch (Exception e) {
+			log.error("Error while validating the configuration", e);
+		}
+		return "ErrorNotFound";
+	}
+	
+	/**
+	 * Find all elements of a configuration which can not be deserialized
+	 * @param element configuration
+	 * @param withSynapse
+	 * @return description of all errors, or "ErrorNotFound"
+	 */
+	public String validateAll(OMElement element, boolean withSynapse) {
+		try {
+			List<ConfigurationErrorLocator.ConfigurationError> errors = new ConfigurationErrorLocator(withSynapse)
+					.findErrors(element);
+			if (!errors.isEmpty()) {
+				StringBuilder message = new StringBuilder();
+				for (ConfigurationErrorLocator.ConfigurationError error : errors) {
+					message.append(error).append("\n");
 				}
+				return message.toString();
 			}
 		} catch (Exception e) {
 			log.error("Error while validating the configuration", e);
@@ -549,10 +766,18 @@ public class Deserializer {
 		boolean isValid;
 		Exception execption;
 		String source;
+		Map<String, Object> artifacts;
 		
 		public String getsource(){
 			return source;
 		}
+		
+		/**
+		 * @return artifacts built while validating, or null if the configuration is invalid
+		 */
+		public Map<String, Object> getArtifacts() {
+			return artifacts;
+		}
 		public boolean isValid() {
 			return isValid;
 		}
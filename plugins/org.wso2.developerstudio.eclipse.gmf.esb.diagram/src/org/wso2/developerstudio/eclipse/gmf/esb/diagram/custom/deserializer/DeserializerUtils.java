@@ -69,6 +69,8 @@ public class DeserializerUtils {
 	}
 	
 	public static EObject createNode(IGraphicalEditPart editPart , IElementType elementType) {
+		// pending writes may be read by the canonical refresh of the new node
+		AbstractEsbNodeDeserializer.flushBatch();
 		CreationTool tool = new CreationTool(elementType);
 
 		CreateViewAndElementRequest req = (CreateViewAndElementRequest) 
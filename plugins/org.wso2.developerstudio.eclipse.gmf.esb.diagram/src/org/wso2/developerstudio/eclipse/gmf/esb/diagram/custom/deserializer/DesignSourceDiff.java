@@ -0,0 +1,157 @@
+/*
+ * Copyright 2018 WSO2, Inc. (http://wso2.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.developerstudio.eclipse.gmf.esb.diagram.custom.deserializer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.namespace.QName;
+
+import org.apache.axiom.om.OMAttribute;
+import org.apache.axiom.om.OMComment;
+import org.apache.axiom.om.OMElement;
+import org.apache.axiom.om.OMNode;
+import org.apache.axiom.om.OMText;
+
+/**
+ * Structural comparison of ESB configuration sources, used to find out which
+ * artifacts of a design have to be rebuilt after the source was edited.
+ *
+ * An artifact is the unit compared and rebuilt: any change inside it, even of
+ * a single attribute of one mediator, rebuilds all of its nodes. What this
+ * saves is the rebuild of unchanged artifacts, and of the whole design when
+ * nothing changed. The sequences of an artifact are not rebuilt on their
+ * own, because they are not independent in the diagram: the in and out
+ * sequences of a proxy share one compartment and are paired with each other,
+ * and its inline endpoint extends the in sequence flow.
+ *
+ * Two elements are equivalent when they have the same name, the same
+ * attributes in any order and equivalent children. Whitespace-only text
+ * between elements is ignored, any other text is compared as is.
+ */
+public final class DesignSourceDiff {
+
+	private static final String DEFINITIONS = "definitions";
+	private static final QName NAME_ATTRIBUTE = new QName("name");
+	private static final QName KEY_ATTRIBUTE = new QName("key");
+
+	private DesignSourceDiff() {
+	}
+
+	/**
+	 * Split a configuration into the elements of its artifacts, keyed the same
+	 * way as the artifacts built by the Deserializer
+	 *
+	 * @param root
+	 *            parsed configuration
+	 * @return artifact elements by artifact name, or null if an element has
+	 *         neither a name nor a key, or shares it with another element, so
+	 *         that its changes could not be told apart
+	 */
+	public static Map<String, OMElement> getArtifactElements(OMElement root) {
+		Map<String, OMElement> artifactElements = new LinkedHashMap<String, OMElement>();
+		if (DEFINITIONS.equals(root.getLocalName())) {
+			for (Iterator<?> it = root.getChildElements(); it.hasNext();) {
+				if (!putArtifactElement(artifactElements, (OMElement) it.next())) {
+					return null;
+				}
+			}
+		} else if (!putArtifactElement(artifactElements, root)) {
+			return null;
+		}
+		return artifactElements;
+	}
+
+	private static boolean putArtifactElement(Map<String, OMElement> artifactElements, OMElement element) {
+		String name = element.getAttributeValue(NAME_ATTRIBUTE);
+		if (name == null) {
+			name = element.getAttributeValue(KEY_ATTRIBUTE);
+		}
+		return name != null && artifactElements.put(name, element) == null;
+	}
+
+	/**
+	 * @param first
+	 * @param second
+	 * @return true if both elements describe the same configuration
+	 */
+	public static boolean isEquivalent(OMElement first, OMElement second) {
+		if (first == second) {
+			return true;
+		}
+		if (first == null || second == null) {
+			return false;
+		}
+		if (!first.getQName().equals(second.getQName())) {
+			return false;
+		}
+		if (!getAttributes(first).equals(getAttributes(second))) {
+			return false;
+		}
+		List<OMNode> firstChildren = getSignificantChildren(first);
+		List<OMNode> secondChildren = getSignificantChildren(second);
+		if (firstChildren.size() != secondChildren.size()) {
+			return false;
+		}
+		for (int i = 0; i < firstChildren.size(); i++) {
+			if (!isEquivalent(firstChildren.get(i), secondChildren.get(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isEquivalent(OMNode first, OMNode second) {
+		if (first.getType() != second.getType()) {
+			return false;
+		}
+		if (first instanceof OMElement) {
+			return isEquivalent((OMElement) first, (OMElement) second);
+		} else if (first instanceof OMText) {
+			return ((OMText) first).getText().equals(((OMText) second).getText());
+		} else if (first instanceof OMComment) {
+			return ((OMComment) first).getValue().equals(((OMComment) second).getValue());
+		}
+		return first.toString().equals(second.toString());
+	}
+
+	private static Map<QName, String> getAttributes(OMElement element) {
+		Map<QName, String> attributes = new HashMap<QName, String>();
+		for (Iterator<?> it = element.getAllAttributes(); it.hasNext();) {
+			OMAttribute attribute = (OMAttribute) it.next();
+			attributes.put(attribute.getQName(), attribute.getAttributeValue());
+		}
+		return attributes;
+	}
+
+	private static List<OMNode> getSignificantChildren(OMElement element) {
+		List<OMNode> children = new ArrayList<OMNode>();
+		for (Iterator<?> it = element.getChildren(); it.hasNext();) {
+			OMNode child = (OMNode) it.next();
+			if (child instanceof OMText && ((OMText) child).getText().trim().isEmpty()) {
+				continue;
+			}
+			children.add(child);
+		}
+		return children;
+	}
+
+}
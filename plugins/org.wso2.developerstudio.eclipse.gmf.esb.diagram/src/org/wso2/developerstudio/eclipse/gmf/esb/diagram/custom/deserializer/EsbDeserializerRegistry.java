@@ -111,12 +111,12 @@ public class EsbDeserializerRegistry {
 	private static IDeveloperStudioLog log=Logger.getLog(Activator.PLUGIN_ID);
 	
 	/**
-	 * synapse model type to deserializers map.
+	 * synapse model type to deserializer types map.
+	 * Deserializers keep per-node state, so a new deserializer is created for each lookup
+	 * and the state of the editor being loaded is kept in its {@link DeserializationContext}.
 	 */
 	@SuppressWarnings("rawtypes")
-	private Map<Class<?>, IEsbNodeDeserializer> deserializersMap;
-	
-	private EsbDiagramEditor diagramEditor;
+	private Map<Class<?>, Class<? extends IEsbNodeDeserializer>> deserializersMap;
 	
 	/**
 	 * Creates a new deserialize registry.
@@ -124,86 +124,86 @@ public class EsbDeserializerRegistry {
 	@SuppressWarnings("rawtypes")
 	private EsbDeserializerRegistry(){
 		MediatorFactoryUtils.registerFactories(); /* register custom factories */
-		deserializersMap = new HashMap<Class<?>, IEsbNodeDeserializer>();
-		addDeserializer(LogMediator.class,new LogMediatorDeserializer());
-		addDeserializer(PropertyMediator.class,new PropertyMediatorDeserializer());
-		addDeserializer(ProxyService.class, new ProxyServiceDeserializer());
-		addDeserializer(SendMediator.class, new SendMediatorDeserializer());
-		addDeserializer(CloneMediator.class, new CloneMediatorDeserializer());
-		addDeserializer(DropMediator.class, new DropMediatorDeserializer());
-		addDeserializer(EnrichMediator.class, new EnrichMediatorDeserializer());
-		addDeserializer(EventMediator.class, new EventMediatorDeserializer());
-		addDeserializer(EnqueueMediator.class, new EnqueueMediatorDeserializer());
-		addDeserializer(ValidateMediator.class, new ValidateMediatorDeserializer());
-		addDeserializer(AggregateMediator.class, new AggregateMediatorDeserializer());
-		addDeserializer(FilterMediator.class,new FilterMediatorDeserializer());
-		addDeserializer(SwitchMediator.class, new SwitchMediatorDeserializer());
-		addDeserializer(SequenceMediator.class, new SequenceDeserializer());
-		addDeserializer(API.class, new APIDeserializer());
-		addDeserializer(XSLTMediator.class, new XSLTMediatorDeserializer());
-		addDeserializer(FastXSLTMediator.class, new FastXSLTMediatorDeserializer());
-		addDeserializer(XQueryMediator.class, new XQueryMediatorDeserializer());
-		addDeserializer(HeaderMediator.class, new HeaderMediatorDeserializer());
-		addDeserializer(FaultMediator.class, new FaultMediatorDeserializer());
-		addDeserializer(URLRewriteMediator.class, new URLRewriteMediatorDeserializer());
-		addDeserializer(CalloutMediator.class, new CalloutMediatorDeserializer());
-		addDeserializer(DBLookupMediator.class, new DBLookupMediatorDeserializer());
-		addDeserializer(DBReportMediator.class, new DBReportMediatorDeserializer());
-		addDeserializer(EntitlementMediatorExt.class, new EntitlementMediatorDeserializer());
-		addDeserializer(TransactionMediator.class, new TransactionMediatorDeserializer());
-		addDeserializer(OAuthMediator.class, new OAuthMediatorDeserializer());
-		addDeserializer(MessageStoreMediator.class, new StoreMediatorDeserializer());
-		addDeserializer(BuilderMediatorExt.class, new BuilderMediatorDeserializer());
-		addDeserializer(SpringMediator.class, new SpringMediatorDeserializer());
-		addDeserializer(ScriptMediator.class, new ScriptMediatorDeserializer());
-		addDeserializer(SmooksMediator.class, new SmooksMediatorDeserializer());
-		addDeserializer(RouterMediator.class, new RouterMediatorDeserializer());
-		addDeserializer(ClassMediatorExt.class, new ClassMediatorDeserializer());
-		addDeserializer(POJOCommandMediatorExt.class, new POJOCommandMediatorDeserializer());
-		addDeserializer(PayloadFactoryMediator.class, new PayloadFactoryMediatorDeserializer());
-		addDeserializer(InvokeMediator.class, new CallTemplateMediatorDeserializer());
-		addDeserializer(CacheMediator.class, new CacheMediatorDeserializer());
-		addDeserializer(IterateMediator.class, new IterateMediatorDeserializer());
-		addDeserializer(DefaultEndpoint.class, new DefaultEndpointDeserializer());
-		addDeserializer(AddressEndpoint.class, new AddressEndpointDeserializer());
-		addDeserializer(WSDLEndpoint.class, new WSDLEndpointDeserializer());
-		addDeserializer(FailoverEndpoint.class, new FailoverEndpointDeserializer());
-		addDeserializer(LoadbalanceEndpoint.class, new LoadBalanceEndpointDeserializer());
-		addDeserializer(SALoadbalanceEndpoint.class, new LoadBalanceEndpointDeserializer());
-		addDeserializer(ConditionalRouterMediator.class, new ConditionalRouterMediatorDeserializer());
-		addDeserializer(ThrottleMediator.class, new ThrottleMediatorDeserializer());
-		addDeserializer(RuleMediatorExt.class, new RuleMediatorDeserializer());
-		addDeserializer(TemplateMediator.class, new SequenceTemplateDeserializer());
-		addDeserializer(Template.class, new EndPointTemplateDeserializer());
-		addDeserializer(EndpointWrapper.class, new EndPointDeserializer());
-		addDeserializer(TaskDescription.class, new TaskDeserializer());
-		addDeserializer(Entry.class, new LocalEntryDeserializer());
-		addDeserializer(EJBMediatorExt.class, new EJBMediatorDeserializer());
-		addDeserializer(BeanMediatorExt.class, new BeanMediatorDeserializer());
-		addDeserializer(BamMediator.class, new BAMMediatorDeserializer());
-		addDeserializer(IndirectEndpoint.class, new IndirectEndpointDeserializer());
-		addDeserializer(ResolvingEndpoint.class, new ResolvingEndpointDeserializer());
-		addDeserializer(RecipientListEndpoint.class, new RecipientListEndpointDeserializer());
-		addDeserializer(InMemoryStore.class , new MessageStoreDeserializer());
-		addDeserializer(DummyMessageStore.class , new MessageStoreDeserializer());
-		addDeserializer(DummyMessageProcessor.class, new MessageProcessorDeserializer());
-		addDeserializer(HTTPEndpoint.class, new HTTPEndpointDeserializer());
-		addDeserializer(TemplateEndpoint.class, new TemplateEndpointDeserializer());
-		addDeserializer(LoopBackMediator.class, new LoopBackMediatorDeserializer());
-		addDeserializer(RespondMediator.class, new RespondMediatorDeserializer());
-		addDeserializer(CallMediator.class, new CallMediatorDeserializer());
-		addDeserializer(CloudConnectorOperationExt.class, new CloudConnectorOperationDeserializer());
-		addDeserializer(DataMapperMediator.class, new DataMapperMediatorDeserializer());
-		addDeserializer(InboundEndpoint.class, new InboundEndpointDeserializer());
-		addDeserializer(ForEachMediator.class, new ForEachMediatorDeserializer());
-		addDeserializer(CommentMediator.class, new CommentMediatorDeserializer());
-		addDeserializer(PublishEventMediator.class, new PublishEventMediatorDeserializer());
+		deserializersMap = new HashMap<Class<?>, Class<? extends IEsbNodeDeserializer>>();
+		addDeserializer(LogMediator.class,LogMediatorDeserializer.class);
+		addDeserializer(PropertyMediator.class,PropertyMediatorDeserializer.class);
+		addDeserializer(ProxyService.class, ProxyServiceDeserializer.class);
+		addDeserializer(SendMediator.class, SendMediatorDeserializer.class);
+		addDeserializer(CloneMediator.class, CloneMediatorDeserializer.class);
+		addDeserializer(DropMediator.class, DropMediatorDeserializer.class);
+		addDeserializer(EnrichMediator.class, EnrichMediatorDeserializer.class);
+		addDeserializer(EventMediator.class, EventMediatorDeserializer.class);
+		addDeserializer(EnqueueMediator.class, EnqueueMediatorDeserializer.class);
+		addDeserializer(ValidateMediator.class, ValidateMediatorDeserializer.class);
+		addDeserializer(AggregateMediator.class, AggregateMediatorDeserializer.class);
+		addDeserializer(FilterMediator.class,FilterMediatorDeserializer.class);
+		addDeserializer(SwitchMediator.class, SwitchMediatorDeserializer.class);
+		addDeserializer(SequenceMediator.class, SequenceDeserializer.class);
+		addDeserializer(API.class, APIDeserializer.class);
+		addDeserializer(XSLTMediator.class, XSLTMediatorDeserializer.class);
+		addDeserializer(FastXSLTMediator.class, FastXSLTMediatorDeserializer.class);
+		addDeserializer(XQueryMediator.class, XQueryMediatorDeserializer.class);
+		addDeserializer(HeaderMediator.class, HeaderMediatorDeserializer.class);
+		addDeserializer(FaultMediator.class, FaultMediatorDeserializer.class);
+		addDeserializer(URLRewriteMediator.class, URLRewriteMediatorDeserializer.class);
+		addDeserializer(CalloutMediator.class, CalloutMediatorDeserializer.class);
+		addDeserializer(DBLookupMediator.class, DBLookupMediatorDeserializer.class);
+		addDeserializer(DBReportMediator.class, DBReportMediatorDeserializer.class);
+		addDeserializer(EntitlementMediatorExt.class, EntitlementMediatorDeserializer.class);
+		addDeserializer(TransactionMediator.class, TransactionMediatorDeserializer.class);
+		addDeserializer(OAuthMediator.class, OAuthMediatorDeserializer.class);
+		addDeserializer(MessageStoreMediator.class, StoreMediatorDeserializer.class);
+		addDeserializer(BuilderMediatorExt.class, BuilderMediatorDeserializer.class);
+		addDeserializer(SpringMediator.class, SpringMediatorDeserializer.class);
+		addDeserializer(ScriptMediator.class, ScriptMediatorDeserializer.class);
+		addDeserializer(SmooksMediator.class, SmooksMediatorDeserializer.class);
+		addDeserializer(RouterMediator.class, RouterMediatorDeserializer.class);
+		addDeserializer(ClassMediatorExt.class, ClassMediatorDeserializer.class);
+		addDeserializer(POJOCommandMediatorExt.class, POJOCommandMediatorDeserializer.class);
+		addDeserializer(PayloadFactoryMediator.class, PayloadFactoryMediatorDeserializer.class);
+		addDeserializer(InvokeMediator.class, CallTemplateMediatorDeserializer.class);
+		addDeserializer(CacheMediator.class, CacheMediatorDeserializer.class);
+		addDeserializer(IterateMediator.class, IterateMediatorDeserializer.class);
+		addDeserializer(DefaultEndpoint.class, DefaultEndpointDeserializer.class);
+		addDeserializer(AddressEndpoint.class, AddressEndpointDeserializer.class);
+		addDeserializer(WSDLEndpoint.class, WSDLEndpointDeserializer.class);
+		addDeserializer(FailoverEndpoint.class, FailoverEndpointDeserializer.class);
+		addDeserializer(LoadbalanceEndpoint.class, LoadBalanceEndpointDeserializer.class);
+		addDeserializer(SALoadbalanceEndpoint.class, LoadBalanceEndpointDeserializer.class);
+		addDeserializer(ConditionalRouterMediator.class, ConditionalRouterMediatorDeserializer.class);
+		addDeserializer(ThrottleMediator.class, ThrottleMediatorDeserializer.class);
+		addDeserializer(RuleMediatorExt.class, RuleMediatorDeserializer.class);
+		addDeserializer(TemplateMediator.class, SequenceTemplateDeserializer.class);
+		addDeserializer(Template.class, EndPointTemplateDeserializer.class);
+		addDeserializer(EndpointWrapper.class, EndPointDeserializer.class);
+		addDeserializer(TaskDescription.class, TaskDeserializer.class);
+		addDeserializer(Entry.class, LocalEntryDeserializer.class);
+		addDeserializer(EJBMediatorExt.class, EJBMediatorDeserializer.class);
+		addDeserializer(BeanMediatorExt.class, BeanMediatorDeserializer.class);
+		addDeserializer(BamMediator.class, BAMMediatorDeserializer.class);
+		addDeserializer(IndirectEndpoint.class, IndirectEndpointDeserializer.class);
+		addDeserializer(ResolvingEndpoint.class, ResolvingEndpointDeserializer.class);
+		addDeserializer(RecipientListEndpoint.class, RecipientListEndpointDeserializer.class);
+		addDeserializer(InMemoryStore.class , MessageStoreDeserializer.class);
+		addDeserializer(DummyMessageStore.class , MessageStoreDeserializer.class);
+		addDeserializer(DummyMessageProcessor.class, MessageProcessorDeserializer.class);
+		addDeserializer(HTTPEndpoint.class, HTTPEndpointDeserializer.class);
+		addDeserializer(TemplateEndpoint.class, TemplateEndpointDeserializer.class);
+		addDeserializer(LoopBackMediator.class, LoopBackMediatorDeserializer.class);
+		addDeserializer(RespondMediator.class, RespondMediatorDeserializer.class);
+		addDeserializer(CallMediator.class, CallMediatorDeserializer.class);
+		addDeserializer(CloudConnectorOperationExt.class, CloudConnectorOperationDeserializer.class);
+		addDeserializer(DataMapperMediator.class, DataMapperMediatorDeserializer.class);
+		addDeserializer(InboundEndpoint.class, InboundEndpointDeserializer.class);
+		addDeserializer(ForEachMediator.class, ForEachMediatorDeserializer.class);
+		addDeserializer(CommentMediator.class, CommentMediatorDeserializer.class);
+		addDeserializer(PublishEventMediator.class, PublishEventMediatorDeserializer.class);
 	}
 	
 	/**
 	 * @return singleton instance.
 	 */
-	public static EsbDeserializerRegistry getInstance() {
+	public static synchronized EsbDeserializerRegistry getInstance() {
 		if (null == singleton) {
 			singleton = new EsbDeserializerRegistry();
 		}
@@ -211,21 +211,22 @@ public class EsbDeserializerRegistry {
 	}
 	
 	/**
-	 * initialize registry
+	 * initialize registry for the given editor on the current thread
 	 */
 	public void init(EsbDiagramEditor diagramEditor){
-		this.diagramEditor = diagramEditor;
+		DeserializationContext.bind(diagramEditor);
 	}
 	
 	/**
 	 * Adds a new deserializer into this registry.
 	 * 
 	 * @param synapseModelClass
-	 * @param transformer
+	 * @param deserializerClass
 	 */
 	@SuppressWarnings("rawtypes")
-	public void addDeserializer(Class<?> synapseModelClass, IEsbNodeDeserializer deserializer) {
-		deserializersMap.put(synapseModelClass, deserializer);
+	public synchronized void addDeserializer(Class<?> synapseModelClass,
+			Class<? extends IEsbNodeDeserializer> deserializerClass) {
+		deserializersMap.put(synapseModelClass, deserializerClass);
 	}
 	
 	/**
@@ -234,23 +235,26 @@ public class EsbDeserializerRegistry {
 	 * @return
 	 */
 	@SuppressWarnings("rawtypes")
-	public IEsbNodeDeserializer getDeserializer(Object synapseModel) {
-		IEsbNodeDeserializer nodeDeserializer = deserializersMap.get(synapseModel.getClass());
-		if(nodeDeserializer!=null){
-			nodeDeserializer.setDiagramEditor(getDiagramEditor());
-		} else{
+	public synchronized IEsbNodeDeserializer getDeserializer(Object synapseModel) {
+		Class<? extends IEsbNodeDeserializer> deserializerClass = deserializersMap.get(synapseModel.getClass());
+		if (deserializerClass == null) {
 			log.error("Can not find deserializer for synapse object " + synapseModel.getClass());
+			return null;
+		}
+		try {
+			return deserializerClass.newInstance();
+		} catch (InstantiationException | IllegalAccessException e) {
+			log.error("Can not create deserializer " + deserializerClass.getName(), e);
+			return null;
 		}
-		
-		return nodeDeserializer;
 	}
 	
 	/**
-	 * Get active diagram editor 
+	 * Get diagram editor initialized for the current thread
 	 * @return
 	 */
 	public EsbDiagramEditor getDiagramEditor() {
-		return diagramEditor;
+		return DeserializationContext.getCurrent().getDiagramEditor();
 	}
 
 }
@@ -17,6 +17,7 @@ package org.wso2.developerstudio.eclipse.gmf.esb.diagram.custom.startup;
 
 import org.eclipse.ui.IStartup;
 import org.wso2.developerstudio.eclipse.gmf.esb.diagram.custom.utils.GraphicalEditorStartupUtils;
+import org.wso2.developerstudio.eclipse.gmf.esb.diagram.validator.EsbArtifactBuilderInstaller;
 import org.wso2.developerstudio.eclipse.platform.ui.startup.ESBGraphicalEditor;
 
 public class GraphicalEditorStartup implements IStartup {
@@ -25,6 +26,7 @@ public class GraphicalEditorStartup implements IStartup {
 	public void earlyStartup() {
 		GraphicalEditorStartupUtils editorStartupUtils = new GraphicalEditorStartupUtils();
 		ESBGraphicalEditor.setOpenable(editorStartupUtils);
+		EsbArtifactBuilderInstaller.install();
 	}
 
 }
@@ -32,6 +32,7 @@ import org.eclipse.gef.palette.PaletteDrawer;
 import org.eclipse.gef.palette.PaletteRoot;
 import org.eclipse.gef.palette.ToolEntry;
 import org.eclipse.gef.ui.palette.PaletteViewer;
+import org.eclipse.gef.ui.parts.ScrollingGraphicalViewer;
 import org.eclipse.gmf.runtime.common.ui.services.marker.MarkerNavigationService;
 import org.eclipse.gmf.runtime.diagram.core.preferences.PreferencesHint;
 import org.eclipse.gmf.runtime.diagram.ui.actions.ActionIds;
@@ -66,6 +67,7 @@ import org.eclipse.ui.navigator.resources.ProjectExplorer;
 import org.eclipse.ui.part.FileEditorInput;
 import org.eclipse.ui.part.IShowInTargetList;
 import org.eclipse.ui.part.ShowInContext;
+import org.wso2.developerstudio.eclipse.gmf.esb.diagram.custom.deserializer.DeserializationContext;
 import org.wso2.developerstudio.eclipse.gmf.esb.diagram.custom.extensions.CustomPaletteToolTransferDropTargetListener;
 import org.wso2.developerstudio.eclipse.gmf.esb.diagram.custom.extensions.CustomZoomListener;
 import org.wso2.developerstudio.eclipse.gmf.esb.diagram.navigator.EsbNavigatorItem;
@@ -76,6 +78,8 @@ import org.wso2.developerstudio.eclipse.gmf.esb.diagram.navigator.EsbNavigatorIt
 public class EsbDiagramEditor extends DiagramDocumentEditor implements IGotoMarker {
 
 	private EsbMultiPageEditor esbEditor;
+
+	private DeserializationContext deserializationContext;
 	/**
 	 * @generated
 	 */
@@ -314,6 +318,23 @@ public class EsbDiagramEditor extends DiagramDocumentEditor implements IGotoMark
 		return StructuredSelection.EMPTY;
 	}
 
+	/**
+	 * @generated NOT
+	 */
+	protected ScrollingGraphicalViewer createScrollingGraphicalViewer() {
+		return new EsbDiagramGraphicalViewer();
+	}
+
+	/**
+	 * @generated NOT
+	 */
+	public synchronized DeserializationContext getDeserializationContext() {
+		if (deserializationContext == null) {
+			deserializationContext = new DeserializationContext(this);
+		}
+		return deserializationContext;
+	}
+
 	/**
 	 * @generated NOT
 	 */
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2018 WSO2, Inc. (http://wso2.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.developerstudio.eclipse.gmf.esb.diagram.part;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.gef.EditPart;
+import org.eclipse.gmf.runtime.diagram.ui.editparts.ShapeNodeEditPart;
+import org.eclipse.gmf.runtime.diagram.ui.internal.parts.DiagramGraphicalViewer;
+import org.eclipse.gmf.runtime.notation.Node;
+
+/**
+ * Diagram viewer of the ESB editor which keeps an index of the shape node edit
+ * parts by their semantic element. The index follows edit part registration, so
+ * deserializers can look edit parts up without rescanning the edit part registry.
+ */
+@SuppressWarnings("restriction")
+public class EsbDiagramGraphicalViewer extends DiagramGraphicalViewer {
+
+	private final Map<EObject, ShapeNodeEditPart> shapeNodeEditParts = new HashMap<EObject, ShapeNodeEditPart>();
+
+	@Override
+	public void registerEditPartForElement(String elementIdStr, EditPart ep) {
+		super.registerEditPartForElement(elementIdStr, ep);
+		EObject element = getShapeNodeElement(ep);
+		if (element != null) {
+			shapeNodeEditParts.put(element, (ShapeNodeEditPart) ep);
+		}
+	}
+
+	@Override
+	public void unregisterEditPartForElement(String elementIdStr, EditPart ep) {
+		super.unregisterEditPartForElement(elementIdStr, ep);
+		EObject element = getShapeNodeElement(ep);
+		if (element != null && shapeNodeEditParts.get(element) == ep) {
+			shapeNodeEditParts.remove(element);
+		}
+	}
+
+	/**
+	 * Get the shape node edit part registered for a semantic element
+	 *
+	 * @param element
+	 * @return edit part or null if the element is not shown in this viewer
+	 */
+	public ShapeNodeEditPart getShapeNodeEditPart(EObject element) {
+		return shapeNodeEditParts.get(element);
+	}
+
+	private EObject getShapeNodeElement(EditPart ep) {
+		if (ep instanceof ShapeNodeEditPart && ep.getModel() instanceof Node) {
+			return ((Node) ep.getModel()).getElement();
+		}
+		return null;
+	}
+
+}
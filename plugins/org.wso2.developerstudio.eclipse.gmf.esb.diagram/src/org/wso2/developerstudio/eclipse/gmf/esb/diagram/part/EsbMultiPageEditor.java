@@ -24,6 +24,7 @@ import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.UUID;
@@ -52,6 +53,7 @@ import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.e4.core.services.events.IEventBroker;
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.emf.common.util.URI;
@@ -109,6 +111,7 @@ import org.wso2.developerstudio.eclipse.gmf.esb.diagram.custom.EditorUtils;
 import org.wso2.developerstudio.eclipse.gmf.esb.diagram.custom.ExceptionMessageMapper;
 import org.wso2.developerstudio.eclipse.gmf.esb.diagram.custom.cloudconnector.CloudConnectorDirectoryTraverser;
 import org.wso2.developerstudio.eclipse.gmf.esb.diagram.custom.deserializer.AbstractEsbNodeDeserializer;
+import org.wso2.developerstudio.eclipse.gmf.esb.diagram.custom.deserializer.DeserializationContext;
 import org.wso2.developerstudio.eclipse.gmf.esb.diagram.custom.deserializer.Deserializer;
 import org.wso2.developerstudio.eclipse.gmf.esb.diagram.custom.deserializer.Deserializer.DeserializeStatus;
 import org.wso2.developerstudio.eclipse.gmf.esb.diagram.custom.deserializer.DeserializerException;
@@ -119,6 +122,7 @@ import org.wso2.developerstudio.eclipse.gmf.esb.diagram.debugger.utils.ESBDebugg
 import org.wso2.developerstudio.eclipse.gmf.esb.diagram.edit.parts.SequenceEditPart;
 import org.wso2.developerstudio.eclipse.gmf.esb.diagram.validator.ProcessSourceView;
 import org.wso2.developerstudio.eclipse.gmf.esb.diagram.validator.SourceError;
+import org.wso2.developerstudio.eclipse.gmf.esb.diagram.validator.SourceValidationReconciler;
 import org.wso2.developerstudio.eclipse.gmf.esb.diagram.validator.ValidationException;
 import org.wso2.developerstudio.eclipse.gmf.esb.persistence.EsbModelTransformer;
 import org.wso2.developerstudio.eclipse.gmf.esb.persistence.SequenceInfo;
@@ -185,6 +189,22 @@ public class EsbMultiPageEditor extends MultiPageEditorPart implements IGotoMark
 
 	/* source editor dirty state */
 	private boolean sourceDirty;
+
+	/*
+	 * incremented whenever the design is loaded or rebuilt from a source, so
+	 * that a design load job finishing later does not overwrite a newer design
+	 */
+	private int designLoadGeneration;
+
+	/*
+	 * set while the source is validated for the design view, when page changes
+	 * and design load results may be dispatched by the event loop of the
+	 * progress service
+	 */
+	private boolean designPageLoading;
+
+	/* validates the source view while it is edited */
+	private SourceValidationReconciler sourceValidationReconciler;
 	public static EsbMultiPageEditor currentEditor;
 	private ArtifactType currArtifactType;
 
@@ -249,53 +269,7 @@ public class EsbMultiPageEditor extends MultiPageEditorPart implements IGotoMark
 					ArtifactType artifactType = deserializer.getArtifactType(source);
 					editorInput = new EsbEditorInput(null, file, artifactType.getLiteral());
 
-					Display.getDefault().asyncExec(new Runnable() {
-						@Override
-						public void run() {
-							ESBDebuggerUtil.setPageCreateOperationActivated(true);
-							try {
-								DeserializeStatus deserializeStatus = deserializer.isValidSynapseConfig(source, true);
-								deleteMarkers();
-								if (deserializeStatus.isValid()
-										|| deserializeStatus.getExecption() instanceof SynapseException
-										|| deserializeStatus.getExecption() instanceof MediatorException) {
-
-									if (!deserializeStatus.isValid()) {
-										SourceError sourceError = ProcessSourceView.validateSynapseContent(source);
-
-										if (sourceError == null) {
-											sourceError = new SourceError(deserializeStatus.getExecption().getMessage(),
-													0, 0, 2);
-										}
-
-										addMarker(sourceError);
-									}
-
-									deserializer.updateDesign(source, graphicalEditor, false);
-									Display.getDefault().asyncExec(new Runnable() {
-										@Override
-										public void run() {
-											doSave(new NullProgressMonitor());
-										}
-									});
-
-								} else if (deserializeStatus.getExecption() instanceof NullPointerException) {
-									addMarker(new SourceError("Invalid mediator configuration: "
-											+ deserializeStatus.getExecption().getMessage(), 0, 0, 2));
-
-								} else {
-									setActivePage(SOURCE_VIEW_PAGE_INDEX);
-									sourceEditor.getDocument().set(source);
-
-									addMarker(ProcessSourceView.validateXMLContent(source));
-								}
-							} catch (Exception e) {
-								log.error("Error while generating diagram from source", e);
-							} finally {
-								ESBDebuggerUtil.setPageCreateOperationActivated(false);
-							}
-						}
-					});
+					scheduleDesignLoad(file.getName(), source);
 					inputStream.close();
 				} catch (CoreException e1) {
 					log.error("Error while generating diagram from source", e1);
@@ -415,6 +389,9 @@ public class EsbMultiPageEditor extends MultiPageEditorPart implements IGotoMark
 					firePropertyChange(PROP_DIRTY);
 				}
 			});
+			sourceValidationReconciler = new SourceValidationReconciler(sourceEditor.getDocument(), file,
+					CONFIG_ERROR);
+			sourceValidationReconciler.install();
 
 			// Initialize source editor.
 			// updateSourceEditor();
@@ -605,6 +582,140 @@ public class EsbMultiPageEditor extends MultiPageEditorPart implements IGotoMark
 		}
 	}
 
+	/**
+	 * Builds the design view of the opened file in two phases. The source is
+	 * parsed, validated and turned into synapse artifacts by a background job,
+	 * which can be cancelled from the progress view. Only creating the diagram
+	 * from those artifacts runs on the UI thread, and not at all if the design
+	 * was rebuilt from a newer source before the job finished.
+	 * 
+	 * @param name
+	 * @param source
+	 */
+	private void scheduleDesignLoad(String name, final String source) {
+		final int generation = ++designLoadGeneration;
+		final Deserializer deserializer = Deserializer.getInstance();
+		final ClassLoader contextClassLoader = getSynapseClassLoader();
+		Job designLoadJob = new Job("Loading design of " + name) {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				monitor.beginTask(getName(), 3);
+				Thread thread = Thread.currentThread();
+				ClassLoader previousClassLoader = thread.getContextClassLoader();
+				thread.setContextClassLoader(contextClassLoader);
+				try {
+					final DeserializeStatus deserializeStatus = deserializer.isValidSynapseConfig(source, true);
+					monitor.worked(1);
+					if (monitor.isCanceled()) {
+						return Status.CANCEL_STATUS;
+					}
+
+					final boolean buildDesign = deserializeStatus.isValid()
+							|| deserializeStatus.getExecption() instanceof SynapseException
+							|| deserializeStatus.getExecption() instanceof MediatorException;
+					SourceError sourceError = null;
+					Map<String, Object> artifacts = null;
+					if (buildDesign) {
+						if (!deserializeStatus.isValid()) {
+							sourceError = ProcessSourceView.validateSynapseContent(source);
+							if (sourceError == null) {
+								sourceError = new SourceError(deserializeStatus.getExecption().getMessage(), 0, 0, 2);
+							}
+						}
+						monitor.worked(1);
+						if (monitor.isCanceled()) {
+							return Status.CANCEL_STATUS;
+						}
+						artifacts = deserializer.buildArtifacts(source, false);
+					} else if (deserializeStatus.getExecption() instanceof NullPointerException) {
+						sourceError = new SourceError("Invalid mediator configuration: "
+								+ deserializeStatus.getExecption().getMessage(), 0, 0, 2);
+					} else {
+						try {
+							sourceError = ProcessSourceView.validateXMLContent(source);
+						} catch (ValidationException e) {
+							log.error("Error while validating the source", e);
+						}
+					}
+					monitor.worked(1);
+					if (monitor.isCanceled()) {
+						return Status.CANCEL_STATUS;
+					}
+
+					final SourceError error = sourceError;
+					final Map<String, Object> designArtifacts = artifacts;
+					final boolean showSource = !buildDesign
+							&& !(deserializeStatus.getExecption() instanceof NullPointerException);
+					Display.getDefault().asyncExec(new Runnable() {
+						@Override
+						public void run() {
+							if (generation != designLoadGeneration) {
+								// the design was rebuilt from a newer source meanwhile
+								return;
+							}
+							if (designPageLoading) {
+								// not while the design view is being loaded
+								Display.getDefault().timerExec(100, this);
+								return;
+							}
+							attachDesign(source, designArtifacts, error, showSource);
+						}
+					});
+				} catch (Exception e) {
+					log.error("Error while generating diagram from source", e);
+					// reported to the user by the job manager
+					return new Status(IStatus.ERROR, Activator.PLUGIN_ID, "Error while generating diagram from source",
+							e);
+				} finally {
+					thread.setContextClassLoader(previousClassLoader);
+					monitor.done();
+				}
+				return Status.OK_STATUS;
+			}
+		};
+		designLoadJob.setPriority(Job.SHORT);
+		designLoadJob.schedule();
+	}
+
+	/**
+	 * Creates the diagram from artifacts built by the design load job, or
+	 * shows the source view if the source could not be turned into a design.
+	 * Runs on the UI thread.
+	 */
+	private void attachDesign(String source, Map<String, Object> artifacts, SourceError sourceError,
+			boolean showSource) {
+		if (getContainer() == null || getContainer().isDisposed()) {
+			// editor closed while the design was being loaded
+			return;
+		}
+		ESBDebuggerUtil.setPageCreateOperationActivated(true);
+		try {
+			deleteMarkers();
+			addMarker(sourceError);
+			if (artifacts != null) {
+				Deserializer.getInstance().updateDesign(source, artifacts, graphicalEditor);
+				Display.getDefault().asyncExec(new Runnable() {
+					@Override
+					public void run() {
+						doSave(new NullProgressMonitor());
+					}
+				});
+			} else if (showSource) {
+				// the source view may have been edited while the design was being loaded
+				boolean sourceEdited = sourceDirty;
+				setActivePage(SOURCE_VIEW_PAGE_INDEX);
+				if (!sourceEdited && !source.equals(sourceEditor.getDocument().get())) {
+					sourceEditor.getDocument().set(source);
+				}
+			}
+		} catch (Exception e) {
+			log.error("Error while generating diagram from source", e);
+		} finally {
+			AbstractEsbNodeDeserializer.cleanupData();
+			ESBDebuggerUtil.setPageCreateOperationActivated(false);
+		}
+	}
+
 	/**
 	 * This is used to track the active viewer. <!-- begin-user-doc --> <!--
 	 * end-user-doc -->
@@ -612,6 +723,11 @@ public class EsbMultiPageEditor extends MultiPageEditorPart implements IGotoMark
 
 	protected void pageChange(int pageIndex) {
 		super.pageChange(pageIndex);
+		if (designPageLoading) {
+			// switched while the source is validated for the design view,
+			// which checks the active page once the validation is over
+			return;
+		}
 		// Fixing TOOLS-2958
 		setContextClassLoader();
 
@@ -620,12 +736,48 @@ public class EsbMultiPageEditor extends MultiPageEditorPart implements IGotoMark
 		case DESIGN_VIEW_PAGE_INDEX: {
 			ESBDebuggerUtil.setPageChangeOperationActivated(true);
 			MediatorFactoryUtils.registerFactories();//
-			String source = sourceEditor.getDocument().get();
+			final String source = sourceEditor.getDocument().get();
 
-			final Deserializer deserializer = Deserializer.getInstance();
-			if (!source.isEmpty()) {
-				DeserializeStatus deserializeStatus = deserializer.isValidSynapseConfig(source, false);
+			// parse and validate off the UI thread, the design is only built below
+			final DeserializeStatus[] sourceStatus = new DeserializeStatus[1];
+			final SourceError[] synapseError = new SourceError[1];
+			boolean completed;
+			designPageLoading = true;
+			try {
+				completed = runWithProgress("Validating source", new IRunnableWithProgress() {
+					@Override
+					public void run(IProgressMonitor monitor) throws InterruptedException {
+						if (!source.isEmpty()) {
+							sourceStatus[0] = Deserializer.getInstance().isValidSynapseConfig(source, false);
+						}
+						if (monitor.isCanceled()) {
+							throw new InterruptedException();
+						}
+						synapseError[0] = ProcessSourceView.validateSynapseContent(source);
+					}
+				});
+			} finally {
+				designPageLoading = false;
+			}
+			if (!completed) {
+				ESBDebuggerUtil.setPageChangeOperationActivated(false);
+				setActivePage(SOURCE_VIEW_PAGE_INDEX);
+				return;
+			}
+			if (getActivePage() != DESIGN_VIEW_PAGE_INDEX) {
+				// another page was opened meanwhile, so the result is stale
+				ESBDebuggerUtil.setPageChangeOperationActivated(false);
+				return;
+			}
+			if (!source.equals(sourceEditor.getDocument().get())) {
+				// the source was edited meanwhile, so it is validated again
+				ESBDebuggerUtil.setPageChangeOperationActivated(false);
+				pageChange(DESIGN_VIEW_PAGE_INDEX);
+				return;
+			}
 
+			final DeserializeStatus deserializeStatus = sourceStatus[0];
+			if (deserializeStatus != null) {
 				if (!deserializeStatus.isValid()) {
 
 					deleteMarkers();
@@ -649,7 +801,7 @@ public class EsbMultiPageEditor extends MultiPageEditorPart implements IGotoMark
 								0, 2));
 
 					} else {
-						SourceError sourceError = ProcessSourceView.validateSynapseContent(source);
+						SourceError sourceError = synapseError[0];
 						if (sourceError == null) {
 							sourceError = new SourceError(deserializeStatus.getExecption().getMessage(), 0, 0, 2);
 						}
@@ -662,14 +814,15 @@ public class EsbMultiPageEditor extends MultiPageEditorPart implements IGotoMark
 			try {
 
                                deleteMarkers();
-                               if (ProcessSourceView.validateSynapseContent(source) != null) {
+                               if (synapseError[0] != null) {
                                    sourceDirty = true;
                                }
 
 				if (isFormEditor) {
 					handleFormViewActivatedEvent(false);
 				} else {
-					handleDesignViewActivatedEvent(false);
+					handleDesignViewActivatedEvent(false,
+							deserializeStatus != null ? deserializeStatus.getArtifacts() : null);
 					Display.getCurrent().asyncExec(new Runnable() {
 
 						@Override
@@ -768,12 +921,27 @@ public class EsbMultiPageEditor extends MultiPageEditorPart implements IGotoMark
 	 * @throws Exception
 	 */
 	private void handleDesignViewActivatedEvent(boolean withSynapse) throws Exception {
+		handleDesignViewActivatedEvent(withSynapse, null);
+	}
+
+	/**
+	 * Performs necessary house-keeping tasks whenever the design view is activated,
+	 * reusing artifacts already built from the current source when available.
+	 * 
+	 * @throws Exception
+	 */
+	private void handleDesignViewActivatedEvent(boolean withSynapse, Map<String, Object> artifacts)
+			throws Exception {
 
 		if (sourceEditor != null) {
 			String xmlSource = sourceEditor.getDocument().get();
 			if (xmlSource != null && sourceDirty) {
 				if (!xmlSource.trim().isEmpty()) {
-					rebuildModelObject(xmlSource, withSynapse);
+					if (artifacts != null) {
+						rebuildModelObject(xmlSource, artifacts);
+					} else {
+						rebuildModelObject(xmlSource, withSynapse);
+					}
 				}
 			}
 		}
@@ -852,7 +1020,7 @@ public class EsbMultiPageEditor extends MultiPageEditorPart implements IGotoMark
 										throws InvocationTargetException, InterruptedException {
 									monitor.beginTask("Generating Error Report", 100);
 									monitor.worked(IProgressMonitor.UNKNOWN);
-									validationMessage = Deserializer.getInstance().validate(element, element, true);
+									validationMessage = Deserializer.getInstance().validateAll(element, true);
 									monitor.done();
 
 								}
@@ -887,6 +1055,7 @@ public class EsbMultiPageEditor extends MultiPageEditorPart implements IGotoMark
 		EsbServer server = diagram.getServer();
 
 		sourceEditor.update(server);
+		Deserializer.getInstance().designSerialized(sourceEditor.getDocument().get(), graphicalEditor);
 		sourceDirty = false;
 		firePropertyChange(PROP_DIRTY);
 	}
@@ -1175,6 +1344,11 @@ public class EsbMultiPageEditor extends MultiPageEditorPart implements IGotoMark
             // ignore
         }
         artifactXMLFiles.clear();
+
+        // the markers of the source view are recreated as a whole
+        if (sourceValidationReconciler != null) {
+            sourceValidationReconciler.reset();
+        }
     }
 
 	private void addMarker(SourceError sourceError) {
@@ -1200,6 +1374,17 @@ public class EsbMultiPageEditor extends MultiPageEditorPart implements IGotoMark
 		}
 	}
 
+	@Override
+	public void dispose() {
+		if (sourceValidationReconciler != null) {
+			sourceValidationReconciler.dispose();
+		}
+		if (graphicalEditor != null) {
+			DeserializationContext.unbind(graphicalEditor);
+		}
+		super.dispose();
+	}
+
 	public boolean isDirty() {
 		if (getEditor(0) instanceof EsbDiagramEditor) {
 			return getEditor(0).isDirty() || sourceDirty;
@@ -1339,8 +1524,14 @@ public class EsbMultiPageEditor extends MultiPageEditorPart implements IGotoMark
 	 */
 
 	void rebuildModelObject(final String xml, boolean withSynapse) throws Exception {
+		rebuildModelObject(xml, Deserializer.getInstance().buildArtifacts(xml, withSynapse));
+	}
+
+	void rebuildModelObject(final String xml, Map<String, Object> artifacts) throws Exception {
+		// a pending design load job was working on an older source
+		designLoadGeneration++;
 
-		Deserializer.getInstance().updateDesign(xml, graphicalEditor, withSynapse);
+		Deserializer.getInstance().updateDesign(xml, artifacts, graphicalEditor);
 
 		final EsbMultiPageEditor tempEditor = this;
 		Display.getDefault().asyncExec(new Runnable() {
@@ -1367,6 +1558,56 @@ public class EsbMultiPageEditor extends MultiPageEditorPart implements IGotoMark
 		}
 	}
 
+	/**
+	 * Runs a task on a background thread while the UI stays responsive. A
+	 * progress dialog with a cancel button is shown if the task takes long.
+	 * The task checks the monitor between its steps and throws an
+	 * InterruptedException once the user cancelled it.
+	 * 
+	 * The event loop keeps running meanwhile, so callers must expect other
+	 * events of the editor, page changes among them, to be handled before
+	 * this returns.
+	 * 
+	 * @return false if the task failed or the user cancelled it
+	 */
+	private boolean runWithProgress(final String taskName, final IRunnableWithProgress task) {
+		final ClassLoader contextClassLoader = getSynapseClassLoader();
+		try {
+			PlatformUI.getWorkbench().getProgressService().busyCursorWhile(new IRunnableWithProgress() {
+				public void run(IProgressMonitor monitor) throws InvocationTargetException, InterruptedException {
+					monitor.beginTask(taskName, IProgressMonitor.UNKNOWN);
+					Thread thread = Thread.currentThread();
+					ClassLoader previousClassLoader = thread.getContextClassLoader();
+					thread.setContextClassLoader(contextClassLoader);
+					try {
+						task.run(monitor);
+					} finally {
+						thread.setContextClassLoader(previousClassLoader);
+						monitor.done();
+					}
+					if (monitor.isCanceled()) {
+						throw new InterruptedException();
+					}
+				}
+			});
+		} catch (InvocationTargetException e) {
+			log.error("Error while " + taskName.toLowerCase(), e.getCause());
+			return false;
+		} catch (InterruptedException e) {
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Class loader to be used as the context class loader of threads which
+	 * build synapse artifacts on behalf of this editor. See TOOLS-2958.
+	 */
+	private ClassLoader getSynapseClassLoader() {
+		ClassLoader ctxClassLoader = Thread.currentThread().getContextClassLoader();
+		return (ctxClassLoader != null) ? ctxClassLoader : LogMediator.class.getClassLoader();
+	}
+
 	public IDiagramGraphicalViewer getDiagramGraphicalViewer() {
 		if (graphicalEditor != null) {
 			return graphicalEditor.getDiagramGraphicalViewer();
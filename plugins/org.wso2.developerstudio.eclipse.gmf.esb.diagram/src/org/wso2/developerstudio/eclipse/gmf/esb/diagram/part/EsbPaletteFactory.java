@@ -23,6 +23,7 @@ import static org.wso2.developerstudio.eclipse.gmf.esb.diagram.custom.EditorUtil
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
@@ -30,7 +31,7 @@ import java.util.Set;
 import org.apache.commons.lang.WordUtils;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
-import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.emf.ecore.EObject;
@@ -62,8 +63,7 @@ import org.eclipse.ui.IPerspectiveDescriptor;
 import org.eclipse.ui.IWorkbench;
 import org.eclipse.ui.IWorkbenchWindow;
 import org.eclipse.ui.PlatformUI;
-import org.wso2.developerstudio.eclipse.esb.project.artifact.ESBArtifact;
-import org.wso2.developerstudio.eclipse.esb.project.artifact.ESBProjectArtifact;
+import org.wso2.developerstudio.eclipse.esb.project.artifact.ESBArtifactIndex;
 import org.wso2.developerstudio.eclipse.gmf.esb.EsbDiagram;
 import org.wso2.developerstudio.eclipse.gmf.esb.EsbServer;
 import org.wso2.developerstudio.eclipse.gmf.esb.diagram.Activator;
@@ -1597,7 +1597,6 @@ public class EsbPaletteFactory {
 			String connectorDirectoryName) throws Exception {
 		Set<String> cloudConnectorOperations = Collections.emptySet();
 		String connectorPath = null;
-		String cloudConnectorName = connectorDirectoryName.split("-")[0];
 	 
 			/*			IEditorPart editorpart = PlatformUI.getWorkbench().getActiveWorkbenchWindow()
 			 .getActivePage().getActiveEditor();*/
@@ -1613,7 +1612,22 @@ public class EsbPaletteFactory {
 					+ File.separator + connectorDirectoryName;
 			cloudConnectorOperations = CloudConnectorDirectoryTraverser
 					.getInstance(connectorPath).getOperationsMap().keySet();
-		 
+		addCloudConnectorOperations(editor, connectorDirectoryName, cloudConnectorOperations);
+	}
+
+	/**
+	 * Fill the drawer of a connector with operations already read from the
+	 * connector
+	 */
+	public void addCloudConnectorOperations(IEditorPart editor,
+			String connectorDirectoryName, Collection<String> cloudConnectorOperations) {
+		String cloudConnectorName = connectorDirectoryName.split("-")[0];
+		String connectorPath = ResourcesPlugin.getWorkspace().getRoot()
+				.getLocation().toOSString()
+				+ File.separator
+				+ CloudConnectorDirectoryTraverser.connectorPathFromWorkspace
+				+ File.separator + connectorDirectoryName;
+
 		boolean definedEndpointsAdded = false;
 		int indexOfDefinedEndpoints = 0;
 
@@ -1671,8 +1685,14 @@ public class EsbPaletteFactory {
 	}
 
 	public void addDefinedSequences(IEditorPart editor) {
-		ArrayList<String> definedSequences = addDefinedArtifacts(editor,
-				SEQUENCE_RESOURCE_DIR, "synapse/sequence");
+		addDefinedSequences(editor, addDefinedArtifacts(editor,
+				SEQUENCE_RESOURCE_DIR, "synapse/sequence"));
+	}
+
+	/**
+	 * Fill the defined sequences drawer with sequence names already looked up
+	 */
+	public void addDefinedSequences(IEditorPart editor, List<String> definedSequences) {
 		/*		if (editor != null) {
 		 IFileEditorInput input = (IFileEditorInput) editor.getEditorInput();
 		 IFile file = input.getFile();
@@ -1742,8 +1762,14 @@ public class EsbPaletteFactory {
 	}
 
 	public void addDefinedEndpoints(IEditorPart editor) {
-		ArrayList<String> definedEndpoints = addDefinedArtifacts(editor,
-				ENDPOINT_RESOURCE_DIR, "synapse/endpoint");
+		addDefinedEndpoints(editor, addDefinedArtifacts(editor,
+				ENDPOINT_RESOURCE_DIR, "synapse/endpoint"));
+	}
+
+	/**
+	 * Fill the defined endpoints drawer with endpoint names already looked up
+	 */
+	public void addDefinedEndpoints(IEditorPart editor, List<String> definedEndpoints) {
 
 		boolean definedEndpointsAdded = false;
 		int indexOfDefinedEndpoints = 0;
@@ -1791,36 +1817,13 @@ public class EsbPaletteFactory {
 			IFile file = input.getXmlResource();
 			IProject activeProject = file.getProject();
 			//FIXME: scan whole workspace
-			try {
-				if (activeProject
-						.hasNature("org.wso2.developerstudio.eclipse.esb.project.nature")) {
-
-					ESBProjectArtifact esbProjectArtifact = new ESBProjectArtifact();
-					File projectPath = activeProject.getLocation().toFile();
-					try {
-						esbProjectArtifact
-								.fromFile(activeProject.getFile("artifact.xml")
-										.getLocation().toFile());
-						List<ESBArtifact> allESBArtifacts = esbProjectArtifact
-								.getAllESBArtifacts();
-						for (ESBArtifact esbArtifact : allESBArtifacts) {
-							if (esbArtifact.getType().equals(type)) {
-								File artifact = new File(projectPath,
-										esbArtifact.getFile());
-								definedArtifacts.add(artifact.getName()
-										.replaceAll("[.]xml$", ""));
-							}
-						}
-					} catch (Exception e) {
-						log.error(
-								"Error occured while scanning the project for "
-										+ type + " artifacts", e);
-					}
+			for (ESBArtifactIndex.Entry esbArtifact : ESBArtifactIndex.getInstance().getArtifacts(activeProject,
+					type)) {
+				IFile artifact = esbArtifact.getFile();
+				if (artifact != null) {
+					definedArtifacts.add(artifact.getName().replaceAll("[.]xml$", ""));
 				}
-			} catch (CoreException e) {
-				log.error("Error occured while scanning the project", e);
 			}
-
 		}
 
 		return definedArtifacts;
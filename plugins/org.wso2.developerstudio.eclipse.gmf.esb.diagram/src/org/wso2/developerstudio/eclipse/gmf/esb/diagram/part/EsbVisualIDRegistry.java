@@ -1,7 +1,11 @@
 package org.wso2.developerstudio.eclipse.gmf.esb.diagram.part;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.emf.ecore.EAnnotation;
+import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.gmf.runtime.notation.Diagram;
 import org.eclipse.gmf.runtime.notation.View;
@@ -24,6 +28,30 @@ public class EsbVisualIDRegistry {
 	 */
 	private static final String DEBUG_KEY = "org.wso2.developerstudio.eclipse.gmf.esb.diagram/debug/visualID"; //$NON-NLS-1$
 
+	/**
+	 * Upper bound of the view types with a cached visual ID, view types other
+	 * than visual IDs are few, but not limited.
+	 * 
+	 * @generated NOT
+	 */
+	private static final int MAX_CACHED_TYPES = 4096;
+
+	/**
+	 * Visual IDs of the view types parsed so far.
+	 * 
+	 * @generated NOT
+	 */
+	private static final Map<String, Integer> VISUAL_IDS_BY_TYPE = new ConcurrentHashMap<>();
+
+	/**
+	 * Node visual IDs of each domain class by the visual ID of the container,
+	 * filled in as they are resolved, as views are created, refreshed and
+	 * dragged over far more often than new classes and containers turn up.
+	 * 
+	 * @generated NOT
+	 */
+	private static final Map<EClass, Map<Integer, Integer>> NODE_VISUAL_IDS = new ConcurrentHashMap<>();
+
 	/**
 	 * @generated
 	 */
@@ -54,9 +82,26 @@ public class EsbVisualIDRegistry {
 	}
 
 	/**
-	 * @generated
+	 * @generated NOT
 	 */
 	public static int getVisualID(String type) {
+		if (type == null) {
+			return parseVisualID(type);
+		}
+		Integer visualID = VISUAL_IDS_BY_TYPE.get(type);
+		if (visualID == null) {
+			visualID = parseVisualID(type);
+			if (VISUAL_IDS_BY_TYPE.size() < MAX_CACHED_TYPES) {
+				VISUAL_IDS_BY_TYPE.put(type, visualID);
+			}
+		}
+		return visualID;
+	}
+
+	/**
+	 * @generated NOT
+	 */
+	private static int parseVisualID(String type) {
 		try {
 			return Integer.parseInt(type);
 		} catch (NumberFormatException e) {
@@ -90,7 +135,7 @@ public class EsbVisualIDRegistry {
 	}
 
 	/**
-	 * @generated
+	 * @generated NOT
 	 */
 	public static int getNodeVisualID(View containerView, EObject domainElement) {
 		if (domainElement == null) {
@@ -112,1354 +157,1387 @@ public class EsbVisualIDRegistry {
 				return -1;
 			}
 		}
+		return getNodeVisualID(containerVisualID, domainElement.eClass());
+	}
+
+	/**
+	 * Visual ID of the nodes of a domain class in a container, looked up in
+	 * the node visual IDs resolved so far.
+	 * 
+	 * @generated NOT
+	 */
+	private static int getNodeVisualID(int containerVisualID, EClass domainClass) {
+		Map<Integer, Integer> nodeVisualIDs = NODE_VISUAL_IDS.get(domainClass);
+		if (nodeVisualIDs == null) {
+			nodeVisualIDs = new ConcurrentHashMap<>();
+			Map<Integer, Integer> existing = NODE_VISUAL_IDS.putIfAbsent(domainClass, nodeVisualIDs);
+			if (existing != null) {
+				nodeVisualIDs = existing;
+			}
+		}
+		Integer nodeVisualID = nodeVisualIDs.get(containerVisualID);
+		if (nodeVisualID == null) {
+			nodeVisualID = computeNodeVisualID(containerVisualID, domainClass);
+			nodeVisualIDs.put(containerVisualID, nodeVisualID);
+		}
+		return nodeVisualID;
+	}
+
+	/**
+	 * Resolves the visual ID of the nodes of a domain class in a container,
+	 * the result depends on nothing but the two arguments.
+	 * 
+	 * @generated NOT
+	 */
+	private static int computeNodeVisualID(int containerVisualID, EClass domainClass) {
 		switch (containerVisualID) {
 		case EsbDiagramEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getEsbServer().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getEsbServer().isSuperTypeOf(domainClass)) {
 				return EsbServerEditPart.VISUAL_ID;
 			}
 			break;
 		case EsbServerEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getMessageMediator().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getMessageMediator().isSuperTypeOf(domainClass)) {
 				return MessageMediatorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getEndpointDiagram().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getEndpointDiagram().isSuperTypeOf(domainClass)) {
 				return EndpointDiagramEditPart.VISUAL_ID;
 			}
 			break;
 		case ProxyServiceEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getProxyOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getProxyOutputConnector().isSuperTypeOf(domainClass)) {
 				return ProxyOutputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getProxyInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getProxyInputConnector().isSuperTypeOf(domainClass)) {
 				return ProxyInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getProxyOutSequenceOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getProxyOutSequenceOutputConnector().isSuperTypeOf(domainClass)) {
 				return ProxyOutSequenceOutputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getProxyFaultInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getProxyFaultInputConnector().isSuperTypeOf(domainClass)) {
 				return ProxyFaultInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getProxyServiceContainer().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getProxyServiceContainer().isSuperTypeOf(domainClass)) {
 				return ProxyServiceContainerEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getProxyInSequenceInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getProxyInSequenceInputConnector().isSuperTypeOf(domainClass)) {
 				return ProxyInSequenceInputConnectorEditPart.VISUAL_ID;
 			}
 			break;
 		case ProxyServiceContainerEditPart.VISUAL_ID:
 			if (EsbPackage.eINSTANCE.getProxyServiceSequenceAndEndpointContainer()
-					.isSuperTypeOf(domainElement.eClass())) {
+					.isSuperTypeOf(domainClass)) {
 				return ProxyServiceSequenceAndEndpointContainerEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getProxyServiceFaultContainer().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getProxyServiceFaultContainer().isSuperTypeOf(domainClass)) {
 				return ProxyServiceFaultContainerEditPart.VISUAL_ID;
 			}
 			break;
 		case ProxyServiceSequenceAndEndpointContainerEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getMediatorFlow().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getMediatorFlow().isSuperTypeOf(domainClass)) {
 				return MediatorFlowEditPart.VISUAL_ID;
 			}
 			break;
 		case DropMediatorEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getDropMediatorInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getDropMediatorInputConnector().isSuperTypeOf(domainClass)) {
 				return DropMediatorInputConnectorEditPart.VISUAL_ID;
 			}
 			break;
 		case PropertyMediatorEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getPropertyMediatorInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getPropertyMediatorInputConnector().isSuperTypeOf(domainClass)) {
 				return PropertyMediatorInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getPropertyMediatorOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getPropertyMediatorOutputConnector().isSuperTypeOf(domainClass)) {
 				return PropertyMediatorOutputConnectorEditPart.VISUAL_ID;
 			}
 			break;
 		case ThrottleMediatorEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getThrottleMediatorInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getThrottleMediatorInputConnector().isSuperTypeOf(domainClass)) {
 				return ThrottleMediatorInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getThrottleMediatorOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getThrottleMediatorOutputConnector().isSuperTypeOf(domainClass)) {
 				return ThrottleMediatorOutputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getThrottleMediatorOnAcceptOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getThrottleMediatorOnAcceptOutputConnector().isSuperTypeOf(domainClass)) {
 				return ThrottleMediatorOnAcceptOutputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getThrottleMediatorOnRejectOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getThrottleMediatorOnRejectOutputConnector().isSuperTypeOf(domainClass)) {
 				return ThrottleMediatorOnRejectOutputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getThrottleContainer().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getThrottleContainer().isSuperTypeOf(domainClass)) {
 				return ThrottleContainerEditPart.VISUAL_ID;
 			}
 			break;
 		case ThrottleContainerEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getThrottleOnAcceptContainer().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getThrottleOnAcceptContainer().isSuperTypeOf(domainClass)) {
 				return ThrottleOnAcceptContainerEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getThrottleOnRejectContainer().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getThrottleOnRejectContainer().isSuperTypeOf(domainClass)) {
 				return ThrottleOnRejectContainerEditPart.VISUAL_ID;
 			}
 			break;
 		case ThrottleOnAcceptContainerEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getMediatorFlow().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getMediatorFlow().isSuperTypeOf(domainClass)) {
 				return MediatorFlow9EditPart.VISUAL_ID;
 			}
 			break;
 		case FilterMediatorEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getFilterMediatorInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getFilterMediatorInputConnector().isSuperTypeOf(domainClass)) {
 				return FilterMediatorInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getFilterMediatorOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getFilterMediatorOutputConnector().isSuperTypeOf(domainClass)) {
 				return FilterMediatorOutputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getFilterMediatorPassOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getFilterMediatorPassOutputConnector().isSuperTypeOf(domainClass)) {
 				return FilterMediatorPassOutputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getFilterMediatorFailOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getFilterMediatorFailOutputConnector().isSuperTypeOf(domainClass)) {
 				return FilterMediatorFailOutputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getFilterContainer().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getFilterContainer().isSuperTypeOf(domainClass)) {
 				return FilterContainerEditPart.VISUAL_ID;
 			}
 			break;
 		case FilterContainerEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getFilterPassContainer().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getFilterPassContainer().isSuperTypeOf(domainClass)) {
 				return FilterPassContainerEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getFilterFailContainer().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getFilterFailContainer().isSuperTypeOf(domainClass)) {
 				return FilterFailContainerEditPart.VISUAL_ID;
 			}
 			break;
 		case FilterPassContainerEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getMediatorFlow().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getMediatorFlow().isSuperTypeOf(domainClass)) {
 				return MediatorFlow7EditPart.VISUAL_ID;
 			}
 			break;
 		case LogMediatorEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getLogMediatorInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getLogMediatorInputConnector().isSuperTypeOf(domainClass)) {
 				return LogMediatorInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getLogMediatorOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getLogMediatorOutputConnector().isSuperTypeOf(domainClass)) {
 				return LogMediatorOutputConnectorEditPart.VISUAL_ID;
 			}
 			break;
 		case EnrichMediatorEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getEnrichMediatorInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getEnrichMediatorInputConnector().isSuperTypeOf(domainClass)) {
 				return EnrichMediatorInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getEnrichMediatorOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getEnrichMediatorOutputConnector().isSuperTypeOf(domainClass)) {
 				return EnrichMediatorOutputConnectorEditPart.VISUAL_ID;
 			}
 			break;
 		case XSLTMediatorEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getXSLTMediatorInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getXSLTMediatorInputConnector().isSuperTypeOf(domainClass)) {
 				return XSLTMediatorInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getXSLTMediatorOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getXSLTMediatorOutputConnector().isSuperTypeOf(domainClass)) {
 				return XSLTMediatorOutputConnectorEditPart.VISUAL_ID;
 			}
 			break;
 		case SwitchMediatorEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getSwitchMediatorInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getSwitchMediatorInputConnector().isSuperTypeOf(domainClass)) {
 				return SwitchMediatorInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getSwitchMediatorOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getSwitchMediatorOutputConnector().isSuperTypeOf(domainClass)) {
 				return SwitchMediatorOutputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getSwitchCaseBranchOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getSwitchCaseBranchOutputConnector().isSuperTypeOf(domainClass)) {
 				return SwitchCaseBranchOutputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getSwitchDefaultBranchOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getSwitchDefaultBranchOutputConnector().isSuperTypeOf(domainClass)) {
 				return SwitchDefaultBranchOutputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getSwitchMediatorContainer().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getSwitchMediatorContainer().isSuperTypeOf(domainClass)) {
 				return SwitchMediatorContainerEditPart.VISUAL_ID;
 			}
 			break;
 		case SwitchMediatorContainerEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getSwitchCaseParentContainer().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getSwitchCaseParentContainer().isSuperTypeOf(domainClass)) {
 				return SwitchCaseParentContainerEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getSwitchDefaultParentContainer().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getSwitchDefaultParentContainer().isSuperTypeOf(domainClass)) {
 				return SwitchDefaultParentContainerEditPart.VISUAL_ID;
 			}
 			break;
 		case SwitchCaseParentContainerEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getSwitchCaseContainer().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getSwitchCaseContainer().isSuperTypeOf(domainClass)) {
 				return SwitchCaseContainerEditPart.VISUAL_ID;
 			}
 			break;
 		case SwitchCaseContainerEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getMediatorFlow().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getMediatorFlow().isSuperTypeOf(domainClass)) {
 				return MediatorFlow2EditPart.VISUAL_ID;
 			}
 			break;
 		case SequenceEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getSequenceInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getSequenceInputConnector().isSuperTypeOf(domainClass)) {
 				return SequenceInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getSequenceOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getSequenceOutputConnector().isSuperTypeOf(domainClass)) {
 				return SequenceOutputConnectorEditPart.VISUAL_ID;
 			}
 			break;
 		case EventMediatorEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getEventMediatorInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getEventMediatorInputConnector().isSuperTypeOf(domainClass)) {
 				return EventMediatorInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getEventMediatorOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getEventMediatorOutputConnector().isSuperTypeOf(domainClass)) {
 				return EventMediatorOutputConnectorEditPart.VISUAL_ID;
 			}
 			break;
 		case EntitlementMediatorEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getEntitlementMediatorInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getEntitlementMediatorInputConnector().isSuperTypeOf(domainClass)) {
 				return EntitlementMediatorInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getEntitlementMediatorOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getEntitlementMediatorOutputConnector().isSuperTypeOf(domainClass)) {
 				return EntitlementMediatorOutputConnectorEditPart.VISUAL_ID;
 			}
 			if (EsbPackage.eINSTANCE.getEntitlementMediatorOnRejectOutputConnector().isSuperTypeOf(
-					domainElement.eClass())) {
+					domainClass)) {
 				return EntitlementMediatorOnRejectOutputConnectorEditPart.VISUAL_ID;
 			}
 			if (EsbPackage.eINSTANCE.getEntitlementMediatorOnAcceptOutputConnector().isSuperTypeOf(
-					domainElement.eClass())) {
+					domainClass)) {
 				return EntitlementMediatorOnAcceptOutputConnectorEditPart.VISUAL_ID;
 			}
 			if (EsbPackage.eINSTANCE.getEntitlementMediatorAdviceOutputConnector()
-					.isSuperTypeOf(domainElement.eClass())) {
+					.isSuperTypeOf(domainClass)) {
 				return EntitlementMediatorAdviceOutputConnectorEditPart.VISUAL_ID;
 			}
 			if (EsbPackage.eINSTANCE.getEntitlementMediatorObligationsOutputConnector().isSuperTypeOf(
-					domainElement.eClass())) {
+					domainClass)) {
 				return EntitlementMediatorObligationsOutputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getEntitlementContainer().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getEntitlementContainer().isSuperTypeOf(domainClass)) {
 				return EntitlementContainerEditPart.VISUAL_ID;
 			}
 			break;
 		case EntitlementContainerEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getEntitlementOnRejectContainer().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getEntitlementOnRejectContainer().isSuperTypeOf(domainClass)) {
 				return EntitlementOnRejectContainerEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getEntitlementOnAcceptContainer().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getEntitlementOnAcceptContainer().isSuperTypeOf(domainClass)) {
 				return EntitlementOnAcceptContainerEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getEntitlementAdviceContainer().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getEntitlementAdviceContainer().isSuperTypeOf(domainClass)) {
 				return EntitlementAdviceContainerEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getEntitlementObligationsContainer().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getEntitlementObligationsContainer().isSuperTypeOf(domainClass)) {
 				return EntitlementObligationsContainerEditPart.VISUAL_ID;
 			}
 			break;
 		case EntitlementOnRejectContainerEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getMediatorFlow().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getMediatorFlow().isSuperTypeOf(domainClass)) {
 				return MediatorFlow21EditPart.VISUAL_ID;
 			}
 			break;
 		case ClassMediatorEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getClassMediatorInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getClassMediatorInputConnector().isSuperTypeOf(domainClass)) {
 				return ClassMediatorInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getClassMediatorOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getClassMediatorOutputConnector().isSuperTypeOf(domainClass)) {
 				return ClassMediatorOutputConnectorEditPart.VISUAL_ID;
 			}
 			break;
 		case SpringMediatorEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getSpringMediatorInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getSpringMediatorInputConnector().isSuperTypeOf(domainClass)) {
 				return SpringMediatorInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getSpringMediatorOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getSpringMediatorOutputConnector().isSuperTypeOf(domainClass)) {
 				return SpringMediatorOutputConnectorEditPart.VISUAL_ID;
 			}
 			break;
 		case ScriptMediatorEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getScriptMediatorInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getScriptMediatorInputConnector().isSuperTypeOf(domainClass)) {
 				return ScriptMediatorInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getScriptMediatorOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getScriptMediatorOutputConnector().isSuperTypeOf(domainClass)) {
 				return ScriptMediatorOutputConnectorEditPart.VISUAL_ID;
 			}
 			break;
 		case FaultMediatorEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getFaultMediatorInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getFaultMediatorInputConnector().isSuperTypeOf(domainClass)) {
 				return FaultMediatorInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getFaultMediatorOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getFaultMediatorOutputConnector().isSuperTypeOf(domainClass)) {
 				return FaultMediatorOutputConnectorEditPart.VISUAL_ID;
 			}
 			break;
 		case XQueryMediatorEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getXQueryMediatorInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getXQueryMediatorInputConnector().isSuperTypeOf(domainClass)) {
 				return XQueryMediatorInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getXQueryMediatorOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getXQueryMediatorOutputConnector().isSuperTypeOf(domainClass)) {
 				return XQueryMediatorOutputConnectorEditPart.VISUAL_ID;
 			}
 			break;
 		case CommandMediatorEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getCommandMediatorInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getCommandMediatorInputConnector().isSuperTypeOf(domainClass)) {
 				return CommandMediatorInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getCommandMediatorOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getCommandMediatorOutputConnector().isSuperTypeOf(domainClass)) {
 				return CommandMediatorOutputConnectorEditPart.VISUAL_ID;
 			}
 			break;
 		case DBLookupMediatorEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getDBLookupMediatorInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getDBLookupMediatorInputConnector().isSuperTypeOf(domainClass)) {
 				return DBLookupMediatorInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getDBLookupMediatorOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getDBLookupMediatorOutputConnector().isSuperTypeOf(domainClass)) {
 				return DBLookupMediatorOutputConnectorEditPart.VISUAL_ID;
 			}
 			break;
 		case DBReportMediatorEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getDBReportMediatorInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getDBReportMediatorInputConnector().isSuperTypeOf(domainClass)) {
 				return DBReportMediatorInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getDBReportMediatorOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getDBReportMediatorOutputConnector().isSuperTypeOf(domainClass)) {
 				return DBReportMediatorOutputConnectorEditPart.VISUAL_ID;
 			}
 			break;
 		case SmooksMediatorEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getSmooksMediatorInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getSmooksMediatorInputConnector().isSuperTypeOf(domainClass)) {
 				return SmooksMediatorInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getSmooksMediatorOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getSmooksMediatorOutputConnector().isSuperTypeOf(domainClass)) {
 				return SmooksMediatorOutputConnectorEditPart.VISUAL_ID;
 			}
 			break;
 		case SendMediatorEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getSendMediatorInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getSendMediatorInputConnector().isSuperTypeOf(domainClass)) {
 				return SendMediatorInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getSendMediatorOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getSendMediatorOutputConnector().isSuperTypeOf(domainClass)) {
 				return SendMediatorOutputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getSendMediatorEndpointOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getSendMediatorEndpointOutputConnector().isSuperTypeOf(domainClass)) {
 				return SendMediatorEndpointOutputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getMediatorFlow().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getMediatorFlow().isSuperTypeOf(domainClass)) {
 				return MediatorFlow19EditPart.VISUAL_ID;
 			}
 			break;
 		case HeaderMediatorEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getHeaderMediatorInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getHeaderMediatorInputConnector().isSuperTypeOf(domainClass)) {
 				return HeaderMediatorInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getHeaderMediatorOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getHeaderMediatorOutputConnector().isSuperTypeOf(domainClass)) {
 				return HeaderMediatorOutputConnectorEditPart.VISUAL_ID;
 			}
 			break;
 		case CloneMediatorEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getCloneMediatorInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getCloneMediatorInputConnector().isSuperTypeOf(domainClass)) {
 				return CloneMediatorInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getCloneMediatorOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getCloneMediatorOutputConnector().isSuperTypeOf(domainClass)) {
 				return CloneMediatorOutputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getCloneMediatorTargetOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getCloneMediatorTargetOutputConnector().isSuperTypeOf(domainClass)) {
 				return CloneMediatorTargetOutputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getCloneMediatorContainer().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getCloneMediatorContainer().isSuperTypeOf(domainClass)) {
 				return CloneMediatorContainerEditPart.VISUAL_ID;
 			}
 			break;
 		case CloneMediatorContainerEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getCloneTargetContainer().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getCloneTargetContainer().isSuperTypeOf(domainClass)) {
 				return CloneTargetContainerEditPart.VISUAL_ID;
 			}
 			break;
 		case CloneTargetContainerEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getMediatorFlow().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getMediatorFlow().isSuperTypeOf(domainClass)) {
 				return MediatorFlow11EditPart.VISUAL_ID;
 			}
 			break;
 		case CacheMediatorEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getCacheMediatorInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getCacheMediatorInputConnector().isSuperTypeOf(domainClass)) {
 				return CacheMediatorInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getCacheMediatorOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getCacheMediatorOutputConnector().isSuperTypeOf(domainClass)) {
 				return CacheMediatorOutputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getCacheMediatorOnHitOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getCacheMediatorOnHitOutputConnector().isSuperTypeOf(domainClass)) {
 				return CacheMediatorOnHitOutputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getMediatorFlow().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getMediatorFlow().isSuperTypeOf(domainClass)) {
 				return MediatorFlow13EditPart.VISUAL_ID;
 			}
 			break;
 		case IterateMediatorEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getIterateMediatorInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getIterateMediatorInputConnector().isSuperTypeOf(domainClass)) {
 				return IterateMediatorInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getIterateMediatorOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getIterateMediatorOutputConnector().isSuperTypeOf(domainClass)) {
 				return IterateMediatorOutputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getIterateMediatorTargetOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getIterateMediatorTargetOutputConnector().isSuperTypeOf(domainClass)) {
 				return IterateMediatorTargetOutputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getMediatorFlow().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getMediatorFlow().isSuperTypeOf(domainClass)) {
 				return MediatorFlow12EditPart.VISUAL_ID;
 			}
 			break;
 		case CalloutMediatorEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getCalloutMediatorInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getCalloutMediatorInputConnector().isSuperTypeOf(domainClass)) {
 				return CalloutMediatorInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getCalloutMediatorOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getCalloutMediatorOutputConnector().isSuperTypeOf(domainClass)) {
 				return CalloutMediatorOutputConnectorEditPart.VISUAL_ID;
 			}
 			break;
 		case TransactionMediatorEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getTransactionMediatorInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getTransactionMediatorInputConnector().isSuperTypeOf(domainClass)) {
 				return TransactionMediatorInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getTransactionMediatorOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getTransactionMediatorOutputConnector().isSuperTypeOf(domainClass)) {
 				return TransactionMediatorOutputConnectorEditPart.VISUAL_ID;
 			}
 			break;
 		case RMSequenceMediatorEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getRMSequenceMediatorInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getRMSequenceMediatorInputConnector().isSuperTypeOf(domainClass)) {
 				return RMSequenceMediatorInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getRMSequenceMediatorOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getRMSequenceMediatorOutputConnector().isSuperTypeOf(domainClass)) {
 				return RMSequenceMediatorOutputConnectorEditPart.VISUAL_ID;
 			}
 			break;
 		case RuleMediatorEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getRuleMediatorInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getRuleMediatorInputConnector().isSuperTypeOf(domainClass)) {
 				return RuleMediatorInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getRuleMediatorOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getRuleMediatorOutputConnector().isSuperTypeOf(domainClass)) {
 				return RuleMediatorOutputConnectorEditPart.VISUAL_ID;
 			}
 			if (EsbPackage.eINSTANCE.getRuleMediatorChildMediatorsOutputConnector().isSuperTypeOf(
-					domainElement.eClass())) {
+					domainClass)) {
 				return RuleMediatorChildMediatorsOutputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getMediatorFlow().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getMediatorFlow().isSuperTypeOf(domainClass)) {
 				return MediatorFlow17EditPart.VISUAL_ID;
 			}
 			break;
 		case OAuthMediatorEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getOAuthMediatorInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getOAuthMediatorInputConnector().isSuperTypeOf(domainClass)) {
 				return OAuthMediatorInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getOAuthMediatorOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getOAuthMediatorOutputConnector().isSuperTypeOf(domainClass)) {
 				return OAuthMediatorOutputConnectorEditPart.VISUAL_ID;
 			}
 			break;
 		case AggregateMediatorEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getAggregateMediatorInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getAggregateMediatorInputConnector().isSuperTypeOf(domainClass)) {
 				return AggregateMediatorInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getAggregateMediatorOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getAggregateMediatorOutputConnector().isSuperTypeOf(domainClass)) {
 				return AggregateMediatorOutputConnectorEditPart.VISUAL_ID;
 			}
 			if (EsbPackage.eINSTANCE.getAggregateMediatorOnCompleteOutputConnector().isSuperTypeOf(
-					domainElement.eClass())) {
+					domainClass)) {
 				return AggregateMediatorOnCompleteOutputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getMediatorFlow().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getMediatorFlow().isSuperTypeOf(domainClass)) {
 				return MediatorFlow3EditPart.VISUAL_ID;
 			}
 			break;
 		case StoreMediatorEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getStoreMediatorInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getStoreMediatorInputConnector().isSuperTypeOf(domainClass)) {
 				return StoreMediatorInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getStoreMediatorOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getStoreMediatorOutputConnector().isSuperTypeOf(domainClass)) {
 				return StoreMediatorOutputConnectorEditPart.VISUAL_ID;
 			}
 			break;
 		case BuilderMediatorEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getBuilderMediatorInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getBuilderMediatorInputConnector().isSuperTypeOf(domainClass)) {
 				return BuilderMediatorInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getBuilderMediatorOutputConector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getBuilderMediatorOutputConector().isSuperTypeOf(domainClass)) {
 				return BuilderMediatorOutputConectorEditPart.VISUAL_ID;
 			}
 			break;
 		case CallTemplateMediatorEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getCallTemplateMediatorInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getCallTemplateMediatorInputConnector().isSuperTypeOf(domainClass)) {
 				return CallTemplateMediatorInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getCallTemplateMediatorOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getCallTemplateMediatorOutputConnector().isSuperTypeOf(domainClass)) {
 				return CallTemplateMediatorOutputConnectorEditPart.VISUAL_ID;
 			}
 			break;
 		case PayloadFactoryMediatorEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getPayloadFactoryMediatorInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getPayloadFactoryMediatorInputConnector().isSuperTypeOf(domainClass)) {
 				return PayloadFactoryMediatorInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getPayloadFactoryMediatorOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getPayloadFactoryMediatorOutputConnector().isSuperTypeOf(domainClass)) {
 				return PayloadFactoryMediatorOutputConnectorEditPart.VISUAL_ID;
 			}
 			break;
 		case EnqueueMediatorEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getEnqueueMediatorInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getEnqueueMediatorInputConnector().isSuperTypeOf(domainClass)) {
 				return EnqueueMediatorInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getEnqueueMediatorOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getEnqueueMediatorOutputConnector().isSuperTypeOf(domainClass)) {
 				return EnqueueMediatorOutputConnectorEditPart.VISUAL_ID;
 			}
 			break;
 		case URLRewriteMediatorEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getURLRewriteMediatorInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getURLRewriteMediatorInputConnector().isSuperTypeOf(domainClass)) {
 				return URLRewriteMediatorInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getURLRewriteMediatorOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getURLRewriteMediatorOutputConnector().isSuperTypeOf(domainClass)) {
 				return URLRewriteMediatorOutputConnectorEditPart.VISUAL_ID;
 			}
 			break;
 		case ValidateMediatorEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getValidateMediatorInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getValidateMediatorInputConnector().isSuperTypeOf(domainClass)) {
 				return ValidateMediatorInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getValidateMediatorOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getValidateMediatorOutputConnector().isSuperTypeOf(domainClass)) {
 				return ValidateMediatorOutputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getValidateMediatorOnFailOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getValidateMediatorOnFailOutputConnector().isSuperTypeOf(domainClass)) {
 				return ValidateMediatorOnFailOutputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getMediatorFlow().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getMediatorFlow().isSuperTypeOf(domainClass)) {
 				return MediatorFlow14EditPart.VISUAL_ID;
 			}
 			break;
 		case RouterMediatorEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getRouterMediatorInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getRouterMediatorInputConnector().isSuperTypeOf(domainClass)) {
 				return RouterMediatorInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getRouterMediatorOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getRouterMediatorOutputConnector().isSuperTypeOf(domainClass)) {
 				return RouterMediatorOutputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getRouterMediatorTargetOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getRouterMediatorTargetOutputConnector().isSuperTypeOf(domainClass)) {
 				return RouterMediatorTargetOutputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getRouterMediatorContainer().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getRouterMediatorContainer().isSuperTypeOf(domainClass)) {
 				return RouterMediatorContainerEditPart.VISUAL_ID;
 			}
 			break;
 		case RouterMediatorContainerEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getRouterTargetContainer().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getRouterTargetContainer().isSuperTypeOf(domainClass)) {
 				return RouterTargetContainerEditPart.VISUAL_ID;
 			}
 			break;
 		case RouterTargetContainerEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getMediatorFlow().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getMediatorFlow().isSuperTypeOf(domainClass)) {
 				return MediatorFlow15EditPart.VISUAL_ID;
 			}
 			break;
 		case ConditionalRouterMediatorEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getConditionalRouterMediatorInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getConditionalRouterMediatorInputConnector().isSuperTypeOf(domainClass)) {
 				return ConditionalRouterMediatorInputConnectorEditPart.VISUAL_ID;
 			}
 			if (EsbPackage.eINSTANCE.getConditionalRouterMediatorOutputConnector()
-					.isSuperTypeOf(domainElement.eClass())) {
+					.isSuperTypeOf(domainClass)) {
 				return ConditionalRouterMediatorOutputConnectorEditPart.VISUAL_ID;
 			}
 			if (EsbPackage.eINSTANCE.getConditionalRouterMediatorAdditionalOutputConnector().isSuperTypeOf(
-					domainElement.eClass())) {
+					domainClass)) {
 				return ConditionalRouterMediatorAdditionalOutputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getMediatorFlow().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getMediatorFlow().isSuperTypeOf(domainClass)) {
 				return MediatorFlow16EditPart.VISUAL_ID;
 			}
 			break;
 		case BAMMediatorEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getBAMMediatorInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getBAMMediatorInputConnector().isSuperTypeOf(domainClass)) {
 				return BAMMediatorInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getBAMMediatorOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getBAMMediatorOutputConnector().isSuperTypeOf(domainClass)) {
 				return BAMMediatorOutputConnectorEditPart.VISUAL_ID;
 			}
 			break;
 		case BeanMediatorEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getBeanMediatorInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getBeanMediatorInputConnector().isSuperTypeOf(domainClass)) {
 				return BeanMediatorInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getBeanMediatorOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getBeanMediatorOutputConnector().isSuperTypeOf(domainClass)) {
 				return BeanMediatorOutputConnectorEditPart.VISUAL_ID;
 			}
 			break;
 		case EJBMediatorEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getEJBMediatorInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getEJBMediatorInputConnector().isSuperTypeOf(domainClass)) {
 				return EJBMediatorInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getEJBMediatorOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getEJBMediatorOutputConnector().isSuperTypeOf(domainClass)) {
 				return EJBMediatorOutputConnectorEditPart.VISUAL_ID;
 			}
 			break;
 		case DefaultEndPointEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getDefaultEndPointInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getDefaultEndPointInputConnector().isSuperTypeOf(domainClass)) {
 				return DefaultEndPointInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getDefaultEndPointOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getDefaultEndPointOutputConnector().isSuperTypeOf(domainClass)) {
 				return DefaultEndPointOutputConnectorEditPart.VISUAL_ID;
 			}
 			break;
 		case AddressEndPointEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getAddressEndPointInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getAddressEndPointInputConnector().isSuperTypeOf(domainClass)) {
 				return AddressEndPointInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getAddressEndPointOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getAddressEndPointOutputConnector().isSuperTypeOf(domainClass)) {
 				return AddressEndPointOutputConnectorEditPart.VISUAL_ID;
 			}
 			break;
 		case FailoverEndPointEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getFailoverEndPointInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getFailoverEndPointInputConnector().isSuperTypeOf(domainClass)) {
 				return FailoverEndPointInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getFailoverEndPointOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getFailoverEndPointOutputConnector().isSuperTypeOf(domainClass)) {
 				return FailoverEndPointOutputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getFailoverEndPointWestOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getFailoverEndPointWestOutputConnector().isSuperTypeOf(domainClass)) {
 				return FailoverEndPointWestOutputConnectorEditPart.VISUAL_ID;
 			}
 			break;
 		case RecipientListEndPointEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getRecipientListEndPointInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getRecipientListEndPointInputConnector().isSuperTypeOf(domainClass)) {
 				return RecipientListEndPointInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getRecipientListEndPointOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getRecipientListEndPointOutputConnector().isSuperTypeOf(domainClass)) {
 				return RecipientListEndPointOutputConnectorEditPart.VISUAL_ID;
 			}
 			if (EsbPackage.eINSTANCE.getRecipientListEndPointWestOutputConnector()
-					.isSuperTypeOf(domainElement.eClass())) {
+					.isSuperTypeOf(domainClass)) {
 				return RecipientListEndPointWestOutputConnectorEditPart.VISUAL_ID;
 			}
 			break;
 		case WSDLEndPointEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getWSDLEndPointInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getWSDLEndPointInputConnector().isSuperTypeOf(domainClass)) {
 				return WSDLEndPointInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getWSDLEndPointOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getWSDLEndPointOutputConnector().isSuperTypeOf(domainClass)) {
 				return WSDLEndPointOutputConnectorEditPart.VISUAL_ID;
 			}
 			break;
 		case NamedEndpointEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getNamedEndpointInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getNamedEndpointInputConnector().isSuperTypeOf(domainClass)) {
 				return NamedEndpointInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getNamedEndpointOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getNamedEndpointOutputConnector().isSuperTypeOf(domainClass)) {
 				return NamedEndpointOutputConnectorEditPart.VISUAL_ID;
 			}
 			break;
 		case LoadBalanceEndPointEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getLoadBalanceEndPointInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getLoadBalanceEndPointInputConnector().isSuperTypeOf(domainClass)) {
 				return LoadBalanceEndPointInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getLoadBalanceEndPointOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getLoadBalanceEndPointOutputConnector().isSuperTypeOf(domainClass)) {
 				return LoadBalanceEndPointOutputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getLoadBalanceEndPointWestOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getLoadBalanceEndPointWestOutputConnector().isSuperTypeOf(domainClass)) {
 				return LoadBalanceEndPointWestOutputConnectorEditPart.VISUAL_ID;
 			}
 			break;
 		case APIResourceEndpointEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getAPIResourceEndpointInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getAPIResourceEndpointInputConnector().isSuperTypeOf(domainClass)) {
 				return APIResourceEndpointInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getAPIResourceEndpointOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getAPIResourceEndpointOutputConnector().isSuperTypeOf(domainClass)) {
 				return APIResourceEndpointOutputConnectorEditPart.VISUAL_ID;
 			}
 			break;
 		case AddressingEndpointEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getAddressingEndpointInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getAddressingEndpointInputConnector().isSuperTypeOf(domainClass)) {
 				return AddressingEndpointInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getAddressingEndpointOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getAddressingEndpointOutputConnector().isSuperTypeOf(domainClass)) {
 				return AddressingEndpointOutputConnectorEditPart.VISUAL_ID;
 			}
 			break;
 		case HTTPEndpointEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getHTTPEndPointInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getHTTPEndPointInputConnector().isSuperTypeOf(domainClass)) {
 				return HTTPEndPointInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getHTTPEndPointOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getHTTPEndPointOutputConnector().isSuperTypeOf(domainClass)) {
 				return HTTPEndPointOutputConnectorEditPart.VISUAL_ID;
 			}
 			break;
 		case TemplateEndpointEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getTemplateEndpointInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getTemplateEndpointInputConnector().isSuperTypeOf(domainClass)) {
 				return TemplateEndpointInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getTemplateEndpointOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getTemplateEndpointOutputConnector().isSuperTypeOf(domainClass)) {
 				return TemplateEndpointOutputConnectorEditPart.VISUAL_ID;
 			}
 			break;
 		case CloudConnectorEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getCloudConnectorInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getCloudConnectorInputConnector().isSuperTypeOf(domainClass)) {
 				return CloudConnectorInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getCloudConnectorOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getCloudConnectorOutputConnector().isSuperTypeOf(domainClass)) {
 				return CloudConnectorOutputConnectorEditPart.VISUAL_ID;
 			}
 			break;
 		case CloudConnectorOperationEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getCloudConnectorOperationInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getCloudConnectorOperationInputConnector().isSuperTypeOf(domainClass)) {
 				return CloudConnectorOperationInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getCloudConnectorOperationOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getCloudConnectorOperationOutputConnector().isSuperTypeOf(domainClass)) {
 				return CloudConnectorOperationOutputConnectorEditPart.VISUAL_ID;
 			}
 			break;
 		case LoopBackMediatorEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getLoopBackMediatorInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getLoopBackMediatorInputConnector().isSuperTypeOf(domainClass)) {
 				return LoopBackMediatorInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getLoopBackMediatorOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getLoopBackMediatorOutputConnector().isSuperTypeOf(domainClass)) {
 				return LoopBackMediatorOutputConnectorEditPart.VISUAL_ID;
 			}
 			break;
 		case RespondMediatorEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getRespondMediatorInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getRespondMediatorInputConnector().isSuperTypeOf(domainClass)) {
 				return RespondMediatorInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getRespondMediatorOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getRespondMediatorOutputConnector().isSuperTypeOf(domainClass)) {
 				return RespondMediatorOutputConnectorEditPart.VISUAL_ID;
 			}
 			break;
 		case CallMediatorEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getCallMediatorInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getCallMediatorInputConnector().isSuperTypeOf(domainClass)) {
 				return CallMediatorInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getCallMediatorOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getCallMediatorOutputConnector().isSuperTypeOf(domainClass)) {
 				return CallMediatorOutputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getCallMediatorEndpointOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getCallMediatorEndpointOutputConnector().isSuperTypeOf(domainClass)) {
 				return CallMediatorEndpointOutputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getMediatorFlow().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getMediatorFlow().isSuperTypeOf(domainClass)) {
 				return MediatorFlow20EditPart.VISUAL_ID;
 			}
 			break;
 		case DataMapperMediatorEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getDataMapperMediatorInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getDataMapperMediatorInputConnector().isSuperTypeOf(domainClass)) {
 				return DataMapperMediatorInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getDataMapperMediatorOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getDataMapperMediatorOutputConnector().isSuperTypeOf(domainClass)) {
 				return DataMapperMediatorOutputConnectorEditPart.VISUAL_ID;
 			}
 			break;
 		case FastXSLTMediatorEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getFastXSLTMediatorInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getFastXSLTMediatorInputConnector().isSuperTypeOf(domainClass)) {
 				return FastXSLTMediatorInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getFastXSLTMediatorOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getFastXSLTMediatorOutputConnector().isSuperTypeOf(domainClass)) {
 				return FastXSLTMediatorOutputConnectorEditPart.VISUAL_ID;
 			}
 			break;
 		case ForEachMediatorEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getForEachMediatorInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getForEachMediatorInputConnector().isSuperTypeOf(domainClass)) {
 				return ForEachMediatorInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getForEachMediatorOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getForEachMediatorOutputConnector().isSuperTypeOf(domainClass)) {
 				return ForEachMediatorOutputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getForEachMediatorTargetOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getForEachMediatorTargetOutputConnector().isSuperTypeOf(domainClass)) {
 				return ForEachMediatorTargetOutputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getMediatorFlow().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getMediatorFlow().isSuperTypeOf(domainClass)) {
 				return MediatorFlow30EditPart.VISUAL_ID;
 			}
 			break;
 		case PublishEventMediatorEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getPublishEventMediatorInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getPublishEventMediatorInputConnector().isSuperTypeOf(domainClass)) {
 				return PublishEventMediatorInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getPublishEventMediatorOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getPublishEventMediatorOutputConnector().isSuperTypeOf(domainClass)) {
 				return PublishEventMediatorOutputConnectorEditPart.VISUAL_ID;
 			}
 			break;
 		case EntitlementOnAcceptContainerEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getMediatorFlow().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getMediatorFlow().isSuperTypeOf(domainClass)) {
 				return MediatorFlow22EditPart.VISUAL_ID;
 			}
 			break;
 		case EntitlementAdviceContainerEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getMediatorFlow().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getMediatorFlow().isSuperTypeOf(domainClass)) {
 				return MediatorFlow23EditPart.VISUAL_ID;
 			}
 			break;
 		case EntitlementObligationsContainerEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getMediatorFlow().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getMediatorFlow().isSuperTypeOf(domainClass)) {
 				return MediatorFlow24EditPart.VISUAL_ID;
 			}
 			break;
 		case SwitchDefaultParentContainerEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getSwitchDefaultContainer().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getSwitchDefaultContainer().isSuperTypeOf(domainClass)) {
 				return SwitchDefaultContainerEditPart.VISUAL_ID;
 			}
 			break;
 		case SwitchDefaultContainerEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getMediatorFlow().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getMediatorFlow().isSuperTypeOf(domainClass)) {
 				return MediatorFlow4EditPart.VISUAL_ID;
 			}
 			break;
 		case FilterFailContainerEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getMediatorFlow().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getMediatorFlow().isSuperTypeOf(domainClass)) {
 				return MediatorFlow8EditPart.VISUAL_ID;
 			}
 			break;
 		case ThrottleOnRejectContainerEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getMediatorFlow().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getMediatorFlow().isSuperTypeOf(domainClass)) {
 				return MediatorFlow10EditPart.VISUAL_ID;
 			}
 			break;
 		case ProxyServiceFaultContainerEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getMediatorFlow().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getMediatorFlow().isSuperTypeOf(domainClass)) {
 				return MediatorFlow6EditPart.VISUAL_ID;
 			}
 			break;
 		case MessageMediatorEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getMessageInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getMessageInputConnector().isSuperTypeOf(domainClass)) {
 				return MessageInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getMessageOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getMessageOutputConnector().isSuperTypeOf(domainClass)) {
 				return MessageOutputConnectorEditPart.VISUAL_ID;
 			}
 			break;
 		case MergeNodeEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getMergeNodeFirstInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getMergeNodeFirstInputConnector().isSuperTypeOf(domainClass)) {
 				return MergeNodeFirstInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getMergeNodeSecondInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getMergeNodeSecondInputConnector().isSuperTypeOf(domainClass)) {
 				return MergeNodeSecondInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getMergeNodeOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getMergeNodeOutputConnector().isSuperTypeOf(domainClass)) {
 				return MergeNodeOutputConnectorEditPart.VISUAL_ID;
 			}
 			break;
 		case SequencesEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getMediatorFlow().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getMediatorFlow().isSuperTypeOf(domainClass)) {
 				return MediatorFlow5EditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getSequencesInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getSequencesInputConnector().isSuperTypeOf(domainClass)) {
 				return SequencesInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getSequencesOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getSequencesOutputConnector().isSuperTypeOf(domainClass)) {
 				return SequencesOutputConnectorEditPart.VISUAL_ID;
 			}
 			break;
 		case DefaultEndPoint2EditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getDefaultEndPointInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getDefaultEndPointInputConnector().isSuperTypeOf(domainClass)) {
 				return DefaultEndPointInputConnector2EditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getDefaultEndPointOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getDefaultEndPointOutputConnector().isSuperTypeOf(domainClass)) {
 				return DefaultEndPointOutputConnector2EditPart.VISUAL_ID;
 			}
 			break;
 		case AddressEndPoint2EditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getAddressEndPointInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getAddressEndPointInputConnector().isSuperTypeOf(domainClass)) {
 				return AddressEndPointInputConnector2EditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getAddressEndPointOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getAddressEndPointOutputConnector().isSuperTypeOf(domainClass)) {
 				return AddressEndPointOutputConnector2EditPart.VISUAL_ID;
 			}
 			break;
 		case FailoverEndPoint2EditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getFailoverEndPointInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getFailoverEndPointInputConnector().isSuperTypeOf(domainClass)) {
 				return FailoverEndPointInputConnector2EditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getFailoverEndPointOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getFailoverEndPointOutputConnector().isSuperTypeOf(domainClass)) {
 				return FailoverEndPointOutputConnector2EditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getFailoverEndPointWestOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getFailoverEndPointWestOutputConnector().isSuperTypeOf(domainClass)) {
 				return FailoverEndPointWestOutputConnector2EditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getMediatorFlow().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getMediatorFlow().isSuperTypeOf(domainClass)) {
 				return MediatorFlow27EditPart.VISUAL_ID;
 			}
 			break;
 		case RecipientListEndPoint2EditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getRecipientListEndPointInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getRecipientListEndPointInputConnector().isSuperTypeOf(domainClass)) {
 				return RecipientListEndPointInputConnector2EditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getRecipientListEndPointOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getRecipientListEndPointOutputConnector().isSuperTypeOf(domainClass)) {
 				return RecipientListEndPointOutputConnector2EditPart.VISUAL_ID;
 			}
 			if (EsbPackage.eINSTANCE.getRecipientListEndPointWestOutputConnector()
-					.isSuperTypeOf(domainElement.eClass())) {
+					.isSuperTypeOf(domainClass)) {
 				return RecipientListEndPointWestOutputConnector2EditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getMediatorFlow().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getMediatorFlow().isSuperTypeOf(domainClass)) {
 				return MediatorFlow28EditPart.VISUAL_ID;
 			}
 			break;
 		case WSDLEndPoint2EditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getWSDLEndPointInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getWSDLEndPointInputConnector().isSuperTypeOf(domainClass)) {
 				return WSDLEndPointInputConnector2EditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getWSDLEndPointOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getWSDLEndPointOutputConnector().isSuperTypeOf(domainClass)) {
 				return WSDLEndPointOutputConnector2EditPart.VISUAL_ID;
 			}
 			break;
 		case LoadBalanceEndPoint2EditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getLoadBalanceEndPointInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getLoadBalanceEndPointInputConnector().isSuperTypeOf(domainClass)) {
 				return LoadBalanceEndPointInputConnector2EditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getLoadBalanceEndPointOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getLoadBalanceEndPointOutputConnector().isSuperTypeOf(domainClass)) {
 				return LoadBalanceEndPointOutputConnector2EditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getLoadBalanceEndPointWestOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getLoadBalanceEndPointWestOutputConnector().isSuperTypeOf(domainClass)) {
 				return LoadBalanceEndPointWestOutputConnector2EditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getMediatorFlow().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getMediatorFlow().isSuperTypeOf(domainClass)) {
 				return MediatorFlow29EditPart.VISUAL_ID;
 			}
 			break;
 		case HTTPEndpoint2EditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getHTTPEndPointInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getHTTPEndPointInputConnector().isSuperTypeOf(domainClass)) {
 				return HTTPEndPointInputConnector2EditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getHTTPEndPointOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getHTTPEndPointOutputConnector().isSuperTypeOf(domainClass)) {
 				return HTTPEndPointOutputConnector2EditPart.VISUAL_ID;
 			}
 			break;
 		case TemplateEndpoint2EditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getTemplateEndpointInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getTemplateEndpointInputConnector().isSuperTypeOf(domainClass)) {
 				return TemplateEndpointInputConnector2EditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getTemplateEndpointOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getTemplateEndpointOutputConnector().isSuperTypeOf(domainClass)) {
 				return TemplateEndpointOutputConnector2EditPart.VISUAL_ID;
 			}
 			break;
 		case Sequences2EditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getMediatorFlow().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getMediatorFlow().isSuperTypeOf(domainClass)) {
 				return MediatorFlow5EditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getSequencesInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getSequencesInputConnector().isSuperTypeOf(domainClass)) {
 				return SequencesInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getSequencesOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getSequencesOutputConnector().isSuperTypeOf(domainClass)) {
 				return SequencesOutputConnectorEditPart.VISUAL_ID;
 			}
 			break;
 		case APIResourceEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getAPIResourceInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getAPIResourceInputConnector().isSuperTypeOf(domainClass)) {
 				return APIResourceInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getAPIResourceOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getAPIResourceOutputConnector().isSuperTypeOf(domainClass)) {
 				return APIResourceOutputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getAPIResourceOutSequenceOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getAPIResourceOutSequenceOutputConnector().isSuperTypeOf(domainClass)) {
 				return APIResourceOutSequenceOutputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getAPIResourceFaultInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getAPIResourceFaultInputConnector().isSuperTypeOf(domainClass)) {
 				return APIResourceFaultInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getProxyServiceContainer().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getProxyServiceContainer().isSuperTypeOf(domainClass)) {
 				return ProxyServiceContainer2EditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getAPIResourceInSequenceInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getAPIResourceInSequenceInputConnector().isSuperTypeOf(domainClass)) {
 				return APIResourceInSequenceInputConnectorEditPart.VISUAL_ID;
 			}
 			break;
 		case ProxyServiceContainer2EditPart.VISUAL_ID:
 			if (EsbPackage.eINSTANCE.getProxyServiceSequenceAndEndpointContainer()
-					.isSuperTypeOf(domainElement.eClass())) {
+					.isSuperTypeOf(domainClass)) {
 				return ProxyServiceSequenceAndEndpointContainerEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getProxyServiceFaultContainer().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getProxyServiceFaultContainer().isSuperTypeOf(domainClass)) {
 				return ProxyServiceFaultContainerEditPart.VISUAL_ID;
 			}
 			break;
 		case ComplexEndpointsEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getMediatorFlow().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getMediatorFlow().isSuperTypeOf(domainClass)) {
 				return MediatorFlow18EditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getComplexEndpointsOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getComplexEndpointsOutputConnector().isSuperTypeOf(domainClass)) {
 				return ComplexEndpointsOutputConnectorEditPart.VISUAL_ID;
 			}
 			break;
 		case InboundEndpointEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getInboundEndpointSequenceInputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getInboundEndpointSequenceInputConnector().isSuperTypeOf(domainClass)) {
 				return InboundEndpointSequenceInputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getInboundEndpointSequenceOutputConnector().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getInboundEndpointSequenceOutputConnector().isSuperTypeOf(domainClass)) {
 				return InboundEndpointSequenceOutputConnectorEditPart.VISUAL_ID;
 			}
 			if (EsbPackage.eINSTANCE.getInboundEndpointOnErrorSequenceInputConnector().isSuperTypeOf(
-					domainElement.eClass())) {
+					domainClass)) {
 				return InboundEndpointOnErrorSequenceInputConnectorEditPart.VISUAL_ID;
 			}
 			if (EsbPackage.eINSTANCE.getInboundEndpointOnErrorSequenceOutputConnector().isSuperTypeOf(
-					domainElement.eClass())) {
+					domainClass)) {
 				return InboundEndpointOnErrorSequenceOutputConnectorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getInboundEndpointContainer().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getInboundEndpointContainer().isSuperTypeOf(domainClass)) {
 				return InboundEndpointContainerEditPart.VISUAL_ID;
 			}
 			break;
 		case InboundEndpointContainerEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getInboundEndpointSequenceContainer().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getInboundEndpointSequenceContainer().isSuperTypeOf(domainClass)) {
 				return InboundEndpointSequenceContainerEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getInboundEndpointOnErrorSequenceContainer().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getInboundEndpointOnErrorSequenceContainer().isSuperTypeOf(domainClass)) {
 				return InboundEndpointOnErrorSequenceContainerEditPart.VISUAL_ID;
 			}
 			break;
 		case InboundEndpointSequenceContainerEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getMediatorFlow().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getMediatorFlow().isSuperTypeOf(domainClass)) {
 				return MediatorFlow25EditPart.VISUAL_ID;
 			}
 			break;
 		case InboundEndpointOnErrorSequenceContainerEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getMediatorFlow().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getMediatorFlow().isSuperTypeOf(domainClass)) {
 				return MediatorFlow26EditPart.VISUAL_ID;
 			}
 			break;
 		case EsbServerContentsCompartmentEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getProxyService().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getProxyService().isSuperTypeOf(domainClass)) {
 				return ProxyServiceEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getMergeNode().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getMergeNode().isSuperTypeOf(domainClass)) {
 				return MergeNodeEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getSequences().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getSequences().isSuperTypeOf(domainClass)) {
 				return SequencesEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getLocalEntry().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getLocalEntry().isSuperTypeOf(domainClass)) {
 				return LocalEntryEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getTemplate().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getTemplate().isSuperTypeOf(domainClass)) {
 				return TemplateEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getTask().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getTask().isSuperTypeOf(domainClass)) {
 				return TaskEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getSynapseAPI().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getSynapseAPI().isSuperTypeOf(domainClass)) {
 				return SynapseAPIEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getComplexEndpoints().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getComplexEndpoints().isSuperTypeOf(domainClass)) {
 				return ComplexEndpointsEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getMessageStore().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getMessageStore().isSuperTypeOf(domainClass)) {
 				return MessageStoreEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getMessageProcessor().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getMessageProcessor().isSuperTypeOf(domainClass)) {
 				return MessageProcessorEditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getInboundEndpoint().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getInboundEndpoint().isSuperTypeOf(domainClass)) {
 				return InboundEndpointEditPart.VISUAL_ID;
 			}
 			break;
 		case MediatorFlowMediatorFlowCompartmentEditPart.VISUAL_ID:
-			return mediatorFlowMediatorFlowCompartment26EditPart(domainElement);
+			return mediatorFlowMediatorFlowCompartment26EditPart(domainClass);
 		case MediatorFlowMediatorFlowCompartment9EditPart.VISUAL_ID:
-			return mediatorFlowMediatorFlowCompartment26EditPart(domainElement);
+			return mediatorFlowMediatorFlowCompartment26EditPart(domainClass);
 		case MediatorFlowMediatorFlowCompartment7EditPart.VISUAL_ID:
-			return mediatorFlowMediatorFlowCompartment26EditPart(domainElement);
+			return mediatorFlowMediatorFlowCompartment26EditPart(domainClass);
 		case MediatorFlowMediatorFlowCompartment2EditPart.VISUAL_ID:
-			return mediatorFlowMediatorFlowCompartment26EditPart(domainElement);
+			return mediatorFlowMediatorFlowCompartment26EditPart(domainClass);
 		case MediatorFlowMediatorFlowCompartment21EditPart.VISUAL_ID:
-			return mediatorFlowMediatorFlowCompartment26EditPart(domainElement);
+			return mediatorFlowMediatorFlowCompartment26EditPart(domainClass);
 		case MediatorFlowMediatorFlowCompartment19EditPart.VISUAL_ID:
-			return mediatorFlowMediatorFlowCompartment26EditPart(domainElement);
+			return mediatorFlowMediatorFlowCompartment26EditPart(domainClass);
 		case MediatorFlowMediatorFlowCompartment11EditPart.VISUAL_ID:
-			return mediatorFlowMediatorFlowCompartment26EditPart(domainElement);
+			return mediatorFlowMediatorFlowCompartment26EditPart(domainClass);
 		case MediatorFlowMediatorFlowCompartment13EditPart.VISUAL_ID:
-			return mediatorFlowMediatorFlowCompartment26EditPart(domainElement);
+			return mediatorFlowMediatorFlowCompartment26EditPart(domainClass);
 		case MediatorFlowMediatorFlowCompartment12EditPart.VISUAL_ID:
-			return mediatorFlowMediatorFlowCompartment26EditPart(domainElement);
+			return mediatorFlowMediatorFlowCompartment26EditPart(domainClass);
 		case MediatorFlowMediatorFlowCompartment17EditPart.VISUAL_ID:
-			return mediatorFlowMediatorFlowCompartment26EditPart(domainElement);
+			return mediatorFlowMediatorFlowCompartment26EditPart(domainClass);
 		case MediatorFlowMediatorFlowCompartment3EditPart.VISUAL_ID:
-			return mediatorFlowMediatorFlowCompartment26EditPart(domainElement);
+			return mediatorFlowMediatorFlowCompartment26EditPart(domainClass);
 		case MediatorFlowMediatorFlowCompartment14EditPart.VISUAL_ID:
-			return mediatorFlowMediatorFlowCompartment26EditPart(domainElement);
+			return mediatorFlowMediatorFlowCompartment26EditPart(domainClass);
 		case MediatorFlowMediatorFlowCompartment15EditPart.VISUAL_ID:
-			return mediatorFlowMediatorFlowCompartment26EditPart(domainElement);
+			return mediatorFlowMediatorFlowCompartment26EditPart(domainClass);
 		case MediatorFlowMediatorFlowCompartment16EditPart.VISUAL_ID:
-			return mediatorFlowMediatorFlowCompartment26EditPart(domainElement);
+			return mediatorFlowMediatorFlowCompartment26EditPart(domainClass);
 		case MediatorFlowMediatorFlowCompartment20EditPart.VISUAL_ID:
-			return mediatorFlowMediatorFlowCompartment26EditPart(domainElement);
+			return mediatorFlowMediatorFlowCompartment26EditPart(domainClass);
 		case MediatorFlowMediatorFlowCompartment30EditPart.VISUAL_ID:
-			return mediatorFlowMediatorFlowCompartment26EditPart(domainElement);
+			return mediatorFlowMediatorFlowCompartment26EditPart(domainClass);
 		case MediatorFlowMediatorFlowCompartment22EditPart.VISUAL_ID:
-			return mediatorFlowMediatorFlowCompartment26EditPart(domainElement);
+			return mediatorFlowMediatorFlowCompartment26EditPart(domainClass);
 		case MediatorFlowMediatorFlowCompartment23EditPart.VISUAL_ID:
-			return mediatorFlowMediatorFlowCompartment26EditPart(domainElement);
+			return mediatorFlowMediatorFlowCompartment26EditPart(domainClass);
 		case MediatorFlowMediatorFlowCompartment24EditPart.VISUAL_ID:
-			return mediatorFlowMediatorFlowCompartment26EditPart(domainElement);
+			return mediatorFlowMediatorFlowCompartment26EditPart(domainClass);
 		case MediatorFlowMediatorFlowCompartment4EditPart.VISUAL_ID:
-			return mediatorFlowMediatorFlowCompartment26EditPart(domainElement);
+			return mediatorFlowMediatorFlowCompartment26EditPart(domainClass);
 		case MediatorFlowMediatorFlowCompartment8EditPart.VISUAL_ID:
-			return mediatorFlowMediatorFlowCompartment26EditPart(domainElement);
+			return mediatorFlowMediatorFlowCompartment26EditPart(domainClass);
 		case MediatorFlowMediatorFlowCompartment10EditPart.VISUAL_ID:
-			return mediatorFlowMediatorFlowCompartment26EditPart(domainElement);
+			return mediatorFlowMediatorFlowCompartment26EditPart(domainClass);
 		case MediatorFlowMediatorFlowCompartment6EditPart.VISUAL_ID:
-			return mediatorFlowMediatorFlowCompartment26EditPart(domainElement);
+			return mediatorFlowMediatorFlowCompartment26EditPart(domainClass);
 		case MediatorFlowMediatorFlowCompartment5EditPart.VISUAL_ID:
-			return mediatorFlowMediatorFlowCompartment26EditPart(domainElement);
+			return mediatorFlowMediatorFlowCompartment26EditPart(domainClass);
 		case EndpointDiagramEndpointCompartmentEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getDefaultEndPoint().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getDefaultEndPoint().isSuperTypeOf(domainClass)) {
 				return DefaultEndPoint2EditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getAddressEndPoint().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getAddressEndPoint().isSuperTypeOf(domainClass)) {
 				return AddressEndPoint2EditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getFailoverEndPoint().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getFailoverEndPoint().isSuperTypeOf(domainClass)) {
 				return FailoverEndPoint2EditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getRecipientListEndPoint().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getRecipientListEndPoint().isSuperTypeOf(domainClass)) {
 				return RecipientListEndPoint2EditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getWSDLEndPoint().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getWSDLEndPoint().isSuperTypeOf(domainClass)) {
 				return WSDLEndPoint2EditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getLoadBalanceEndPoint().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getLoadBalanceEndPoint().isSuperTypeOf(domainClass)) {
 				return LoadBalanceEndPoint2EditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getHTTPEndpoint().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getHTTPEndpoint().isSuperTypeOf(domainClass)) {
 				return HTTPEndpoint2EditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getTemplateEndpoint().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getTemplateEndpoint().isSuperTypeOf(domainClass)) {
 				return TemplateEndpoint2EditPart.VISUAL_ID;
 			}
 			break;
 		case MediatorFlowMediatorFlowCompartment27EditPart.VISUAL_ID:
-			return mediatorFlowMediatorFlowCompartment26EditPart(domainElement);
+			return mediatorFlowMediatorFlowCompartment26EditPart(domainClass);
 		case MediatorFlowMediatorFlowCompartment28EditPart.VISUAL_ID:
-			return mediatorFlowMediatorFlowCompartment26EditPart(domainElement);
+			return mediatorFlowMediatorFlowCompartment26EditPart(domainClass);
 		case MediatorFlowMediatorFlowCompartment29EditPart.VISUAL_ID:
-			return mediatorFlowMediatorFlowCompartment26EditPart(domainElement);
+			return mediatorFlowMediatorFlowCompartment26EditPart(domainClass);
 		case TemplateTemplateCompartmentEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getSequences().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getSequences().isSuperTypeOf(domainClass)) {
 				return Sequences2EditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getEndpointDiagram().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getEndpointDiagram().isSuperTypeOf(domainClass)) {
 				return EndpointDiagram2EditPart.VISUAL_ID;
 			}
 			break;
 		case EndpointDiagramEndpointCompartment2EditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getDefaultEndPoint().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getDefaultEndPoint().isSuperTypeOf(domainClass)) {
 				return DefaultEndPoint2EditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getAddressEndPoint().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getAddressEndPoint().isSuperTypeOf(domainClass)) {
 				return AddressEndPoint2EditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getFailoverEndPoint().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getFailoverEndPoint().isSuperTypeOf(domainClass)) {
 				return FailoverEndPoint2EditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getRecipientListEndPoint().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getRecipientListEndPoint().isSuperTypeOf(domainClass)) {
 				return RecipientListEndPoint2EditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getWSDLEndPoint().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getWSDLEndPoint().isSuperTypeOf(domainClass)) {
 				return WSDLEndPoint2EditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getLoadBalanceEndPoint().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getLoadBalanceEndPoint().isSuperTypeOf(domainClass)) {
 				return LoadBalanceEndPoint2EditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getHTTPEndpoint().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getHTTPEndpoint().isSuperTypeOf(domainClass)) {
 				return HTTPEndpoint2EditPart.VISUAL_ID;
 			}
-			if (EsbPackage.eINSTANCE.getTemplateEndpoint().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getTemplateEndpoint().isSuperTypeOf(domainClass)) {
 				return TemplateEndpoint2EditPart.VISUAL_ID;
 			}
 			break;
 		case SynapseAPIAPICompartmentEditPart.VISUAL_ID:
-			if (EsbPackage.eINSTANCE.getAPIResource().isSuperTypeOf(domainElement.eClass())) {
+			if (EsbPackage.eINSTANCE.getAPIResource().isSuperTypeOf(domainClass)) {
 				return APIResourceEditPart.VISUAL_ID;
 			}
 			break;
 		case MediatorFlowMediatorFlowCompartment18EditPart.VISUAL_ID:
-			return mediatorFlowMediatorFlowCompartment26EditPart(domainElement);
+			return mediatorFlowMediatorFlowCompartment26EditPart(domainClass);
 		case MediatorFlowMediatorFlowCompartment25EditPart.VISUAL_ID:
-			return mediatorFlowMediatorFlowCompartment26EditPart(domainElement);
+			return mediatorFlowMediatorFlowCompartment26EditPart(domainClass);
 		case MediatorFlowMediatorFlowCompartment26EditPart.VISUAL_ID:
-			return mediatorFlowMediatorFlowCompartment26EditPart(domainElement);
+			return mediatorFlowMediatorFlowCompartment26EditPart(domainClass);
 		}
 		return -1;
 	}
 
-	private static int mediatorFlowMediatorFlowCompartment26EditPart(EObject domainElement) {
-		if (EsbPackage.eINSTANCE.getDropMediator().isSuperTypeOf(domainElement.eClass())) {
+	private static int mediatorFlowMediatorFlowCompartment26EditPart(EClass domainClass) {
+		if (EsbPackage.eINSTANCE.getDropMediator().isSuperTypeOf(domainClass)) {
 			return DropMediatorEditPart.VISUAL_ID;
 		}
-		if (EsbPackage.eINSTANCE.getPropertyMediator().isSuperTypeOf(domainElement.eClass())) {
+		if (EsbPackage.eINSTANCE.getPropertyMediator().isSuperTypeOf(domainClass)) {
 			return PropertyMediatorEditPart.VISUAL_ID;
 		}
-		if (EsbPackage.eINSTANCE.getThrottleMediator().isSuperTypeOf(domainElement.eClass())) {
+		if (EsbPackage.eINSTANCE.getThrottleMediator().isSuperTypeOf(domainClass)) {
 			return ThrottleMediatorEditPart.VISUAL_ID;
 		}
-		if (EsbPackage.eINSTANCE.getFilterMediator().isSuperTypeOf(domainElement.eClass())) {
+		if (EsbPackage.eINSTANCE.getFilterMediator().isSuperTypeOf(domainClass)) {
 			return FilterMediatorEditPart.VISUAL_ID;
 		}
-		if (EsbPackage.eINSTANCE.getLogMediator().isSuperTypeOf(domainElement.eClass())) {
+		if (EsbPackage.eINSTANCE.getLogMediator().isSuperTypeOf(domainClass)) {
 			return LogMediatorEditPart.VISUAL_ID;
 		}
-		if (EsbPackage.eINSTANCE.getEnrichMediator().isSuperTypeOf(domainElement.eClass())) {
+		if (EsbPackage.eINSTANCE.getEnrichMediator().isSuperTypeOf(domainClass)) {
 			return EnrichMediatorEditPart.VISUAL_ID;
 		}
-		if (EsbPackage.eINSTANCE.getXSLTMediator().isSuperTypeOf(domainElement.eClass())) {
+		if (EsbPackage.eINSTANCE.getXSLTMediator().isSuperTypeOf(domainClass)) {
 			return XSLTMediatorEditPart.VISUAL_ID;
 		}
-		if (EsbPackage.eINSTANCE.getSwitchMediator().isSuperTypeOf(domainElement.eClass())) {
+		if (EsbPackage.eINSTANCE.getSwitchMediator().isSuperTypeOf(domainClass)) {
 			return SwitchMediatorEditPart.VISUAL_ID;
 		}
-		if (EsbPackage.eINSTANCE.getSequence().isSuperTypeOf(domainElement.eClass())) {
+		if (EsbPackage.eINSTANCE.getSequence().isSuperTypeOf(domainClass)) {
 			return SequenceEditPart.VISUAL_ID;
 		}
-		if (EsbPackage.eINSTANCE.getEventMediator().isSuperTypeOf(domainElement.eClass())) {
+		if (EsbPackage.eINSTANCE.getEventMediator().isSuperTypeOf(domainClass)) {
 			return EventMediatorEditPart.VISUAL_ID;
 		}
-		if (EsbPackage.eINSTANCE.getEntitlementMediator().isSuperTypeOf(domainElement.eClass())) {
+		if (EsbPackage.eINSTANCE.getEntitlementMediator().isSuperTypeOf(domainClass)) {
 			return EntitlementMediatorEditPart.VISUAL_ID;
 		}
-		if (EsbPackage.eINSTANCE.getClassMediator().isSuperTypeOf(domainElement.eClass())) {
+		if (EsbPackage.eINSTANCE.getClassMediator().isSuperTypeOf(domainClass)) {
 			return ClassMediatorEditPart.VISUAL_ID;
 		}
-		if (EsbPackage.eINSTANCE.getSpringMediator().isSuperTypeOf(domainElement.eClass())) {
+		if (EsbPackage.eINSTANCE.getSpringMediator().isSuperTypeOf(domainClass)) {
 			return SpringMediatorEditPart.VISUAL_ID;
 		}
-		if (EsbPackage.eINSTANCE.getScriptMediator().isSuperTypeOf(domainElement.eClass())) {
+		if (EsbPackage.eINSTANCE.getScriptMediator().isSuperTypeOf(domainClass)) {
 			return ScriptMediatorEditPart.VISUAL_ID;
 		}
-		if (EsbPackage.eINSTANCE.getFaultMediator().isSuperTypeOf(domainElement.eClass())) {
+		if (EsbPackage.eINSTANCE.getFaultMediator().isSuperTypeOf(domainClass)) {
 			return FaultMediatorEditPart.VISUAL_ID;
 		}
-		if (EsbPackage.eINSTANCE.getXQueryMediator().isSuperTypeOf(domainElement.eClass())) {
+		if (EsbPackage.eINSTANCE.getXQueryMediator().isSuperTypeOf(domainClass)) {
 			return XQueryMediatorEditPart.VISUAL_ID;
 		}
-		if (EsbPackage.eINSTANCE.getCommandMediator().isSuperTypeOf(domainElement.eClass())) {
+		if (EsbPackage.eINSTANCE.getCommandMediator().isSuperTypeOf(domainClass)) {
 			return CommandMediatorEditPart.VISUAL_ID;
 		}
-		if (EsbPackage.eINSTANCE.getDBLookupMediator().isSuperTypeOf(domainElement.eClass())) {
+		if (EsbPackage.eINSTANCE.getDBLookupMediator().isSuperTypeOf(domainClass)) {
 			return DBLookupMediatorEditPart.VISUAL_ID;
 		}
-		if (EsbPackage.eINSTANCE.getDBReportMediator().isSuperTypeOf(domainElement.eClass())) {
+		if (EsbPackage.eINSTANCE.getDBReportMediator().isSuperTypeOf(domainClass)) {
 			return DBReportMediatorEditPart.VISUAL_ID;
 		}
-		if (EsbPackage.eINSTANCE.getSmooksMediator().isSuperTypeOf(domainElement.eClass())) {
+		if (EsbPackage.eINSTANCE.getSmooksMediator().isSuperTypeOf(domainClass)) {
 			return SmooksMediatorEditPart.VISUAL_ID;
 		}
-		if (EsbPackage.eINSTANCE.getSendMediator().isSuperTypeOf(domainElement.eClass())) {
+		if (EsbPackage.eINSTANCE.getSendMediator().isSuperTypeOf(domainClass)) {
 			return SendMediatorEditPart.VISUAL_ID;
 		}
-		if (EsbPackage.eINSTANCE.getHeaderMediator().isSuperTypeOf(domainElement.eClass())) {
+		if (EsbPackage.eINSTANCE.getHeaderMediator().isSuperTypeOf(domainClass)) {
 			return HeaderMediatorEditPart.VISUAL_ID;
 		}
-		if (EsbPackage.eINSTANCE.getCloneMediator().isSuperTypeOf(domainElement.eClass())) {
+		if (EsbPackage.eINSTANCE.getCloneMediator().isSuperTypeOf(domainClass)) {
 			return CloneMediatorEditPart.VISUAL_ID;
 		}
-		if (EsbPackage.eINSTANCE.getCacheMediator().isSuperTypeOf(domainElement.eClass())) {
+		if (EsbPackage.eINSTANCE.getCacheMediator().isSuperTypeOf(domainClass)) {
 			return CacheMediatorEditPart.VISUAL_ID;
 		}
-		if (EsbPackage.eINSTANCE.getIterateMediator().isSuperTypeOf(domainElement.eClass())) {
+		if (EsbPackage.eINSTANCE.getIterateMediator().isSuperTypeOf(domainClass)) {
 			return IterateMediatorEditPart.VISUAL_ID;
 		}
-		if (EsbPackage.eINSTANCE.getCalloutMediator().isSuperTypeOf(domainElement.eClass())) {
+		if (EsbPackage.eINSTANCE.getCalloutMediator().isSuperTypeOf(domainClass)) {
 			return CalloutMediatorEditPart.VISUAL_ID;
 		}
-		if (EsbPackage.eINSTANCE.getTransactionMediator().isSuperTypeOf(domainElement.eClass())) {
+		if (EsbPackage.eINSTANCE.getTransactionMediator().isSuperTypeOf(domainClass)) {
 			return TransactionMediatorEditPart.VISUAL_ID;
 		}
-		if (EsbPackage.eINSTANCE.getRMSequenceMediator().isSuperTypeOf(domainElement.eClass())) {
+		if (EsbPackage.eINSTANCE.getRMSequenceMediator().isSuperTypeOf(domainClass)) {
 			return RMSequenceMediatorEditPart.VISUAL_ID;
 		}
-		if (EsbPackage.eINSTANCE.getRuleMediator().isSuperTypeOf(domainElement.eClass())) {
+		if (EsbPackage.eINSTANCE.getRuleMediator().isSuperTypeOf(domainClass)) {
 			return RuleMediatorEditPart.VISUAL_ID;
 		}
-		if (EsbPackage.eINSTANCE.getOAuthMediator().isSuperTypeOf(domainElement.eClass())) {
+		if (EsbPackage.eINSTANCE.getOAuthMediator().isSuperTypeOf(domainClass)) {
 			return OAuthMediatorEditPart.VISUAL_ID;
 		}
-		if (EsbPackage.eINSTANCE.getAggregateMediator().isSuperTypeOf(domainElement.eClass())) {
+		if (EsbPackage.eINSTANCE.getAggregateMediator().isSuperTypeOf(domainClass)) {
 			return AggregateMediatorEditPart.VISUAL_ID;
 		}
-		if (EsbPackage.eINSTANCE.getStoreMediator().isSuperTypeOf(domainElement.eClass())) {
+		if (EsbPackage.eINSTANCE.getStoreMediator().isSuperTypeOf(domainClass)) {
 			return StoreMediatorEditPart.VISUAL_ID;
 		}
-		if (EsbPackage.eINSTANCE.getBuilderMediator().isSuperTypeOf(domainElement.eClass())) {
+		if (EsbPackage.eINSTANCE.getBuilderMediator().isSuperTypeOf(domainClass)) {
 			return BuilderMediatorEditPart.VISUAL_ID;
 		}
-		if (EsbPackage.eINSTANCE.getCallTemplateMediator().isSuperTypeOf(domainElement.eClass())) {
+		if (EsbPackage.eINSTANCE.getCallTemplateMediator().isSuperTypeOf(domainClass)) {
 			return CallTemplateMediatorEditPart.VISUAL_ID;
 		}
-		if (EsbPackage.eINSTANCE.getPayloadFactoryMediator().isSuperTypeOf(domainElement.eClass())) {
+		if (EsbPackage.eINSTANCE.getPayloadFactoryMediator().isSuperTypeOf(domainClass)) {
 			return PayloadFactoryMediatorEditPart.VISUAL_ID;
 		}
-		if (EsbPackage.eINSTANCE.getEnqueueMediator().isSuperTypeOf(domainElement.eClass())) {
+		if (EsbPackage.eINSTANCE.getEnqueueMediator().isSuperTypeOf(domainClass)) {
 			return EnqueueMediatorEditPart.VISUAL_ID;
 		}
-		if (EsbPackage.eINSTANCE.getURLRewriteMediator().isSuperTypeOf(domainElement.eClass())) {
+		if (EsbPackage.eINSTANCE.getURLRewriteMediator().isSuperTypeOf(domainClass)) {
 			return URLRewriteMediatorEditPart.VISUAL_ID;
 		}
-		if (EsbPackage.eINSTANCE.getValidateMediator().isSuperTypeOf(domainElement.eClass())) {
+		if (EsbPackage.eINSTANCE.getValidateMediator().isSuperTypeOf(domainClass)) {
 			return ValidateMediatorEditPart.VISUAL_ID;
 		}
-		if (EsbPackage.eINSTANCE.getRouterMediator().isSuperTypeOf(domainElement.eClass())) {
+		if (EsbPackage.eINSTANCE.getRouterMediator().isSuperTypeOf(domainClass)) {
 			return RouterMediatorEditPart.VISUAL_ID;
 		}
-		if (EsbPackage.eINSTANCE.getConditionalRouterMediator().isSuperTypeOf(domainElement.eClass())) {
+		if (EsbPackage.eINSTANCE.getConditionalRouterMediator().isSuperTypeOf(domainClass)) {
 			return ConditionalRouterMediatorEditPart.VISUAL_ID;
 		}
-		if (EsbPackage.eINSTANCE.getBAMMediator().isSuperTypeOf(domainElement.eClass())) {
+		if (EsbPackage.eINSTANCE.getBAMMediator().isSuperTypeOf(domainClass)) {
 			return BAMMediatorEditPart.VISUAL_ID;
 		}
-		if (EsbPackage.eINSTANCE.getBeanMediator().isSuperTypeOf(domainElement.eClass())) {
+		if (EsbPackage.eINSTANCE.getBeanMediator().isSuperTypeOf(domainClass)) {
 			return BeanMediatorEditPart.VISUAL_ID;
 		}
-		if (EsbPackage.eINSTANCE.getEJBMediator().isSuperTypeOf(domainElement.eClass())) {
+		if (EsbPackage.eINSTANCE.getEJBMediator().isSuperTypeOf(domainClass)) {
 			return EJBMediatorEditPart.VISUAL_ID;
 		}
-		if (EsbPackage.eINSTANCE.getDefaultEndPoint().isSuperTypeOf(domainElement.eClass())) {
+		if (EsbPackage.eINSTANCE.getDefaultEndPoint().isSuperTypeOf(domainClass)) {
 			return DefaultEndPointEditPart.VISUAL_ID;
 		}
-		if (EsbPackage.eINSTANCE.getAddressEndPoint().isSuperTypeOf(domainElement.eClass())) {
+		if (EsbPackage.eINSTANCE.getAddressEndPoint().isSuperTypeOf(domainClass)) {
 			return AddressEndPointEditPart.VISUAL_ID;
 		}
-		if (EsbPackage.eINSTANCE.getFailoverEndPoint().isSuperTypeOf(domainElement.eClass())) {
+		if (EsbPackage.eINSTANCE.getFailoverEndPoint().isSuperTypeOf(domainClass)) {
 			return FailoverEndPointEditPart.VISUAL_ID;
 		}
-		if (EsbPackage.eINSTANCE.getRecipientListEndPoint().isSuperTypeOf(domainElement.eClass())) {
+		if (EsbPackage.eINSTANCE.getRecipientListEndPoint().isSuperTypeOf(domainClass)) {
 			return RecipientListEndPointEditPart.VISUAL_ID;
 		}
-		if (EsbPackage.eINSTANCE.getWSDLEndPoint().isSuperTypeOf(domainElement.eClass())) {
+		if (EsbPackage.eINSTANCE.getWSDLEndPoint().isSuperTypeOf(domainClass)) {
 			return WSDLEndPointEditPart.VISUAL_ID;
 		}
-		if (EsbPackage.eINSTANCE.getNamedEndpoint().isSuperTypeOf(domainElement.eClass())) {
+		if (EsbPackage.eINSTANCE.getNamedEndpoint().isSuperTypeOf(domainClass)) {
 			return NamedEndpointEditPart.VISUAL_ID;
 		}
-		if (EsbPackage.eINSTANCE.getLoadBalanceEndPoint().isSuperTypeOf(domainElement.eClass())) {
+		if (EsbPackage.eINSTANCE.getLoadBalanceEndPoint().isSuperTypeOf(domainClass)) {
 			return LoadBalanceEndPointEditPart.VISUAL_ID;
 		}
-		if (EsbPackage.eINSTANCE.getAPIResourceEndpoint().isSuperTypeOf(domainElement.eClass())) {
+		if (EsbPackage.eINSTANCE.getAPIResourceEndpoint().isSuperTypeOf(domainClass)) {
 			return APIResourceEndpointEditPart.VISUAL_ID;
 		}
-		if (EsbPackage.eINSTANCE.getAddressingEndpoint().isSuperTypeOf(domainElement.eClass())) {
+		if (EsbPackage.eINSTANCE.getAddressingEndpoint().isSuperTypeOf(domainClass)) {
 			return AddressingEndpointEditPart.VISUAL_ID;
 		}
-		if (EsbPackage.eINSTANCE.getHTTPEndpoint().isSuperTypeOf(domainElement.eClass())) {
+		if (EsbPackage.eINSTANCE.getHTTPEndpoint().isSuperTypeOf(domainClass)) {
 			return HTTPEndpointEditPart.VISUAL_ID;
 		}
-		if (EsbPackage.eINSTANCE.getTemplateEndpoint().isSuperTypeOf(domainElement.eClass())) {
+		if (EsbPackage.eINSTANCE.getTemplateEndpoint().isSuperTypeOf(domainClass)) {
 			return TemplateEndpointEditPart.VISUAL_ID;
 		}
-		if (EsbPackage.eINSTANCE.getCloudConnector().isSuperTypeOf(domainElement.eClass())) {
+		if (EsbPackage.eINSTANCE.getCloudConnector().isSuperTypeOf(domainClass)) {
 			return CloudConnectorEditPart.VISUAL_ID;
 		}
-		if (EsbPackage.eINSTANCE.getCloudConnectorOperation().isSuperTypeOf(domainElement.eClass())) {
+		if (EsbPackage.eINSTANCE.getCloudConnectorOperation().isSuperTypeOf(domainClass)) {
 			return CloudConnectorOperationEditPart.VISUAL_ID;
 		}
-		if (EsbPackage.eINSTANCE.getLoopBackMediator().isSuperTypeOf(domainElement.eClass())) {
+		if (EsbPackage.eINSTANCE.getLoopBackMediator().isSuperTypeOf(domainClass)) {
 			return LoopBackMediatorEditPart.VISUAL_ID;
 		}
-		if (EsbPackage.eINSTANCE.getRespondMediator().isSuperTypeOf(domainElement.eClass())) {
+		if (EsbPackage.eINSTANCE.getRespondMediator().isSuperTypeOf(domainClass)) {
 			return RespondMediatorEditPart.VISUAL_ID;
 		}
-		if (EsbPackage.eINSTANCE.getCallMediator().isSuperTypeOf(domainElement.eClass())) {
+		if (EsbPackage.eINSTANCE.getCallMediator().isSuperTypeOf(domainClass)) {
 			return CallMediatorEditPart.VISUAL_ID;
 		}
-		if (EsbPackage.eINSTANCE.getDataMapperMediator().isSuperTypeOf(domainElement.eClass())) {
+		if (EsbPackage.eINSTANCE.getDataMapperMediator().isSuperTypeOf(domainClass)) {
 			return DataMapperMediatorEditPart.VISUAL_ID;
 		}
-		if (EsbPackage.eINSTANCE.getFastXSLTMediator().isSuperTypeOf(domainElement.eClass())) {
+		if (EsbPackage.eINSTANCE.getFastXSLTMediator().isSuperTypeOf(domainClass)) {
 			return FastXSLTMediatorEditPart.VISUAL_ID;
 		}
-		if (EsbPackage.eINSTANCE.getForEachMediator().isSuperTypeOf(domainElement.eClass())) {
+		if (EsbPackage.eINSTANCE.getForEachMediator().isSuperTypeOf(domainClass)) {
 			return ForEachMediatorEditPart.VISUAL_ID;
 		}
-		if (EsbPackage.eINSTANCE.getPublishEventMediator().isSuperTypeOf(domainElement.eClass())) {
+		if (EsbPackage.eINSTANCE.getPublishEventMediator().isSuperTypeOf(domainClass)) {
 			return PublishEventMediatorEditPart.VISUAL_ID;
 		}
 		return -1;
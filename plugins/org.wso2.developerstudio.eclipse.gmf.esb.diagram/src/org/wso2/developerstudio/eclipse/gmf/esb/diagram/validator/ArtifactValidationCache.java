@@ -0,0 +1,446 @@
+/*
+*  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing,
+* software distributed under the License is distributed on an
+* "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+* KIND, either express or implied.  See the License for the
+* specific language governing permissions and limitations
+* under the License.
+*/
+
+package org.wso2.developerstudio.eclipse.gmf.esb.diagram.validator;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.commons.io.IOUtils;
+import org.eclipse.core.resources.IContainer;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IResourceDeltaVisitor;
+import org.eclipse.core.resources.IWorkspaceRoot;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.wso2.developerstudio.eclipse.gmf.esb.diagram.Activator;
+import org.wso2.developerstudio.eclipse.logging.core.IDeveloperStudioLog;
+import org.wso2.developerstudio.eclipse.logging.core.Logger;
+
+/**
+ * Validity of the artifacts of ESB projects, as shown by the
+ * {@link FileDecorator}.
+ *
+ * Artifacts are validated by a background job, when they change in the
+ * workspace or are first asked for. The result of a file is kept with its
+ * time stamp and a hash of its content, so it holds until the file changes,
+ * and a file which is written back with the same content is not validated
+ * again. The results are saved in the state location of the plugin and
+ * survive restarts.
+ *
+ * For each folder and project the cache counts the invalid artifacts within
+ * it, so the decorator never has to look into a container.
+ */
+public class ArtifactValidationCache implements IResourceChangeListener {
+
+    private static final String CACHE_FILE = "artifact-validation.properties";
+    private static final String SYNAPSE_CONFIG_PATH = "src/main/synapse-config";
+    private static final List<String> ARTIFACT_FOLDERS = Arrays.asList("api", "endpoints", "inbound-endpoints",
+            "local-entries", "message-processors", "message-stores", "proxy-services", "sequences", "tasks",
+            "templates");
+    private static final String SOURCE_VIEW_ERROR = "SOURCE_VIEW_ERROR";
+    private static final String CAPP_NOT_ALLOWED = "CAPP_NOT_ALLOWED";
+
+    /**
+     * Time to wait for more changes before validating, in milliseconds
+     */
+    private static final long DELAY = 200;
+
+    private static IDeveloperStudioLog log = Logger.getLog(Activator.PLUGIN_ID);
+
+    private static ArtifactValidationCache instance;
+
+    private final Map<IPath, ValidationResult> results = new ConcurrentHashMap<>();
+
+    /**
+     * Number of invalid artifacts within each folder and project
+     */
+    private final Map<IPath, Integer> invalidArtifactCounts = new HashMap<>();
+    private final Set<IProject> scannedProjects = ConcurrentHashMap.newKeySet();
+    private final Queue<IResource> pendingResources = new ConcurrentLinkedQueue<>();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final Job validationJob;
+
+    /**
+     * Notified when artifacts are validated
+     */
+    public interface Listener {
+
+        /**
+         * @param resources
+         *            artifacts which were validated, with the folders and
+         *            projects containing the ones whose validity changed
+         */
+        void validityChanged(Set<IResource> resources);
+    }
+
+    private ArtifactValidationCache() {
+        validationJob = new Job("Validating ESB artifacts") {
+
+            @Override
+            protected IStatus run(IProgressMonitor monitor) {
+                return validatePendingResources(monitor);
+            }
+        };
+        validationJob.setSystem(true);
+        validationJob.setPriority(Job.DECORATE);
+    }
+
+    public static synchronized ArtifactValidationCache getInstance() {
+        if (instance == null) {
+            instance = new ArtifactValidationCache();
+            instance.load();
+            ResourcesPlugin.getWorkspace().addResourceChangeListener(instance, IResourceChangeEvent.POST_CHANGE);
+        }
+        return instance;
+    }
+
+    /**
+     * @param file
+     * @return whether the file is an artifact of the synapse configuration of
+     *         a project
+     */
+    public static boolean isArtifactFile(IFile file) {
+        IPath path = file.getProjectRelativePath();
+        return "xml".equals(file.getFileExtension()) && path.segmentCount() == 5
+                && new Path(SYNAPSE_CONFIG_PATH).isPrefixOf(path) && ARTIFACT_FOLDERS.contains(path.segment(3));
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Validity of an artifact, from the cache only. An artifact which is not
+     * known or has changed is queued for validation, a changed artifact keeps
+     * its last result until it is validated again.
+     *
+     * @param file
+     *            artifact file
+     * @return whether the artifact is valid, or null if it is not known yet
+     */
+    public Boolean isValid(IFile file) {
+        ValidationResult result = results.get(file.getFullPath());
+        if (result == null || result.timeStamp != file.getLocalTimeStamp()) {
+            request(file);
+        }
+        return result != null ? result.valid : null;
+    }
+
+    /**
+     * Whether there are invalid artifacts within a container, from the cache
+     * only. The artifacts of a project are validated the first time it is
+     * asked for.
+     *
+     * @param container
+     *            folder or project
+     * @return whether invalid artifacts are known to be within the container
+     */
+    public boolean containsInvalidArtifacts(IContainer container) {
+        IProject project = container.getProject();
+        if (project != null && scannedProjects.add(project)) {
+            request(project);
+        }
+        synchronized (invalidArtifactCounts) {
+            Integer count = invalidArtifactCounts.get(container.getFullPath());
+            return count != null && count > 0;
+        }
+    }
+
+    private void request(IResource resource) {
+        pendingResources.add(resource);
+        validationJob.schedule(DELAY);
+    }
+
+    @Override
+    public void resourceChanged(IResourceChangeEvent event) {
+        if (event.getDelta() == null) {
+            return;
+        }
+        try {
+            event.getDelta().accept(new IResourceDeltaVisitor() {
+
+                @Override
+                public boolean visit(IResourceDelta delta) {
+                    IResource resource = delta.getResource();
+                    if (resource.getType() != IResource.FILE) {
+                        return true;
+                    }
+                    // marker changes, such as the ones made by the validation itself, do not change validity
+                    boolean changed = delta.getKind() == IResourceDelta.ADDED
+                            || delta.getKind() == IResourceDelta.REMOVED || (delta.getFlags()
+                                    & (IResourceDelta.CONTENT | IResourceDelta.REPLACED)) != 0;
+                    if (changed && isArtifactFile((IFile) resource)) {
+                        request(resource);
+                    }
+                    return false;
+                }
+            });
+        } catch (CoreException e) {
+            log.error("Error while processing resource changes", e);
+        }
+    }
+
+    private IStatus validatePendingResources(IProgressMonitor monitor) {
+        Set<IResource> changedResources = new HashSet<>();
+        IResource resource;
+        while (!monitor.isCanceled() && (resource = pendingResources.poll()) != null) {
+            if (resource instanceof IProject) {
+                validateProject((IProject) resource, changedResources, monitor);
+            } else if (resource instanceof IFile) {
+                validate((IFile) resource, changedResources);
+            }
+        }
+        if (!changedResources.isEmpty()) {
+            save();
+            for (Listener listener : listeners) {
+                listener.validityChanged(changedResources);
+            }
+        }
+        return monitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
+    }
+
+    private void validateProject(IProject project, Set<IResource> changedResources, IProgressMonitor monitor) {
+        if (!project.isOpen()) {
+            return;
+        }
+        IFolder synapseConfig = project.getFolder(SYNAPSE_CONFIG_PATH);
+        try {
+            for (String artifactFolder : ARTIFACT_FOLDERS) {
+                IFolder folder = synapseConfig.getFolder(artifactFolder);
+                if (!folder.exists()) {
+                    continue;
+                }
+                for (IResource member : folder.members()) {
+                    if (monitor.isCanceled()) {
+                        return;
+                    }
+                    if (member instanceof IFile && isArtifactFile((IFile) member)) {
+                        validate((IFile) member, changedResources);
+                    }
+                }
+            }
+        } catch (CoreException e) {
+            log.error("Error while validating the artifacts of " + project.getName(), e);
+        }
+    }
+
+    private void validate(IFile file, Set<IResource> changedResources) {
+        IPath path = file.getFullPath();
+        ValidationResult oldResult = results.get(path);
+        if (!file.exists()) {
+            if (oldResult != null) {
+                results.remove(path);
+                updateInvalidArtifactCounts(file, oldResult.valid, true, changedResources);
+            }
+            return;
+        }
+        long timeStamp = file.getLocalTimeStamp();
+        if (oldResult != null && oldResult.timeStamp == timeStamp) {
+            return;
+        }
+        String source;
+        try (InputStream inputStream = file.getContents()) {
+            source = IOUtils.toString(inputStream, file.getCharset());
+        } catch (CoreException | IOException e) {
+            log.error("Error while reading " + path, e);
+            return;
+        }
+        String contentHash = getContentHash(source);
+        boolean valid;
+        if (oldResult != null && contentHash.equals(oldResult.contentHash)) {
+            valid = oldResult.valid;
+        } else {
+            valid = isValid(file, source);
+        }
+        updateMarkers(file, valid);
+        results.put(path, new ValidationResult(timeStamp, contentHash, valid));
+        // the file was asked for before this result was known, so its label is refreshed even if it kept its validity
+        changedResources.add(file);
+        updateInvalidArtifactCounts(file, oldResult == null || oldResult.valid, valid, changedResources);
+    }
+
+    /**
+     * Validate the source of an artifact with the same validator as the
+     * {@link EsbArtifactBuilder}
+     */
+    private boolean isValid(IFile file, String source) {
+        try {
+            return new SynapseSourceValidator(source).validate() == null;
+        } catch (RuntimeException e) {
+            log.error("Error while validating " + file.getFullPath(), e);
+            return true;
+        }
+    }
+
+    private void updateMarkers(IFile file, boolean valid) {
+        try {
+            if (!valid) {
+                file.deleteMarkers(CAPP_NOT_ALLOWED, false, IResource.DEPTH_ZERO);
+                file.createMarker(CAPP_NOT_ALLOWED);
+            } else if (file.findMarkers(SOURCE_VIEW_ERROR, false, IResource.DEPTH_ZERO).length == 0) {
+                file.deleteMarkers(null, false, IResource.DEPTH_ZERO);
+            }
+        } catch (CoreException e) {
+            // ignore
+        }
+    }
+
+    /**
+     * Count an artifact which became valid or invalid in the folders and the
+     * project containing it
+     */
+    private void updateInvalidArtifactCounts(IFile file, boolean wasValid, boolean valid,
+            Set<IResource> changedResources) {
+        if (wasValid == valid) {
+            return;
+        }
+        changedResources.add(file);
+        synchronized (invalidArtifactCounts) {
+            for (IContainer container = file.getParent(); container != null
+                    && container.getType() != IResource.ROOT; container = container.getParent()) {
+                Integer count = invalidArtifactCounts.get(container.getFullPath());
+                int newCount = (count != null ? count : 0) + (valid ? -1 : 1);
+                if (newCount > 0) {
+                    invalidArtifactCounts.put(container.getFullPath(), newCount);
+                } else {
+                    invalidArtifactCounts.remove(container.getFullPath());
+                }
+                changedResources.add(container);
+            }
+        }
+    }
+
+    private static String getContentHash(String source) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(source.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hash = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hash.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hash.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform has SHA-1
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private File getCacheFile() {
+        return Activator.getDefault().getStateLocation().append(CACHE_FILE).toFile();
+    }
+
+    /**
+     * Read the results saved by an earlier session, dropping the ones of files
+     * which no longer exist
+     */
+    private void load() {
+        File cacheFile = getCacheFile();
+        if (!cacheFile.exists()) {
+            return;
+        }
+        Properties properties = new Properties();
+        try (InputStream inputStream = new FileInputStream(cacheFile)) {
+            properties.load(inputStream);
+        } catch (IOException e) {
+            log.error("Error while reading the artifact validation cache", e);
+            return;
+        }
+        IWorkspaceRoot root = ResourcesPlugin.getWorkspace().getRoot();
+        Set<IResource> changedResources = new HashSet<>();
+        for (String key : properties.stringPropertyNames()) {
+            String[] values = properties.getProperty(key).split(",");
+            IFile file = root.getFile(new Path(key));
+            if (values.length != 3 || !file.exists()) {
+                continue;
+            }
+            try {
+                boolean valid = Boolean.parseBoolean(values[2]);
+                results.put(file.getFullPath(), new ValidationResult(Long.parseLong(values[0]), values[1], valid));
+                updateInvalidArtifactCounts(file, true, valid, changedResources);
+            } catch (NumberFormatException e) {
+                // skip a damaged entry, the file is validated again
+            }
+        }
+    }
+
+    private void save() {
+        Properties properties = new Properties();
+        for (Map.Entry<IPath, ValidationResult> entry : results.entrySet()) {
+            ValidationResult result = entry.getValue();
+            properties.setProperty(entry.getKey().toString(),
+                    result.timeStamp + "," + result.contentHash + "," + result.valid);
+        }
+        try (OutputStream outputStream = new FileOutputStream(getCacheFile())) {
+            properties.store(outputStream, null);
+        } catch (IOException e) {
+            log.error("Error while saving the artifact validation cache", e);
+        }
+    }
+
+    /**
+     * Validity of a file with the time stamp and content hash it was
+     * validated with
+     */
+    private static class ValidationResult {
+
+        private final long timeStamp;
+        private final String contentHash;
+        private final boolean valid;
+
+        ValidationResult(long timeStamp, String contentHash, boolean valid) {
+            this.timeStamp = timeStamp;
+            this.contentHash = contentHash;
+            this.valid = valid;
+        }
+    }
+
+}
@@ -0,0 +1,231 @@
+/*
+*  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing,
+* software distributed under the License is distributed on an
+* "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+* KIND, either express or implied.  See the License for the
+* specific language governing permissions and limitations
+* under the License.
+*/
+
+package org.wso2.developerstudio.eclipse.gmf.esb.diagram.validator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.IOUtils;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IResourceDeltaVisitor;
+import org.eclipse.core.resources.IResourceVisitor;
+import org.eclipse.core.resources.IncrementalProjectBuilder;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.SubMonitor;
+import org.wso2.developerstudio.eclipse.gmf.esb.diagram.Activator;
+import org.wso2.developerstudio.eclipse.logging.core.IDeveloperStudioLog;
+import org.wso2.developerstudio.eclipse.logging.core.Logger;
+
+/**
+ * Validates the artifacts of ESB projects and reports their errors as problem
+ * markers.
+ *
+ * A full build validates every artifact of the synapse configuration, an
+ * incremental build only the artifacts added or changed since the last build.
+ * Artifacts are read and validated with their Synapse factories on a pool of
+ * worker threads, while the markers are written by the build thread, which
+ * holds the workspace rule of the build. A cancelled build forgets its state,
+ * so the next build validates the whole project again.
+ */
+public class EsbArtifactBuilder extends IncrementalProjectBuilder {
+
+    public static final String BUILDER_ID = Activator.PLUGIN_ID + ".esbArtifactBuilder";
+    public static final String MARKER_TYPE = Activator.PLUGIN_ID + ".esbArtifactProblem";
+
+    private static final String SYNAPSE_CONFIG_PATH = "src/main/synapse-config";
+
+    private static IDeveloperStudioLog log = Logger.getLog(Activator.PLUGIN_ID);
+
+    @Override
+    protected IProject[] build(int kind, Map<String, String> args, IProgressMonitor monitor) throws CoreException {
+        IResourceDelta delta = kind != FULL_BUILD ? getDelta(getProject()) : null;
+        List<IFile> artifacts = delta != null ? getChangedArtifacts(delta) : getArtifacts();
+        if (!artifacts.isEmpty()) {
+            validate(artifacts, monitor);
+        }
+        return null;
+    }
+
+    @Override
+    protected void clean(IProgressMonitor monitor) throws CoreException {
+        getProject().deleteMarkers(MARKER_TYPE, false, IResource.DEPTH_INFINITE);
+    }
+
+    private List<IFile> getArtifacts() throws CoreException {
+        final List<IFile> artifacts = new ArrayList<>();
+        IFolder synapseConfig = getProject().getFolder(SYNAPSE_CONFIG_PATH);
+        if (synapseConfig.exists()) {
+            synapseConfig.accept(new IResourceVisitor() {
+
+                @Override
+                public boolean visit(IResource resource) {
+                    if (resource instanceof IFile && ArtifactValidationCache.isArtifactFile((IFile) resource)) {
+                        artifacts.add((IFile) resource);
+                    }
+                    return true;
+                }
+            });
+        }
+        return artifacts;
+    }
+
+    /**
+     * Artifacts added or changed since the last build, the markers of removed
+     * artifacts are removed with them
+     */
+    private List<IFile> getChangedArtifacts(IResourceDelta delta) throws CoreException {
+        final List<IFile> artifacts = new ArrayList<>();
+        delta.accept(new IResourceDeltaVisitor() {
+
+            @Override
+            public boolean visit(IResourceDelta delta) {
+                IResource resource = delta.getResource();
+                if (resource.getType() != IResource.FILE) {
+                    return true;
+                }
+                boolean changed = delta.getKind() == IResourceDelta.ADDED || (delta.getKind() == IResourceDelta.CHANGED
+                        && (delta.getFlags() & (IResourceDelta.CONTENT | IResourceDelta.REPLACED)) != 0);
+                if (changed && ArtifactValidationCache.isArtifactFile((IFile) resource)) {
+                    artifacts.add((IFile) resource);
+                }
+                return false;
+            }
+        });
+        return artifacts;
+    }
+
+    private void validate(List<IFile> artifacts, IProgressMonitor monitor) throws CoreException {
+        SubMonitor progress = SubMonitor.convert(monitor, "Validating ESB artifacts", artifacts.size());
+        if (artifacts.size() == 1) {
+            IFile artifact = artifacts.get(0);
+            updateMarkers(artifact, validate(artifact));
+            return;
+        }
+        int threads = Math.min(artifacts.size(), Runtime.getRuntime().availableProcessors());
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CompletionService<Result> completionService = new ExecutorCompletionService<>(executor);
+            for (final IFile artifact : artifacts) {
+                completionService.submit(new Callable<Result>() {
+
+                    @Override
+                    public Result call() {
+                        return new Result(artifact, validate(artifact));
+                    }
+                });
+            }
+            for (int i = 0; i < artifacts.size(); i++) {
+                Future<Result> future;
+                // wake up now and then to notice a cancelled or interrupted build
+                while ((future = completionService.poll(100, TimeUnit.MILLISECONDS)) == null) {
+                    checkCancelled(progress);
+                }
+                checkCancelled(progress);
+                Result result = future.get();
+                updateMarkers(result.artifact, result.errors);
+                progress.worked(1);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            forgetLastBuiltState();
+            throw new OperationCanceledException();
+        } catch (ExecutionException e) {
+            log.error("Error while validating the artifacts of " + getProject().getName(), e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void checkCancelled(IProgressMonitor monitor) {
+        if (monitor.isCanceled() || isInterrupted()) {
+            forgetLastBuiltState();
+            throw new OperationCanceledException();
+        }
+    }
+
+    /**
+     * Validate an artifact, without touching the workspace
+     *
+     * @return errors of the artifact, or null if it could not be read
+     */
+    private List<SourceError> validate(IFile artifact) {
+        String source;
+        try (InputStream inputStream = artifact.getContents(true)) {
+            source = IOUtils.toString(inputStream, artifact.getCharset());
+        } catch (CoreException | IOException e) {
+            log.error("Error while reading " + artifact.getFullPath(), e);
+            return null;
+        }
+        try {
+            return new SynapseSourceValidator(source).validateAll();
+        } catch (RuntimeException e) {
+            log.error("Error while validating " + artifact.getFullPath(), e);
+            return Collections.emptyList();
+        }
+    }
+
+    private void updateMarkers(IFile artifact, List<SourceError> errors) throws CoreException {
+        if (errors == null || !artifact.exists()) {
+            return;
+        }
+        artifact.deleteMarkers(MARKER_TYPE, false, IResource.DEPTH_ZERO);
+        for (SourceError error : errors) {
+            IMarker marker = artifact.createMarker(MARKER_TYPE);
+            marker.setAttribute(IMarker.SEVERITY, IMarker.SEVERITY_ERROR);
+            marker.setAttribute(IMarker.MESSAGE, error.getException());
+            marker.setAttribute(IMarker.LINE_NUMBER, Math.max(error.getLineNumber(), 1));
+            marker.setAttribute(IMarker.CHAR_START, error.getStartChar());
+            marker.setAttribute(IMarker.CHAR_END, Math.max(error.getEndChar(), error.getStartChar() + 1));
+        }
+    }
+
+    /**
+     * Errors found in an artifact by a worker thread
+     */
+    private static class Result {
+
+        private final IFile artifact;
+        private final List<SourceError> errors;
+
+        Result(IFile artifact, List<SourceError> errors) {
+            this.artifact = artifact;
+            this.errors = errors;
+        }
+    }
+
+}
@@ -0,0 +1,115 @@
+/*
+*  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing,
+* software distributed under the License is distributed on an
+* "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+* KIND, either express or implied.  See the License for the
+* specific language governing permissions and limitations
+* under the License.
+*/
+
+package org.wso2.developerstudio.eclipse.gmf.esb.diagram.validator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.resources.WorkspaceJob;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.wso2.developerstudio.eclipse.esb.project.utils.ESBProjectUtils;
+import org.wso2.developerstudio.eclipse.gmf.esb.diagram.Activator;
+import org.wso2.developerstudio.eclipse.logging.core.IDeveloperStudioLog;
+import org.wso2.developerstudio.eclipse.logging.core.Logger;
+
+/**
+ * Adds the {@link EsbArtifactBuilder} to ESB projects created before it
+ * existed, which only get it from their nature when it is configured.
+ *
+ * The projects open at startup are checked once, and every project when it is
+ * opened afterwards. Only the description of an ESB project which lacks the
+ * builder is written, and this is logged; any other project is left as it is.
+ */
+public class EsbArtifactBuilderInstaller implements IResourceChangeListener {
+
+    private static final String ESB_PROJECT_NATURE = "org.wso2.developerstudio.eclipse.esb.project.nature";
+
+    private static IDeveloperStudioLog log = Logger.getLog(Activator.PLUGIN_ID);
+
+    private static EsbArtifactBuilderInstaller instance;
+
+    private EsbArtifactBuilderInstaller() {
+    }
+
+    public static synchronized void install() {
+        if (instance == null) {
+            instance = new EsbArtifactBuilderInstaller();
+            ResourcesPlugin.getWorkspace().addResourceChangeListener(instance, IResourceChangeEvent.POST_CHANGE);
+            schedule(Arrays.asList(ResourcesPlugin.getWorkspace().getRoot().getProjects()));
+        }
+    }
+
+    @Override
+    public void resourceChanged(IResourceChangeEvent event) {
+        if (event.getDelta() == null) {
+            return;
+        }
+        List<IProject> openedProjects = new ArrayList<>();
+        for (IResourceDelta delta : event.getDelta().getAffectedChildren()) {
+            IResource resource = delta.getResource();
+            if ((delta.getFlags() & IResourceDelta.OPEN) != 0 || delta.getKind() == IResourceDelta.ADDED) {
+                openedProjects.add((IProject) resource);
+            }
+        }
+        if (!openedProjects.isEmpty()) {
+            schedule(openedProjects);
+        }
+    }
+
+    /**
+     * The workspace is locked while resource changes are reported, so the
+     * project descriptions are written by a job
+     */
+    private static void schedule(final List<IProject> projects) {
+        WorkspaceJob job = new WorkspaceJob("Adding the ESB artifact builder") {
+
+            @Override
+            public IStatus runInWorkspace(IProgressMonitor monitor) {
+                for (IProject project : projects) {
+                    try {
+                        addBuilder(project);
+                    } catch (CoreException e) {
+                        log.error("Error while adding the ESB artifact builder to " + project.getName(), e);
+                    }
+                }
+                return Status.OK_STATUS;
+            }
+        };
+        job.setSystem(true);
+        job.setRule(ResourcesPlugin.getWorkspace().getRoot());
+        job.schedule();
+    }
+
+    private static void addBuilder(IProject project) throws CoreException {
+        if (project.isOpen() && project.hasNature(ESB_PROJECT_NATURE)) {
+            ESBProjectUtils.addArtifactBuilder(project);
+        }
+    }
+
+}
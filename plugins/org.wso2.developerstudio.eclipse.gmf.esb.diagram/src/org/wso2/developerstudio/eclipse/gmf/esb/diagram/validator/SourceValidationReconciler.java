@@ -0,0 +1,453 @@
+/*
+*  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing,
+* software distributed under the License is distributed on an
+* "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+* KIND, either express or implied.  See the License for the
+* specific language governing permissions and limitations
+* under the License.
+*/
+
+package org.wso2.developerstudio.eclipse.gmf.esb.diagram.validator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.BadPositionCategoryException;
+import org.eclipse.jface.text.DefaultPositionUpdater;
+import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentListener;
+import org.eclipse.jface.text.IPositionUpdater;
+import org.eclipse.jface.text.Position;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.ui.texteditor.MarkerUtilities;
+import org.wso2.developerstudio.eclipse.gmf.esb.diagram.Activator;
+import org.wso2.developerstudio.eclipse.gmf.esb.diagram.validator.SynapseSourceValidator.ValidatedElement;
+import org.wso2.developerstudio.eclipse.logging.core.IDeveloperStudioLog;
+import org.wso2.developerstudio.eclipse.logging.core.Logger;
+
+/**
+ * Validates the source view while it is being edited.
+ *
+ * The reconciler keeps the artifacts and mediators found by the last
+ * validations as positions of the document, so they move along with edits.
+ * Each edit marks the innermost element it falls into, and a short while after
+ * the last edit only the marked elements are validated again, in the
+ * background, each on its own with the factory of its artifact or mediator.
+ * The whole document is validated only when an edit falls outside of every
+ * known element, such as the first edit after the document was loaded.
+ *
+ * Errors are published as markers of the edited file, and validating an
+ * element replaces just the markers within it. All state of the reconciler is
+ * accessed in the UI thread, the background job works on copies of the text.
+ */
+public class SourceValidationReconciler implements IDocumentListener {
+
+    private static final String ELEMENTS = SourceValidationReconciler.class.getName() + ".elements";
+    private static final String ERRORS = SourceValidationReconciler.class.getName() + ".errors";
+
+    /**
+     * Time to wait after an edit before validating, in milliseconds
+     */
+    private static final long DELAY = 500;
+
+    private static IDeveloperStudioLog log = Logger.getLog(Activator.PLUGIN_ID);
+
+    private final IDocument document;
+    private final IFile file;
+    private final String markerType;
+    private final IPositionUpdater elementUpdater = new DefaultPositionUpdater(ELEMENTS);
+    private final IPositionUpdater errorUpdater = new DefaultPositionUpdater(ERRORS);
+    private final Job validationJob;
+
+    /**
+     * Artifacts of the document, null until the whole document is validated
+     */
+    private List<ElementPosition> elements;
+    private final Set<ElementPosition> dirtyElements = Collections
+            .newSetFromMap(new IdentityHashMap<ElementPosition, Boolean>());
+    private boolean documentDirty;
+    private final List<ErrorPosition> errors = new ArrayList<>();
+    private boolean replacingDocument;
+    private long modificationCount;
+    private boolean disposed;
+
+    /**
+     * @param document
+     *            document of the source view
+     * @param file
+     *            file edited in the source view, which gets the markers
+     * @param markerType
+     *            type of the markers to create
+     */
+    public SourceValidationReconciler(IDocument document, IFile file, String markerType) {
+        this.document = document;
+        this.file = file;
+        this.markerType = markerType;
+        validationJob = new Job("Validating source") {
+
+            @Override
+            protected IStatus run(IProgressMonitor monitor) {
+                return validate(monitor);
+            }
+        };
+        validationJob.setSystem(true);
+        validationJob.setPriority(Job.DECORATE);
+    }
+
+    /**
+     * Start following the changes of the document
+     */
+    public void install() {
+        document.addPositionCategory(ELEMENTS);
+        document.addPositionCategory(ERRORS);
+        document.addPositionUpdater(elementUpdater);
+        document.addPositionUpdater(errorUpdater);
+        document.addDocumentListener(this);
+    }
+
+    /**
+     * Stop following the document and remove the markers of the reconciler
+     */
+    public void dispose() {
+        disposed = true;
+        validationJob.cancel();
+        document.removeDocumentListener(this);
+        reset();
+        document.removePositionUpdater(elementUpdater);
+        document.removePositionUpdater(errorUpdater);
+        try {
+            document.removePositionCategory(ELEMENTS);
+            document.removePositionCategory(ERRORS);
+        } catch (BadPositionCategoryException e) {
+            // already removed
+        }
+    }
+
+    /**
+     * Forget the validated elements and remove the markers of the reconciler,
+     * when the source view was validated as a whole by other means. The next
+     * edit validates the whole document again.
+     */
+    public void reset() {
+        validationJob.cancel();
+        modificationCount++;
+        removeElements(elements);
+        elements = null;
+        dirtyElements.clear();
+        documentDirty = false;
+        removeErrors(0, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public void documentAboutToBeChanged(DocumentEvent event) {
+        replacingDocument = event.getOffset() == 0 && event.getLength() == document.getLength();
+    }
+
+    @Override
+    public void documentChanged(DocumentEvent event) {
+        // the editor validates a source it loads into the source view itself
+        if (replacingDocument) {
+            reset();
+            return;
+        }
+        modificationCount++;
+        int start = event.getOffset();
+        int end = start + (event.getText() != null ? event.getText().length() : 0);
+        ElementPosition element = elements != null ? findElement(elements, start, end) : null;
+        if (element != null) {
+            dirtyElements.add(element);
+        } else {
+            documentDirty = true;
+        }
+        validationJob.cancel();
+        validationJob.schedule(DELAY);
+    }
+
+    /**
+     * Innermost element strictly enclosing a range, edits of the first or the
+     * last character of an element belong to the element enclosing it
+     */
+    private ElementPosition findElement(List<ElementPosition> siblings, int start, int end) {
+        int low = 0;
+        int high = siblings.size() - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            ElementPosition sibling = siblings.get(middle);
+            if (sibling.getOffset() < start) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        // the last element starting before the range is the only one which may enclose it
+        if (high < 0) {
+            return null;
+        }
+        ElementPosition element = siblings.get(high);
+        if (element.isDeleted() || end >= element.getOffset() + element.getLength()) {
+            return null;
+        }
+        ElementPosition child = findElement(element.children, start, end);
+        return child != null ? child : element;
+    }
+
+    private IStatus validate(IProgressMonitor monitor) {
+        final List<ValidationUnit> units = new ArrayList<>();
+        final long[] count = new long[1];
+        Display.getDefault().syncExec(new Runnable() {
+
+            @Override
+            public void run() {
+                if (!disposed) {
+                    count[0] = modificationCount;
+                    units.addAll(createValidationUnits());
+                }
+            }
+        });
+        for (ValidationUnit unit : units) {
+            if (monitor.isCanceled()) {
+                return Status.CANCEL_STATUS;
+            }
+            SynapseSourceValidator validator = new SynapseSourceValidator(unit.text, unit.context, unit.offset,
+                    unit.lineNumber);
+            try {
+                unit.errors = validator.validateAll();
+                unit.validatedElements = validator.getValidatedElements();
+            } catch (RuntimeException e) {
+                log.error("Error while validating the source view", e);
+                unit.errors = Collections.emptyList();
+                unit.validatedElements = Collections.emptyList();
+            }
+        }
+        if (units.isEmpty() || monitor.isCanceled()) {
+            return Status.OK_STATUS;
+        }
+        Display.getDefault().asyncExec(new Runnable() {
+
+            @Override
+            public void run() {
+                // results of an older text are dropped, the job is scheduled again for the newer one
+                if (!disposed && count[0] == modificationCount) {
+                    apply(units);
+                }
+            }
+        });
+        return Status.OK_STATUS;
+    }
+
+    /**
+     * Copy the parts of the document to be validated
+     */
+    private List<ValidationUnit> createValidationUnits() {
+        List<ValidationUnit> units = new ArrayList<>();
+        if (documentDirty || elements == null) {
+            if (documentDirty) {
+                units.add(new ValidationUnit(null, document.get(), "", 0, 1));
+            }
+            return units;
+        }
+        try {
+            for (ElementPosition element : dirtyElements) {
+                if (!element.isDeleted() && !hasDirtyParent(element)) {
+                    units.add(new ValidationUnit(element, document.get(element.getOffset(), element.getLength()),
+                            element.context, element.getOffset(), document.getLineOfOffset(element.getOffset()) + 1));
+                }
+            }
+        } catch (BadLocationException e) {
+            units.clear();
+            units.add(new ValidationUnit(null, document.get(), "", 0, 1));
+        }
+        return units;
+    }
+
+    private boolean hasDirtyParent(ElementPosition element) {
+        for (ElementPosition parent = element.parent; parent != null; parent = parent.parent) {
+            if (dirtyElements.contains(parent)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Replace the elements and markers of the validated parts of the document
+     */
+    private void apply(List<ValidationUnit> units) {
+        for (ValidationUnit unit : units) {
+            if (unit.element == null) {
+                removeElements(elements);
+                elements = createElements(unit.validatedElements, null);
+                dirtyElements.clear();
+                documentDirty = false;
+                removeErrors(0, Integer.MAX_VALUE);
+            } else {
+                ElementPosition element = unit.element;
+                removeElements(element.children);
+                // the element itself stays known even if it no longer parses
+                List<ValidatedElement> validatedElements = unit.validatedElements;
+                if (validatedElements.size() == 1 && validatedElements.get(0).getStart() == element.getOffset()
+                        && validatedElements.get(0).getEnd() == element.getOffset() + element.getLength()) {
+                    validatedElements = validatedElements.get(0).getChildren();
+                }
+                element.children = createElements(validatedElements, element);
+                dirtyElements.remove(element);
+                removeErrors(element.getOffset(), element.getOffset() + element.getLength());
+            }
+            for (SourceError error : unit.errors) {
+                addError(error);
+            }
+        }
+    }
+
+    private List<ElementPosition> createElements(List<ValidatedElement> validatedElements, ElementPosition parent) {
+        List<ElementPosition> positions = new ArrayList<>(validatedElements.size());
+        for (ValidatedElement validatedElement : validatedElements) {
+            ElementPosition position = new ElementPosition(validatedElement.getStart(),
+                    validatedElement.getEnd() - validatedElement.getStart(), validatedElement.getContext(), parent);
+            try {
+                document.addPosition(ELEMENTS, position);
+            } catch (BadLocationException | BadPositionCategoryException e) {
+                log.error("Error while tracking an element of the source view", e);
+                continue;
+            }
+            position.children = createElements(validatedElement.getChildren(), position);
+            positions.add(position);
+        }
+        return positions;
+    }
+
+    private void removeElements(List<ElementPosition> positions) {
+        if (positions == null) {
+            return;
+        }
+        for (ElementPosition position : positions) {
+            removeElements(position.children);
+            try {
+                document.removePosition(ELEMENTS, position);
+            } catch (BadPositionCategoryException e) {
+                // already removed
+            }
+        }
+    }
+
+    private void addError(SourceError error) {
+        int start = error.getStartChar();
+        int end = error.getStartChar() != error.getEndChar() ? error.getEndChar() : error.getEndChar() + 1;
+        try {
+            IMarker marker = file.createMarker(markerType);
+            marker.setAttribute(IMarker.SEVERITY, IMarker.SEVERITY_ERROR);
+            marker.setAttribute(IMarker.MESSAGE, error.getException());
+            MarkerUtilities.setLineNumber(marker, error.getLineNumber());
+            marker.setAttribute(IMarker.CHAR_START, start);
+            marker.setAttribute(IMarker.CHAR_END, end);
+
+            ErrorPosition position = new ErrorPosition(start, Math.max(0, Math.min(end, document.getLength()) - start),
+                    marker);
+            document.addPosition(ERRORS, position);
+            errors.add(position);
+        } catch (CoreException | BadLocationException | BadPositionCategoryException e) {
+            log.error("Error while adding a marker to the source view", e);
+        }
+    }
+
+    /**
+     * Remove the markers overlapping a range
+     */
+    private void removeErrors(int start, int end) {
+        for (Iterator<ErrorPosition> iterator = errors.iterator(); iterator.hasNext();) {
+            ErrorPosition position = iterator.next();
+            if (position.isDeleted() || position.overlapsWith(start, end - start)
+                    || (position.getLength() == 0 && position.getOffset() >= start && position.getOffset() <= end)) {
+                try {
+                    position.marker.delete();
+                } catch (CoreException e) {
+                    // the marker is already gone
+                }
+                try {
+                    document.removePosition(ERRORS, position);
+                } catch (BadPositionCategoryException e) {
+                    // already removed
+                }
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * An artifact or mediator of the document
+     */
+    private static class ElementPosition extends Position {
+
+        private final String context;
+        private final ElementPosition parent;
+        private List<ElementPosition> children = Collections.emptyList();
+
+        ElementPosition(int offset, int length, String context, ElementPosition parent) {
+            super(offset, length);
+            this.context = context;
+            this.parent = parent;
+        }
+    }
+
+    /**
+     * Range of the document a marker was created for
+     */
+    private static class ErrorPosition extends Position {
+
+        private final IMarker marker;
+
+        ErrorPosition(int offset, int length, IMarker marker) {
+            super(offset, length);
+            this.marker = marker;
+        }
+    }
+
+    /**
+     * Part of the document validated on its own, with the results of the
+     * validation
+     */
+    private static class ValidationUnit {
+
+        /**
+         * Element being validated, null for the whole document
+         */
+        private final ElementPosition element;
+        private final String text;
+        private final String context;
+        private final int offset;
+        private final int lineNumber;
+        private List<SourceError> errors;
+        private List<ValidatedElement> validatedElements;
+
+        ValidationUnit(ElementPosition element, String text, String context, int offset, int lineNumber) {
+            this.element = element;
+            this.text = text;
+            this.context = context;
+            this.offset = offset;
+            this.lineNumber = lineNumber;
+        }
+    }
+
+}
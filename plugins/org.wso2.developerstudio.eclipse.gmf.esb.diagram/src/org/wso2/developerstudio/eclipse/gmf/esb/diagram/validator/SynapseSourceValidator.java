@@ -0,0 +1,792 @@
+/*
+*  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing,
+* software distributed under the License is distributed on an
+* "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+* KIND, either express or implied.  See the License for the
+* specific language governing permissions and limitations
+* under the License.
+*/
+
+package org.wso2.developerstudio.eclipse.gmf.esb.diagram.validator;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.Location;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.apache.axiom.om.OMAbstractFactory;
+import org.apache.axiom.om.OMElement;
+import org.apache.axiom.om.OMFactory;
+import org.apache.axiom.om.OMNamespace;
+import org.apache.axiom.om.util.StAXUtils;
+import org.apache.synapse.SynapseConstants;
+import org.apache.synapse.SynapseException;
+import org.apache.synapse.config.xml.AggregateMediatorFactory;
+import org.apache.synapse.config.xml.CallMediatorFactory;
+import org.apache.synapse.config.xml.CalloutMediatorFactory;
+import org.apache.synapse.config.xml.CloneMediatorFactory;
+import org.apache.synapse.config.xml.ConditionalRouterMediatorFactory;
+import org.apache.synapse.config.xml.DBLookupMediatorFactory;
+import org.apache.synapse.config.xml.DBReportMediatorFactory;
+import org.apache.synapse.config.xml.DropMediatorFactory;
+import org.apache.synapse.config.xml.EnqueueMediatorFactory;
+import org.apache.synapse.config.xml.EnrichMediatorFactory;
+import org.apache.synapse.config.xml.FaultMediatorFactory;
+import org.apache.synapse.config.xml.FilterMediatorFactory;
+import org.apache.synapse.config.xml.ForEachMediatorFactory;
+import org.apache.synapse.config.xml.HeaderMediatorFactory;
+import org.apache.synapse.config.xml.InvokeMediatorFactory;
+import org.apache.synapse.config.xml.IterateMediatorFactory;
+import org.apache.synapse.config.xml.LogMediatorFactory;
+import org.apache.synapse.config.xml.LoopBackMediatorFactory;
+import org.apache.synapse.config.xml.MediatorFactory;
+import org.apache.synapse.config.xml.MediatorFactoryFinder;
+import org.apache.synapse.config.xml.MessageStoreMediatorFactory;
+import org.apache.synapse.config.xml.PayloadFactoryMediatorFactory;
+import org.apache.synapse.config.xml.PropertyMediatorFactory;
+import org.apache.synapse.config.xml.ProxyServiceFactory;
+import org.apache.synapse.config.xml.RespondMediatorFactory;
+import org.apache.synapse.config.xml.SendMediatorFactory;
+import org.apache.synapse.config.xml.SequenceMediatorFactory;
+import org.apache.synapse.config.xml.SwitchMediatorFactory;
+import org.apache.synapse.config.xml.TemplateMediatorFactory;
+import org.apache.synapse.config.xml.TransactionMediatorFactory;
+import org.apache.synapse.config.xml.URLRewriteMediatorFactory;
+import org.apache.synapse.config.xml.ValidateMediatorFactory;
+import org.apache.synapse.config.xml.XSLTMediatorFactory;
+import org.apache.synapse.config.xml.endpoints.EndpointFactory;
+import org.apache.synapse.config.xml.rest.APIFactory;
+import org.apache.synapse.mediators.bsf.ScriptMediatorFactory;
+import org.apache.synapse.mediators.spring.SpringMediatorFactory;
+import org.apache.synapse.mediators.throttle.ThrottleMediatorFactory;
+import org.apache.synapse.mediators.xquery.XQueryMediatorFactory;
+import org.apache.synapse.task.SynapseTaskException;
+import org.wso2.carbon.identity.entitlement.mediator.config.xml.EntitlementMediatorFactory;
+import org.wso2.carbon.identity.oauth.mediator.config.xml.OAuthMediatorFactory;
+import org.wso2.carbon.mediator.cache.CacheMediatorFactory;
+import org.wso2.carbon.mediator.datamapper.config.xml.DataMapperMediatorFactory;
+import org.wso2.carbon.mediator.event.xml.EventMediatorFactory;
+import org.wso2.carbon.mediator.fastXSLT.config.xml.FastXSLTMediatorFactory;
+import org.wso2.carbon.mediator.publishevent.PublishEventMediatorFactory;
+import org.wso2.carbon.mediator.service.MediatorException;
+import org.wso2.carbon.mediator.transform.xml.SmooksMediatorFactory;
+import org.wso2.carbon.rule.mediator.RuleMediatorFactory;
+import org.wso2.developerstudio.eclipse.gmf.esb.diagram.custom.deserializer.BamMediatorExtFactory;
+import org.wso2.developerstudio.eclipse.gmf.esb.diagram.custom.deserializer.BeanMediatorExtFactory;
+import org.wso2.developerstudio.eclipse.gmf.esb.diagram.custom.deserializer.BuilderMediatorExtFactory;
+import org.wso2.developerstudio.eclipse.gmf.esb.diagram.custom.deserializer.ClassMediatorExtFactory;
+import org.wso2.developerstudio.eclipse.gmf.esb.diagram.custom.deserializer.DummyInboundEndpointFactory;
+import org.wso2.developerstudio.eclipse.gmf.esb.diagram.custom.deserializer.DummyMediatorFactoryFinder;
+import org.wso2.developerstudio.eclipse.gmf.esb.diagram.custom.deserializer.DummyMessageProcessorFactory;
+import org.wso2.developerstudio.eclipse.gmf.esb.diagram.custom.deserializer.DummyMessageStoreFactory;
+import org.wso2.developerstudio.eclipse.gmf.esb.diagram.custom.deserializer.DummyTaskDescriptionFactory;
+import org.wso2.developerstudio.eclipse.gmf.esb.diagram.custom.deserializer.EJBMediatorExtFactory;
+import org.wso2.developerstudio.eclipse.gmf.esb.diagram.custom.deserializer.EntryExtFactory;
+import org.wso2.developerstudio.eclipse.gmf.esb.diagram.custom.deserializer.POJOCommandMediatorExtFactory;
+
+/**
+ * Validates the synapse content of the source view in a single streaming pass.
+ *
+ * The source is read with a StAX parser which builds the configuration and
+ * records where each element starts. Every mediator is checked with its
+ * factory as soon as its end tag is read, so mediators are checked innermost
+ * first and the first error found is reported at the name of the element it
+ * belongs to. Malformed XML, such as a closing tag which does not match its
+ * starting tag, is reported where the parser stopped.
+ *
+ * A validator can also check a single element of a larger source, such as a
+ * mediator which was edited, given the start tags of the elements enclosing
+ * it. The enclosing elements are only used to give the element its place in
+ * the configuration and are not checked themselves. Along with the errors, the
+ * validator records where each of the elements it checked starts and ends, so
+ * that an editor can later check just the elements an edit falls into.
+ *
+ * A validator holds the state of one validation and is used once.
+ */
+public class SynapseSourceValidator {
+
+    private static final String DEFINITIONS = "definitions";
+    private static final String LOCAL_ENTRY = "localEntry";
+    private static final String SEQUENCE = "sequence";
+    private static final String SCRIPT = "script";
+    private static final String INVALID_MEDIATOR = "Invalid mediator ";
+
+    private static final Set<String> ARTIFACTS = new HashSet<>(Arrays.asList("api", "proxy", "endpoint",
+            "inboundEndpoint", LOCAL_ENTRY, "messageProcessor", "messageStore", SEQUENCE, "task", "template"));
+
+    /**
+     * Elements whose children are mediators
+     */
+    private static final Set<String> MEDIATOR_LISTS = new HashSet<>(Arrays.asList(SEQUENCE, "inSequence",
+            "outSequence", "faultSequence", "then", "else", "in", "out", "filter", "onComplete", "onAccept",
+            "onReject", "onCacheHit", "obligations", "advice", "on-fail"));
+
+    /**
+     * Elements whose children are mediators only within a switch mediator, a
+     * default element of an endpoint holds its settings
+     */
+    private static final Set<String> SWITCH_CASES = new HashSet<>(Arrays.asList("case", "default"));
+    private static final String SWITCH = "switch";
+
+    /**
+     * Elements which may appear among mediators without being mediators
+     */
+    private static final Set<String> INTERMEDIARY = new HashSet<>(Arrays.asList("description", "then", "else",
+            "case", "default", "in", "out", "parameter", "policy"));
+
+    private static final Map<String, Class<? extends MediatorFactory>> MEDIATOR_FACTORIES;
+
+    static {
+        Map<String, Class<? extends MediatorFactory>> factories = new HashMap<>();
+        factories.put("log", LogMediatorFactory.class);
+        factories.put("enqueue", EnqueueMediatorFactory.class);
+        factories.put("send", SendMediatorFactory.class);
+        factories.put("loopback", LoopBackMediatorFactory.class);
+        factories.put("call", CallMediatorFactory.class);
+        factories.put("respond", RespondMediatorFactory.class);
+        factories.put("event", EventMediatorFactory.class);
+        factories.put("drop", DropMediatorFactory.class);
+        factories.put("enrich", EnrichMediatorFactory.class);
+        factories.put("property", PropertyMediatorFactory.class);
+        factories.put("filter", FilterMediatorFactory.class);
+        factories.put("call-template", InvokeMediatorFactory.class);
+        factories.put(SEQUENCE, SequenceMediatorFactory.class);
+        factories.put("store", MessageStoreMediatorFactory.class);
+        factories.put("switch", SwitchMediatorFactory.class);
+        factories.put("validate", ValidateMediatorFactory.class);
+        factories.put("conditionalRouter", ConditionalRouterMediatorFactory.class);
+        factories.put("bean", BeanMediatorExtFactory.class);
+        factories.put("class", ClassMediatorExtFactory.class);
+        factories.put("pojoCommand", POJOCommandMediatorExtFactory.class);
+        factories.put("ejb", EJBMediatorExtFactory.class);
+        factories.put(SCRIPT, ScriptMediatorFactory.class);
+        factories.put("spring", SpringMediatorFactory.class);
+        factories.put("makefault", FaultMediatorFactory.class);
+        factories.put("header", HeaderMediatorFactory.class);
+        factories.put("payloadFactory", PayloadFactoryMediatorFactory.class);
+        factories.put("smooks", SmooksMediatorFactory.class);
+        factories.put("rewrite", URLRewriteMediatorFactory.class);
+        factories.put("xquery", XQueryMediatorFactory.class);
+        factories.put("xslt", XSLTMediatorFactory.class);
+        factories.put("datamapper", DataMapperMediatorFactory.class);
+        factories.put("fastXSLT", FastXSLTMediatorFactory.class);
+        factories.put("cache", CacheMediatorFactory.class);
+        factories.put("dbreport", DBReportMediatorFactory.class);
+        factories.put("dblookup", DBLookupMediatorFactory.class);
+        factories.put("throttle", ThrottleMediatorFactory.class);
+        factories.put("transaction", TransactionMediatorFactory.class);
+        factories.put("aggregate", AggregateMediatorFactory.class);
+        factories.put("callout", CalloutMediatorFactory.class);
+        factories.put("clone", CloneMediatorFactory.class);
+        factories.put("iterate", IterateMediatorFactory.class);
+        factories.put("foreach", ForEachMediatorFactory.class);
+        factories.put("entitlementService", EntitlementMediatorFactory.class);
+        factories.put("oauthService", OAuthMediatorFactory.class);
+        factories.put("builder", BuilderMediatorExtFactory.class);
+        factories.put("rule", RuleMediatorFactory.class);
+        factories.put("bam", BamMediatorExtFactory.class);
+        factories.put("publishEvent", PublishEventMediatorFactory.class);
+        MEDIATOR_FACTORIES = Collections.unmodifiableMap(factories);
+    }
+
+    /**
+     * Source which is parsed, the validated content wrapped in the enclosing
+     * start and end tags
+     */
+    private final String source;
+    private final int contentStart;
+    private final int contentEnd;
+    private final int contextDepth;
+    private final int offset;
+    private final int lineNumber;
+    private final OMFactory omFactory = OMAbstractFactory.getOMFactory();
+    private final Map<OMElement, Integer> elementOffsets = new IdentityHashMap<>();
+    private final Map<String, MediatorFactory> mediatorFactories = new HashMap<>();
+    private final List<SourceError> errors = new ArrayList<>();
+    private final Set<OMElement> invalidElements = Collections.newSetFromMap(new IdentityHashMap<OMElement, Boolean>());
+    private final Map<OMElement, List<ValidatedElement>> validatedDescendants = new IdentityHashMap<>();
+    private final List<ValidatedElement> validatedElements = new ArrayList<>();
+    private boolean stopAtFirstError;
+    private int[] lineOffsets;
+
+    /**
+     * @param source
+     *            content of the source view
+     */
+    public SynapseSourceValidator(String source) {
+        this(source, "", 0, 1);
+    }
+
+    /**
+     * @param element
+     *            source of an element of the source view
+     * @param context
+     *            start tags of the elements enclosing the element, outermost
+     *            first, as given by {@link ValidatedElement#getContext()}
+     * @param offset
+     *            offset of the element in the source view
+     * @param lineNumber
+     *            line of the source view the element starts at
+     */
+    public SynapseSourceValidator(String element, String context, int offset, int lineNumber) {
+        this.source = context + element + getEndTags(context);
+        this.contentStart = context.length();
+        this.contentEnd = contentStart + element.length();
+        this.contextDepth = getTagNames(context).size();
+        this.offset = offset;
+        this.lineNumber = lineNumber;
+    }
+
+    /**
+     * @return first error of the source, or null if the source is valid
+     */
+    public SourceError validate() {
+        stopAtFirstError = true;
+        run();
+        return errors.isEmpty() ? null : errors.get(0);
+    }
+
+    /**
+     * Check the whole source rather than stopping at the first error. An
+     * element enclosing an invalid element is not checked itself, as its
+     * factory would fail on the same content.
+     *
+     * @return errors of the source, empty if the source is valid
+     */
+    public List<SourceError> validateAll() {
+        stopAtFirstError = false;
+        run();
+        return errors;
+    }
+
+    /**
+     * @return artifacts and mediators read by the last validation, outermost
+     *         first, with offsets in the source view
+     */
+    public List<ValidatedElement> getValidatedElements() {
+        return validatedElements;
+    }
+
+    private void run() {
+        if (source.substring(contentStart, contentEnd).trim().isEmpty()) {
+            return;
+        }
+        XMLStreamReader reader = null;
+        try {
+            reader = StAXUtils.createXMLStreamReader(new StringReader(source));
+            validate(reader);
+        } catch (XMLStreamException e) {
+            errors.add(createError(e));
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException e) {
+                    // ignore
+                }
+            }
+        }
+    }
+
+    private void validate(XMLStreamReader reader) throws XMLStreamException {
+        OMElement current = null;
+        int depth = 0;
+        // number of open localEntry elements, their content is not a mediator configuration
+        int localEntryDepth = 0;
+        while (reader.hasNext()) {
+            switch (reader.next()) {
+            case XMLStreamConstants.START_ELEMENT:
+                current = createElement(reader, current);
+                depth++;
+                if (LOCAL_ENTRY.equals(current.getLocalName())) {
+                    localEntryDepth++;
+                }
+                break;
+
+            case XMLStreamConstants.END_ELEMENT:
+                if (LOCAL_ENTRY.equals(current.getLocalName())) {
+                    localEntryDepth--;
+                }
+                OMElement parent = current.getParent() instanceof OMElement ? (OMElement) current.getParent() : null;
+                List<ValidatedElement> descendants = validatedDescendants.remove(current);
+                // the enclosing elements of an element validated on its own are not checked
+                if (depth > contextDepth) {
+                    boolean artifact = isArtifact(current);
+                    if (artifact || (localEntryDepth == 0 && isInMediatorList(current))) {
+                        if (!invalidElements.contains(current)) {
+                            SourceError error = artifact ? validateArtifact(current) : validateMediator(current);
+                            if (error != null) {
+                                errors.add(error);
+                                if (stopAtFirstError) {
+                                    return;
+                                }
+                                for (OMElement e = parent; e != null && invalidElements.add(e);) {
+                                    e = e.getParent() instanceof OMElement ? (OMElement) e.getParent() : null;
+                                }
+                            }
+                        }
+                        ValidatedElement validatedElement = new ValidatedElement(
+                                toSourceViewOffset(elementOffsets.get(current)),
+                                toSourceViewOffset(getEndOffset(reader, current)), getContext(parent), descendants);
+                        descendants = Collections.singletonList(validatedElement);
+                    }
+                }
+                if (descendants != null) {
+                    if (parent == null) {
+                        validatedElements.addAll(descendants);
+                    } else {
+                        List<ValidatedElement> parentDescendants = validatedDescendants.get(parent);
+                        if (parentDescendants == null) {
+                            parentDescendants = new ArrayList<>();
+                            validatedDescendants.put(parent, parentDescendants);
+                        }
+                        parentDescendants.addAll(descendants);
+                    }
+                }
+                current = parent;
+                depth--;
+                break;
+
+            case XMLStreamConstants.CHARACTERS:
+            case XMLStreamConstants.SPACE:
+                if (current != null) {
+                    omFactory.createOMText(current, reader.getText());
+                }
+                break;
+
+            case XMLStreamConstants.CDATA:
+                if (current != null) {
+                    omFactory.createOMText(current, reader.getText(), XMLStreamConstants.CDATA);
+                }
+                break;
+
+            case XMLStreamConstants.COMMENT:
+                if (current != null) {
+                    omFactory.createOMComment(current, reader.getText());
+                }
+                break;
+
+            default:
+                break;
+            }
+        }
+    }
+
+    /**
+     * Create the element the reader is positioned at and remember where it
+     * starts in the source
+     */
+    private OMElement createElement(XMLStreamReader reader, OMElement parent) {
+        OMElement element = omFactory.createOMElement(reader.getLocalName(), null, parent);
+        for (int i = 0; i < reader.getNamespaceCount(); i++) {
+            String prefix = reader.getNamespacePrefix(i);
+            if (prefix == null || prefix.isEmpty()) {
+                element.declareDefaultNamespace(reader.getNamespaceURI(i));
+            } else {
+                element.declareNamespace(reader.getNamespaceURI(i), prefix);
+            }
+        }
+        String namespaceURI = reader.getNamespaceURI();
+        if (namespaceURI != null && !namespaceURI.isEmpty()) {
+            element.setNamespace(getNamespace(element, namespaceURI, reader.getPrefix()));
+        }
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            String attributeNamespaceURI = reader.getAttributeNamespace(i);
+            OMNamespace attributeNamespace = null;
+            if (attributeNamespaceURI != null && !attributeNamespaceURI.isEmpty()) {
+                attributeNamespace = getNamespace(element, attributeNamespaceURI, reader.getAttributePrefix(i));
+            }
+            element.addAttribute(reader.getAttributeLocalName(i), reader.getAttributeValue(i), attributeNamespace);
+        }
+        elementOffsets.put(element, getStartOffset(reader));
+        return element;
+    }
+
+    private OMNamespace getNamespace(OMElement element, String namespaceURI, String prefix) {
+        OMNamespace namespace = element.findNamespace(namespaceURI, prefix);
+        return namespace != null ? namespace : omFactory.createOMNamespace(namespaceURI, prefix == null ? "" : prefix);
+    }
+
+    private boolean isArtifact(OMElement element) {
+        if (!isSynapseElement(element) || !ARTIFACTS.contains(element.getLocalName())) {
+            return false;
+        }
+        if (!(element.getParent() instanceof OMElement)) {
+            return true;
+        }
+        OMElement parent = (OMElement) element.getParent();
+        return DEFINITIONS.equals(parent.getLocalName()) && !(parent.getParent() instanceof OMElement);
+    }
+
+    private boolean isInMediatorList(OMElement element) {
+        if (!(element.getParent() instanceof OMElement)) {
+            return false;
+        }
+        OMElement parent = (OMElement) element.getParent();
+        return isMediatorList(parent) && !INTERMEDIARY.contains(element.getLocalName());
+    }
+
+    private boolean isMediatorList(OMElement element) {
+        if (!isSynapseElement(element)) {
+            return false;
+        }
+        if (SWITCH_CASES.contains(element.getLocalName())) {
+            return element.getParent() instanceof OMElement
+                    && SWITCH.equals(((OMElement) element.getParent()).getLocalName());
+        }
+        return MEDIATOR_LISTS.contains(element.getLocalName());
+    }
+
+    private boolean isKnownMediator(QName qName) {
+        return DummyMediatorFactoryFinder.getInstance().getFactoryMap().containsKey(qName)
+                || MediatorFactoryFinder.getInstance().getFactoryMap().containsKey(qName);
+    }
+
+    private boolean isSynapseElement(OMElement element) {
+        OMNamespace namespace = element.getNamespace();
+        return namespace != null && SynapseConstants.SYNAPSE_NAMESPACE.equals(namespace.getNamespaceURI());
+    }
+
+    /**
+     * Check an element found among mediators with the factory of its mediator
+     */
+    private SourceError validateMediator(OMElement element) {
+        String localName = element.getLocalName();
+        Class<? extends MediatorFactory> factoryClass = isSynapseElement(element) ? MEDIATOR_FACTORIES.get(localName)
+                : null;
+        if (factoryClass == null) {
+            // mediators of connectors and libraries are only known when the configuration is deployed
+            if (localName.indexOf('.') < 0 && !isKnownMediator(new QName(getNamespaceURI(element), localName))) {
+                return createError(INVALID_MEDIATOR + "<" + getQualifiedName(element) + ">", element);
+            }
+            return null;
+        }
+        try {
+            MediatorFactory factory = getMediatorFactory(localName, factoryClass);
+            if (SEQUENCE.equals(localName)) {
+                ((SequenceMediatorFactory) factory).createAnonymousSequence(element, null);
+            } else if (SCRIPT.equals(localName)) {
+                factory.createMediator(element, new Properties());
+            } else {
+                factory.createMediator(element, null);
+            }
+        } catch (SynapseException | MediatorException e) {
+            return createError(e.getMessage(), element);
+        }
+        return null;
+    }
+
+    private MediatorFactory getMediatorFactory(String localName, Class<? extends MediatorFactory> factoryClass) {
+        MediatorFactory factory = mediatorFactories.get(localName);
+        if (factory == null) {
+            try {
+                factory = factoryClass.newInstance();
+            } catch (InstantiationException | IllegalAccessException e) {
+                throw new SynapseException("Error instantiating " + factoryClass.getName(), e);
+            }
+            mediatorFactories.put(localName, factory);
+        }
+        return factory;
+    }
+
+    /**
+     * Check a top level element with the factory of its artifact
+     */
+    private SourceError validateArtifact(OMElement element) {
+        String localName = element.getLocalName();
+        try {
+            if (localName.equals("api")) {
+                new APIFactory().createAPI(element);
+
+            } else if (localName.equals("proxy")) {
+                new ProxyServiceFactory().createProxy(element, null);
+
+            } else if (localName.equals("endpoint")) {
+                EndpointFactory.getEndpointFromElement(element, false, null);
+
+            } else if (localName.equals("inboundEndpoint")) {
+                new DummyInboundEndpointFactory().createInboundEndpointDev(element);
+
+            } else if (localName.equals(LOCAL_ENTRY)) {
+                new EntryExtFactory().createEntry(element, null);
+
+            } else if (localName.equals("messageProcessor")) {
+                new DummyMessageProcessorFactory().createMessageProcessor(element, null);
+
+            } else if (localName.equals("messageStore")) {
+                new DummyMessageStoreFactory().createMessageStore(element, null);
+
+            } else if (localName.equals(SEQUENCE)) {
+                new SequenceMediatorFactory().createSpecificMediator(element, null);
+
+            } else if (localName.equals("task")) {
+                new DummyTaskDescriptionFactory().createTaskDescription(element,
+                        omFactory.createOMNamespace(SynapseConstants.SYNAPSE_NAMESPACE, ""));
+
+            } else if (localName.equals("template")) {
+                new TemplateMediatorFactory().createMediator(element, null);
+            }
+
+        } catch (SynapseException | MediatorException | SynapseTaskException | NullPointerException e) {
+            return createError(e.getMessage(), element);
+        }
+        return null;
+    }
+
+    private String getNamespaceURI(OMElement element) {
+        OMNamespace namespace = element.getNamespace();
+        return namespace != null ? namespace.getNamespaceURI() : "";
+    }
+
+    private String getQualifiedName(OMElement element) {
+        OMNamespace namespace = element.getNamespace();
+        if (namespace != null && namespace.getPrefix() != null && !namespace.getPrefix().isEmpty()) {
+            return namespace.getPrefix() + ":" + element.getLocalName();
+        }
+        return element.getLocalName();
+    }
+
+    /**
+     * Error marking the name in the start tag of an element
+     */
+    private SourceError createError(String message, OMElement element) {
+        int nameOffset = elementOffsets.get(element) + 1;
+        return new SourceError(message, toSourceViewLineNumber(nameOffset), toSourceViewOffset(nameOffset),
+                toSourceViewOffset(nameOffset + getQualifiedName(element).length()));
+    }
+
+    /**
+     * Error marking the position the parser stopped at
+     */
+    private SourceError createError(XMLStreamException e) {
+        // drop the location parsers add to their messages, the marker shows it
+        String message = e.getMessage();
+        int locationIndex = message != null ? message.indexOf("\n at [row,col") : -1;
+        if (locationIndex > 0) {
+            message = message.substring(0, locationIndex);
+        } else if (message != null && message.indexOf("Message: ") > 0) {
+            message = message.substring(message.indexOf("Message: ") + "Message: ".length());
+        }
+        Location location = e.getLocation();
+        if (location == null) {
+            // no position known, point at the first line of the checked source
+            return new SourceError(message, lineNumber, offset, offset + 1);
+        }
+        // the parser may stop in the end tags closing an element validated on its own
+        int errorOffset = Math.min(getOffset(location), contentEnd);
+        return new SourceError(message, toSourceViewLineNumber(errorOffset), toSourceViewOffset(errorOffset),
+                toSourceViewOffset(errorOffset) + 1);
+    }
+
+    /**
+     * Offset just after the end tag of the element the reader is at the end
+     * of. Like start tags, end tags are found by their name up to the location
+     * the parser reports, an empty element has no end tag of its own before
+     * its start.
+     */
+    private int getEndOffset(XMLStreamReader reader, OMElement element) {
+        int start = elementOffsets.get(element);
+        int endTag = source.lastIndexOf("</" + getQualifiedName(element), getOffset(reader.getLocation()));
+        if (endTag < start) {
+            // the start tag closes the element, skip any '>' in its attribute values
+            char quote = 0;
+            for (int i = start; i < source.length(); i++) {
+                char c = source.charAt(i);
+                if (quote != 0) {
+                    if (c == quote) {
+                        quote = 0;
+                    }
+                } else if (c == '"' || c == '\'') {
+                    quote = c;
+                } else if (c == '>') {
+                    return i + 1;
+                }
+            }
+            return source.length();
+        }
+        int end = source.indexOf('>', endTag);
+        return end >= 0 ? end + 1 : source.length();
+    }
+
+    /**
+     * Start tags of an element and the elements enclosing it, with only the
+     * namespaces they declare
+     */
+    private String getContext(OMElement element) {
+        List<OMElement> elements = new ArrayList<>();
+        for (OMElement e = element; e != null; e = e.getParent() instanceof OMElement ? (OMElement) e.getParent()
+                : null) {
+            elements.add(e);
+        }
+        StringBuilder context = new StringBuilder();
+        for (int i = elements.size() - 1; i >= 0; i--) {
+            OMElement e = elements.get(i);
+            context.append('<').append(getQualifiedName(e));
+            for (Iterator<?> namespaces = e.getAllDeclaredNamespaces(); namespaces.hasNext();) {
+                OMNamespace namespace = (OMNamespace) namespaces.next();
+                context.append(" xmlns");
+                if (namespace.getPrefix() != null && !namespace.getPrefix().isEmpty()) {
+                    context.append(':').append(namespace.getPrefix());
+                }
+                context.append("=\"").append(escape(namespace.getNamespaceURI())).append('"');
+            }
+            context.append('>');
+        }
+        return context.toString();
+    }
+
+    private static String escape(String value) {
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+
+    /**
+     * @return names of the elements started by a context, outermost first
+     */
+    private static List<String> getTagNames(String context) {
+        List<String> names = new ArrayList<>();
+        for (int start = context.indexOf('<'); start >= 0; start = context.indexOf('<', start + 1)) {
+            int end = start + 1;
+            while (end < context.length() && context.charAt(end) != '>' && context.charAt(end) != ' ') {
+                end++;
+            }
+            names.add(context.substring(start + 1, end));
+        }
+        return names;
+    }
+
+    private static String getEndTags(String context) {
+        List<String> names = getTagNames(context);
+        StringBuilder endTags = new StringBuilder();
+        for (int i = names.size() - 1; i >= 0; i--) {
+            endTags.append("</").append(names.get(i)).append('>');
+        }
+        return endTags.toString();
+    }
+
+    private int toSourceViewOffset(int sourceOffset) {
+        return Math.max(contentStart, Math.min(sourceOffset, contentEnd)) - contentStart + offset;
+    }
+
+    private int toSourceViewLineNumber(int sourceOffset) {
+        // the enclosing start tags have no line breaks
+        return getLineNumber(sourceOffset) + lineNumber - 1;
+    }
+
+    /**
+     * Offset of the '<' of the start tag the reader is positioned at. Parsers
+     * report either the start or the end of the tag, the start tag is the last
+     * one with the element's name up to that location.
+     */
+    private int getStartOffset(XMLStreamReader reader) {
+        int offset = getOffset(reader.getLocation());
+        String prefix = reader.getPrefix();
+        String tag = "<" + (prefix != null && !prefix.isEmpty() ? prefix + ":" : "") + reader.getLocalName();
+        int start = source.lastIndexOf(tag, offset);
+        return start >= 0 ? start : offset;
+    }
+
+    private int getOffset(Location location) {
+        int offset = location.getCharacterOffset();
+        if (offset < 0) {
+            int line = Math.max(location.getLineNumber(), 1);
+            offset = getLineOffsets()[Math.min(line, getLineOffsets().length) - 1]
+                    + Math.max(location.getColumnNumber() - 1, 0);
+        }
+        return Math.max(0, Math.min(offset, source.length()));
+    }
+
+    private int getLineNumber(int offset) {
+        int line = Arrays.binarySearch(getLineOffsets(), offset);
+        return line >= 0 ? line + 1 : -line - 1;
+    }
+
+    /**
+     * @return offsets at which the lines of the source start
+     */
+    private int[] getLineOffsets() {
+        if (lineOffsets == null) {
+            List<Integer> offsets = new ArrayList<>();
+            offsets.add(0);
+            for (int i = source.indexOf('\n'); i >= 0; i = source.indexOf('\n', i + 1)) {
+                offsets.add(i + 1);
+            }
+            lineOffsets = new int[offsets.size()];
+            for (int i = 0; i < lineOffsets.length; i++) {
+                lineOffsets[i] = offsets.get(i);
+            }
+        }
+        return lineOffsets;
+    }
+
+    /**
+     * An artifact or mediator read by a validation
+     */
+    public static class ValidatedElement {
+
+        private final int start;
+        private final int end;
+        private final String context;
+        private final List<ValidatedElement> children;
+
+        ValidatedElement(int start, int end, String context, List<ValidatedElement> children) {
+            this.start = start;
+            this.end = end;
+            this.context = context;
+            this.children = children != null ? children : Collections.<ValidatedElement> emptyList();
+        }
+
+        /**
+         * @return offset of the start tag in the source view
+         */
+        public int getStart() {
+            return start;
+        }
+
+        /**
+         * @return offset just after the end tag in the source view
+         */
+        public int getEnd() {
+            return end;
+        }
+
+        /**
+         * @return start tags of the enclosing elements, to validate the element
+         *         on its own with
+         */
+        public String getContext() {
+            return context;
+        }
+
+        /**
+         * @return artifacts and mediators within the element, in the order
+         *         they end
+         */
+        public List<ValidatedElement> getChildren() {
+            return children;
+        }
+    }
+
+}
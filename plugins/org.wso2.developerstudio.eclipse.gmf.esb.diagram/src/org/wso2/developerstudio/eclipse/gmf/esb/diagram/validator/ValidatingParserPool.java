@@ -0,0 +1,97 @@
+/*
+*  Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing,
+* software distributed under the License is distributed on an
+* "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+* KIND, either express or implied.  See the License for the
+* specific language governing permissions and limitations
+* under the License.
+*/
+
+package org.wso2.developerstudio.eclipse.gmf.esb.diagram.validator;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import org.apache.xerces.parsers.SAXParser;
+import org.apache.xerces.util.SymbolTable;
+import org.apache.xerces.util.XMLGrammarPoolImpl;
+import org.apache.xerces.xni.grammars.XMLGrammarPool;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+/**
+ * Schema validating Xerces parsers shared by the validations of the source
+ * view.
+ *
+ * A parser is configured once and reused by later validations, so a
+ * validation only pays for parsing its source. All parsers cache the schemas
+ * they read in one grammar pool, so a schema referred to by the sources is
+ * read once rather than on every validation. Parsers are not thread safe, a
+ * parser is used by one validation at a time and handed back to the pool
+ * afterwards.
+ */
+public class ValidatingParserPool {
+
+    private static final String VALIDATION_FEATURE = "http://xml.org/sax/features/validation";
+    private static final String SCHEMA_FEATURE = "http://apache.org/xml/features/validation/schema";
+
+    /**
+     * Number of idle parsers kept, validations running at the same time
+     * beyond that create parsers which are dropped afterwards
+     */
+    private static final int MAX_IDLE_PARSERS = 4;
+
+    private static final ValidatingParserPool instance = new ValidatingParserPool();
+
+    /**
+     * Grammar pool shared by all parsers, which synchronizes its own access
+     */
+    private final XMLGrammarPool grammarPool = new XMLGrammarPoolImpl();
+    private final BlockingQueue<XMLReader> idleParsers = new ArrayBlockingQueue<>(MAX_IDLE_PARSERS);
+
+    private ValidatingParserPool() {
+    }
+
+    public static ValidatingParserPool getInstance() {
+        return instance;
+    }
+
+    /**
+     * Take a parser for a validation, which must be handed back with
+     * {@link #release(XMLReader)}
+     *
+     * @return parser validating against the schemas of the sources
+     * @throws SAXException
+     *             if a new parser could not be configured
+     */
+    public XMLReader borrow() throws SAXException {
+        XMLReader parser = idleParsers.poll();
+        if (parser == null) {
+            parser = new SAXParser(new SymbolTable(), grammarPool);
+            parser.setFeature(VALIDATION_FEATURE, true);
+            parser.setFeature(SCHEMA_FEATURE, true);
+        }
+        return parser;
+    }
+
+    /**
+     * Hand back a parser after a validation
+     *
+     * @param parser
+     *            parser taken with {@link #borrow()}
+     */
+    public void release(XMLReader parser) {
+        parser.setErrorHandler(null);
+        idleParsers.offer(parser);
+    }
+
+}
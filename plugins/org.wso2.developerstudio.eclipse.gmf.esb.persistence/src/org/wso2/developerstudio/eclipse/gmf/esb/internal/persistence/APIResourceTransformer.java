@@ -200,7 +200,7 @@ public class APIResourceTransformer extends AbstractEsbNodeTransformer {
 				break;
 			}
 
-			TransformationInfo faultInfo = new TransformationInfo();
+			TransformationInfo faultInfo = new TransformationInfo(information);
 			faultInfo.setParentSequence(faultSequence);
 			faultInfo.setSynapseConfiguration(information.getSynapseConfiguration());
 			doTransformFaultSequence(faultInfo, getOriginNode(visualResource));
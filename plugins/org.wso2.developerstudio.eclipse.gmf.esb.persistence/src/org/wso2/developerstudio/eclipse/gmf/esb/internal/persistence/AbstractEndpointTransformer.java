@@ -19,6 +19,7 @@ package org.wso2.developerstudio.eclipse.gmf.esb.internal.persistence;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 import java.util.regex.Pattern;
 
 import org.apache.commons.lang.StringUtils;
@@ -428,7 +429,7 @@ public abstract class AbstractEndpointTransformer extends AbstractEsbNodeTransfo
 					FailoverEndPointWestOutputConnector westOutputConnector = ((FailoverEndPoint) info.firstEndPoint)
 							.getWestOutputConnector();
 
-					List<EsbNode> transformedMediators = info.getTransformedMediators();
+					Set<EsbNode> transformedMediators = info.getTransformedMediators();
 					if (westOutputConnector != null) {
 						EsbNode nextElement = getTargetContainer(westOutputConnector);
 						if (nextElement != null) {
@@ -447,7 +448,7 @@ public abstract class AbstractEndpointTransformer extends AbstractEsbNodeTransfo
 				try {
 					LoadBalanceEndPointWestOutputConnector westOutputConnector = ((LoadBalanceEndPoint) info.firstEndPoint)
 							.getWestOutputConnector();
-					List<EsbNode> transformedMediators = info.getTransformedMediators();
+					Set<EsbNode> transformedMediators = info.getTransformedMediators();
 					if (westOutputConnector != null) {
 						EsbNode nextElement = getTargetContainer(westOutputConnector);
 						if (nextElement != null) {
@@ -466,7 +467,7 @@ public abstract class AbstractEndpointTransformer extends AbstractEsbNodeTransfo
 					RecipientListEndPointWestOutputConnector westOutputConnector = ((RecipientListEndPoint) info.firstEndPoint)
 							.getWestOutputConnector();
 
-					List<EsbNode> transformedMediators = info.getTransformedMediators();
+					Set<EsbNode> transformedMediators = info.getTransformedMediators();
 					if (westOutputConnector != null) {
 						EsbNode nextElement = getTargetContainer(westOutputConnector);
 						if (nextElement != null) {
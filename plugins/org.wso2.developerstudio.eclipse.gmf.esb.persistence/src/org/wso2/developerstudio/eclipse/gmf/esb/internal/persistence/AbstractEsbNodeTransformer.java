@@ -15,12 +15,26 @@
  */
 package org.wso2.developerstudio.eclipse.gmf.esb.internal.persistence;
 
+import java.io.File;
+
 import org.apache.synapse.Mediator;
 import org.apache.synapse.mediators.AbstractMediator;
 import org.apache.synapse.mediators.base.SequenceMediator;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IWorkspaceRoot;
+import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.ui.IEditorInput;
+import org.eclipse.ui.IEditorPart;
+import org.eclipse.ui.IFileEditorInput;
+import org.eclipse.ui.IWorkbenchWindow;
+import org.eclipse.ui.PlatformUI;
+import org.wso2.developerstudio.eclipse.esb.core.interfaces.IEsbEditorInput;
 import org.wso2.developerstudio.eclipse.gmf.esb.CommentMediator;
 import org.wso2.developerstudio.eclipse.gmf.esb.EsbLink;
 import org.wso2.developerstudio.eclipse.gmf.esb.EsbNode;
@@ -140,6 +154,47 @@ public abstract class AbstractEsbNodeTransformer implements EsbNodeTransformer {
 		((AbstractMediator) mediator).getCommentsList().addAll(visualElement.getCommentsList());
 	}
 	
+	/**
+	 * Project of the design a node belongs to. A design loaded from a file of
+	 * the workspace belongs to the project of that file, so it can be
+	 * transformed on any thread, a design held in memory by the multi page
+	 * editor belongs to the project of the active editor.
+	 * 
+	 * @param node
+	 * @return project of the node
+	 * @throws TransformerException
+	 *             if the project could not be found
+	 */
+	protected IProject getProject(EObject node) throws TransformerException {
+		Resource resource = node.eResource();
+		if (resource != null && resource.getURI() != null) {
+			URI uri = resource.getURI();
+			IWorkspaceRoot root = ResourcesPlugin.getWorkspace().getRoot();
+			if (uri.isPlatformResource()) {
+				return root.getProject(URI.decode(uri.segment(1)));
+			} else if (uri.isFile()) {
+				IFile[] files = root.findFilesForLocationURI(new File(uri.toFileString()).toURI());
+				if (files.length > 0) {
+					return files[0].getProject();
+				}
+			}
+		}
+		// there is no active window off the UI thread
+		IWorkbenchWindow window = PlatformUI.isWorkbenchRunning() ? PlatformUI.getWorkbench()
+				.getActiveWorkbenchWindow() : null;
+		IEditorPart editor = window != null && window.getActivePage() != null ? window.getActivePage()
+				.getActiveEditor() : null;
+		if (editor != null) {
+			IEditorInput input = editor.getEditorInput();
+			if (input instanceof IEsbEditorInput && ((IEsbEditorInput) input).getXmlResource() != null) {
+				return ((IEsbEditorInput) input).getXmlResource().getProject();
+			} else if (input instanceof IFileEditorInput) {
+				return ((IFileEditorInput) input).getFile().getProject();
+			}
+		}
+		throw new TransformerException("Could not find the project of " + node.eClass().getName());
+	}
+	
 	private void addXMLCommnets(TransformationInfo info, EList<CommentMediator> commentMediators){
 		CommentMediatorTransformer commentMediatorTransformer = new CommentMediatorTransformer();
 		for(CommentMediator mediator:commentMediators){
@@ -16,6 +16,7 @@
 package org.wso2.developerstudio.eclipse.gmf.esb.internal.persistence;
 
 import java.util.List;
+import java.util.Set;
 
 import org.apache.synapse.endpoints.Endpoint;
 import org.apache.synapse.mediators.base.SequenceMediator;
@@ -66,7 +67,7 @@ public class AddresingEndPointTransformer extends AbstractEndpointTransformer{
 			}
 		}
 
-		List<EsbNode> transformedMediators = information.getTransformedMediators();
+		Set<EsbNode> transformedMediators = information.getTransformedMediators();
 		if (visualEP.getOutputConnector() != null && visualEP.getOutputConnector().getOutgoingLink()!=null) {
 			EsbNode nextElement = (EsbNode) visualEP.getOutputConnector().getOutgoingLink().getTarget().eContainer();
 			if (transformedMediators.contains(nextElement)) {
@@ -16,6 +16,7 @@
 package org.wso2.developerstudio.eclipse.gmf.esb.internal.persistence;
 
 import java.util.List;
+import java.util.Set;
 
 import org.apache.commons.lang.StringUtils;
 import org.apache.synapse.SynapseArtifact;
@@ -73,7 +74,7 @@ public class AddressEndPointTransformer extends AbstractEndpointTransformer {
 			}
 		}
 
-		List<EsbNode> transformedMediators = info.getTransformedMediators();
+		Set<EsbNode> transformedMediators = info.getTransformedMediators();
 		if (visualEndPoint.getOutputConnector() != null
 				&& visualEndPoint.getOutputConnector().getOutgoingLink() != null) {
 			EsbNode nextElement = (EsbNode) visualEndPoint.getOutputConnector().getOutgoingLink().getTarget()
@@ -18,6 +18,7 @@ package org.wso2.developerstudio.eclipse.gmf.esb.internal.persistence;
 
 import java.util.List;
 import java.util.Map.Entry;
+import java.util.Set;
 
 import org.apache.commons.lang.StringUtils;
 import org.apache.synapse.endpoints.Endpoint;
@@ -60,7 +61,7 @@ public class AggregateMediatorTransformer extends AbstractEsbNodeTransformer {
 
 	public void transformWithinSequence(TransformationInfo information, EsbNode subject, SequenceMediator sequence)
 			throws TransformerException {
-		List<EsbNode> transformedMediators = information.getTransformedMediators();
+		Set<EsbNode> transformedMediators = information.getTransformedMediators();
 		/* check whether subject transformed by different input link */
 		if (transformedMediators.contains(subject))
 			return;
@@ -191,7 +192,7 @@ public class AggregateMediatorTransformer extends AbstractEsbNodeTransformer {
 				 */
 				SequenceMediator onCompleteSequence = new SequenceMediator();
 
-				TransformationInfo newOnCompleteInfo = new TransformationInfo();
+				TransformationInfo newOnCompleteInfo = new TransformationInfo(information);
 				newOnCompleteInfo.setTraversalDirection(information.getTraversalDirection());
 				newOnCompleteInfo.setSynapseConfiguration(information.getSynapseConfiguration());
 				newOnCompleteInfo.setOriginInSequence(information.getOriginInSequence());
@@ -125,7 +125,7 @@ public class CacheMediatorTransformer extends AbstractEsbNodeTransformer {
 
             } else {
                 SequenceMediator onCacheHitSequence = new SequenceMediator();
-                TransformationInfo newOnCacheHitInfo = new TransformationInfo();
+                TransformationInfo newOnCacheHitInfo = new TransformationInfo(info);
                 newOnCacheHitInfo.setTraversalDirection(info.getTraversalDirection());
                 newOnCacheHitInfo.setSynapseConfiguration(info.getSynapseConfiguration());
                 newOnCacheHitInfo.setOriginInSequence(info.getOriginInSequence());
@@ -44,7 +44,7 @@ public class CallMediatorTransformer extends AbstractEsbNodeTransformer {
 				information.getParentSequence().addChild(callMediator);
 			}
 			
-			TransformationInfo tmpInformation = new TransformationInfo();
+			TransformationInfo tmpInformation = new TransformationInfo(information);
 			tmpInformation.setParentSequence(information.getParentSequence());
 			tmpInformation.setTraversalDirection(information.getTraversalDirection());
 			tmpInformation.setOriginInSequence(information.getOriginInSequence());
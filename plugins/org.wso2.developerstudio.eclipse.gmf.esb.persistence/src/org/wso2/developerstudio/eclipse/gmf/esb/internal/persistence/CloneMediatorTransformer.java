@@ -134,7 +134,7 @@ public class CloneMediatorTransformer extends AbstractEsbNodeTransformer {
 							.getTargetsOutputConnector().get(i);
 					SequenceMediator targetSequence = new SequenceMediator();
 
-					TransformationInfo newInfo = new TransformationInfo();
+					TransformationInfo newInfo = new TransformationInfo(information);
 					newInfo.setTraversalDirection(information
 							.getTraversalDirection());
 					newInfo.setSynapseConfiguration(information
@@ -164,7 +164,7 @@ public class CloneMediatorTransformer extends AbstractEsbNodeTransformer {
 							.getTargetsOutputConnector().get(i);
 
 					SequenceMediator targetSequence = new SequenceMediator();
-					TransformationInfo newInfo = new TransformationInfo();
+					TransformationInfo newInfo = new TransformationInfo(information);
 					newInfo.setTraversalDirection(information
 							.getTraversalDirection());
 					newInfo.setSynapseConfiguration(information
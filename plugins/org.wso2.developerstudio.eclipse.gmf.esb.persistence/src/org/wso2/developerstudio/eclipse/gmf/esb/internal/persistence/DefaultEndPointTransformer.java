@@ -16,6 +16,7 @@
 package org.wso2.developerstudio.eclipse.gmf.esb.internal.persistence;
 
 import java.util.List;
+import java.util.Set;
 
 import org.apache.commons.lang.StringUtils;
 import org.apache.synapse.SynapseArtifact;
@@ -77,7 +78,7 @@ public class DefaultEndPointTransformer extends AbstractEndpointTransformer {
 			}
 		}
 
-		List<EsbNode> transformedMediators = info.getTransformedMediators();
+		Set<EsbNode> transformedMediators = info.getTransformedMediators();
 		if (visualEP.getOutputConnector() != null && visualEP.getOutputConnector().getOutgoingLink() != null) {
 			EsbNode nextElement = (EsbNode) visualEP.getOutputConnector().getOutgoingLink().getTarget().eContainer();
 			if (transformedMediators.contains(nextElement)) {
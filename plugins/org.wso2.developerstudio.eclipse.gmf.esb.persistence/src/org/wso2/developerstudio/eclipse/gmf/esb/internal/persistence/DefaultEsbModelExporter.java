@@ -19,17 +19,10 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
-import java.io.IOException;
 import java.io.OutputStream;
-import java.io.StringReader;
-import java.io.StringWriter;
-import java.io.Writer;
 import java.util.ArrayList;
 import java.util.List;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.transform.Source;
 import javax.xml.transform.Templates;
 import javax.xml.transform.Transformer;
@@ -58,13 +51,10 @@ import org.apache.synapse.mediators.base.SequenceMediator;
 import org.apache.synapse.mediators.template.TemplateMediator;
 import org.apache.synapse.rest.API;
 import org.apache.synapse.task.TaskDescriptionSerializer;
-import org.apache.xml.serialize.OutputFormat;
-import org.apache.xml.serialize.XMLSerializer;
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.ui.forms.editor.FormPage;
-import org.w3c.dom.Document;
 import org.wso2.developerstudio.eclipse.gmf.esb.AddressEndPoint;
 import org.wso2.developerstudio.eclipse.gmf.esb.ArtifactType;
 import org.wso2.developerstudio.eclipse.gmf.esb.DefaultEndPoint;
@@ -97,14 +87,11 @@ import org.wso2.developerstudio.esb.form.editors.article.rcp.endpoints.EndpointF
 import org.wso2.developerstudio.esb.form.editors.article.rcp.endpoints.HttpEndpointFormPage;
 import org.wso2.developerstudio.esb.form.editors.article.rcp.endpoints.TemplateEndPointFormPage;
 import org.wso2.developerstudio.esb.form.editors.article.rcp.endpoints.WsdlEndpointFormPage;
-import org.xml.sax.InputSource;
-import org.xml.sax.SAXException;
 
 /**
  * Default implementation of {@link EsbModelTransformer}.
  */
 public class DefaultEsbModelExporter implements EsbModelTransformer {
-	static String sourceXML= new String();
 	/**
 	 * {@inheritDoc}
 	 */
@@ -154,7 +141,6 @@ public class DefaultEsbModelExporter implements EsbModelTransformer {
 			throws Exception {
 		SynapseConfiguration configuration = new SynapseConfiguration();
 		TransformationInfo info = new TransformationInfo();
-		info.getTransformedMediators().clear();
 		info.setSynapseConfiguration(configuration);
 		
 		//message  mediation
@@ -195,7 +181,6 @@ public class DefaultEsbModelExporter implements EsbModelTransformer {
 		List<EsbElement> childNodes = serverModel.getChildren();
 		SequenceMediator sequence = new SequenceMediator();		
 		TransformationInfo info = new TransformationInfo();
-		info.getTransformedMediators().clear();
 		for (EsbElement childNode : childNodes) {
 			if (childNode instanceof Sequences) {
 				Sequences visualSequence = (Sequences) childNode;
@@ -211,7 +196,6 @@ public class DefaultEsbModelExporter implements EsbModelTransformer {
 	private org.apache.synapse.core.axis2.ProxyService transformProxyService(
 			ProxyService visualService ) throws Exception {
 		TransformationInfo info = new TransformationInfo();
-		info.getTransformedMediators().clear();
 		SynapseConfiguration configuration = new SynapseConfiguration();;
 		info.setSynapseConfiguration(configuration);
 		org.apache.synapse.core.axis2.ProxyService proxy = new org.apache.synapse.core.axis2.ProxyService(
@@ -317,7 +301,6 @@ public class DefaultEsbModelExporter implements EsbModelTransformer {
 	
 	private org.apache.synapse.rest.API transformAPI(SynapseAPI visualAPI) throws Exception{		
 		TransformationInfo info = new TransformationInfo();
-		info.getTransformedMediators().clear();
 		SynapseConfiguration configuration = new SynapseConfiguration();;
 		info.setSynapseConfiguration(configuration);
 		API api=null;
@@ -333,7 +316,6 @@ public class DefaultEsbModelExporter implements EsbModelTransformer {
 	
 	private TemplateMediator transformSequenceTemplate(Template template ) throws Exception{
 		TransformationInfo info = new TransformationInfo();
-		info.getTransformedMediators().clear();
 		SynapseConfiguration configuration = new SynapseConfiguration();
 		info.setSynapseConfiguration(configuration);
 		TemplateMediator templateMediator = new TemplateMediator();
@@ -351,7 +333,6 @@ public class DefaultEsbModelExporter implements EsbModelTransformer {
 	
 	private org.apache.synapse.endpoints.Template transformEndpointTemplate(Template template) throws Exception{
 		TransformationInfo info = new TransformationInfo();
-		info.getTransformedMediators().clear();
 		SynapseConfiguration configuration = new SynapseConfiguration();
 		info.setSynapseConfiguration(configuration);
 		org.apache.synapse.endpoints.Template epTemplate = new org.apache.synapse.endpoints.Template();
@@ -370,7 +351,6 @@ public class DefaultEsbModelExporter implements EsbModelTransformer {
 	
 	private SequenceMediator transformMainSequence(ProxyService visualService) throws Exception{
 		TransformationInfo info = new TransformationInfo();
-		info.getTransformedMediators().clear();
 		SynapseConfiguration configuration = new SynapseConfiguration();
 		info.setSynapseConfiguration(configuration);
 		ProxyServiceTransformer transformer = new ProxyServiceTransformer();
@@ -381,7 +361,6 @@ public class DefaultEsbModelExporter implements EsbModelTransformer {
 	
     private org.apache.synapse.inbound.InboundEndpoint transformInbundEndpoint(InboundEndpoint visualInboundEndpoint) throws Exception{
         TransformationInfo info = new TransformationInfo();
-        info.getTransformedMediators().clear();
         SynapseConfiguration configuration = new SynapseConfiguration();
         info.setSynapseConfiguration(configuration);
         InboundEndpointTransformer transformer = new InboundEndpointTransformer();
@@ -415,15 +394,23 @@ public class DefaultEsbModelExporter implements EsbModelTransformer {
 				}
 			}
 		}
+		String sourceXML = "";
 		if (configOM != null) {
-			sourceXML = format(configOM.toString());
-			sourceXML = sourceXML.replaceAll("\\?><", "?>\n<");
+			sourceXML = IndentingXMLStreamWriter.toString(configOM);
 		}
 		return sourceXML;
     	
     }
 
 	public String designToSource(EsbServer serverModel) throws Exception {
+		// the design is transformed again only if it changed since the last export
+		DesignSourceCache sourceCache = DesignSourceCache.adapt(serverModel);
+		long modificationCount = sourceCache.getModificationCount();
+		String cachedSource = sourceCache.getSource();
+		if (cachedSource != null) {
+			return cachedSource;
+		}
+
 		SynapseXMLConfigurationSerializer serializer = new SynapseXMLConfigurationSerializer();
 		SequenceMediatorSerializer sequenceSerializer = new SequenceMediatorSerializer();
 		OMElement configOM = null;
@@ -533,14 +520,11 @@ public class DefaultEsbModelExporter implements EsbModelTransformer {
 			configOM = serializer.serializeConfiguration(transform(serverModel));
 		}
 
-		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		String sourceXML = "";
 		if (configOM != null) {
-			DefaultEsbModelExporter.prettify(configOM, baos);
-			sourceXML = format(configOM.toString());
+			sourceXML = IndentingXMLStreamWriter.toString(configOM);
+			sourceCache.setSource(sourceXML, modificationCount);
 		}
-
-		//sourceXML = baos.toString("UTF-8");
-		sourceXML = sourceXML.replaceAll("\\?><", "?>\n<");
 		return sourceXML;
 	}
 
@@ -557,58 +541,32 @@ public class DefaultEsbModelExporter implements EsbModelTransformer {
 			+ "          <xsl:apply-templates select='node() | @*'/>"
 			+ "        </xsl:copy>" + "  </xsl:template>" + "</xsl:stylesheet>";
 
+	private static Templates prettyPrintTemplates;
+
 	protected static void prettify(OMElement wsdlElement, OutputStream out)
 			throws Exception {
 		ByteArrayOutputStream baos = new ByteArrayOutputStream();
 		wsdlElement.serialize(baos);
 
-		Source stylesheetSource = new StreamSource(new ByteArrayInputStream(
-				prettyPrintStylesheet.getBytes()));
 		Source xmlSource = new StreamSource(new ByteArrayInputStream(
 				baos.toByteArray()));
 
-		TransformerFactory tf = TransformerFactory.newInstance();
-		Templates templates = tf.newTemplates(stylesheetSource);
-		Transformer transformer = templates.newTransformer();
+		Transformer transformer = getPrettyPrintTemplates().newTransformer();
 		transformer.transform(xmlSource, new StreamResult(out));
 	}
 
+	private static synchronized Templates getPrettyPrintTemplates() throws Exception {
+		if (prettyPrintTemplates == null) {
+			Source stylesheetSource = new StreamSource(new ByteArrayInputStream(
+					prettyPrintStylesheet.getBytes()));
+			prettyPrintTemplates = TransformerFactory.newInstance().newTemplates(stylesheetSource);
+		}
+		return prettyPrintTemplates;
+	}
+
 	@Deprecated
 	public EsbServer sourceToDesign(String source, EsbServer esbServer) throws Exception {
 		// TODO : remove this method
 		return null;
 	}
-	
-    public String format(String unformattedXml) {
-        try {
-            final Document document = parseXmlFile(unformattedXml);
-
-            OutputFormat format = new OutputFormat(document);
-            format.setIndenting(true);
-            format.setIndent(4);
-            format.setLineWidth(-1);
-            Writer out = new StringWriter();
-            XMLSerializer serializer = new XMLSerializer(out, format);
-            serializer.serialize(document);
-
-            return out.toString();
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
-    }
-
-    private Document parseXmlFile(String in) {
-        try {
-            DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
-            DocumentBuilder db = dbf.newDocumentBuilder();
-            InputSource is = new InputSource(new StringReader(in));
-            return db.parse(is);
-        } catch (ParserConfigurationException e) {
-            throw new RuntimeException(e);
-        } catch (SAXException e) {
-            throw new RuntimeException(e);
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
-    }	
 }
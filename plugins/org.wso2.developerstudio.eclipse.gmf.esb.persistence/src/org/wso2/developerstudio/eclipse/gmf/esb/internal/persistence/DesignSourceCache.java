@@ -0,0 +1,121 @@
+/*
+ * Copyright 2018 WSO2, Inc. (http://wso2.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.developerstudio.eclipse.gmf.esb.internal.persistence;
+
+import org.eclipse.emf.common.notify.Adapter;
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.ecore.util.EContentAdapter;
+import org.wso2.developerstudio.eclipse.gmf.esb.EsbServer;
+
+/**
+ * Keeps the source last generated from an {@link EsbServer} until anything
+ * in the server's containment tree changes.
+ *
+ * The adapter follows every node, connector and link of the design, so any
+ * edit of the visual model, including one made by loading a new source into
+ * the design, drops the cached source and the next export transforms the
+ * design again. The modification count only tells a source generated while
+ * such a notification arrived from one generated after it.
+ *
+ * Locks of its own are used rather than the server or the adapter, which are
+ * model objects other code may synchronize on.
+ */
+public class DesignSourceCache extends EContentAdapter {
+
+	private static final Object ADAPT_LOCK = new Object();
+
+	private final Object lock = new Object();
+	private String source;
+	private long modificationCount;
+
+	/**
+	 * Get the cache of a server, attaching one if it does not have any yet
+	 *
+	 * @param server
+	 * @return cache of the server
+	 */
+	public static DesignSourceCache adapt(EsbServer server) {
+		synchronized (ADAPT_LOCK) {
+			for (Adapter adapter : server.eAdapters()) {
+				if (adapter instanceof DesignSourceCache) {
+					return (DesignSourceCache) adapter;
+				}
+			}
+			DesignSourceCache cache = new DesignSourceCache();
+			server.eAdapters().add(cache);
+			return cache;
+		}
+	}
+
+	@Override
+	public void notifyChanged(Notification notification) {
+		super.notifyChanged(notification);
+		if (!notification.isTouch() && notification.getEventType() != Notification.REMOVING_ADAPTER) {
+			invalidate();
+		}
+	}
+
+	@Override
+	public boolean isAdapterForType(Object type) {
+		return type == DesignSourceCache.class;
+	}
+
+	/**
+	 * @return source generated from the current state of the design, or null
+	 *         if the design has changed since
+	 */
+	public String getSource() {
+		synchronized (lock) {
+			return source;
+		}
+	}
+
+	/**
+	 * @return number of changes seen so far, to be passed back to
+	 *         {@link #setSource(String, long)}
+	 */
+	public long getModificationCount() {
+		synchronized (lock) {
+			return modificationCount;
+		}
+	}
+
+	/**
+	 * Keep a generated source, unless the design was changed while it was
+	 * being generated
+	 *
+	 * @param source
+	 * @param modificationCount
+	 *            count returned by {@link #getModificationCount()} before
+	 *            generating the source
+	 */
+	public void setSource(String source, long modificationCount) {
+		synchronized (lock) {
+			if (this.modificationCount == modificationCount) {
+				this.source = source;
+			}
+		}
+	}
+
+	public void invalidate() {
+		synchronized (lock) {
+			source = null;
+			modificationCount++;
+		}
+	}
+
+}
@@ -20,6 +20,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
 import java.util.Random;
+import java.util.Set;
 
 import org.apache.axiom.om.OMElement;
 import org.apache.axiom.om.util.AXIOMUtil;
@@ -36,10 +37,6 @@ import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.emf.ecore.EObject;
-import org.eclipse.ui.IEditorPart;
-import org.eclipse.ui.IEditorReference;
-import org.eclipse.ui.PlatformUI;
-import org.wso2.developerstudio.eclipse.esb.core.interfaces.IEsbEditorInput;
 import org.wso2.developerstudio.eclipse.gmf.esb.EndPoint;
 import org.wso2.developerstudio.eclipse.gmf.esb.EndpointDiagram;
 import org.wso2.developerstudio.eclipse.gmf.esb.EsbNode;
@@ -83,7 +80,7 @@ public class FailoverEndPointTransformer extends AbstractEndpointTransformer {
 			}
 		}
 
-		List<EsbNode> transformedMediators = info.getTransformedMediators();
+		Set<EsbNode> transformedMediators = info.getTransformedMediators();
 		if (visualEndPoint.getOutputConnector() != null && visualEndPoint.getWestOutputConnector() != null
 				&& visualEndPoint.getWestOutputConnector().getOutgoingLink() != null) {
 			EsbNode nextElement = (EsbNode) visualEndPoint.getWestOutputConnector().getOutgoingLink().getTarget()
@@ -120,8 +117,6 @@ public class FailoverEndPointTransformer extends AbstractEndpointTransformer {
 	public FailoverEndpoint create(TransformationInfo info, FailoverEndPoint visualEndPoint, String name,
 			List<Endpoint> endPoints) throws TransformerException {
 		
-		IEditorPart editorPart = null;
-		IProject activeProject = null;
 		FailoverEndpoint synapseFailEP = new FailoverEndpoint();
 
 		if (StringUtils.isNotBlank(name)) {
@@ -156,21 +151,7 @@ public class FailoverEndPointTransformer extends AbstractEndpointTransformer {
 
 			} else {
 
-				IEditorReference editorReferences[] = PlatformUI.getWorkbench().getActiveWorkbenchWindow()
-						.getActivePage().getEditorReferences();
-				for (int i = 0; i < editorReferences.length; i++) {
-					IEditorPart editor = editorReferences[i].getEditor(false);
-
-					if (editor != null) {
-						editorPart = editor.getSite().getWorkbenchWindow().getActivePage().getActiveEditor();
-					}
-
-					if (editorPart != null) {
-						IEsbEditorInput input = (IEsbEditorInput) editorPart.getEditorInput();
-						IFile file = input.getXmlResource();
-						activeProject = file.getProject();
-					}
-				}
+				IProject activeProject = getProject(visualEndPoint);
 
 				OMElement element = null;
 				String endpointName = (String) visualEndPoint.getName();
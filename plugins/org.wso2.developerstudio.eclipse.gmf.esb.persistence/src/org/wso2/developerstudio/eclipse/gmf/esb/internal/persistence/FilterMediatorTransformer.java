@@ -107,7 +107,7 @@ public class FilterMediatorTransformer extends AbstractEsbNodeTransformer {
 
 		// Transform pass output data flow path.
 		filterMediator.setThenElementPresent(true);
-		TransformationInfo newThenInfo = new TransformationInfo();
+		TransformationInfo newThenInfo = new TransformationInfo(info);
 		newThenInfo.setTraversalDirection(info.getTraversalDirection());
 		newThenInfo.setSynapseConfiguration(info.getSynapseConfiguration());
 		newThenInfo.setOriginInSequence(info.getOriginInSequence());
@@ -119,7 +119,7 @@ public class FilterMediatorTransformer extends AbstractEsbNodeTransformer {
 		// Transform fail output data flow path.
 		AnonymousListMediator elseMediator = new AnonymousListMediator();
 		filterMediator.setElseMediator(elseMediator);
-		TransformationInfo newElseInfo = new TransformationInfo();
+		TransformationInfo newElseInfo = new TransformationInfo(info);
 		newElseInfo.setTraversalDirection(info.getTraversalDirection());
 		newElseInfo.setSynapseConfiguration(info.getSynapseConfiguration());
 		newElseInfo.setOriginInSequence(info.getOriginInSequence());
@@ -214,7 +214,7 @@ public class FilterMediatorTransformer extends AbstractEsbNodeTransformer {
 
 		// Transform pass output data flow path.
 		filterMediator.setThenElementPresent(true);
-		TransformationInfo newThenInfo = new TransformationInfo();
+		TransformationInfo newThenInfo = new TransformationInfo(info);
 		newThenInfo.setTraversalDirection(info.getTraversalDirection());
 		newThenInfo.setSynapseConfiguration(info.getSynapseConfiguration());
 		newThenInfo.setOriginInSequence(info.getOriginInSequence());
@@ -225,7 +225,7 @@ public class FilterMediatorTransformer extends AbstractEsbNodeTransformer {
 		// Transform fail output data flow path.
 		AnonymousListMediator elseMediator = new AnonymousListMediator();
 		filterMediator.setElseMediator(elseMediator);
-		TransformationInfo newElseInfo = new TransformationInfo();
+		TransformationInfo newElseInfo = new TransformationInfo(info);
 		newElseInfo.setTraversalDirection(info.getTraversalDirection());
 		newElseInfo.setSynapseConfiguration(info.getSynapseConfiguration());
 		newElseInfo.setOriginInSequence(info.getOriginInSequence());
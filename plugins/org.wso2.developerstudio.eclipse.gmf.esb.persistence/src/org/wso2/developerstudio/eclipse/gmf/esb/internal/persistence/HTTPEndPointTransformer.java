@@ -17,6 +17,7 @@
 package org.wso2.developerstudio.eclipse.gmf.esb.internal.persistence;
 
 import java.util.List;
+import java.util.Set;
 
 import org.apache.axis2.Constants;
 import org.apache.commons.lang.StringUtils;
@@ -74,7 +75,7 @@ public class HTTPEndPointTransformer extends AbstractEndpointTransformer {
 			}
 		}
 
-		List<EsbNode> transformedMediators = information.getTransformedMediators();
+		Set<EsbNode> transformedMediators = information.getTransformedMediators();
 		if (visualEndPoint.getOutputConnector() != null
 				&& visualEndPoint.getOutputConnector().getOutgoingLink() != null) {
 			EsbNode nextElement = (EsbNode) visualEndPoint.getOutputConnector().getOutgoingLink().getTarget()
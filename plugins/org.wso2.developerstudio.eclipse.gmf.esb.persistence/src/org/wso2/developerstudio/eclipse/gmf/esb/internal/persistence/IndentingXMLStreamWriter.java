@@ -0,0 +1,649 @@
+/*
+ * Copyright 2018 WSO2, Inc. (http://wso2.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.developerstudio.eclipse.gmf.esb.internal.persistence;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.XMLConstants;
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import org.apache.axiom.om.OMElement;
+
+/**
+ * {@link XMLStreamWriter} which writes an indented XML document in a single
+ * pass.
+ *
+ * The output is the same as parsing the serialized document into a DOM and
+ * writing it with Xerces' XMLSerializer, indenting by 4 spaces and without
+ * line wrapping, which is how the source of ESB artifacts has always been
+ * formatted: attributes are sorted by name, whitespace only text is dropped
+ * and each element starts on a new line unless it is part of mixed content.
+ */
+public class IndentingXMLStreamWriter implements XMLStreamWriter {
+
+	private static final String XML_DECLARATION = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>";
+	private static final String LINE_SEPARATOR = "\n";
+	private static final int INDENT = 4;
+
+	private static final Comparator<String[]> ATTRIBUTE_ORDER = new Comparator<String[]>() {
+		public int compare(String[] attribute1, String[] attribute2) {
+			return attribute1[0].compareTo(attribute2[0]);
+		}
+	};
+
+	private final Writer out;
+
+	/*
+	 * Content of the current line and the indentation of the current and the
+	 * next line
+	 */
+	private final StringBuilder line = new StringBuilder();
+	private int thisIndent;
+	private int nextIndent;
+
+	private final List<ElementState> elementStates = new ArrayList<ElementState>();
+	private boolean started;
+
+	/*
+	 * Start tag waiting for its attributes, and text waiting for the next event
+	 * to find out whether it is whitespace between elements
+	 */
+	private String pendingElement;
+	private final List<String[]> pendingAttributes = new ArrayList<String[]>();
+	private final StringBuilder pendingText = new StringBuilder();
+
+	private NamespaceScope namespaceScope = new NamespaceScope(null);
+
+	/*
+	 * Bindings given by the caller, which are taken as declared outside the
+	 * document
+	 */
+	private NamespaceContext rootNamespaceContext;
+	private final NamespaceContext namespaceContext = new NamespaceContext() {
+
+		public String getNamespaceURI(String prefix) {
+			String namespaceURI = namespaceScope.getNamespaceURI(prefix);
+			if (namespaceURI == null && rootNamespaceContext != null) {
+				namespaceURI = rootNamespaceContext.getNamespaceURI(prefix);
+			}
+			return namespaceURI != null ? namespaceURI : XMLConstants.NULL_NS_URI;
+		}
+
+		public String getPrefix(String namespaceURI) {
+			return lookupPrefix(namespaceURI);
+		}
+
+		public Iterator<String> getPrefixes(String namespaceURI) {
+			String prefix = getPrefix(namespaceURI);
+			List<String> prefixes = prefix != null ? Collections.singletonList(prefix) : Collections
+					.<String> emptyList();
+			return prefixes.iterator();
+		}
+	};
+
+	public IndentingXMLStreamWriter(Writer out) {
+		this.out = out;
+	}
+
+	/**
+	 * Write an element as an indented XML document
+	 *
+	 * @param element
+	 * @param out
+	 * @throws XMLStreamException
+	 */
+	public static void write(OMElement element, Writer out) throws XMLStreamException {
+		IndentingXMLStreamWriter writer = new IndentingXMLStreamWriter(out);
+		element.serialize(writer);
+		writer.writeEndDocument();
+		writer.flush();
+	}
+
+	/**
+	 * @param element
+	 * @return element as an indented XML document
+	 * @throws XMLStreamException
+	 */
+	public static String toString(OMElement element) throws XMLStreamException {
+		StringWriter out = new StringWriter();
+		write(element, out);
+		return out.toString();
+	}
+
+	public void writeStartElement(String localName) throws XMLStreamException {
+		writeStartElement(XMLConstants.DEFAULT_NS_PREFIX, localName, XMLConstants.NULL_NS_URI);
+	}
+
+	public void writeStartElement(String namespaceURI, String localName) throws XMLStreamException {
+		String prefix = getPrefix(namespaceURI);
+		writeStartElement(prefix != null ? prefix : XMLConstants.DEFAULT_NS_PREFIX, localName, namespaceURI);
+	}
+
+	public void writeStartElement(String prefix, String localName, String namespaceURI) throws XMLStreamException {
+		flushPending();
+		ElementState parent = getElementState();
+		if (parent == null) {
+			startDocument();
+		} else {
+			if (parent.empty) {
+				line.append('>');
+			}
+			if (parent.inCData) {
+				line.append("]]>");
+				parent.inCData = false;
+			}
+			if (!parent.preserveSpace && (parent.empty || parent.afterElement || parent.afterComment)) {
+				breakLine();
+			}
+		}
+		pendingElement = getQualifiedName(prefix, localName);
+		namespaceScope = new NamespaceScope(namespaceScope);
+	}
+
+	public void writeEmptyElement(String localName) throws XMLStreamException {
+		writeStartElement(localName);
+		writeEndElement();
+	}
+
+	public void writeEmptyElement(String namespaceURI, String localName) throws XMLStreamException {
+		writeStartElement(namespaceURI, localName);
+		writeEndElement();
+	}
+
+	public void writeEmptyElement(String prefix, String localName, String namespaceURI) throws XMLStreamException {
+		writeStartElement(prefix, localName, namespaceURI);
+		writeEndElement();
+	}
+
+	public void writeAttribute(String localName, String value) throws XMLStreamException {
+		addAttribute(localName, value);
+	}
+
+	public void writeAttribute(String prefix, String namespaceURI, String localName, String value)
+			throws XMLStreamException {
+		addAttribute(getQualifiedName(prefix, localName), value);
+	}
+
+	public void writeAttribute(String namespaceURI, String localName, String value) throws XMLStreamException {
+		writeAttribute(getPrefix(namespaceURI), namespaceURI, localName, value);
+	}
+
+	public void writeNamespace(String prefix, String namespaceURI) throws XMLStreamException {
+		if (prefix == null || prefix.length() == 0 || XMLConstants.XMLNS_ATTRIBUTE.equals(prefix)) {
+			writeDefaultNamespace(namespaceURI);
+			return;
+		}
+		namespaceScope.bind(prefix, namespaceURI);
+		addAttribute(XMLConstants.XMLNS_ATTRIBUTE + ":" + prefix, namespaceURI);
+	}
+
+	public void writeDefaultNamespace(String namespaceURI) throws XMLStreamException {
+		namespaceScope.bind(XMLConstants.DEFAULT_NS_PREFIX, namespaceURI);
+		addAttribute(XMLConstants.XMLNS_ATTRIBUTE, namespaceURI);
+	}
+
+	public void writeEndElement() throws XMLStreamException {
+		flushPending();
+		unindent();
+		ElementState state = getElementState();
+		if (state.empty) {
+			line.append("/>");
+		} else {
+			if (state.inCData) {
+				line.append("]]>");
+			}
+			if (!state.preserveSpace && (state.afterElement || state.afterComment)) {
+				breakLine();
+			}
+			line.append("</").append(state.name).append('>');
+		}
+		elementStates.remove(elementStates.size() - 1);
+		namespaceScope = namespaceScope.parent;
+		ElementState parent = getElementState();
+		if (parent != null) {
+			parent.afterElement = true;
+			parent.afterComment = false;
+			parent.empty = false;
+		} else if (line.length() > 0) {
+			breakLine();
+		}
+	}
+
+	public void writeEndDocument() throws XMLStreamException {
+		while (pendingElement != null || !elementStates.isEmpty()) {
+			writeEndElement();
+		}
+	}
+
+	public void writeCharacters(String text) throws XMLStreamException {
+		if (pendingElement != null) {
+			printStartTag();
+		}
+		pendingText.append(text);
+	}
+
+	public void writeCharacters(char[] text, int start, int len) throws XMLStreamException {
+		writeCharacters(new String(text, start, len));
+	}
+
+	public void writeCData(String data) throws XMLStreamException {
+		flushPending();
+		ElementState state = getElementState();
+		state.doCData = true;
+		content();
+		if (!state.inCData) {
+			line.append("<![CDATA[");
+			state.inCData = true;
+		}
+		printCData(normalizeLineBreaks(data));
+		state.doCData = false;
+	}
+
+	public void writeComment(String data) throws XMLStreamException {
+		flushPending();
+		ElementState state = content();
+		if (state == null) {
+			return;
+		}
+		if (!state.preserveSpace) {
+			breakLine();
+		}
+		String comment = normalizeLineBreaks(data);
+		int end = comment.indexOf("-->");
+		line.append("<!--");
+		printUnescaped(end >= 0 ? comment.substring(0, end) : comment);
+		line.append("-->");
+		state.afterComment = true;
+		state.afterElement = false;
+	}
+
+	public void writeProcessingInstruction(String target) throws XMLStreamException {
+		writeProcessingInstruction(target, null);
+	}
+
+	public void writeProcessingInstruction(String target, String data) throws XMLStreamException {
+		flushPending();
+		ElementState state = content();
+		if (state == null) {
+			return;
+		}
+		int end = target.indexOf("?>");
+		line.append("<?");
+		printUnescaped(end >= 0 ? target.substring(0, end) : target);
+		if (data != null) {
+			String code = normalizeLineBreaks(data);
+			end = code.indexOf("?>");
+			line.append(' ');
+			printUnescaped(end >= 0 ? code.substring(0, end) : code);
+		}
+		line.append("?>");
+		state.afterElement = true;
+	}
+
+	public void writeEntityRef(String name) throws XMLStreamException {
+		flushPending();
+		if (content() != null) {
+			line.append('&').append(name).append(';');
+		}
+	}
+
+	public void writeDTD(String dtd) throws XMLStreamException {
+		// the document type is not part of the formatted source
+	}
+
+	public void writeStartDocument() throws XMLStreamException {
+		startDocument();
+	}
+
+	public void writeStartDocument(String version) throws XMLStreamException {
+		startDocument();
+	}
+
+	public void writeStartDocument(String encoding, String version) throws XMLStreamException {
+		startDocument();
+	}
+
+	public void flush() throws XMLStreamException {
+		try {
+			out.flush();
+		} catch (IOException e) {
+			throw new XMLStreamException(e);
+		}
+	}
+
+	public void close() throws XMLStreamException {
+		flush();
+	}
+
+	public String getPrefix(String uri) throws XMLStreamException {
+		return lookupPrefix(uri);
+	}
+
+	public void setPrefix(String prefix, String uri) throws XMLStreamException {
+		namespaceScope.bind(prefix, uri);
+	}
+
+	public void setDefaultNamespace(String uri) throws XMLStreamException {
+		namespaceScope.bind(XMLConstants.DEFAULT_NS_PREFIX, uri);
+	}
+
+	public void setNamespaceContext(NamespaceContext context) throws XMLStreamException {
+		rootNamespaceContext = context;
+	}
+
+	public NamespaceContext getNamespaceContext() {
+		return namespaceContext;
+	}
+
+	/**
+	 * The writer has no properties of its own, it never repairs namespaces
+	 */
+	public Object getProperty(String name) throws IllegalArgumentException {
+		return XMLOutputFactory.IS_REPAIRING_NAMESPACES.equals(name) ? Boolean.FALSE : null;
+	}
+
+	private String lookupPrefix(String namespaceURI) {
+		String prefix = namespaceScope.getPrefix(namespaceURI);
+		if (prefix == null && rootNamespaceContext != null) {
+			prefix = rootNamespaceContext.getPrefix(namespaceURI);
+		}
+		return prefix;
+	}
+
+	private ElementState getElementState() {
+		return elementStates.isEmpty() ? null : elementStates.get(elementStates.size() - 1);
+	}
+
+	private void startDocument() throws XMLStreamException {
+		if (!started) {
+			line.append(XML_DECLARATION);
+			breakLine();
+			started = true;
+		}
+	}
+
+	private void addAttribute(String name, String value) {
+		pendingAttributes.add(new String[] { name, value != null ? value : "" });
+	}
+
+	/**
+	 * Write out the start tag and the text which were held back for the next
+	 * event
+	 */
+	private void flushPending() throws XMLStreamException {
+		if (pendingElement != null) {
+			printStartTag();
+		}
+		if (pendingText.length() > 0) {
+			String text = pendingText.toString();
+			pendingText.setLength(0);
+			ElementState state = getElementState();
+			if (state != null && (state.preserveSpace || text.replace('\n', ' ').trim().length() != 0)) {
+				content();
+				printText(text);
+			}
+		}
+	}
+
+	private void printStartTag() {
+		ElementState parent = getElementState();
+		boolean preserveSpace = parent != null && parent.preserveSpace;
+		line.append('<').append(pendingElement);
+		indent();
+		Collections.sort(pendingAttributes, ATTRIBUTE_ORDER);
+		for (String[] attribute : pendingAttributes) {
+			line.append(' ').append(attribute[0]).append("=\"");
+			printAttributeValue(attribute[1]);
+			line.append('"');
+			if ("xml:space".equals(attribute[0])) {
+				preserveSpace = "preserve".equals(attribute[1]);
+			}
+		}
+		elementStates.add(new ElementState(pendingElement, preserveSpace));
+		pendingElement = null;
+		pendingAttributes.clear();
+	}
+
+	/**
+	 * Close the start tag or the CDATA section before writing content
+	 */
+	private ElementState content() {
+		ElementState state = getElementState();
+		if (state != null) {
+			if (state.inCData && !state.doCData) {
+				line.append("]]>");
+				state.inCData = false;
+			}
+			if (state.empty) {
+				line.append('>');
+				state.empty = false;
+			}
+			state.afterElement = false;
+			state.afterComment = false;
+		}
+		return state;
+	}
+
+	private void printText(String text) {
+		for (int i = 0; i < text.length(); i++) {
+			char ch = text.charAt(i);
+			if (Character.isHighSurrogate(ch) && i + 1 < text.length()
+					&& Character.isLowSurrogate(text.charAt(i + 1))) {
+				printHex(Character.toCodePoint(ch, text.charAt(++i)));
+			} else if (ch == '<') {
+				line.append("&lt;");
+			} else if (ch == '&') {
+				line.append("&amp;");
+			} else if (ch == '>') {
+				line.append("&gt;");
+			} else if (ch == '\n' || ch == '\t' || (ch >= ' ' && ch != '\r')) {
+				line.append(ch);
+			} else {
+				printHex(ch);
+			}
+		}
+	}
+
+	private void printAttributeValue(String value) {
+		for (int i = 0; i < value.length(); i++) {
+			char ch = value.charAt(i);
+			if (Character.isHighSurrogate(ch) && i + 1 < value.length()
+					&& Character.isLowSurrogate(value.charAt(i + 1))) {
+				printHex(Character.toCodePoint(ch, value.charAt(++i)));
+			} else if (ch == '<') {
+				line.append("&lt;");
+			} else if (ch == '&') {
+				line.append("&amp;");
+			} else if (ch == '"') {
+				line.append("&quot;");
+			} else if (ch >= ' ') {
+				line.append(ch);
+			} else {
+				printHex(ch);
+			}
+		}
+	}
+
+	/**
+	 * Print the content of a comment or a processing instruction
+	 */
+	private void printUnescaped(String text) {
+		for (int i = 0; i < text.length(); i++) {
+			char ch = text.charAt(i);
+			if (Character.isHighSurrogate(ch) && i + 1 < text.length()
+					&& Character.isLowSurrogate(text.charAt(i + 1))) {
+				printHex(Character.toCodePoint(ch, text.charAt(++i)));
+			} else {
+				line.append(ch);
+			}
+		}
+	}
+
+	/**
+	 * Print the content of a CDATA section, splitting it around the
+	 * characters which can not be written in it
+	 */
+	private void printCData(String data) {
+		for (int i = 0; i < data.length(); i++) {
+			char ch = data.charAt(i);
+			if (ch == ']' && i + 2 < data.length() && data.charAt(i + 1) == ']' && data.charAt(i + 2) == '>') {
+				line.append("]]]]><![CDATA[>");
+				i += 2;
+			} else if (Character.isHighSurrogate(ch) && i + 1 < data.length()
+					&& Character.isLowSurrogate(data.charAt(i + 1))) {
+				line.append("]]>&#x").append(Integer.toHexString(Character.toCodePoint(ch, data.charAt(++i))))
+						.append(";<![CDATA[");
+			} else if ((ch >= ' ' && ch != 0xF7) || ch == '\n' || ch == '\t') {
+				line.append(ch);
+			} else {
+				line.append("]]>&#x").append(Integer.toHexString(ch)).append(";<![CDATA[");
+			}
+		}
+	}
+
+	private void printHex(int ch) {
+		line.append("&#x").append(Integer.toHexString(ch)).append(';');
+	}
+
+	/**
+	 * Line breaks inside CDATA sections and comments are written as they
+	 * would be read back by a parser
+	 */
+	private String normalizeLineBreaks(String text) {
+		if (text.indexOf('\r') < 0) {
+			return text;
+		}
+		return text.replace("\r\n", "\n").replace('\r', '\n');
+	}
+
+	private void indent() {
+		nextIndent += INDENT;
+	}
+
+	private void unindent() {
+		nextIndent = Math.max(nextIndent - INDENT, 0);
+		if (line.length() == 0) {
+			thisIndent = nextIndent;
+		}
+	}
+
+	private void breakLine() throws XMLStreamException {
+		try {
+			if (line.length() > 0) {
+				for (int i = 0; i < thisIndent; i++) {
+					out.write(' ');
+				}
+				thisIndent = nextIndent;
+				out.append(line);
+				line.setLength(0);
+			}
+			out.write(LINE_SEPARATOR);
+		} catch (IOException e) {
+			throw new XMLStreamException(e);
+		}
+	}
+
+	private static String getQualifiedName(String prefix, String localName) {
+		return (prefix == null || prefix.length() == 0) ? localName : prefix + ":" + localName;
+	}
+
+	/**
+	 * Formatting state of an open element
+	 */
+	private static class ElementState {
+
+		private final String name;
+		private final boolean preserveSpace;
+		private boolean empty = true;
+		private boolean afterElement;
+		private boolean afterComment;
+		private boolean doCData;
+		private boolean inCData;
+
+		private ElementState(String name, boolean preserveSpace) {
+			this.name = name;
+			this.preserveSpace = preserveSpace;
+		}
+	}
+
+	/**
+	 * Namespace bindings of an open element
+	 */
+	private static class NamespaceScope {
+
+		private final NamespaceScope parent;
+		private Map<String, String> bindings;
+
+		private NamespaceScope(NamespaceScope parent) {
+			this.parent = parent;
+		}
+
+		private void bind(String prefix, String namespaceURI) {
+			if (bindings == null) {
+				bindings = new HashMap<String, String>();
+			}
+			bindings.put(prefix != null ? prefix : XMLConstants.DEFAULT_NS_PREFIX, namespaceURI);
+		}
+
+		private String getNamespaceURI(String prefix) {
+			if (XMLConstants.XML_NS_PREFIX.equals(prefix)) {
+				return XMLConstants.XML_NS_URI;
+			} else if (XMLConstants.XMLNS_ATTRIBUTE.equals(prefix)) {
+				return XMLConstants.XMLNS_ATTRIBUTE_NS_URI;
+			}
+			for (NamespaceScope scope = this; scope != null; scope = scope.parent) {
+				if (scope.bindings != null && scope.bindings.containsKey(prefix)) {
+					return scope.bindings.get(prefix);
+				}
+			}
+			return null;
+		}
+
+		private String getPrefix(String namespaceURI) {
+			if (XMLConstants.XML_NS_URI.equals(namespaceURI)) {
+				return XMLConstants.XML_NS_PREFIX;
+			} else if (XMLConstants.XMLNS_ATTRIBUTE_NS_URI.equals(namespaceURI)) {
+				return XMLConstants.XMLNS_ATTRIBUTE;
+			}
+			for (NamespaceScope scope = this; scope != null; scope = scope.parent) {
+				if (scope.bindings == null) {
+					continue;
+				}
+				for (Map.Entry<String, String> binding : scope.bindings.entrySet()) {
+					if (binding.getValue() != null && binding.getValue().equals(namespaceURI)
+							&& namespaceURI.equals(getNamespaceURI(binding.getKey()))) {
+						return binding.getKey();
+					}
+				}
+			}
+			return null;
+		}
+	}
+
+}
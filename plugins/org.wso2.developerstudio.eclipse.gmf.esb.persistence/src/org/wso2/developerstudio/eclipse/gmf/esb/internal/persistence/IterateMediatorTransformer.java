@@ -125,7 +125,7 @@ public class IterateMediatorTransformer extends AbstractEsbNodeTransformer{
 			case ANONYMOUS:
 				SequenceMediator targetSequence=new SequenceMediator();
 				
-				TransformationInfo newInfo = new TransformationInfo();
+				TransformationInfo newInfo = new TransformationInfo(information);
 				newInfo.setTraversalDirection(information.getTraversalDirection());
 				newInfo.setSynapseConfiguration(information.getSynapseConfiguration());
 				newInfo.setOriginInSequence(information.getOriginInSequence());
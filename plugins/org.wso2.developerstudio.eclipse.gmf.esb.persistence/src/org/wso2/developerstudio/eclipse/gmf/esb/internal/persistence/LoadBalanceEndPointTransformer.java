@@ -19,6 +19,7 @@ package org.wso2.developerstudio.eclipse.gmf.esb.internal.persistence;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
+import java.util.Set;
 
 import org.apache.axiom.om.OMElement;
 import org.apache.axiom.om.util.AXIOMUtil;
@@ -42,12 +43,6 @@ import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.emf.ecore.EObject;
-import org.eclipse.jface.dialogs.MessageDialog;
-import org.eclipse.swt.widgets.Display;
-import org.eclipse.ui.IEditorPart;
-import org.eclipse.ui.IEditorReference;
-import org.eclipse.ui.PlatformUI;
-import org.wso2.developerstudio.eclipse.esb.core.interfaces.IEsbEditorInput;
 import org.wso2.developerstudio.eclipse.gmf.esb.EndPoint;
 import org.wso2.developerstudio.eclipse.gmf.esb.EndpointDiagram;
 import org.wso2.developerstudio.eclipse.gmf.esb.EsbNode;
@@ -93,7 +88,7 @@ public class LoadBalanceEndPointTransformer extends AbstractEndpointTransformer
 			}
 		}
 
-		List<EsbNode> transformedMediators = information.getTransformedMediators();
+		Set<EsbNode> transformedMediators = information.getTransformedMediators();
 		if (visualEndPoint.getOutputConnector() != null && visualEndPoint.getWestOutputConnector() != null
 				&& visualEndPoint.getWestOutputConnector().getOutgoingLink() != null) {
 			EsbNode nextElement = (EsbNode) visualEndPoint.getWestOutputConnector().getOutgoingLink().getTarget()
@@ -135,8 +130,6 @@ public class LoadBalanceEndPointTransformer extends AbstractEndpointTransformer
 			throw new TransformerException(
 					"Load-BalanceEndPoint should be configured. Double click on endpoint to configure.");
 		}
-		IEditorPart editorPart = null;
-		IProject activeProject = null;
 		List<Endpoint> endPointsList = new ArrayList<Endpoint>();
 		EndpointDefinition synapseEPDef = new EndpointDefinition();
 
@@ -168,17 +161,14 @@ public class LoadBalanceEndPointTransformer extends AbstractEndpointTransformer
 				synapseLBEP.setAlgorithm((LoadbalanceAlgorithm) algorithm);
 			}
 		} catch (ClassNotFoundException e1) {
-			MessageDialog.openError(Display.getCurrent().getActiveShell(), "Error in Loadbalance Endpoint ! ",
-					visualEndPoint.getAlgorithm().trim() + " algorithm class not found.");
-			e1.printStackTrace();
+			throw new TransformerException("Error in Loadbalance Endpoint: "
+					+ visualEndPoint.getAlgorithm().trim() + " algorithm class not found.", e1);
 		} catch (InstantiationException e) {
-			MessageDialog.openError(Display.getCurrent().getActiveShell(), "Error in Loadbalance Endpoint ! ",
-					visualEndPoint.getAlgorithm().trim() + " algorithm class cannot be instantiated.");
-			e.printStackTrace();
+			throw new TransformerException("Error in Loadbalance Endpoint: "
+					+ visualEndPoint.getAlgorithm().trim() + " algorithm class cannot be instantiated.", e);
 		} catch (IllegalAccessException e) {
-			MessageDialog.openError(Display.getCurrent().getActiveShell(), "Error in Loadbalance Endpoint ! ",
-					"Illegal access to " + visualEndPoint.getAlgorithm().trim() + " algorithm class.");
-			e.printStackTrace();
+			throw new TransformerException("Error in Loadbalance Endpoint: Illegal access to "
+					+ visualEndPoint.getAlgorithm().trim() + " algorithm class.", e);
 		}
 
 		switch (visualEndPoint.getSessionType()) {
@@ -223,21 +213,7 @@ public class LoadBalanceEndPointTransformer extends AbstractEndpointTransformer
 				}
 			} else {
 
-				IEditorReference editorReferences[] = PlatformUI.getWorkbench().getActiveWorkbenchWindow()
-						.getActivePage().getEditorReferences();
-				for (int i = 0; i < editorReferences.length; i++) {
-					IEditorPart editor = editorReferences[i].getEditor(false);
-
-					if (editor != null) {
-						editorPart = editor.getSite().getWorkbenchWindow().getActivePage().getActiveEditor();
-					}
-
-					if (editorPart != null) {
-						IEsbEditorInput input = (IEsbEditorInput) editorPart.getEditorInput();
-						IFile file = input.getXmlResource();
-						activeProject = file.getProject();
-					}
-				}
+				IProject activeProject = getProject(visualEndPoint);
 
 				String endpointName = (String) visualEndPoint.getName();
 				IPath location = new Path("src/main/synapse-config/complex-endpoints" + "/" + endpointName + ".xml");
@@ -17,6 +17,7 @@
 package org.wso2.developerstudio.eclipse.gmf.esb.internal.persistence;
 
 import java.util.List;
+import java.util.Set;
 
 import org.apache.synapse.endpoints.Endpoint;
 import org.apache.synapse.endpoints.IndirectEndpoint;
@@ -68,7 +69,7 @@ public class NamedEndPointTransformer extends AbstractEndpointTransformer{
 				information.firstEndPoint=visualEndPoint;
 			}
 
-		List<EsbNode> transformedMediators = information.getTransformedMediators();
+		Set<EsbNode> transformedMediators = information.getTransformedMediators();
 		if (visualEndPoint.getOutputConnector() != null && visualEndPoint.getOutputConnector().getOutgoingLink()!=null) {
 			EsbNode nextElement = (EsbNode) visualEndPoint.getOutputConnector().getOutgoingLink().getTarget().eContainer();
 			if (transformedMediators.contains(nextElement)) {
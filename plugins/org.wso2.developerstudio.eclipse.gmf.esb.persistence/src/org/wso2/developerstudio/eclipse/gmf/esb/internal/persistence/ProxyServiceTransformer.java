@@ -546,7 +546,7 @@ public class ProxyServiceTransformer extends AbstractEsbNodeTransformer {
 				break;
 			}			
 			
-			TransformationInfo faultInfo =new TransformationInfo(); 
+			TransformationInfo faultInfo =new TransformationInfo(info); 
 			faultInfo.setParentSequence(faultSequence);			
 			faultInfo.setSynapseConfiguration(info.getSynapseConfiguration());
 			doTransformFaultSequence(faultInfo,getOriginNode(visualService));
@@ -20,6 +20,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.Properties;
+import java.util.Set;
 
 import org.apache.axiom.om.OMElement;
 import org.apache.axiom.om.util.AXIOMUtil;
@@ -38,11 +39,7 @@ import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.emf.ecore.EObject;
-import org.eclipse.ui.IEditorPart;
-import org.eclipse.ui.IEditorReference;
-import org.eclipse.ui.PlatformUI;
 import org.jaxen.JaxenException;
-import org.wso2.developerstudio.eclipse.esb.core.interfaces.IEsbEditorInput;
 import org.wso2.developerstudio.eclipse.gmf.esb.EndPoint;
 import org.wso2.developerstudio.eclipse.gmf.esb.EndpointDiagram;
 import org.wso2.developerstudio.eclipse.gmf.esb.EsbNode;
@@ -90,7 +87,7 @@ public class RecipientListEndPointTransformer extends AbstractEndpointTransforme
 			}
 		}
 
-		List<EsbNode> transformedMediators = info.getTransformedMediators();
+		Set<EsbNode> transformedMediators = info.getTransformedMediators();
 		if (endPointModel.getOutputConnector() != null && endPointModel.getWestOutputConnector() != null
 				&& endPointModel.getWestOutputConnector().getOutgoingLink() != null) {
 			EsbNode nextElement = (EsbNode) endPointModel.getWestOutputConnector().getOutgoingLink().getTarget()
@@ -144,8 +141,6 @@ public class RecipientListEndPointTransformer extends AbstractEndpointTransforme
 		}
 		
 		RecipientListEndpoint recipientList;
-		IEditorPart editorPart = null;
-		IProject activeProject = null;
 
 		if (model.getEndpointType().getLiteral().equals(RecipientListEndpointType.VALUE.getLiteral())
 				|| model.getEndpointType().getLiteral().equals(RecipientListEndpointType.XPATH.getLiteral())) {
@@ -202,21 +197,7 @@ public class RecipientListEndPointTransformer extends AbstractEndpointTransforme
 					}
 				} else {
 
-					IEditorReference editorReferences[] = PlatformUI.getWorkbench().getActiveWorkbenchWindow()
-							.getActivePage().getEditorReferences();
-					for (int i = 0; i < editorReferences.length; i++) {
-						IEditorPart editor = editorReferences[i].getEditor(false);
-
-						if (editor != null) {
-							editorPart = editor.getSite().getWorkbenchWindow().getActivePage().getActiveEditor();
-						}
-
-						if (editorPart != null) {
-							IEsbEditorInput input = (IEsbEditorInput) editorPart.getEditorInput();
-							IFile file = input.getXmlResource();
-							activeProject = file.getProject();
-						}
-					}
+					IProject activeProject = getProject(model);
 
 					String endpointName = (String) model.getName();
 					IPath location = new Path("src/main/synapse-config/complex-endpoints" + "/" + endpointName + ".xml");
@@ -97,7 +97,7 @@ public class RouterMediatorTransformer extends AbstractEsbNodeTransformer {
 			} else{
 				SequenceMediator targetSequence = new SequenceMediator();
 
-				TransformationInfo newOnCompleteInfo = new TransformationInfo();
+				TransformationInfo newOnCompleteInfo = new TransformationInfo(information);
 				newOnCompleteInfo.setTraversalDirection(information.getTraversalDirection());
 				newOnCompleteInfo.setSynapseConfiguration(information.getSynapseConfiguration());
 				newOnCompleteInfo.setOriginInSequence(information.getOriginInSequence());
@@ -40,7 +40,7 @@ public class SendMediatorTransformer extends AbstractEsbNodeTransformer {
 			if (sendMediator != null) {
 				information.getParentSequence().addChild(sendMediator);
 			}
-			TransformationInfo tmpInformation = new TransformationInfo();
+			TransformationInfo tmpInformation = new TransformationInfo(information);
 			tmpInformation.setParentSequence(information.getParentSequence());
 			tmpInformation.setTraversalDirection(information.getTraversalDirection());
 			tmpInformation.setOriginInSequence(information.getOriginInSequence());
@@ -23,8 +23,6 @@ import org.apache.synapse.mediators.base.SequenceMediator;
 import org.apache.synapse.util.xpath.SynapseXPath;
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.emf.ecore.EObject;
-import org.eclipse.jface.dialogs.MessageDialog;
-import org.eclipse.swt.widgets.Display;
 import org.jaxen.JaxenException;
 import org.wso2.developerstudio.eclipse.gmf.esb.EndPoint;
 import org.wso2.developerstudio.eclipse.gmf.esb.EsbNode;
@@ -80,11 +78,9 @@ public class SequenceMediatorTransformer extends AbstractEsbNodeTransformer {
 				information.getParentSequence().addChild(refferingSequence);
 			}
 		} catch (ClassCastException e) {
-			MessageDialog
-					.openError(
-							Display.getCurrent().getActiveShell(),
-							"Diagram Incomplete ! ",
-							"If there are two Sequences connected to an Endpoint's in and out terminals, the Sequence which is connected to the in terminal must have a Send mediator as the last mediator of the Sequence.");
+			throw new TransformerException(
+					"Diagram Incomplete: If there are two Sequences connected to an Endpoint's in and out terminals, the Sequence which is connected to the in terminal must have a Send mediator as the last mediator of the Sequence.",
+					e);
 		}
 		doTransform(information, ((Sequence) subject).getOutputConnector().get(0));
 
@@ -34,10 +34,6 @@ import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
-import org.eclipse.ui.IEditorPart;
-import org.eclipse.ui.IEditorReference;
-import org.eclipse.ui.IFileEditorInput;
-import org.eclipse.ui.PlatformUI;
 import org.wso2.developerstudio.eclipse.gmf.esb.AbstractEndPoint;
 import org.wso2.developerstudio.eclipse.gmf.esb.AddressEndPoint;
 import org.wso2.developerstudio.eclipse.gmf.esb.DefaultEndPoint;
@@ -67,7 +63,7 @@ public class SequenceTransformer extends AbstractEsbNodeTransformer{
 				"Invalid subject.");
 		org.wso2.developerstudio.eclipse.gmf.esb.Sequences visualSequence = (org.wso2.developerstudio.eclipse.gmf.esb.Sequences) subject;
 		if(visualSequence.isRecieveSequence()){
-			handleServiceChaining(visualSequence,(SequenceMediator) information.getParentSequence(),visualSequence.getAssociatedProxy());
+			handleServiceChaining(information,visualSequence,(SequenceMediator) information.getParentSequence(),visualSequence.getAssociatedProxy());
 		}
 	}
 
@@ -102,30 +98,10 @@ public class SequenceTransformer extends AbstractEsbNodeTransformer{
 		doTransformWithinSequence(information, outgoingLink, sequence);	
 	}
 	
-	private void handleServiceChaining(org.wso2.developerstudio.eclipse.gmf.esb.Sequences visualSequence,SequenceMediator sequence,List proxyNames) throws TransformerException{
-		IEditorPart editorPart = null;
-		IProject activeProject = null;
+	private void handleServiceChaining(TransformationInfo information,org.wso2.developerstudio.eclipse.gmf.esb.Sequences visualSequence,SequenceMediator sequence,List proxyNames) throws TransformerException{
+		IProject activeProject = getProject(visualSequence);
 		Sequence currentSequence = null;
 		
-		IEditorReference editorReferences[] = PlatformUI.getWorkbench()
-				.getActiveWorkbenchWindow().getActivePage()
-				.getEditorReferences();
-		for (int i = 0; i < editorReferences.length; i++) {
-			IEditorPart editor = editorReferences[i].getEditor(false);
-
-			if (editor != null) {
-				editorPart = editor.getSite().getWorkbenchWindow()
-						.getActivePage().getActiveEditor();
-			}
-
-			if (editorPart != null) {
-				IFileEditorInput input = (IFileEditorInput) editorPart
-						.getEditorInput();
-				IFile file = input.getFile();
-				activeProject = file.getProject();
-			}
-		}	
-		
 		String name = (String) proxyNames.get(0);
 		IPath location = new Path("src/main/graphical-synapse-config/proxy-services" + "/" + "proxy_"
 				+ name + ".esb_diagram");
@@ -166,7 +142,7 @@ public class SequenceTransformer extends AbstractEsbNodeTransformer{
 			if((source.eContainer() instanceof AbstractEndPoint)&&((target!=null)&&(target.eContainer() instanceof AbstractEndPoint))){
 				
 				EsbNodeTransformer transformer=EsbTransformerRegistry.getInstance().getTransformer((EsbNode)target.eContainer());
-				TransformationInfo transformationInfo=new TransformationInfo();
+				TransformationInfo transformationInfo=new TransformationInfo(information);
 				transformationInfo.setParentSequence(sequence);
 				SendMediator sendMediator=new SendMediator();
 				sequence.addChild(sendMediator);			
@@ -93,7 +93,7 @@ public class SwitchMediatorTransformer extends AbstractEsbNodeTransformer {
 			switchCase.setRegex(Pattern.compile(outputConnector.getCaseRegex()));
 			switchCase.setCaseMediator(caseMediator);
 			switchMediator.addCase(switchCase);
-			TransformationInfo newInfo = new TransformationInfo();
+			TransformationInfo newInfo = new TransformationInfo(info);
 			newInfo.setCurrentProxy(info.getCurrentProxy());
 			newInfo.setTraversalDirection(info.getTraversalDirection());
 			newInfo.setSynapseConfiguration(info.getSynapseConfiguration());
@@ -107,7 +107,7 @@ public class SwitchMediatorTransformer extends AbstractEsbNodeTransformer {
 		AnonymousListMediator caseMediator = new AnonymousListMediator();
 		switchCase.setCaseMediator(caseMediator);
 		switchMediator.setDefaultCase(switchCase);
-		TransformationInfo newInfo = new TransformationInfo();
+		TransformationInfo newInfo = new TransformationInfo(info);
 		newInfo.setCurrentProxy(info.getCurrentProxy());
 		newInfo.setTraversalDirection(info.getTraversalDirection());
 		newInfo.setSynapseConfiguration(info.getSynapseConfiguration());
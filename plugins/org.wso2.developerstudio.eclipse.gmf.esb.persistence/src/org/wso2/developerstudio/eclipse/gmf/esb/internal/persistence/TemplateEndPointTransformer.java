@@ -17,6 +17,7 @@
 package org.wso2.developerstudio.eclipse.gmf.esb.internal.persistence;
 
 import java.util.List;
+import java.util.Set;
 
 import org.apache.commons.lang.StringUtils;
 import org.apache.synapse.endpoints.Endpoint;
@@ -64,7 +65,7 @@ public class TemplateEndPointTransformer extends AbstractEndpointTransformer{
                     }
             }
  
-            List<EsbNode> transformedMediators = info.getTransformedMediators();
+            Set<EsbNode> transformedMediators = info.getTransformedMediators();
             if (visualEndPoint.getOutputConnector() != null && visualEndPoint.getOutputConnector().getOutgoingLink() != null) {
                     EsbNode nextElement = (EsbNode) visualEndPoint.getOutputConnector().getOutgoingLink().getTarget().eContainer();
                     if (transformedMediators.contains(nextElement)) {
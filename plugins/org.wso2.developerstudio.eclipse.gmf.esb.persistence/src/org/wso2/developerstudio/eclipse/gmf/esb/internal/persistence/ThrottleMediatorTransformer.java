@@ -37,10 +37,14 @@ import org.wso2.developerstudio.eclipse.gmf.esb.persistence.TransformationInfo;
 import org.wso2.developerstudio.eclipse.gmf.esb.persistence.TransformerException;
 
 public class ThrottleMediatorTransformer extends AbstractEsbNodeTransformer  {
-	private OMFactory factory;
-	private OMNamespace ns_wsp;
-	private OMNamespace ns_throttle;
-	private OMNamespace ns_wsu;
+	// shared by designs transformed at the same time, so set once
+	private final OMFactory factory = OMAbstractFactory.getOMFactory();
+	private final OMNamespace ns_wsp = factory.createOMNamespace(
+			"http://schemas.xmlsoap.org/ws/2004/09/policy", "wsp");
+	private final OMNamespace ns_throttle = factory.createOMNamespace(
+			"http://www.wso2.org/products/wso2commons/throttle", "throttle");
+	private final OMNamespace ns_wsu = factory.createOMNamespace(
+			"http://docs.oasis-open.org/wss/2004/01/oasis-200401-wss-wssecurity-utility-1.0.xsd", "wsu");
 	
 	public void transform(TransformationInfo information, EsbNode subject)
 			throws TransformerException {
@@ -117,7 +121,7 @@ public class ThrottleMediatorTransformer extends AbstractEsbNodeTransformer  {
 		 */
 		SequenceMediator onAccept = new SequenceMediator();
 		throttleMediator.setOnAcceptMediator(onAccept);
-		TransformationInfo newOnAcceptInfo = new TransformationInfo();
+		TransformationInfo newOnAcceptInfo = new TransformationInfo(information);
 		newOnAcceptInfo.setTraversalDirection(information.getTraversalDirection());
 		newOnAcceptInfo.setSynapseConfiguration(information.getSynapseConfiguration());
 		newOnAcceptInfo.setOriginInSequence(information.getOriginInSequence());
@@ -131,7 +135,7 @@ public class ThrottleMediatorTransformer extends AbstractEsbNodeTransformer  {
 		 */
 		SequenceMediator onReject = new SequenceMediator();
 		throttleMediator.setOnRejectMediator(onReject);
-		TransformationInfo newOnRejectInfo = new TransformationInfo();
+		TransformationInfo newOnRejectInfo = new TransformationInfo(information);
 		newOnRejectInfo.setTraversalDirection(information.getTraversalDirection());
 		newOnRejectInfo.setSynapseConfiguration(information.getSynapseConfiguration());
 		newOnRejectInfo.setOriginInSequence(information.getOriginInSequence());
@@ -144,19 +148,6 @@ public class ThrottleMediatorTransformer extends AbstractEsbNodeTransformer  {
 	}
 	
 	private OMElement createPolicyconfiguration(ThrottleMediator vishualThrottle){
-		factory = OMAbstractFactory.getOMFactory();
-
-		ns_wsp = factory.createOMNamespace(
-				"http://schemas.xmlsoap.org/ws/2004/09/policy", "wsp");
-		ns_throttle = factory
-				.createOMNamespace(
-						"http://www.wso2.org/products/wso2commons/throttle",
-						"throttle");
-		ns_wsu = factory
-				.createOMNamespace(
-						"http://docs.oasis-open.org/wss/2004/01/oasis-200401-wss-wssecurity-utility-1.0.xsd",
-						"wsu");
-
 		OMAttribute id = factory.createOMAttribute("id", ns_wsu,
 				"WSO2MediatorThrottlingPolicy");
 
@@ -138,7 +138,7 @@ public class ValidateMediatorTransformer  extends AbstractEsbNodeTransformer {
 		
 		//ListMediator onFailMediatorList = new AnonymousListMediator();
 		SequenceMediator onFailMediatorList=new SequenceMediator();
-		TransformationInfo newOnFailInfo = new TransformationInfo();
+		TransformationInfo newOnFailInfo = new TransformationInfo(information);
 		newOnFailInfo.setTraversalDirection(information.getTraversalDirection());
 		newOnFailInfo.setSynapseConfiguration(information.getSynapseConfiguration());
 		newOnFailInfo.setOriginInSequence(information.getOriginInSequence());
@@ -0,0 +1,379 @@
+/*
+ * Copyright 2018 WSO2, Inc. (http://wso2.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.developerstudio.eclipse.gmf.esb.persistence;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.gmf.runtime.notation.Diagram;
+import org.wso2.developerstudio.eclipse.gmf.esb.EsbDiagram;
+import org.wso2.developerstudio.eclipse.gmf.esb.EsbPackage;
+import org.wso2.developerstudio.eclipse.gmf.esb.EsbServer;
+import org.wso2.developerstudio.eclipse.gmf.esb.util.EsbResourceFactoryImpl;
+import org.wso2.developerstudio.eclipse.logging.core.IDeveloperStudioLog;
+import org.wso2.developerstudio.eclipse.logging.core.Logger;
+
+/**
+ * Regenerates the synapse configuration files of ESB projects from their
+ * design models without opening any editor.
+ *
+ * A project is exported from the .esb models under its graphical synapse
+ * configuration; designs given to {@link #export(Map, IProgressMonitor)} may
+ * also be .esb_diagram notation models. Each design is loaded on its own with
+ * {@link EsbResourceFactoryImpl}, transformed with
+ * {@link EsbModelTransformer#designToSource(EsbServer)} on a fixed size worker
+ * pool and written to its configuration file through a temporary file, so a
+ * configuration file is either left as it was or replaced as a whole. Files
+ * whose content would not change are not written. The transformers do not
+ * touch the UI, designs in workspace files find their project through the
+ * location of the file.
+ *
+ * Files are written directly to the file system, callers running inside a
+ * workspace have to refresh the exported projects afterwards.
+ */
+public class EsbProjectExporter {
+
+	public static final String DESIGN_DIRECTORY = "src" + File.separator + "main" + File.separator
+			+ "graphical-synapse-config";
+	public static final String SOURCE_DIRECTORY = "src" + File.separator + "main" + File.separator
+			+ "synapse-config";
+
+	private static final String DESIGN_FILE_EXTENSION = ".esb";
+	private static final String SOURCE_FILE_EXTENSION = ".xml";
+
+	/*
+	 * Prefixes the artifact wizards put in front of the artifact name in the
+	 * name of a design file
+	 */
+	private static final String[] DESIGN_FILE_PREFIXES = { "sequence_", "proxy_", "endpoint_",
+			"complex_endpoint_", "localentry_", "template_", "task_", "api_" };
+
+	/*
+	 * Design folders whose configuration folder has another name
+	 */
+	private static final String COMPLEX_ENDPOINT_DESIGN_FOLDER = "complex_endpoints";
+	private static final String COMPLEX_ENDPOINT_SOURCE_FOLDER = "complex-endpoints";
+
+	private static IDeveloperStudioLog log = Logger.getLog(Activator.PLUGIN_ID);
+
+	private final int workerCount;
+
+	/**
+	 * Create an exporter using one worker per available processor
+	 */
+	public EsbProjectExporter() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * @param workerCount
+	 *            number of designs transformed at the same time
+	 */
+	public EsbProjectExporter(int workerCount) {
+		if (workerCount < 1) {
+			throw new IllegalArgumentException("Worker count should be at least 1");
+		}
+		this.workerCount = workerCount;
+	}
+
+	/**
+	 * Export every design of an ESB project to the configuration file next to
+	 * which the artifact wizards create it
+	 *
+	 * @param projectDirectory
+	 *            root directory of the ESB project
+	 * @param monitor
+	 * @return result of the export
+	 * @throws OperationCanceledException
+	 *             if the monitor was canceled before all designs were exported
+	 */
+	public ExportResult exportProject(File projectDirectory, IProgressMonitor monitor) {
+		File designDirectory = new File(projectDirectory, DESIGN_DIRECTORY);
+		File sourceDirectory = new File(projectDirectory, SOURCE_DIRECTORY);
+		Map<File, File> exports = new LinkedHashMap<File, File>();
+		collectDesignFiles(designDirectory, sourceDirectory, exports);
+		return export(exports, monitor);
+	}
+
+	/**
+	 * Export the given designs
+	 *
+	 * @param exports
+	 *            configuration file to write by design file
+	 * @param monitor
+	 * @return result of the export
+	 * @throws OperationCanceledException
+	 *             if the monitor was canceled before all designs were exported
+	 */
+	public ExportResult export(Map<File, File> exports, IProgressMonitor monitor) {
+		if (monitor == null) {
+			monitor = new NullProgressMonitor();
+		}
+		monitor.beginTask("Exporting ESB designs", exports.size());
+		ExportResult result = new ExportResult();
+		resetPeakHeapUsage();
+		long startTime = System.nanoTime();
+
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(workerCount, Math.max(exports.size(), 1)));
+		try {
+			CompletionService<File> completionService = new ExecutorCompletionService<File>(executor);
+			Map<Future<File>, File> designFiles = new LinkedHashMap<Future<File>, File>();
+			for (final Map.Entry<File, File> export : exports.entrySet()) {
+				Future<File> future = completionService.submit(new Callable<File>() {
+					public File call() throws Exception {
+						return exportDesign(export.getKey(), export.getValue()) ? export.getValue() : null;
+					}
+				});
+				designFiles.put(future, export.getKey());
+			}
+			for (int i = 0; i < exports.size(); i++) {
+				if (monitor.isCanceled()) {
+					throw new OperationCanceledException();
+				}
+				Future<File> future = completionService.take();
+				File designFile = designFiles.get(future);
+				try {
+					File writtenFile = future.get();
+					if (writtenFile != null) {
+						result.writtenFiles.add(writtenFile);
+					} else {
+						result.unchangedFileCount++;
+					}
+				} catch (ExecutionException e) {
+					log.error("Could not export " + designFile, e.getCause());
+					result.failures.put(designFile, e.getCause());
+				}
+				monitor.worked(1);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		} finally {
+			executor.shutdownNow();
+			monitor.done();
+		}
+
+		result.elapsedTime = (System.nanoTime() - startTime) / 1000000;
+		result.peakHeapUsage = getPeakHeapUsage();
+		log.info("Exported " + exports.size() + " ESB designs in " + result.elapsedTime + " ms ("
+				+ String.format("%.1f", result.getFilesPerSecond()) + " files/s, peak heap "
+				+ (result.peakHeapUsage / (1024 * 1024)) + " MB, " + result.failures.size() + " failed)");
+		return result;
+	}
+
+	private void collectDesignFiles(File designDirectory, File sourceDirectory, Map<File, File> exports) {
+		File[] files = designDirectory.listFiles();
+		if (files == null) {
+			return;
+		}
+		Arrays.sort(files);
+		for (File file : files) {
+			String fileName = file.getName();
+			if (file.isDirectory()) {
+				String sourceFolder = COMPLEX_ENDPOINT_DESIGN_FOLDER.equals(fileName) ? COMPLEX_ENDPOINT_SOURCE_FOLDER
+						: fileName;
+				collectDesignFiles(file, new File(sourceDirectory, sourceFolder), exports);
+			} else if (fileName.endsWith(DESIGN_FILE_EXTENSION)) {
+				exports.put(file, new File(sourceDirectory, getArtifactName(fileName) + SOURCE_FILE_EXTENSION));
+			}
+		}
+	}
+
+	private String getArtifactName(String designFileName) {
+		String name = designFileName.substring(0, designFileName.length() - DESIGN_FILE_EXTENSION.length());
+		for (String prefix : DESIGN_FILE_PREFIXES) {
+			if (name.startsWith(prefix) && name.length() > prefix.length()) {
+				return name.substring(prefix.length());
+			}
+		}
+		return name;
+	}
+
+	/**
+	 * Transform a single design and write its source
+	 *
+	 * @return true if the configuration file was written, false if it
+	 *         already had the same content
+	 */
+	private boolean exportDesign(File designFile, File sourceFile) throws Exception {
+		// resource sets are not thread safe, every design gets its own
+		ResourceSet resourceSet = new ResourceSetImpl();
+		resourceSet.getPackageRegistry().put(EsbPackage.eNS_URI, EsbPackage.eINSTANCE);
+		resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap()
+				.put(Resource.Factory.Registry.DEFAULT_EXTENSION, new EsbResourceFactoryImpl());
+		Resource resource = resourceSet.getResource(URI.createFileURI(designFile.getAbsolutePath()), true);
+		try {
+			EsbServer server = getServer(resource);
+			if (server == null) {
+				throw new TransformerException("Could not find the ESB server element of " + designFile);
+			}
+			String source = EsbModelTransformer.instance.designToSource(server);
+			return writeSource(sourceFile, source);
+		} finally {
+			resource.unload();
+		}
+	}
+
+	private EsbServer getServer(Resource resource) {
+		for (EObject root : resource.getContents()) {
+			if (root instanceof Diagram) {
+				// .esb_diagram files hold the notation model of the design
+				root = ((Diagram) root).getElement();
+			}
+			if (root instanceof EsbDiagram) {
+				return ((EsbDiagram) root).getServer();
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Replace the content of a file through a temporary file in the same
+	 * directory
+	 *
+	 * @return true if the file was written, false if it already had the given
+	 *         content
+	 */
+	private boolean writeSource(File sourceFile, String source) throws IOException {
+		byte[] content = source.getBytes(StandardCharsets.UTF_8);
+		Path target = sourceFile.toPath();
+		if (Files.isRegularFile(target) && Files.size(target) == content.length
+				&& Arrays.equals(Files.readAllBytes(target), content)) {
+			return false;
+		}
+		Path directory = target.toAbsolutePath().getParent();
+		Files.createDirectories(directory);
+		Path temporaryFile = Files.createTempFile(directory, "." + sourceFile.getName(), ".tmp");
+		try {
+			Files.write(temporaryFile, content);
+			try {
+				Files.move(temporaryFile, target, StandardCopyOption.REPLACE_EXISTING,
+						StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temporaryFile, target, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} finally {
+			Files.deleteIfExists(temporaryFile);
+		}
+		return true;
+	}
+
+	private static void resetPeakHeapUsage() {
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if (pool.getType() == MemoryType.HEAP) {
+				pool.resetPeakUsage();
+			}
+		}
+	}
+
+	private static long getPeakHeapUsage() {
+		long peakHeapUsage = 0;
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if (pool.getType() == MemoryType.HEAP) {
+				peakHeapUsage += pool.getPeakUsage().getUsed();
+			}
+		}
+		return peakHeapUsage;
+	}
+
+	/**
+	 * Outcome and throughput of an export
+	 */
+	public static class ExportResult {
+
+		private final List<File> writtenFiles = new ArrayList<File>();
+		private final Map<File, Throwable> failures = new LinkedHashMap<File, Throwable>();
+		private int unchangedFileCount;
+		private long elapsedTime;
+		private long peakHeapUsage;
+
+		/**
+		 * @return configuration files which were written
+		 */
+		public List<File> getWrittenFiles() {
+			return Collections.unmodifiableList(writtenFiles);
+		}
+
+		/**
+		 * @return number of configuration files which already had the exported
+		 *         content
+		 */
+		public int getUnchangedFileCount() {
+			return unchangedFileCount;
+		}
+
+		/**
+		 * @return errors by the design file which could not be exported
+		 */
+		public Map<File, Throwable> getFailures() {
+			return Collections.unmodifiableMap(failures);
+		}
+
+		/**
+		 * @return time taken by the export in milliseconds
+		 */
+		public long getElapsedTime() {
+			return elapsedTime;
+		}
+
+		/**
+		 * @return designs exported per second, failed ones included
+		 */
+		public double getFilesPerSecond() {
+			int fileCount = writtenFiles.size() + unchangedFileCount + failures.size();
+			return elapsedTime > 0 ? fileCount * 1000.0 / elapsedTime : fileCount;
+		}
+
+		/**
+		 * @return sum of the peak usage of the heap memory pools during the
+		 *         export in bytes
+		 */
+		public long getPeakHeapUsage() {
+			return peakHeapUsage;
+		}
+	}
+
+}
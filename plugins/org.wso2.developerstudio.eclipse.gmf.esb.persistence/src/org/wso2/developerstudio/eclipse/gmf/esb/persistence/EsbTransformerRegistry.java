@@ -242,7 +242,7 @@ public class EsbTransformerRegistry {
 	/**
 	 * @return singleton instance.
 	 */
-	public static EsbTransformerRegistry getInstance() {
+	public static synchronized EsbTransformerRegistry getInstance() {
 		if (null == singleton) {
 			singleton = new EsbTransformerRegistry();
 		}
@@ -1,7 +1,8 @@
 package org.wso2.developerstudio.eclipse.gmf.esb.persistence;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
 
 import org.apache.synapse.config.SynapseConfiguration;
 import org.apache.synapse.core.axis2.ProxyService;
@@ -34,6 +35,28 @@ public class TransformationInfo {
 	public EObject previousNode;
 	private ProxyService currentProxy;
 	
+	/*
+	 * Nodes already transformed in this run, shared with the infos created for
+	 * the branches of the run
+	 */
+	private final Set<EsbNode> transformedMediators;
+	
+	/**
+	 * Create the info of a new transformation run
+	 */
+	public TransformationInfo() {
+		transformedMediators = Collections.newSetFromMap(new IdentityHashMap<EsbNode, Boolean>());
+	}
+	
+	/**
+	 * Create the info of a branch within the run of the given info
+	 * 
+	 * @param parent
+	 */
+	public TransformationInfo(TransformationInfo parent) {
+		transformedMediators = parent.transformedMediators;
+	}
+	
 	public ProxyService getCurrentProxy() {
 		return currentProxy;
 	}
@@ -42,8 +65,6 @@ public class TransformationInfo {
 		this.currentProxy = currentProxy;
 	}
 
-	private static List<EsbNode> transformedMediators = new ArrayList<EsbNode>();
-	
 	public ListMediator getOriginInSequence() {
 		return originInSequence;
 	}
@@ -125,7 +146,7 @@ public class TransformationInfo {
 		this.currentReferredSequence=currentReferredSequence;
 	}
 
-	public List<EsbNode> getTransformedMediators() {
+	public Set<EsbNode> getTransformedMediators() {
 		return transformedMediators;
 	}
 }
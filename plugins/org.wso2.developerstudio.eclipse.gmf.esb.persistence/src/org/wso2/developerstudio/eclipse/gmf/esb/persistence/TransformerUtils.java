@@ -3,7 +3,7 @@ package org.wso2.developerstudio.eclipse.gmf.esb.persistence;
 public class TransformerUtils {
 
 	public static TransformationInfo cloneTransformationInfo(TransformationInfo info){
-		TransformationInfo information=new TransformationInfo();
+		TransformationInfo information=new TransformationInfo(info);
 		information.setCurrentAPI(info.getCurrentAPI());
 		information.setCurrentProxy(info.getCurrentProxy());
 		information.setCurrentReferredSequence(info.getCurrentReferredSequence());
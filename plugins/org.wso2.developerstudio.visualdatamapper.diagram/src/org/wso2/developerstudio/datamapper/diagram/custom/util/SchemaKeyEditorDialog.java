@@ -542,16 +542,26 @@ public class SchemaKeyEditorDialog extends Dialog {
         return new String[]{};
     }
 
+    /**
+     * Traverser of the connector selected in the dialog
+     */
+    private CloudConnectorDirectoryTraverser getConnectorTraverser() {
+        String connectorPath = ResourcesPlugin.getWorkspace().getRoot().getLocation().toOSString() +
+                File.separator + CloudConnectorDirectoryTraverser.connectorPathFromWorkspace +
+                File.separator + cmbConnector.getText();
+        return CloudConnectorDirectoryTraverser.getInstance(connectorPath);
+    }
+
     private String getConnectorOperationLoadClasses(String connectorOperation) {
         String className = null;
         try {
             if (Messages.LoadInputSchemaAction_SchemaTypeInput.equals(schemaType)) {
                 className =
-                        CloudConnectorDirectoryTraverser.getInstance()
+                        getConnectorTraverser()
                                 .getCloudConnectorOperationInputLoadClass(connectorOperation);
             } else if (Messages.LoadOutputSchemaAction_SchemaTypeOutput.equals(schemaType)) {
                 className =
-                        CloudConnectorDirectoryTraverser.getInstance()
+                        getConnectorTraverser()
                                 .getCloudConnectorOperationOutputLoadClass(connectorOperation);
             }
         } catch (Exception e) {
@@ -564,7 +574,7 @@ public class SchemaKeyEditorDialog extends Dialog {
         String isDynamic = null;
         try {
             isDynamic =
-                    CloudConnectorDirectoryTraverser.getInstance()
+                    getConnectorTraverser()
                             .getCloudConnectorOperationIsDynamic(connectorOperation);
         } catch (Exception e) {
             log.warn("Error loading connector operations type", e);
@@ -600,11 +610,11 @@ public class SchemaKeyEditorDialog extends Dialog {
             String schemaFilePath = null;
             if (Messages.LoadInputSchemaAction_SchemaTypeInput.equals(schemaType)) {
                 schemaFilePath =
-                        CloudConnectorDirectoryTraverser.getInstance()
+                        getConnectorTraverser()
                                 .getCloudConnectorOperationOutputSchemaFilePath(connectorOperation);
             } else if (Messages.LoadOutputSchemaAction_SchemaTypeOutput.equals(schemaType)) {
                 schemaFilePath =
-                        CloudConnectorDirectoryTraverser.getInstance()
+                        getConnectorTraverser()
                                 .getCloudConnectorOperationInputSchemaFilePath(connectorOperation);
             }
 